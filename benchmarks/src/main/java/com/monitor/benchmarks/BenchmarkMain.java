@@ -0,0 +1,27 @@
+package com.monitor.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar: JMH's own, except that results are also
+ * written as JSON to jmh-result.json unless -rf or -rff is given, so every
+ * run leaves a file {@link CompareResults} can compare with another build's.
+ */
+public final class BenchmarkMain {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        boolean listing = arguments.contains("-l") || arguments.contains("-lp") || arguments.contains("-h");
+        if (!listing && !arguments.contains("-rf") && !arguments.contains("-rff")) {
+            arguments.addAll(Arrays.asList("-rf", "json", "-rff", DEFAULT_RESULT_FILE));
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,81 @@
+package com.monitor.benchmarks;
+
+import com.monitor.core.Collector;
+import com.monitor.metrics.CpuMetrics;
+import com.monitor.metrics.MemoryMetrics;
+import com.monitor.metrics.ProcessMetrics;
+import com.monitor.metrics.SystemMetrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One collect() of a collector, as the engine runs it, against a
+ * {@link SyntheticProc} host of the given size. Covers the collectors whose
+ * input is entirely /proc; see {@link SystemCountersBenchmark} for the
+ * per-device counters of the disk and network collectors. Linux only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectorBenchmark {
+
+    @Param({"cpu", "memory", "processes"})
+    public String collector;
+
+    @Param("64")
+    public int cores;
+
+    @Param("10000")
+    public int processes;
+
+    private SyntheticProc proc;
+    private Collector<?> target;
+
+    @Setup
+    public void createHost() throws Exception {
+        proc = SyntheticProc.create(cores, processes, 0, 0).install();
+        new SystemMetrics().initialize();
+        switch (collector) {
+            case "cpu":
+                target = new CpuMetrics();
+                break;
+            case "memory":
+                target = new MemoryMetrics();
+                break;
+            case "processes":
+                target = new ProcessMetrics();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown collector: " + collector);
+        }
+        // The first run opens files and sizes buffers
+        target.collect();
+    }
+
+    @TearDown
+    public void deleteHost() throws IOException {
+        proc.delete();
+    }
+
+    @Benchmark
+    public Object collect() throws Exception {
+        return target.collect();
+    }
+}
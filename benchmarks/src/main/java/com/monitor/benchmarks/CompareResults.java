@@ -0,0 +1,89 @@
+package com.monitor.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compare two JMH JSON result files, e.g. from the previous and the current
+ * build:
+ *
+ * java -cp benchmarks.jar com.monitor.benchmarks.CompareResults base.json new.json [threshold%]
+ *
+ * Prints every benchmark present in both, with its parameters, both scores
+ * and the change. A change for the worse (slower in a time mode, lower in
+ * throughput mode) beyond the threshold, 10% by default, that is also larger
+ * than the two scores' combined error is a regression; the exit status is 1
+ * if there is any.
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <base.json> <new.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> base = byKey(mapper.readTree(new File(args[0])));
+        Map<String, JsonNode> current = byKey(mapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Base", "New", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = base.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            double error = finite(before.path("primaryMetric").path("scoreError").asDouble())
+                    + finite(after.path("primaryMetric").path("scoreError").asDouble());
+            double change = oldScore != 0 ? 100 * (newScore - oldScore) / oldScore : 0;
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            boolean worse = higherIsBetter ? newScore < oldScore : newScore > oldScore;
+            boolean regression = worse && Math.abs(change) > threshold && Math.abs(newScore - oldScore) > error;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), oldScore, newScore, change,
+                    after.path("primaryMetric").path("scoreUnit").asText(), regression ? "  REGRESSION" : "");
+        }
+        System.out.println(regressions + " regression(s) beyond " + threshold + "%");
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // NaN when JMH had too few iterations to estimate it
+    private static double finite(double value) {
+        return Double.isFinite(value) ? value : 0;
+    }
+
+    /**
+     * Results keyed by benchmark and parameters, e.g. "CpuUsageBenchmark.calculatePerCore cores=256".
+     */
+    private static Map<String, JsonNode> byKey(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            // Class and method, without the package
+            String benchmark = result.path("benchmark").asText();
+            StringBuilder key = new StringBuilder(
+                    benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+}
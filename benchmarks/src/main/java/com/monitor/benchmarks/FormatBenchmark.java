@@ -0,0 +1,54 @@
+package com.monitor.benchmarks;
+
+import com.monitor.util.FormatUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FormatUtil's formatters, which produce every *Formatted field of a JSON
+ * response. Each call formats the same spread of values, from bytes to
+ * petabytes and bits to terabits per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    private final long[] values = {
+            0, 512, 1_536, 3_500_000, 8_589_934_592L, 1_099_511_627_776L, 4_503_599_627_370_496L};
+
+    @Benchmark
+    public void formatBytes(Blackhole blackhole) {
+        for (long value : values) {
+            blackhole.consume(FormatUtil.formatBytes(value));
+        }
+    }
+
+    @Benchmark
+    public void formatBitRate(Blackhole blackhole) {
+        for (long value : values) {
+            blackhole.consume(FormatUtil.formatBitRate(value));
+        }
+    }
+
+    @Benchmark
+    public void formatPercent(Blackhole blackhole) {
+        for (long value : values) {
+            blackhole.consume(FormatUtil.formatPercent(value % 10_000 / 100.0));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.monitor.benchmarks;
+
+import com.monitor.history.GorillaBlock;
+import com.monitor.history.GorillaDecoder;
+import com.monitor.history.GorillaEncoder;
+import com.monitor.history.TimeSeries;
+import com.monitor.storage.MetricLog;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compression ratio and decode throughput of the Gorilla-encoded raw history.
+ *
+ * Samples come from the metric log the application writes (the dataDirectory
+ * parameter, "data" by default), so results reflect this machine's series. If
+ * no log is found, synthetic series shaped like the recorded ones are used.
+ * Bytes per sample are printed at setup; the samples counter of the decode
+ * benchmarks is the throughput in samples per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryCompressionBenchmark {
+
+    @Param("data")
+    public String dataDirectory;
+
+    private final List<long[]> timestamps = new ArrayList<>();
+    private final List<double[]> values = new ArrayList<>();
+    private final List<GorillaBlock> blocks = new ArrayList<>();
+
+    /**
+     * Samples processed per iteration, reported by JMH as a rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long samples;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            samples = 0;
+        }
+    }
+
+    @Setup
+    public void load() throws IOException {
+        Path directory = Paths.get(dataDirectory);
+        String source = directory.toAbsolutePath().toString();
+        if (Files.isDirectory(directory)) {
+            Map<String, SeriesBuilder> recorded = new LinkedHashMap<>();
+            MetricLog.read(directory, (series, timestamp, value) ->
+                    recorded.computeIfAbsent(series, name -> new SeriesBuilder()).add(timestamp, value));
+            for (SeriesBuilder series : recorded.values()) {
+                timestamps.add(Arrays.copyOf(series.timestamps, series.size));
+                values.add(Arrays.copyOf(series.values, series.size));
+            }
+        }
+        if (timestamps.isEmpty()) {
+            source = "synthetic series (no metric log in " + source + ")";
+            generate();
+        }
+
+        long samples = 0;
+        long bytes = 0;
+        for (int i = 0; i < timestamps.size(); i++) {
+            for (GorillaBlock block : encode(timestamps.get(i), values.get(i))) {
+                blocks.add(block);
+                samples += block.getCount();
+                bytes += block.getSizeBytes();
+            }
+        }
+        System.out.printf("%n%s: %d series, %d samples, %.2f bytes/sample (16 uncompressed)%n",
+                source, timestamps.size(), samples, (double) bytes / samples);
+    }
+
+    private static List<GorillaBlock> encode(long[] timestamps, double[] values) {
+        List<GorillaBlock> blocks = new ArrayList<>();
+        GorillaEncoder encoder = new GorillaEncoder();
+        for (int i = 0; i < timestamps.length; i++) {
+            encoder.append(timestamps[i], values[i]);
+            if (encoder.getCount() == TimeSeries.BLOCK_SIZE) {
+                blocks.add(encoder.seal());
+                encoder = new GorillaEncoder();
+            }
+        }
+        if (encoder.getCount() > 0) {
+            blocks.add(encoder.seal());
+        }
+        return blocks;
+    }
+
+    // An hour of 2-second samples: noisy CPU, slowly moving memory, bursty disk, steady temperature
+    private void generate() {
+        Random random = new Random(1);
+        int count = 1800;
+        for (int series = 0; series < 8; series++) {
+            long[] seriesTimestamps = new long[count];
+            double[] seriesValues = new double[count];
+            long timestamp = 1_700_000_000_000L;
+            double memory = 8L << 30;
+            for (int i = 0; i < count; i++) {
+                timestamp += 2000 + random.nextInt(10);
+                seriesTimestamps[i] = timestamp;
+                switch (series % 4) {
+                    case 0:
+                        seriesValues[i] = random.nextDouble() * 100;
+                        break;
+                    case 1:
+                        memory += random.nextInt(10) == 0 ? (random.nextInt(2048) - 1024) * 4096.0 : 0;
+                        seriesValues[i] = memory;
+                        break;
+                    case 2:
+                        seriesValues[i] = random.nextInt(20) == 0 ? random.nextInt(1 << 20) : 0;
+                        break;
+                    default:
+                        seriesValues[i] = 45.0;
+                        break;
+                }
+            }
+            timestamps.add(seriesTimestamps);
+            values.add(seriesValues);
+        }
+    }
+
+    @Benchmark
+    public double decode(Counters counters) {
+        double sum = 0;
+        for (GorillaBlock block : blocks) {
+            GorillaDecoder decoder = block.decoder();
+            while (decoder.next()) {
+                sum += decoder.getValue();
+            }
+            counters.samples += block.getCount();
+        }
+        return sum;
+    }
+
+    /**
+     * Baseline: the same samples read from plain arrays.
+     */
+    @Benchmark
+    public double decodeUncompressed(Counters counters) {
+        double sum = 0;
+        for (double[] series : values) {
+            for (double value : series) {
+                sum += value;
+            }
+            counters.samples += series.length;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int encode(Counters counters) {
+        int encoded = 0;
+        for (int i = 0; i < timestamps.size(); i++) {
+            encoded += encode(timestamps.get(i), values.get(i)).size();
+            counters.samples += timestamps.get(i).length;
+        }
+        return encoded;
+    }
+
+    private static final class SeriesBuilder {
+        long[] timestamps = new long[1024];
+        double[] values = new double[1024];
+        int size;
+
+        void add(long timestamp, double value) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+    }
+}
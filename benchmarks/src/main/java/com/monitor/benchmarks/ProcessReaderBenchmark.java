@@ -0,0 +1,87 @@
+package com.monitor.benchmarks;
+
+import com.monitor.metrics.LinuxProcessReader;
+import com.monitor.metrics.ProcessTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oshi.SystemInfo;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One process collection cycle through OSHI's getProcesses() against
+ * {@link LinuxProcessReader}, both filling a {@link ProcessTable} as
+ * ProcessMetrics does.
+ *
+ * Both read a {@link SyntheticProc} of the given number of processes written
+ * at setup. Linux only, since OSHI's Linux implementation is the one being
+ * compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessReaderBenchmark {
+
+    @Param("10000")
+    public int processes;
+
+    private SyntheticProc proc;
+    private OperatingSystem os;
+    private LinuxProcessReader reader;
+    private final ProcessTable oshiTable = new ProcessTable();
+    private final ProcessTable directTable = new ProcessTable();
+
+    @Setup
+    public void createProc() throws IOException {
+        proc = SyntheticProc.create(1, processes, 0, 0).install();
+        os = new SystemInfo().getOperatingSystem();
+        reader = new LinuxProcessReader(proc.getRoot(), SyntheticProc.HZ, SyntheticProc.PAGE_SIZE,
+                proc.getBootTime() * 1000);
+        System.out.printf("%noshi: %d processes, direct: %d processes%n", oshi(), direct());
+    }
+
+    @TearDown
+    public void deleteProc() throws IOException {
+        proc.delete();
+    }
+
+    @Benchmark
+    public int oshi() {
+        oshiTable.beginCycle(System.currentTimeMillis());
+        for (OSProcess process : os.getProcesses()) {
+            oshiTable.update(process.getProcessID(), process.getStartTime(), process.getName(),
+                    process.getResidentSetSize(), process.getThreadCount(),
+                    process.getKernelTime() + process.getUserTime(), process.getUpTime(),
+                    process.getBytesRead() + process.getBytesWritten());
+        }
+        oshiTable.endCycle();
+        return oshiTable.size();
+    }
+
+    @Benchmark
+    public int direct() throws IOException {
+        long now = System.currentTimeMillis();
+        directTable.beginCycle(now);
+        reader.read(directTable, now);
+        directTable.endCycle();
+        return directTable.size();
+    }
+}
@@ -0,0 +1,175 @@
+package com.monitor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitor.api.MetricsController;
+import com.monitor.api.MetricsJsonModule;
+import com.monitor.api.SnapshotDeltas;
+import com.monitor.api.SnapshotEncodings;
+import com.monitor.api.SnapshotWaiters;
+import com.monitor.core.Collector;
+import com.monitor.core.MonitoringEngine;
+import com.monitor.core.SelfMonitor;
+import com.monitor.metrics.CpuMetrics;
+import com.monitor.metrics.MemoryMetrics;
+import com.monitor.metrics.ProcessMetrics;
+import com.monitor.metrics.SystemMetrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The work behind a /api/all response, taken through {@link MetricsController}
+ * as a request takes it: the JSON encoding done once per snapshot by
+ * {@link SnapshotEncodings}, its gzip form, a ?fields= projection and a
+ * ?since= delta against the previous snapshot.
+ *
+ * The controller and the beans behind it are wired by hand around a
+ * {@link MonitoringEngine} whose collectors replay two collections, in turn,
+ * from a {@link SyntheticProc} host with the given number of processes. Every
+ * operation publishes a new snapshot first, so nothing cached for the previous
+ * one is reused; publish on its own is the baseline. Linux only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseAssemblyBenchmark {
+
+    private static final List<String> FIELDS =
+            Arrays.asList("cpu.usage", "memory.usage", "processes.name", "processes.cpu");
+
+    @Param("10000")
+    public int processes;
+
+    private SyntheticProc proc;
+    private MonitoringEngine engine;
+    private MetricsController controller;
+
+    @Setup
+    public void createController() throws Exception {
+        proc = SyntheticProc.create(64, processes, 0, 0).install();
+        new SystemMetrics().initialize();
+        CpuMetrics cpu = new CpuMetrics();
+        MemoryMetrics memory = new MemoryMetrics();
+        ProcessMetrics processMetrics = new ProcessMetrics();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("cpu", new Replay<>("cpu", cpu.collect(), cpu.collect()));
+        beans.addBean("memory", new Replay<>("memory", memory.collect(), memory.collect()));
+        beans.addBean("processes", new Replay<>("processes", processMetrics.collect(), processMetrics.collect()));
+
+        // On demand, so the engine schedules nothing; sections are never due between publishes
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("metrics.collection.on-demand", true);
+        properties.put("metrics.collection.parallel", false);
+        properties.put("metrics.storage.enabled", false);
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+
+        @SuppressWarnings("unchecked")
+        ObjectProvider<Collector<?>> collectors =
+                (ObjectProvider<Collector<?>>) (ObjectProvider<?>) beans.getBeanProvider(Collector.class);
+        engine = new MonitoringEngine(environment, collectors, new SelfMonitor());
+        engine.init();
+        ObjectMapper mapper = new ObjectMapper().registerModule(new MetricsJsonModule());
+        controller = new MetricsController(engine, processMetrics,
+                new SnapshotDeltas(engine, mapper, environment), new SnapshotWaiters(engine, environment),
+                new SnapshotEncodings(engine, mapper), mapper);
+
+        engine.collectMetrics();
+        System.out.printf("%njson: %d bytes%n", ((byte[]) json().getBody()).length);
+    }
+
+    @TearDown
+    public void deleteHost() throws IOException {
+        engine.stopMonitoring();
+        proc.delete();
+    }
+
+    @Benchmark
+    public long publish() {
+        engine.collectMetrics();
+        return engine.getLatestSnapshot().getSequence();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> json() {
+        engine.collectMetrics();
+        return (ResponseEntity<?>) controller.getAllMetrics(null, null, null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> jsonGzip() {
+        engine.collectMetrics();
+        return (ResponseEntity<?>) controller.getAllMetrics(null, null, null, "gzip");
+    }
+
+    @Benchmark
+    public ResponseEntity<?> fields() {
+        engine.collectMetrics();
+        return (ResponseEntity<?>) controller.getAllMetrics(null, FIELDS, null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> delta() {
+        engine.collectMetrics();
+        long since = engine.getLatestSnapshot().getSequence() - 1;
+        return (ResponseEntity<?>) controller.getAllMetrics(since, null, null, null);
+    }
+
+    /**
+     * Hands out two collected values in turn, so consecutive snapshots differ
+     * as they would on a live host without paying for collection.
+     */
+    private static final class Replay<T> implements Collector<T> {
+        private final String name;
+        private final T first;
+        private final T second;
+        private boolean flip;
+
+        Replay(String name, T first, T second) {
+            this.name = name;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<?> getOutputType() {
+            return first.getClass();
+        }
+
+        @Override
+        public T collect() {
+            flip = !flip;
+            return flip ? first : second;
+        }
+    }
+}
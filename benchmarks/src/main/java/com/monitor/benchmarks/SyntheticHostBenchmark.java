@@ -0,0 +1,109 @@
+package com.monitor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitor.api.MetricsJsonModule;
+import com.monitor.core.Collector;
+import com.monitor.metrics.CpuMetrics;
+import com.monitor.metrics.DiskMetrics;
+import com.monitor.metrics.MemoryMetrics;
+import com.monitor.metrics.NetworkMetrics;
+import com.monitor.metrics.ProcessMetrics;
+import com.monitor.metrics.SystemMetrics;
+import com.monitor.metrics.TemperatureMetrics;
+import com.monitor.synthetic.SyntheticHost;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How collection cost grows with the host: one collect() of a collector and
+ * the JSON encoding of its section, against a {@link SyntheticHost} of the
+ * given size. Runs on any OS, since nothing is read from this machine.
+ *
+ * Hosts are "small" (8 cores, 500 processes, 2 disks with 6 partitions,
+ * 4 interfaces), "large" (64, 10000, 16, 120, 32) and "huge" (256, 50000,
+ * 64, 500, 128). GPUs are left out; their collector is random data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyntheticHostBenchmark {
+
+    @Param({"cpu", "memory", "processes", "disks", "network", "temperature"})
+    public String collector;
+
+    @Param({"small", "large", "huge"})
+    public String host;
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new MetricsJsonModule());
+    private Collector<?> target;
+    private Object section;
+
+    @Setup
+    public void createHost() throws Exception {
+        SyntheticHost synthetic = createHost(host);
+        new SystemMetrics().initialize(synthetic.getHardware(), synthetic.getOperatingSystem());
+        switch (collector) {
+            case "cpu":
+                target = new CpuMetrics();
+                break;
+            case "memory":
+                target = new MemoryMetrics();
+                break;
+            case "processes":
+                target = new ProcessMetrics();
+                break;
+            case "disks":
+                target = new DiskMetrics();
+                break;
+            case "network":
+                target = new NetworkMetrics();
+                break;
+            case "temperature":
+                target = new TemperatureMetrics();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown collector: " + collector);
+        }
+        // The first run sizes buffers and records baselines
+        target.collect();
+        section = target.collect();
+    }
+
+    private static SyntheticHost createHost(String size) {
+        switch (size) {
+            case "small":
+                return new SyntheticHost(8, 500, 2, 6, 4, 0, 42);
+            case "large":
+                return new SyntheticHost(64, 10_000, 16, 120, 32, 0, 42);
+            case "huge":
+                return new SyntheticHost(256, 50_000, 64, 500, 128, 0, 42);
+            default:
+                throw new IllegalArgumentException("Unknown host: " + size);
+        }
+    }
+
+    @Benchmark
+    public Object collect() throws Exception {
+        return target.collect();
+    }
+
+    @Benchmark
+    public byte[] json() throws Exception {
+        return mapper.writeValueAsBytes(section);
+    }
+}
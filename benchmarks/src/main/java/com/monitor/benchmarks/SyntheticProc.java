@@ -0,0 +1,139 @@
+package com.monitor.benchmarks;
+
+import oshi.util.GlobalConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * A synthetic Linux /proc in a temporary directory: /proc/stat for the given
+ * number of logical processors, meminfo, diskstats and net/dev for the given
+ * numbers of devices, and stat, statm, status, io and cmdline for every
+ * process. Values are random but seeded, so every run sees the same host.
+ *
+ * {@link #install()} points OSHI at it through oshi.util.proc.path, which the
+ * application's direct /proc readers follow too. OSHI reads the setting once,
+ * so it must be called before any OSHI class is used in the JVM.
+ */
+public final class SyntheticProc {
+
+    public static final long HZ = 100;
+    public static final long PAGE_SIZE = 4096;
+
+    private static final String[] NAMES = {
+            "java", "postgres", "nginx", "kworker/0:1", "systemd", "Web Content", "sshd", "bash"};
+
+    private final Path root;
+    private final long bootTime;
+
+    private SyntheticProc(Path root, long bootTime) {
+        this.root = root;
+        this.bootTime = bootTime;
+    }
+
+    public static SyntheticProc create(int cores, int processes, int disks, int interfaces) throws IOException {
+        Path root = Files.createTempDirectory("proc");
+        long bootTime = System.currentTimeMillis() / 1000 - 86_400;
+        SyntheticProc proc = new SyntheticProc(root, bootTime);
+        Random random = new Random(42);
+
+        StringBuilder stat = new StringBuilder();
+        stat.append("cpu  ").append(ticks(random, cores)).append('\n');
+        for (int core = 0; core < cores; core++) {
+            stat.append("cpu").append(core).append(' ').append(ticks(random, 1)).append('\n');
+        }
+        stat.append("intr 0\nctxt 0\nbtime ").append(bootTime).append('\n');
+        write(root.resolve("stat"), stat.toString());
+        write(root.resolve("uptime"), "86400.00 80000.00\n");
+        write(root.resolve("meminfo"), "MemTotal:       " + (cores * 4L << 20) + " kB\nMemFree:        "
+                + (cores << 20) + " kB\nMemAvailable:   " + (cores * 2L << 20) + " kB\nBuffers:          10240 kB\n"
+                + "Cached:         1048576 kB\n");
+
+        StringBuilder diskstats = new StringBuilder();
+        for (int disk = 0; disk < disks; disk++) {
+            diskstats.append("   259       ").append(disk).append(" nvme").append(disk).append("n1 ")
+                    .append(random.nextInt(1 << 24)).append(" 0 ").append(random.nextInt(1 << 30)).append(" 0 ")
+                    .append(random.nextInt(1 << 24)).append(" 0 ").append(random.nextInt(1 << 30))
+                    .append(" 0 0 0 0 0 0 0 0 0 0\n");
+        }
+        write(root.resolve("diskstats"), diskstats.toString());
+
+        StringBuilder netDev = new StringBuilder("Inter-|   Receive                                                |  Transmit\n"
+                + " face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls carrier compressed\n");
+        for (int nic = 0; nic < interfaces; nic++) {
+            netDev.append("  eth").append(nic).append(": ").append(random.nextInt(1 << 30)).append(' ')
+                    .append(random.nextInt(1 << 20)).append(" 0 0 0 0 0 0 ").append(random.nextInt(1 << 30))
+                    .append(' ').append(random.nextInt(1 << 20)).append(" 0 0 0 0 0 0\n");
+        }
+        write(root.resolve("net").resolve("dev"), netDev.toString());
+
+        for (int pid = 1; pid <= processes; pid++) {
+            proc.writeProcess(root.resolve(Integer.toString(pid)), pid, random);
+        }
+        // The reader checks /proc/self/stat before use
+        proc.writeProcess(root.resolve("self"), processes + 1, random);
+        return proc;
+    }
+
+    private static String ticks(Random random, int cores) {
+        StringBuilder ticks = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ticks.append(i > 0 ? " " : "").append((long) cores * random.nextInt(1_000_000));
+        }
+        return ticks.toString();
+    }
+
+    private void writeProcess(Path dir, int pid, Random random) throws IOException {
+        String name = NAMES[random.nextInt(NAMES.length)];
+        long resident = 100 + random.nextInt(100_000);
+        int threads = 1 + random.nextInt(64);
+        long startTicks = random.nextInt(8_000_000);
+        write(dir.resolve("stat"), pid + " (" + name + ") S 1 " + pid + " " + pid + " 0 -1 4194304 "
+                + random.nextInt(10_000) + " 0 0 0 " + random.nextInt(100_000) + " " + random.nextInt(50_000)
+                + " 0 0 20 0 " + threads + " 0 " + startTicks + " " + resident * 4 * PAGE_SIZE + " " + resident
+                + " 18446744073709551615 1 1 0 0 0 0 0 4096 0 0 0 0 17 3 0 0 0 0 0\n");
+        write(dir.resolve("statm"), resident * 4 + " " + resident + " " + resident / 4 + " 10 0 " + resident + " 0\n");
+        write(dir.resolve("status"), "Name:\t" + name + "\nState:\tS (sleeping)\nPid:\t" + pid
+                + "\nPPid:\t1\nUid:\t1000\t1000\t1000\t1000\nGid:\t1000\t1000\t1000\t1000\nVmRSS:\t"
+                + resident * 4 + " kB\nThreads:\t" + threads + "\nvoluntary_ctxt_switches:\t10\n"
+                + "nonvoluntary_ctxt_switches:\t2\n");
+        write(dir.resolve("io"), "rchar: 1\nwchar: 1\nsyscr: 1\nsyscw: 1\nread_bytes: " + random.nextInt(1 << 30)
+                + "\nwrite_bytes: " + random.nextInt(1 << 30) + "\ncancelled_write_bytes: 0\n");
+        write(dir.resolve("cmdline"), "/usr/bin/" + name + "\0");
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Make this the /proc that OSHI and the application read.
+     */
+    public SyntheticProc install() {
+        GlobalConfig.set(GlobalConfig.OSHI_UTIL_PROC_PATH, root.toString());
+        return this;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Boot time in epoch seconds, as in the stat file's btime.
+     */
+    public long getBootTime() {
+        return bootTime;
+    }
+
+    public void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.monitor.benchmarks;
+
+import com.monitor.metrics.LinuxSystemCounters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One read of each /proc counter file the collectors parse, from a
+ * {@link SyntheticProc} host with the given numbers of logical processors,
+ * disks and network interfaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SystemCountersBenchmark {
+
+    @Param("256")
+    public int cores;
+
+    @Param("64")
+    public int disks;
+
+    @Param("128")
+    public int interfaces;
+
+    private SyntheticProc proc;
+    private LinuxSystemCounters.Cpu cpu;
+    private LinuxSystemCounters.Memory memory;
+    private LinuxSystemCounters.Disks diskCounters;
+    private LinuxSystemCounters.Network network;
+
+    @Setup
+    public void createHost() throws IOException {
+        proc = SyntheticProc.create(cores, 0, disks, interfaces);
+        cpu = new LinuxSystemCounters.Cpu(proc.getRoot().resolve("stat"));
+        memory = new LinuxSystemCounters.Memory(proc.getRoot().resolve("meminfo"));
+        diskCounters = new LinuxSystemCounters.Disks(proc.getRoot().resolve("diskstats"));
+        network = new LinuxSystemCounters.Network(proc.getRoot().resolve("net").resolve("dev"));
+    }
+
+    @TearDown
+    public void deleteHost() throws IOException {
+        proc.delete();
+    }
+
+    @Benchmark
+    public LinuxSystemCounters.Cpu cpu() throws IOException {
+        cpu.read();
+        return cpu;
+    }
+
+    @Benchmark
+    public LinuxSystemCounters.Memory memory() throws IOException {
+        memory.read();
+        return memory;
+    }
+
+    @Benchmark
+    public LinuxSystemCounters.Disks disks() throws IOException {
+        diskCounters.read();
+        return diskCounters;
+    }
+
+    @Benchmark
+    public LinuxSystemCounters.Network network() throws IOException {
+        network.read();
+        return network;
+    }
+}
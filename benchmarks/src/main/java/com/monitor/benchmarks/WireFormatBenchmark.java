@@ -0,0 +1,93 @@
+package com.monitor.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitor.api.SnapshotBinaryFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode time of the JSON served by /api/all against the
+ * application/x-sysmon-bin encoding of the same snapshot.
+ *
+ * The snapshot is read from the snapshotFile parameter, e.g. a file saved with
+ * "curl localhost:8080/api/all", or from a bundled capture if it is empty.
+ * Payload sizes, plain and gzip-compressed, are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param("")
+    public String snapshotFile;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private JsonNode snapshot;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void load() throws IOException {
+        if (snapshotFile.isEmpty()) {
+            try (InputStream in = WireFormatBenchmark.class.getResourceAsStream("/snapshot.json")) {
+                snapshot = mapper.readTree(in);
+            }
+        } else {
+            snapshot = mapper.readTree(Files.readAllBytes(Paths.get(snapshotFile)));
+        }
+        json = mapper.writeValueAsBytes(snapshot);
+        binary = SnapshotBinaryFormat.encode(mapper, snapshot);
+        System.out.printf("%njson: %d bytes (%d gzip), binary: %d bytes (%d gzip)%n",
+                json.length, gzip(json).length, binary.length, gzip(binary).length);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return mapper.writeValueAsBytes(snapshot);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return SnapshotBinaryFormat.encode(mapper, snapshot);
+    }
+
+    @Benchmark
+    public JsonNode decodeJson() throws IOException {
+        return mapper.readTree(json);
+    }
+
+    @Benchmark
+    public JsonNode decodeBinary() {
+        return SnapshotBinaryFormat.decode(binary);
+    }
+}
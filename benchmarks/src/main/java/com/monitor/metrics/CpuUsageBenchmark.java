@@ -0,0 +1,66 @@
+package com.monitor.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CpuMetrics' usage arithmetic between two tick readings: the aggregate usage,
+ * and the per state shares of every logical processor as computed each cycle.
+ * In the metrics package for the package-private calculations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpuUsageBenchmark {
+
+    @Param({"8", "256"})
+    public int cores;
+
+    private long[] previous;
+    private long[] current;
+    private double[] statePercent;
+    private double[] coreUsage;
+
+    @Setup
+    public void createTicks() {
+        Random random = new Random(42);
+        previous = new long[cores * CpuMetrics.TICK_TYPES];
+        current = new long[cores * CpuMetrics.TICK_TYPES];
+        for (int i = 0; i < previous.length; i++) {
+            previous[i] = random.nextInt(1_000_000);
+            current[i] = previous[i] + random.nextInt(200);
+        }
+        statePercent = new double[cores * CpuMetrics.TICK_TYPES];
+        coreUsage = new double[cores];
+    }
+
+    @Benchmark
+    public double calculateCpuUsage() {
+        return CpuMetrics.calculateCpuUsage(previous, current);
+    }
+
+    @Benchmark
+    public double[] calculatePerCore() {
+        for (int core = 0; core < cores; core++) {
+            int offset = core * CpuMetrics.TICK_TYPES;
+            coreUsage[core] = CpuMetrics.calculateStatePercent(previous, offset, current, offset,
+                    statePercent, offset);
+        }
+        return coreUsage;
+    }
+}
@@ -40,9 +40,9 @@ if [ $? -eq 0 ]; then
     # If we have application arguments, pass them to the Spring Boot app
     if [ -n "$APP_ARGS" ]; then
         echo "Running with arguments: $APP_ARGS"
-        java -jar target/system-monitor-1.0-SNAPSHOT.jar $APP_ARGS
+        java -jar target/system-monitor-1.0-SNAPSHOT-exec.jar $APP_ARGS
     else
-        java -jar target/system-monitor-1.0-SNAPSHOT.jar
+        java -jar target/system-monitor-1.0-SNAPSHOT-exec.jar
     fi
 else
     echo "Build failed."
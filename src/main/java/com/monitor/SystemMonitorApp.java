@@ -1,6 +1,7 @@
 package com.monitor;
 
 import com.monitor.core.MonitoringEngine;
+import com.monitor.metrics.ProcessMetrics;
 import com.monitor.util.PcapNetworkUtil;
 
 import org.springframework.boot.SpringApplication;
@@ -38,7 +39,11 @@ public class SystemMonitorApp {
         
         // Get the MonitoringEngine bean and configure it
         MonitoringEngine engine = context.getBean(MonitoringEngine.class);
-        engine.setProcessDisplayCount(processCount);
+        if (processCount < 1) {
+            System.err.println("Process count must be at least 1. Using default.");
+        } else {
+            context.getBean(ProcessMetrics.class).setDisplayCount(processCount);
+        }
         engine.setRefreshRate(refreshRate);
         
         // Register shutdown hook to clean up resources
@@ -69,6 +74,9 @@ public class SystemMonitorApp {
             System.out.println("- http://localhost:8080/api/network");
             System.out.println("- http://localhost:8080/api/temperature");
             System.out.println("- http://localhost:8080/api/all");
+            System.out.println("- http://localhost:8080/api/config/intervals");
+            System.out.println("- http://localhost:8080/api/history");
+            System.out.println("- http://localhost:8080/api/stream");
         };
     }
     
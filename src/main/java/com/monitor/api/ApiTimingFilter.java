@@ -0,0 +1,95 @@
+package com.monitor.api;
+
+import com.monitor.core.PhaseStats;
+import com.monitor.core.SelfMonitor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Times every API request (/api and /metrics, e.g. the Prometheus scrape)
+ * into {@link SelfMonitor}, keyed by method and route pattern (e.g.
+ * "GET /api/{section}"). The dashboard and static files are left out. A request that goes async
+ * (long polls, streams) is timed until it completes; its allocation is what
+ * the request thread allocated before handing it off.
+ */
+@Component
+public class ApiTimingFilter extends OncePerRequestFilter {
+
+    // The regex of a path variable, e.g. {section:[a-z]+}, left out of the route name
+    private static final Pattern VARIABLE_REGEX = Pattern.compile("\\{(\\w+):[^}]*}");
+
+    private final SelfMonitor selfMonitor;
+
+    @Autowired
+    public ApiTimingFilter(SelfMonitor selfMonitor) {
+        this.selfMonitor = selfMonitor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/") && !uri.startsWith("/metrics/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        long startBytes = SelfMonitor.threadAllocatedBytes();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            PhaseStats stats = selfMonitor.api(route(request));
+            long allocated = SelfMonitor.allocatedSince(startBytes);
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        stats.record(System.nanoTime() - start, allocated);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        stats.recordError();
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                stats.record(System.nanoTime() - start, allocated);
+                if (failed || response.getStatus() >= 500) {
+                    stats.recordError();
+                }
+            }
+        }
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return request.getMethod() + " (unmatched)";
+        }
+        return request.getMethod() + " " + VARIABLE_REGEX.matcher(pattern.toString()).replaceAll("{$1}");
+    }
+}
@@ -0,0 +1,87 @@
+package com.monitor.api;
+
+import com.monitor.core.Collector;
+import com.monitor.core.MonitoringEngine;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime configuration of the collection pipeline.
+ */
+@RestController
+@RequestMapping("/api/config")
+public class CollectionConfigController {
+
+    private final MonitoringEngine monitoringEngine;
+
+    @Autowired
+    public CollectionConfigController(MonitoringEngine monitoringEngine) {
+        this.monitoringEngine = monitoringEngine;
+    }
+
+    /**
+     * Every collector in snapshot order: section name, implementation, output
+     * type, cost, and current interval and time budget in milliseconds
+     */
+    @GetMapping("/collectors")
+    public ResponseEntity<List<Map<String, Object>>> getCollectors() {
+        Map<String, Long> intervals = monitoringEngine.getSectionIntervals();
+        Map<String, Long> budgets = monitoringEngine.getSectionBudgets();
+        List<Map<String, Object>> collectors = new ArrayList<>();
+        for (Collector<?> collector : monitoringEngine.getCollectors()) {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("name", collector.getName());
+            info.put("class", collector.getClass().getName());
+            info.put("outputType", collector.getOutputType().getName());
+            info.put("cost", collector.getCost());
+            info.put("interval", intervals.get(collector.getName()));
+            info.put("budget", budgets.get(collector.getName()));
+            collectors.add(info);
+        }
+        return ResponseEntity.ok(collectors);
+    }
+
+    /**
+     * Collection interval of every section in milliseconds
+     */
+    @GetMapping("/intervals")
+    public ResponseEntity<Map<String, Long>> getIntervals() {
+        return ResponseEntity.ok(monitoringEngine.getSectionIntervals());
+    }
+
+    /**
+     * Change collection intervals without a restart, e.g. {"cpu": 250, "processes": 5000}
+     */
+    @PutMapping("/intervals")
+    public ResponseEntity<Map<String, Object>> updateIntervals(@RequestBody Map<String, Long> intervals) {
+        Map<String, Long> current = monitoringEngine.getSectionIntervals();
+        for (Map.Entry<String, Long> entry : intervals.entrySet()) {
+            if (!current.containsKey(entry.getKey()) || entry.getValue() == null
+                    || entry.getValue() < MonitoringEngine.MIN_INTERVAL_MILLIS) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "Invalid interval for '" + entry.getKey() + "': sections are "
+                        + current.keySet() + " and intervals must be at least "
+                        + MonitoringEngine.MIN_INTERVAL_MILLIS + " ms");
+                errorResponse.put("timestamp", System.currentTimeMillis());
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+        }
+
+        for (Map.Entry<String, Long> entry : intervals.entrySet()) {
+            monitoringEngine.setSectionInterval(entry.getKey(), entry.getValue());
+        }
+        return ResponseEntity.ok(new LinkedHashMap<>(monitoringEngine.getSectionIntervals()));
+    }
+}
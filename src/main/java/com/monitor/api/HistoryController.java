@@ -0,0 +1,126 @@
+package com.monitor.api;
+
+import com.monitor.core.MonitoringEngine;
+import com.monitor.history.HistoryTier;
+import com.monitor.history.MetricsHistory;
+import com.monitor.history.RollupBuffer;
+import com.monitor.history.TimeSeries;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recorded metric history.
+ */
+@RestController
+@RequestMapping("/api/history")
+public class HistoryController {
+
+    // Default range and number of points when the request doesn't set them
+    private static final long DEFAULT_RANGE_MILLIS = 60 * 60 * 1000L;
+    private static final int DEFAULT_POINTS = 600;
+
+    private final MonitoringEngine monitoringEngine;
+
+    @Autowired
+    public HistoryController(MonitoringEngine monitoringEngine) {
+        this.monitoringEngine = monitoringEngine;
+    }
+
+    /**
+     * Samples of one or more series between from and to (epoch millis, inclusive),
+     * e.g. /api/history?series=cpu.usage,memory.usage&amp;from=-60000
+     *
+     * A negative from or to is relative to now; the range defaults to the last hour.
+     * Each series comes from the coarsest tier whose resolution fits the requested
+     * step, which defaults to the range divided by points, or from a coarser tier if
+     * that one no longer reaches back to from. Without series, lists the available
+     * series names and tiers.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getHistory(
+            @RequestParam(required = false) List<String> series,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Long step,
+            @RequestParam(defaultValue = "" + DEFAULT_POINTS) int points) {
+        MetricsHistory history = monitoringEngine.getHistory();
+        long now = System.currentTimeMillis();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (series == null || series.isEmpty()) {
+            Map<String, Object> tiers = new LinkedHashMap<>();
+            tiers.put(MetricsHistory.RAW_TIER, history.getCapacity());
+            for (HistoryTier tier : history.getTiers()) {
+                tiers.put(tier.getName(), tier.getCapacity());
+            }
+            response.put("series", history.getSeriesNames());
+            response.put("capacity", tiers);
+            return ResponseEntity.ok(response);
+        }
+
+        long toMillis = resolve(to, now, now);
+        long fromMillis = resolve(from, toMillis - DEFAULT_RANGE_MILLIS, now);
+        long stepMillis = step != null ? step : (toMillis - fromMillis) / Math.max(1, points);
+
+        Map<String, Object> samples = new LinkedHashMap<>();
+        for (String name : series) {
+            MetricsHistory.Series entry = history.getSeries(name);
+            if (entry == null) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "Unknown series '" + name + "': available series are "
+                        + history.getSeriesNames());
+                errorResponse.put("timestamp", now);
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+            int tier = history.selectTier(entry, stepMillis, fromMillis, now);
+            samples.put(name, tier < 0 ? rawRange(entry, fromMillis, toMillis)
+                    : rollupRange(entry, tier, history.getTiers().get(tier), fromMillis, toMillis));
+        }
+
+        response.put("from", fromMillis);
+        response.put("to", toMillis);
+        response.put("series", samples);
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> rawRange(MetricsHistory.Series entry, long from, long to) {
+        TimeSeries.Samples raw = entry.getRaw().copy(from, to);
+        Map<String, Object> range = new LinkedHashMap<>();
+        range.put("tier", MetricsHistory.RAW_TIER);
+        range.put("resolution", 0);
+        range.put("timestamps", raw.getTimestamps());
+        range.put("values", raw.getValues());
+        return range;
+    }
+
+    private static Map<String, Object> rollupRange(MetricsHistory.Series entry, int tier, HistoryTier spec,
+                                                   long from, long to) {
+        RollupBuffer.Buckets buckets = entry.getRollup(tier).copy(from, to);
+        Map<String, Object> range = new LinkedHashMap<>();
+        range.put("tier", spec.getName());
+        range.put("resolution", buckets.getResolutionMillis());
+        range.put("timestamps", buckets.getTimestamps());
+        range.put("values", buckets.getValues());
+        range.put("min", buckets.getMin());
+        range.put("max", buckets.getMax());
+        range.put("count", buckets.getCount());
+        return range;
+    }
+
+    private static long resolve(Long millis, long defaultMillis, long now) {
+        if (millis == null) {
+            return defaultMillis;
+        }
+        return millis < 0 ? now + millis : millis;
+    }
+}
@@ -0,0 +1,120 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Field-level difference between two JSON documents.
+ *
+ * A patch mirrors the shape of the document it applies to. For objects it
+ * holds only the fields that changed: a changed value is itself a patch, a
+ * new field carries its whole value, and the names of removed fields are
+ * listed under {@value #REMOVED_KEY}; a null is a value like any other. For arrays
+ * it is an object with the new length under {@value #LENGTH_KEY} plus the
+ * changed elements keyed by index. Any other change replaces the value.
+ */
+public final class JsonDelta {
+
+    /** Marks a patch that applies to an array. */
+    public static final String LENGTH_KEY = "$length";
+    /** Lists the fields an object patch removes. */
+    public static final String REMOVED_KEY = "$removed";
+
+    private JsonDelta() {
+    }
+
+    /**
+     * @return the patch turning from into to; an empty object if they are equal
+     */
+    public static JsonNode diff(JsonNode from, JsonNode to) {
+        JsonNode patch = diffValue(from, to);
+        return patch != null ? patch : JsonNodeFactory.instance.objectNode();
+    }
+
+    // Null when the values are equal
+    private static JsonNode diffValue(JsonNode from, JsonNode to) {
+        if (from.equals(to)) {
+            return null;
+        }
+        if (from.isObject() && to.isObject()) {
+            ObjectNode patch = JsonNodeFactory.instance.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = to.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode previous = from.get(field.getKey());
+                JsonNode change = previous == null ? field.getValue() : diffValue(previous, field.getValue());
+                if (change != null) {
+                    patch.set(field.getKey(), change);
+                }
+            }
+            ArrayNode removed = null;
+            Iterator<String> names = from.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                if (!to.has(name)) {
+                    if (removed == null) {
+                        removed = patch.putArray(REMOVED_KEY);
+                    }
+                    removed.add(name);
+                }
+            }
+            return patch;
+        }
+        if (from.isArray() && to.isArray()) {
+            ObjectNode patch = JsonNodeFactory.instance.objectNode();
+            patch.put(LENGTH_KEY, to.size());
+            for (int i = 0; i < to.size(); i++) {
+                JsonNode change = i < from.size() ? diffValue(from.get(i), to.get(i)) : to.get(i);
+                if (change != null) {
+                    patch.set(String.valueOf(i), change);
+                }
+            }
+            return patch;
+        }
+        return to;
+    }
+
+    /**
+     * Apply a patch from {@link #diff} to a copy of the base document.
+     */
+    public static JsonNode apply(JsonNode base, JsonNode patch) {
+        if (patch.isObject() && base.isArray() && patch.has(LENGTH_KEY)) {
+            int length = patch.get(LENGTH_KEY).asInt();
+            ArrayNode result = JsonNodeFactory.instance.arrayNode(length);
+            for (int i = 0; i < length; i++) {
+                JsonNode change = patch.get(String.valueOf(i));
+                if (change == null) {
+                    result.add(base.get(i).deepCopy());
+                } else {
+                    result.add(i < base.size() ? apply(base.get(i), change) : change.deepCopy());
+                }
+            }
+            return result;
+        }
+        if (patch.isObject() && base.isObject()) {
+            ObjectNode result = ((ObjectNode) base).deepCopy();
+            for (JsonNode name : patch.path(REMOVED_KEY)) {
+                result.remove(name.asText());
+            }
+            Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode previous = base.get(field.getKey());
+                if (field.getKey().equals(REMOVED_KEY)) {
+                    continue;
+                } else if (previous == null) {
+                    result.set(field.getKey(), field.getValue().deepCopy());
+                } else {
+                    result.set(field.getKey(), apply(previous, field.getValue()));
+                }
+            }
+            return result;
+        }
+        return patch.deepCopy();
+    }
+}
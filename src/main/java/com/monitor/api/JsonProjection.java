@@ -0,0 +1,91 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects fields from a JSON document by dotted path, e.g.
+ * "network.interfaces[].downloadRate". Arrays are projected element by
+ * element; the "[]" suffix only documents that a field is an array. A path
+ * ending at an object or array selects all of it. Paths that match nothing are
+ * left out of the result.
+ */
+public final class JsonProjection {
+
+    private final Map<String, JsonProjection> children = new LinkedHashMap<>();
+
+    private JsonProjection() {
+    }
+
+    /**
+     * Parse a list of paths.
+     *
+     * @throws IllegalArgumentException if a path is malformed
+     */
+    public static JsonProjection parse(List<String> fields) {
+        JsonProjection root = new JsonProjection();
+        for (String field : fields) {
+            JsonProjection node = root;
+            for (String segment : field.trim().split("\\.", -1)) {
+                String name = segment.endsWith("[]") ? segment.substring(0, segment.length() - 2) : segment;
+                if (name.isEmpty() || name.contains("[") || name.contains("]")) {
+                    throw new IllegalArgumentException("Invalid field '" + field
+                            + "': expected a dotted path such as network.interfaces[].downloadRate");
+                }
+                node = node.children.computeIfAbsent(name, key -> new JsonProjection());
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Top-level field names the paths start with.
+     */
+    public List<String> getRoots() {
+        return new ArrayList<>(children.keySet());
+    }
+
+    /**
+     * The projection below one top-level field, e.g. "interfaces[].downloadRate"
+     * for "network", or null if no path starts with it.
+     */
+    public JsonProjection child(String name) {
+        return children.get(name);
+    }
+
+    /**
+     * Copy of the selected parts of the document.
+     */
+    public JsonNode apply(JsonNode source) {
+        if (children.isEmpty()) {
+            return source;
+        }
+        if (source.isArray()) {
+            ArrayNode result = JsonNodeFactory.instance.arrayNode(source.size());
+            for (JsonNode element : source) {
+                JsonNode projected = apply(element);
+                result.add(projected != null ? projected : JsonNodeFactory.instance.nullNode());
+            }
+            return result;
+        }
+        if (!source.isObject()) {
+            return null;
+        }
+        ObjectNode result = JsonNodeFactory.instance.objectNode();
+        for (Map.Entry<String, JsonProjection> child : children.entrySet()) {
+            JsonNode value = source.get(child.getKey());
+            JsonNode projected = value != null ? child.getValue().apply(value) : null;
+            if (projected != null) {
+                result.set(child.getKey(), projected);
+            }
+        }
+        return result;
+    }
+}
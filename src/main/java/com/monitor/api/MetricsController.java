@@ -1,196 +1,361 @@
 package com.monitor.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitor.core.MetricsSnapshot;
 import com.monitor.core.MonitoringEngine;
-import com.monitor.util.FormatUtil;
+import com.monitor.metrics.ProcessHistory;
+import com.monitor.metrics.ProcessMetrics;
+import com.monitor.model.ProcessList;
+import com.monitor.model.ProcessRanking;
+import com.monitor.model.ProcessSnapshot;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-
-import oshi.software.os.OSProcess;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api")
 public class MetricsController {
 
+    static final String SEQUENCE_HEADER = "X-Snapshot-Sequence";
+    static final String AGE_HEADER = "X-Snapshot-Age";
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+    // Snapshot section with the engine's status, present whatever the collectors are
+    private static final String SYSTEM_SECTION = "system";
+
     private final MonitoringEngine monitoringEngine;
+    private final ProcessMetrics processMetrics;
+    private final SnapshotDeltas snapshotDeltas;
+    private final SnapshotWaiters snapshotWaiters;
+    private final SnapshotEncodings snapshotEncodings;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public MetricsController(MonitoringEngine monitoringEngine) {
+    public MetricsController(MonitoringEngine monitoringEngine, ProcessMetrics processMetrics,
+                             SnapshotDeltas snapshotDeltas, SnapshotWaiters snapshotWaiters,
+                             SnapshotEncodings snapshotEncodings, ObjectMapper objectMapper) {
         this.monitoringEngine = monitoringEngine;
+        this.processMetrics = processMetrics;
+        this.snapshotDeltas = snapshotDeltas;
+        this.snapshotWaiters = snapshotWaiters;
+        this.snapshotEncodings = snapshotEncodings;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Main API endpoint for all system metrics
+     * Main API endpoint for all system metrics.
+     *
+     * Serves the latest snapshot published by the engine; requests never trigger
+     * collection unless metrics.collection.on-demand is set. The snapshot's
+     * sequence number and age (in milliseconds) are returned in the
+     * X-Snapshot-Sequence and X-Snapshot-Age headers, and the sequence as the
+     * ETag, so a request with a matching If-None-Match gets a 304.
+     *
+     * With since=&lt;sequence&gt;, returns only what changed after that snapshot
+     * (see {@link SnapshotDeltas#delta}). With fields=&lt;path&gt;,... returns
+     * only those fields (see {@link JsonProjection}), e.g.
+     * fields=cpu.usage,network.interfaces[].downloadRate; in on-demand mode
+     * only the sections they name are collected. With waitFor=&lt;sequence&gt;,
+     * the response is held until a newer snapshot is published, unless that
+     * sequence isn't the latest or collection is on demand (see
+     * {@link SnapshotWaiters#shouldPark}).
+     *
+     * The full snapshot is written from bytes serialized once per snapshot (see
+     * {@link SnapshotEncodings}), gzip- or deflate-compressed if the client
+     * accepts it.
      */
     @GetMapping({"/", "/all", "/metrics"})
-    public ResponseEntity<Map<String, Object>> getAllMetrics() {
-        try {
-            // Ensure metrics are collected
-            monitoringEngine.collectMetrics();
-        
-        Map<String, Object> response = new HashMap<>();
-        
-        // System information
-        Map<String, Object> systemInfo = new HashMap<>();
-        systemInfo.put("os", monitoringEngine.getSystemMetrics().getSystemInfo().getOperatingSystem().toString());
-        systemInfo.put("refreshRate", monitoringEngine.getRefreshRateSeconds());
-        systemInfo.put("timestamp", System.currentTimeMillis());
-        
-        // Check if running with elevated permissions
-        boolean isRunningWithSudo = false;
-        try {
-            String username = System.getProperty("user.name");
-            // Check for root or admin user
-            boolean isElevatedUser = "root".equals(username) || username.toLowerCase().startsWith("admin");
-            
-            // Also check if network interfaces have been loaded successfully via our specialized PcapNetworkUtil
-            boolean hasNetworkInterfaces = false;
-            if (monitoringEngine.getNetworkMetrics().getNetworkInfo() != null && 
-                monitoringEngine.getNetworkMetrics().getNetworkInfo().size() > 1) {
-                // More than just the global info means we have interfaces
-                hasNetworkInterfaces = true;
+    public Object getAllMetrics(@RequestParam(required = false) Long since,
+                                @RequestParam(required = false) List<String> fields,
+                                @RequestParam(required = false) Long waitFor,
+                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                        String acceptEncoding) {
+        Set<String> sections = monitoringEngine.getSectionIntervals().keySet();
+        JsonProjection projection = null;
+        if (fields != null) {
+            if (since != null) {
+                return error(400, "since and fields cannot be combined");
             }
-            
-            isRunningWithSudo = isElevatedUser || hasNetworkInterfaces;
-        } catch (Exception e) {
-            System.err.println("Error checking sudo status: " + e.getMessage());
-            // Ignore - default to false
-        }
-        systemInfo.put("runningWithSudo", isRunningWithSudo);
-        response.put("system", systemInfo);
-        
-        // CPU metrics
-        Map<String, Object> cpuMetrics = new HashMap<>();
-        double cpuUsage = monitoringEngine.getCpuMetrics().getCpuUsage();
-        cpuMetrics.put("usage", cpuUsage);
-        cpuMetrics.put("usageFormatted", FormatUtil.formatPercent(cpuUsage));
-        cpuMetrics.put("cores", monitoringEngine.getCpuMetrics().getProcessor().getLogicalProcessorCount());
-        response.put("cpu", cpuMetrics);
-        
-        // Memory metrics
-        Map<String, Object> memoryMetrics = new HashMap<>();
-        double memUsage = monitoringEngine.getMemoryMetrics().getMemoryUsagePercent();
-        long totalMemory = monitoringEngine.getMemoryMetrics().getTotalMemory();
-        long usedMemory = monitoringEngine.getMemoryMetrics().getUsedMemory();
-        long availableMemory = monitoringEngine.getMemoryMetrics().getAvailableMemory();
-        
-        memoryMetrics.put("usage", memUsage);
-        memoryMetrics.put("usageFormatted", FormatUtil.formatPercent(memUsage));
-        memoryMetrics.put("total", totalMemory);
-        memoryMetrics.put("totalFormatted", FormatUtil.formatBytes(totalMemory));
-        memoryMetrics.put("used", usedMemory);
-        memoryMetrics.put("usedFormatted", FormatUtil.formatBytes(usedMemory));
-        memoryMetrics.put("available", availableMemory);
-        memoryMetrics.put("availableFormatted", FormatUtil.formatBytes(availableMemory));
-        response.put("memory", memoryMetrics);
-        
-        // Process metrics
-        List<OSProcess> processes = monitoringEngine.getProcessMetrics().getProcesses();
-        List<Map<String, Object>> processList = processes.stream()
-            .map(process -> {
-                Map<String, Object> processMap = new HashMap<>();
-                long memory = process.getResidentSetSize();
-                double cpu = process.getProcessCpuLoadCumulative() * 100;
-                
-                processMap.put("pid", process.getProcessID());
-                processMap.put("name", process.getName());
-                processMap.put("memory", memory);
-                processMap.put("memoryFormatted", FormatUtil.formatBytes(memory));
-                processMap.put("cpu", cpu);
-                processMap.put("cpuFormatted", FormatUtil.formatPercent(cpu));
-                processMap.put("threads", process.getThreadCount());
-                return processMap;
-            })
-            .collect(Collectors.toList());
-        response.put("processes", processList);
-        
-        // Disk metrics
-        List<Map<String, Object>> diskInfo = monitoringEngine.getDiskMetrics().getDiskInfo();
-        response.put("disks", diskInfo);
-        
-        // GPU metrics
-        List<Map<String, Object>> gpuInfo = monitoringEngine.getGpuMetrics().getGpuInfo();
-        response.put("gpus", gpuInfo);
-        
-        // Network metrics
-        List<Map<String, Object>> networkInfo = monitoringEngine.getNetworkMetrics().getNetworkInfo();
-        
-        // Create a properly structured network response
-        Map<String, Object> networkData = new HashMap<>();
-        
-        // Add connection stats from the first entry (if it exists)
-        if (!networkInfo.isEmpty()) {
             try {
-                // Create a defensive copy to avoid concurrent modification
-                List<Map<String, Object>> networkInfoCopy = new ArrayList<>(networkInfo);
-                
-                Map<String, Object> globalInfo = new HashMap<>(networkInfoCopy.get(0));
-                networkData.putAll(globalInfo);
-                
-                // Create interfaces list from remaining entries with defensive copy
-                List<Map<String, Object>> interfaces = new ArrayList<>();
-                if (networkInfoCopy.size() > 1) {
-                    for (int i = 1; i < networkInfoCopy.size(); i++) {
-                        interfaces.add(new HashMap<>(networkInfoCopy.get(i)));
-                    }
-                }
-                
-                // Mark if sudo is needed for full network monitoring
-                if (!isRunningWithSudo && System.getProperty("os.name").toLowerCase().contains("mac")) {
-                    for (Map<String, Object> netInterface : interfaces) {
-                        netInterface.put("requiresSudo", true);
-                    }
-                }
-                
-                networkData.put("interfaces", interfaces);
-            } catch (Exception e) {
-                System.err.println("Error processing network info: " + e.getMessage());
-                e.printStackTrace();
-                // Provide empty interfaces list if error occurs
-                networkData.put("interfaces", new ArrayList<>());
+                projection = JsonProjection.parse(fields);
+            } catch (IllegalArgumentException e) {
+                return error(400, e.getMessage());
             }
+            String unknown = unknownRoot(projection, sections);
+            if (unknown != null) {
+                Set<String> known = new LinkedHashSet<>();
+                known.add(SYSTEM_SECTION);
+                known.addAll(sections);
+                return error(400, "Unknown section '" + unknown + "', expected one of " + known);
+            }
+            sections = new LinkedHashSet<>(projection.getRoots());
+        }
+
+        Set<String> selected = sections;
+        JsonProjection selectedFields = projection;
+        String coding = contentCoding(acceptEncoding);
+        if (waitFor != null && snapshotWaiters.shouldPark(waitFor)) {
+            return snapshotWaiters.await(waitFor,
+                    snapshot -> allMetrics(snapshot, since, selected, selectedFields, coding));
         }
-        
-        response.put("network", networkData);
-        
-        // Temperature metrics
-        Map<String, Object> temperatureInfo = monitoringEngine.getTemperatureMetrics().getTemperatureInfo();
-        response.put("temperature", temperatureInfo);
-        
+        return allMetrics(monitoringEngine.getSnapshot(sections), since, sections, projection, coding);
+    }
+
+    private ResponseEntity<Object> allMetrics(MetricsSnapshot snapshot, Long since, Set<String> sections,
+                                              JsonProjection projection, String coding) {
+        if (snapshot == null) {
+            // Return a simple error response until the first cycle has completed
+            return error(503, "Metrics not collected yet");
+        }
+
+        if (since != null) {
+            return snapshotResponse(snapshot).body(snapshotDeltas.delta(snapshot, since));
+        } else if (projection != null) {
+            Map<String, Object> selected = new LinkedHashMap<>();
+            for (String name : sections) {
+                selected.put(name, snapshot.getSection(name));
+            }
+            return snapshotResponse(snapshot).body(projection.apply(objectMapper.valueToTree(selected)));
+        }
+
+        SnapshotEncodings.Encoded encoded = snapshotEncodings.get(snapshot);
+        ResponseEntity.BodyBuilder response = snapshotResponse(snapshot)
+                // Each coding has its own bytes, so its own strong ETag; If-None-Match is checked against it
+                .eTag(eTag(snapshot, coding))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (GZIP.equals(coding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(encoded.getGzip());
+        } else if (DEFLATE.equals(coding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, DEFLATE).body(encoded.getDeflate());
+        }
+        return response.body(encoded.getJson());
+    }
+
+    /**
+     * ETag of a snapshot representation: the sequence, suffixed with the
+     * content coding or binary format if there is one.
+     */
+    static String eTag(MetricsSnapshot snapshot, String variant) {
+        return variant != null ? snapshot.getSequence() + "-" + variant : String.valueOf(snapshot.getSequence());
+    }
+
+    /**
+     * The first root of the projection that is neither the system status nor
+     * one of the collected sections, or null if there is none.
+     */
+    static String unknownRoot(JsonProjection projection, Set<String> sections) {
+        for (String root : projection.getRoots()) {
+            if (!SYSTEM_SECTION.equals(root) && !sections.contains(root)) {
+                return root;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The full snapshot in {@link SnapshotBinaryFormat}, for clients that send
+     * Accept: application/x-sysmon-bin. Encoded once per snapshot; ETag,
+     * waitFor and on-demand collection work as for the JSON representation.
+     */
+    @GetMapping(value = {"/", "/all", "/metrics"}, produces = SnapshotBinaryFormat.MEDIA_TYPE)
+    public Object getAllMetricsBinary(@RequestParam(required = false) Long waitFor) {
+        if (waitFor != null && snapshotWaiters.shouldPark(waitFor)) {
+            return snapshotWaiters.await(waitFor, this::allMetricsBinary);
+        }
+        return allMetricsBinary(monitoringEngine.getSnapshot(monitoringEngine.getSectionIntervals().keySet()));
+    }
+
+    private ResponseEntity<Object> allMetricsBinary(MetricsSnapshot snapshot) {
+        if (snapshot == null) {
+            return error(503, "Metrics not collected yet");
+        }
+        return ResponseEntity.ok()
+                .header(SEQUENCE_HEADER, String.valueOf(snapshot.getSequence()))
+                .header(AGE_HEADER, String.valueOf(snapshot.getAgeMillis()))
+                // Distinct from the JSON representation's ETag
+                .eTag(eTag(snapshot, "bin"))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .contentType(MediaType.parseMediaType(SnapshotBinaryFormat.MEDIA_TYPE))
+                .body(snapshotEncodings.get(snapshot).getBinary());
+    }
+
+    /**
+     * A single section of the latest snapshot, e.g. /api/network, or the
+     * system status at /api/system. With
+     * fields=&lt;path&gt;,... returns only those fields, relative to the
+     * section (fields=interfaces[].downloadRate). In on-demand mode only this
+     * section is collected. ETag, If-None-Match and waitFor work as for
+     * /api/all.
+     */
+    @GetMapping("/{section:[a-z][a-z0-9-]*}")
+    public Object getSection(@PathVariable String section,
+                             @RequestParam(required = false) List<String> fields,
+                             @RequestParam(required = false) Long waitFor) {
+        if (!SYSTEM_SECTION.equals(section) && !monitoringEngine.getSectionIntervals().containsKey(section)) {
+            return error(404, "Unknown section '" + section + "'");
+        }
+        JsonProjection projection = null;
+        if (fields != null) {
+            try {
+                projection = JsonProjection.parse(fields);
+            } catch (IllegalArgumentException e) {
+                return error(400, e.getMessage());
+            }
+        }
+
+        JsonProjection selectedFields = projection;
+        if (waitFor != null && snapshotWaiters.shouldPark(waitFor)) {
+            return snapshotWaiters.await(waitFor, snapshot -> section(snapshot, section, selectedFields));
+        }
+        return section(monitoringEngine.getSnapshot(Collections.singleton(section)), section, projection);
+    }
+
+    /**
+     * Top processes. Without parameters, the top processes by memory, as in
+     * /api/all. With sort=cpu|memory|threads|io, the top processes by that
+     * ranking; limit=N returns up to N of them, at most
+     * metrics.processes.ranking-size. fields and waitFor work as for the other
+     * sections.
+     */
+    @GetMapping("/processes")
+    public Object getProcesses(@RequestParam(required = false) String sort,
+                               @RequestParam(required = false) Integer limit,
+                               @RequestParam(required = false) List<String> fields,
+                               @RequestParam(required = false) Long waitFor) {
+        ProcessRanking ranking = sort != null ? ProcessRanking.fromKey(sort) : null;
+        if (sort != null && ranking == null) {
+            return error(400, "Unknown sort '" + sort + "', expected one of cpu, memory, threads, io");
+        }
+        if (limit != null && limit < 1) {
+            return error(400, "limit must be at least 1");
+        }
+        JsonProjection projection = null;
+        if (fields != null) {
+            try {
+                projection = JsonProjection.parse(fields);
+            } catch (IllegalArgumentException e) {
+                return error(400, e.getMessage());
+            }
+        }
+
+        JsonProjection selectedFields = projection;
+        if (waitFor != null && snapshotWaiters.shouldPark(waitFor)) {
+            return snapshotWaiters.await(waitFor, snapshot -> processes(snapshot, ranking, limit, selectedFields));
+        }
+        return processes(monitoringEngine.getSnapshot(Collections.singleton("processes")), ranking, limit, projection);
+    }
+
+    /**
+     * Recent CPU and memory samples of a process that has been in any of the
+     * process rankings. It is kept, even after it exits, until it has been
+     * out of every ranking for metrics.processes.history.window, or sooner if
+     * evicted by metrics.processes.history.max-size.
+     */
+    @GetMapping("/processes/{pid}/history")
+    public ResponseEntity<Object> getProcessHistory(@PathVariable int pid) {
+        ProcessHistory history = processMetrics.getHistory();
+        ProcessHistory.Samples samples = history != null ? history.get(pid, System.currentTimeMillis()) : null;
+        if (samples == null) {
+            return error(404, "No history for process " + pid + ": it has not been in a ranking recently");
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("pid", samples.getPid());
+        response.put("name", samples.getName());
+        response.put("startTime", samples.getStartTime());
+        response.put("alive", samples.isAlive());
+        response.put("window", history.getWindowMillis());
+        response.put("timestamps", samples.getTimestamps());
+        response.put("cpu", samples.getCpu());
+        response.put("memory", samples.getMemory());
         return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            System.err.println("Error generating metrics response: " + e.getMessage());
-            e.printStackTrace();
-            
-            // Return a simple error response
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Error generating metrics: " + e.getMessage());
-            errorResponse.put("timestamp", System.currentTimeMillis());
-            return ResponseEntity.status(500).body(errorResponse);
+    }
+
+    private ResponseEntity<Object> processes(MetricsSnapshot snapshot, ProcessRanking ranking, Integer limit,
+                                             JsonProjection projection) {
+        ProcessList processes = snapshot != null ? snapshot.getProcesses() : null;
+        if (processes == null) {
+            return error(503, "Metrics not collected yet");
+        }
+        List<ProcessSnapshot> selected = processes;
+        if (ranking != null || limit != null) {
+            selected = processes.getRanking(ranking != null ? ranking : ProcessRanking.MEMORY,
+                    limit != null ? limit : processes.size());
+        }
+        return snapshotResponse(snapshot)
+                .body(projection != null ? projection.apply(objectMapper.valueToTree(selected)) : selected);
+    }
+
+    private ResponseEntity<Object> section(MetricsSnapshot snapshot, String section, JsonProjection projection) {
+        Object value = snapshot != null ? snapshot.getSection(section) : null;
+        if (value == null) {
+            return error(503, "Metrics not collected yet");
+        }
+        return snapshotResponse(snapshot)
+                .body(projection != null ? projection.apply(objectMapper.valueToTree(value)) : value);
+    }
+
+    private static ResponseEntity.BodyBuilder snapshotResponse(MetricsSnapshot snapshot) {
+        return ResponseEntity.ok()
+                .header(SEQUENCE_HEADER, String.valueOf(snapshot.getSequence()))
+                .header(AGE_HEADER, String.valueOf(snapshot.getAgeMillis()))
+                .eTag(eTag(snapshot, null));
+    }
+
+    /**
+     * The compression to use for an Accept-Encoding header: gzip, deflate or
+     * null for none. Codings with q=0 are refused; otherwise gzip is preferred.
+     */
+    static String contentCoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(parameter.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (refused) {
+                continue;
+            }
+            if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                return GZIP;
+            }
+            deflate |= coding.equals(DEFLATE);
         }
+        return deflate ? DEFLATE : null;
     }
-    
-    // Single endpoint for backward compatibility with legacy endpoint paths
-    @GetMapping({
-        "/cpu", 
-        "/memory", 
-        "/processes", 
-        "/system", 
-        "/disks", 
-        "/gpus", 
-        "/network", 
-        "/temperature"
-    })
-    public ResponseEntity<Map<String, Object>> getLegacyMetrics() {
-        return getAllMetrics();
+
+    private static ResponseEntity<Object> error(int status, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", message);
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.status(status).body(errorResponse);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,410 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.monitor.model.CpuSnapshot;
+import com.monitor.model.DiskSnapshot;
+import com.monitor.model.GpuSnapshot;
+import com.monitor.model.GpuTemperature;
+import com.monitor.model.InterfaceSnapshot;
+import com.monitor.model.MemorySnapshot;
+import com.monitor.model.NetworkSnapshot;
+import com.monitor.model.PartitionSnapshot;
+import com.monitor.model.ProcessSnapshot;
+import com.monitor.model.SystemStatus;
+import com.monitor.model.TcpSnapshot;
+import com.monitor.model.TemperatureSnapshot;
+import com.monitor.model.UdpSnapshot;
+import com.monitor.util.FormatUtil;
+
+import org.springframework.stereotype.Component;
+
+import oshi.hardware.CentralProcessor.TickType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON representation of the snapshot model.
+ *
+ * The model only holds raw values; the human-readable {@code *Formatted}
+ * fields the dashboard displays are produced here, while a response is being
+ * written, so they cost nothing for cycles no client reads. Spring Boot
+ * registers this module with the application's ObjectMapper.
+ */
+@Component
+public class MetricsJsonModule extends SimpleModule {
+
+    public MetricsJsonModule() {
+        super("MetricsJsonModule");
+        addSerializer(new SystemStatusSerializer());
+        addSerializer(new CpuSerializer());
+        addSerializer(new MemorySerializer());
+        addSerializer(new ProcessSerializer());
+        addSerializer(new DiskSerializer());
+        addSerializer(new PartitionSerializer());
+        addSerializer(new GpuSerializer());
+        addSerializer(new NetworkSerializer());
+        addSerializer(new InterfaceSerializer());
+        addSerializer(new TemperatureSerializer());
+    }
+
+    private static void writeStrings(JsonGenerator gen, String field, List<String> values) throws IOException {
+        gen.writeArrayFieldStart(field);
+        for (String value : values) {
+            gen.writeString(value);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeMillis(JsonGenerator gen, String field, Map<String, Long> values) throws IOException {
+        gen.writeObjectFieldStart(field);
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            gen.writeNumberField(entry.getKey(), entry.getValue());
+        }
+        gen.writeEndObject();
+    }
+
+    static class SystemStatusSerializer extends StdSerializer<SystemStatus> {
+        SystemStatusSerializer() {
+            super(SystemStatus.class);
+        }
+
+        @Override
+        public void serialize(SystemStatus system, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("os", system.getOs());
+            gen.writeNumberField("refreshRate", system.getRefreshRate());
+            gen.writeNumberField("timestamp", system.getTimestamp());
+            gen.writeNumberField("sequence", system.getSequence());
+            writeMillis(gen, "collectionMillis", system.getCollectionMillis());
+            writeMillis(gen, "updated", system.getUpdated());
+            writeStrings(gen, "stale", system.getStale());
+            gen.writeBooleanField("runningWithSudo", system.isRunningWithSudo());
+            gen.writeEndObject();
+        }
+    }
+
+    static class CpuSerializer extends StdSerializer<CpuSnapshot> {
+        CpuSerializer() {
+            super(CpuSnapshot.class);
+        }
+
+        @Override
+        public void serialize(CpuSnapshot cpu, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField("usage", cpu.getUsage());
+            gen.writeStringField("usageFormatted", FormatUtil.formatPercent(cpu.getUsage()));
+            gen.writeNumberField("cores", cpu.getCores());
+
+            // Aggregate breakdown by state
+            gen.writeObjectFieldStart("states");
+            for (TickType type : TickType.values()) {
+                gen.writeNumberField(type.name().toLowerCase(), cpu.getStatePercent(type));
+            }
+            gen.writeEndObject();
+
+            // Per-core usage as one array per state
+            gen.writeObjectFieldStart("perCore");
+            gen.writeArrayFieldStart("usage");
+            for (int core = 0; core < cpu.getCoreCount(); core++) {
+                gen.writeNumber(cpu.getCoreUsage(core));
+            }
+            gen.writeEndArray();
+            for (TickType type : TickType.values()) {
+                if (type == TickType.IDLE || type == TickType.NICE) {
+                    continue;
+                }
+                gen.writeArrayFieldStart(type.name().toLowerCase());
+                for (int core = 0; core < cpu.getCoreCount(); core++) {
+                    gen.writeNumber(cpu.getCoreStatePercent(core, type));
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+    }
+
+    static class MemorySerializer extends StdSerializer<MemorySnapshot> {
+        MemorySerializer() {
+            super(MemorySnapshot.class);
+        }
+
+        @Override
+        public void serialize(MemorySnapshot memory, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField("usage", memory.getUsage());
+            gen.writeStringField("usageFormatted", FormatUtil.formatPercent(memory.getUsage()));
+            gen.writeNumberField("total", memory.getTotal());
+            gen.writeStringField("totalFormatted", FormatUtil.formatBytes(memory.getTotal()));
+            gen.writeNumberField("used", memory.getUsed());
+            gen.writeStringField("usedFormatted", FormatUtil.formatBytes(memory.getUsed()));
+            gen.writeNumberField("available", memory.getAvailable());
+            gen.writeStringField("availableFormatted", FormatUtil.formatBytes(memory.getAvailable()));
+            gen.writeEndObject();
+        }
+    }
+
+    static class ProcessSerializer extends StdSerializer<ProcessSnapshot> {
+        ProcessSerializer() {
+            super(ProcessSnapshot.class);
+        }
+
+        @Override
+        public void serialize(ProcessSnapshot process, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField("pid", process.getPid());
+            gen.writeStringField("name", process.getName());
+            gen.writeNumberField("memory", process.getResidentMemory());
+            gen.writeStringField("memoryFormatted", FormatUtil.formatBytes(process.getResidentMemory()));
+            gen.writeNumberField("cpu", process.getCpu());
+            gen.writeStringField("cpuFormatted", FormatUtil.formatPercent(process.getCpu()));
+            gen.writeNumberField("threads", process.getThreads());
+            gen.writeNumberField("ioRate", process.getIoRate());
+            gen.writeStringField("ioRateFormatted", FormatUtil.formatBytes(process.getIoRate()) + "/s");
+            gen.writeEndObject();
+        }
+    }
+
+    static class DiskSerializer extends StdSerializer<DiskSnapshot> {
+        DiskSerializer() {
+            super(DiskSnapshot.class);
+        }
+
+        @Override
+        public void serialize(DiskSnapshot disk, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("name", disk.getName());
+            gen.writeStringField("model", disk.getModel());
+            gen.writeStringField("serial", disk.getSerial());
+            gen.writeNumberField("size", disk.getSize());
+            gen.writeStringField("sizeFormatted", FormatUtil.formatBytes(disk.getSize()));
+
+            // I/O stats
+            gen.writeNumberField("reads", disk.getReads());
+            gen.writeNumberField("writes", disk.getWrites());
+            gen.writeNumberField("readBytes", disk.getReadBytes());
+            gen.writeStringField("readBytesFormatted", FormatUtil.formatBytes(disk.getReadBytes()));
+            gen.writeNumberField("writeBytes", disk.getWriteBytes());
+            gen.writeStringField("writeBytesFormatted", FormatUtil.formatBytes(disk.getWriteBytes()));
+            gen.writeNumberField("readRate", disk.getReadRate());
+            gen.writeStringField("readRateFormatted", FormatUtil.formatBytes(disk.getReadRate()) + "/s");
+            gen.writeNumberField("writeRate", disk.getWriteRate());
+            gen.writeStringField("writeRateFormatted", FormatUtil.formatBytes(disk.getWriteRate()) + "/s");
+
+            gen.writeArrayFieldStart("partitions");
+            for (PartitionSnapshot partition : disk.getPartitions()) {
+                provider.defaultSerializeValue(partition, gen);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    static class PartitionSerializer extends StdSerializer<PartitionSnapshot> {
+        PartitionSerializer() {
+            super(PartitionSnapshot.class);
+        }
+
+        @Override
+        public void serialize(PartitionSnapshot partition, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("identification", partition.getIdentification());
+            gen.writeStringField("name", partition.getName());
+            gen.writeStringField("type", partition.getType());
+            gen.writeStringField("mountPoint", partition.getMountPoint());
+            gen.writeNumberField("size", partition.getSize());
+            gen.writeStringField("sizeFormatted", FormatUtil.formatBytes(partition.getSize()));
+
+            // File system details are only known for mounted partitions
+            if (partition.isMounted()) {
+                gen.writeNumberField("totalSpace", partition.getTotalSpace());
+                gen.writeStringField("totalSpaceFormatted", FormatUtil.formatBytes(partition.getTotalSpace()));
+                gen.writeNumberField("freeSpace", partition.getFreeSpace());
+                gen.writeStringField("freeSpaceFormatted", FormatUtil.formatBytes(partition.getFreeSpace()));
+                gen.writeNumberField("usableSpace", partition.getUsableSpace());
+                gen.writeStringField("usableSpaceFormatted", FormatUtil.formatBytes(partition.getUsableSpace()));
+                gen.writeNumberField("usedPercent", partition.getUsedPercent());
+                gen.writeStringField("usedPercentFormatted", FormatUtil.formatPercent(partition.getUsedPercent()));
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static class GpuSerializer extends StdSerializer<GpuSnapshot> {
+        GpuSerializer() {
+            super(GpuSnapshot.class);
+        }
+
+        @Override
+        public void serialize(GpuSnapshot gpu, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("name", gpu.getName());
+            gen.writeStringField("vendor", gpu.getVendor());
+            gen.writeStringField("deviceId", gpu.getDeviceId());
+            gen.writeStringField("versionInfo", gpu.getVersionInfo());
+            gen.writeNumberField("usage", gpu.getUsage());
+            gen.writeStringField("usageFormatted", FormatUtil.formatPercent(gpu.getUsage()));
+            gen.writeNumberField("totalMemory", gpu.getTotalMemory());
+            gen.writeStringField("totalMemoryFormatted", FormatUtil.formatBytes(gpu.getTotalMemory()));
+            gen.writeNumberField("usedMemory", gpu.getUsedMemory());
+            gen.writeStringField("usedMemoryFormatted", FormatUtil.formatBytes(gpu.getUsedMemory()));
+            gen.writeNumberField("freeMemory", gpu.getFreeMemory());
+            gen.writeStringField("freeMemoryFormatted", FormatUtil.formatBytes(gpu.getFreeMemory()));
+            gen.writeNumberField("memoryUsage", gpu.getMemoryUsage());
+            gen.writeStringField("memoryUsageFormatted", FormatUtil.formatPercent(gpu.getMemoryUsage()));
+            gen.writeNumberField("temperature", gpu.getTemperature());
+            gen.writeStringField("temperatureFormatted", String.format("%.1f°C", gpu.getTemperature()));
+            gen.writeBooleanField("isSimulated", gpu.isSimulated());
+            gen.writeEndObject();
+        }
+    }
+
+    static class NetworkSerializer extends StdSerializer<NetworkSnapshot> {
+        NetworkSerializer() {
+            super(NetworkSnapshot.class);
+        }
+
+        @Override
+        public void serialize(NetworkSnapshot network, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("hostname", network.getHostname());
+            gen.writeStringField("domain", network.getDomain());
+            writeStrings(gen, "dnsServers", network.getDnsServers());
+            gen.writeStringField("ipv4DefaultGateway", network.getIpv4DefaultGateway());
+            gen.writeStringField("ipv6DefaultGateway", network.getIpv6DefaultGateway());
+
+            TcpSnapshot tcp = network.getTcp();
+            if (tcp != null) {
+                gen.writeObjectFieldStart("tcp");
+                gen.writeNumberField("connectionsActive", tcp.getConnectionsActive());
+                gen.writeNumberField("connectionsPassive", tcp.getConnectionsPassive());
+                gen.writeNumberField("connectionsFailures", tcp.getConnectionFailures());
+                gen.writeNumberField("connectionsEstablished", tcp.getConnectionsEstablished());
+                gen.writeNumberField("segmentsSent", tcp.getSegmentsSent());
+                gen.writeNumberField("segmentsReceived", tcp.getSegmentsReceived());
+                gen.writeNumberField("segmentsRetransmitted", tcp.getSegmentsRetransmitted());
+                gen.writeNumberField("inErrors", tcp.getInErrors());
+                gen.writeNumberField("outResets", tcp.getOutResets());
+                gen.writeEndObject();
+            }
+
+            UdpSnapshot udp = network.getUdp();
+            if (udp != null) {
+                gen.writeObjectFieldStart("udp");
+                gen.writeNumberField("datagramsSent", udp.getDatagramsSent());
+                gen.writeNumberField("datagramsReceived", udp.getDatagramsReceived());
+                gen.writeNumberField("datagramsNoPort", udp.getDatagramsNoPort());
+                gen.writeNumberField("datagramsReceivedErrors", udp.getDatagramsReceivedErrors());
+                gen.writeEndObject();
+            }
+
+            gen.writeArrayFieldStart("interfaces");
+            for (InterfaceSnapshot netInterface : network.getInterfaces()) {
+                provider.defaultSerializeValue(netInterface, gen);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    static class InterfaceSerializer extends StdSerializer<InterfaceSnapshot> {
+        InterfaceSerializer() {
+            super(InterfaceSnapshot.class);
+        }
+
+        @Override
+        public void serialize(InterfaceSnapshot netInterface, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("name", netInterface.getName());
+            gen.writeStringField("displayName", netInterface.getDisplayName());
+            gen.writeStringField("macAddress", netInterface.getMacAddress());
+            gen.writeNumberField("mtu", netInterface.getMtu());
+            gen.writeNumberField("speed", netInterface.getSpeed());
+            gen.writeStringField("speedFormatted", netInterface.getSpeed() > 0 ?
+                    FormatUtil.formatBitRate(netInterface.getSpeed()) : "Unknown");
+            gen.writeBooleanField("connected", netInterface.isConnected());
+            writeStrings(gen, "ipv4Addresses", netInterface.getIpv4Addresses());
+            writeStrings(gen, "ipv6Addresses", netInterface.getIpv6Addresses());
+
+            // Traffic statistics; without elevated permissions they are not available
+            boolean limited = netInterface.isLimitedAccess();
+            gen.writeNumberField("packetsRecv", netInterface.getPacketsRecv());
+            gen.writeNumberField("packetsSent", netInterface.getPacketsSent());
+            gen.writeNumberField("bytesRecv", netInterface.getBytesRecv());
+            gen.writeStringField("bytesRecvFormatted", limited ?
+                    "Limited access" : FormatUtil.formatBytes(netInterface.getBytesRecv()));
+            gen.writeNumberField("bytesSent", netInterface.getBytesSent());
+            gen.writeStringField("bytesSentFormatted", limited ?
+                    "Limited access" : FormatUtil.formatBytes(netInterface.getBytesSent()));
+            gen.writeNumberField("downloadRate", netInterface.getDownloadRate());
+            gen.writeStringField("downloadRateFormatted", limited ?
+                    "Run with sudo" : FormatUtil.formatBytes(netInterface.getDownloadRate()) + "/s");
+            gen.writeNumberField("uploadRate", netInterface.getUploadRate());
+            gen.writeStringField("uploadRateFormatted", limited ?
+                    "Run with sudo" : FormatUtil.formatBytes(netInterface.getUploadRate()) + "/s");
+            if (limited) {
+                gen.writeBooleanField("requiresSudo", true);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static class TemperatureSerializer extends StdSerializer<TemperatureSnapshot> {
+        TemperatureSerializer() {
+            super(TemperatureSnapshot.class);
+        }
+
+        @Override
+        public void serialize(TemperatureSnapshot temperature, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeObjectFieldStart("cpu");
+            gen.writeNumberField("temperature", temperature.getCpuTemperature());
+            gen.writeStringField("temperatureFormatted", FormatUtil.formatTemperature(temperature.getCpuTemperature()));
+            if (temperature.isCpuSimulated()) {
+                gen.writeBooleanField("isSimulated", true);
+            }
+            gen.writeStringField("vendor", temperature.getCpuVendor());
+            gen.writeStringField("model", temperature.getCpuModel());
+            gen.writeNumberField("physicalPackages", temperature.getPhysicalPackages());
+            gen.writeNumberField("physicalCores", temperature.getPhysicalCores());
+            gen.writeNumberField("logicalCores", temperature.getLogicalCores());
+            if (temperature.getCpuVoltage() > 0) {
+                gen.writeNumberField("voltage", temperature.getCpuVoltage());
+                gen.writeStringField("voltageFormatted", String.format("%.2f V", temperature.getCpuVoltage()));
+            }
+            gen.writeEndObject();
+
+            if (temperature.getFanCount() > 0) {
+                gen.writeArrayFieldStart("fans");
+                for (int i = 0; i < temperature.getFanCount(); i++) {
+                    gen.writeStartObject();
+                    gen.writeNumberField("id", i + 1);
+                    gen.writeNumberField("rpm", temperature.getFanSpeed(i));
+                    gen.writeStringField("rpmFormatted", temperature.getFanSpeed(i) + " RPM");
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+            }
+
+            if (!temperature.getGpus().isEmpty()) {
+                gen.writeArrayFieldStart("gpus");
+                for (GpuTemperature gpu : temperature.getGpus()) {
+                    gen.writeStartObject();
+                    gen.writeStringField("name", gpu.getName());
+                    gen.writeStringField("vendor", gpu.getVendor());
+                    gen.writeStringField("deviceId", gpu.getDeviceId());
+                    gen.writeNumberField("temperature", gpu.getTemperature());
+                    gen.writeStringField("temperatureFormatted", FormatUtil.formatTemperature(gpu.getTemperature()));
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+}
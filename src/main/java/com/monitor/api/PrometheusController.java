@@ -0,0 +1,46 @@
+package com.monitor.api;
+
+import com.monitor.core.MetricsSnapshot;
+import com.monitor.core.MonitoringEngine;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Latest snapshot for Prometheus to scrape.
+ */
+@RestController
+public class PrometheusController {
+
+    private final MonitoringEngine monitoringEngine;
+    private final PrometheusExporter prometheusExporter;
+
+    @Autowired
+    public PrometheusController(MonitoringEngine monitoringEngine, PrometheusExporter prometheusExporter) {
+        this.monitoringEngine = monitoringEngine;
+        this.prometheusExporter = prometheusExporter;
+    }
+
+    /**
+     * CPU, memory, disk, network, temperature and top-process metrics in the
+     * Prometheus text format. In on-demand mode the sections that are due are
+     * collected first. Answers 503 until the first snapshot is published.
+     */
+    @GetMapping("/metrics/prometheus")
+    public ResponseEntity<byte[]> scrape() {
+        MetricsSnapshot snapshot = monitoringEngine.getSnapshot(monitoringEngine.getSectionIntervals().keySet());
+        if (snapshot == null) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.CONTENT_TYPE, PrometheusExporter.CONTENT_TYPE)
+                    .body("# Metrics not collected yet\n".getBytes(StandardCharsets.UTF_8));
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, PrometheusExporter.CONTENT_TYPE)
+                .body(prometheusExporter.render(snapshot));
+    }
+}
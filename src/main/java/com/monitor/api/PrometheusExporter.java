@@ -0,0 +1,302 @@
+package com.monitor.api;
+
+import com.monitor.core.MetricsSnapshot;
+import com.monitor.model.CpuSnapshot;
+import com.monitor.model.DiskSnapshot;
+import com.monitor.model.GpuSnapshot;
+import com.monitor.model.InterfaceSnapshot;
+import com.monitor.model.MemorySnapshot;
+import com.monitor.model.NetworkSnapshot;
+import com.monitor.model.PartitionSnapshot;
+import com.monitor.model.ProcessSnapshot;
+import com.monitor.model.SystemStatus;
+import com.monitor.model.TcpSnapshot;
+import com.monitor.model.TemperatureSnapshot;
+import com.monitor.model.UdpSnapshot;
+
+import org.springframework.stereotype.Component;
+
+import oshi.hardware.CentralProcessor.TickType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders snapshots in the Prometheus text format for /metrics/prometheus.
+ *
+ * Values are streamed from the snapshot's model objects into one reused
+ * {@link PrometheusWriter} buffer. A snapshot is rendered once; scrapes of the
+ * same snapshot get the same bytes. Simulated CPU and GPU readings are left
+ * out rather than exported as real ones.
+ */
+@Component
+public class PrometheusExporter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final TickType[] STATES = TickType.values();
+    private static final String[] STATE_NAMES = new String[STATES.length];
+
+    static {
+        for (int i = 0; i < STATES.length; i++) {
+            STATE_NAMES[i] = STATES[i].name().toLowerCase();
+        }
+    }
+
+    private final PrometheusWriter writer = new PrometheusWriter(64 * 1024);
+    private long renderedSequence = -1;
+    private byte[] rendered;
+
+    /**
+     * The snapshot in the text exposition format.
+     */
+    public synchronized byte[] render(MetricsSnapshot snapshot) {
+        if (rendered == null || renderedSequence != snapshot.getSequence()) {
+            writer.reset();
+            write(snapshot);
+            rendered = writer.toByteArray();
+            renderedSequence = snapshot.getSequence();
+        }
+        return rendered;
+    }
+
+    private void write(MetricsSnapshot snapshot) {
+        writeSystem(snapshot.getSystem());
+        writeCpu(snapshot.getCpu());
+        writeMemory(snapshot.getMemory());
+        writeDisks(snapshot.getDisks());
+        NetworkSnapshot network = snapshot.getNetwork();
+        if (network != null) {
+            writeInterfaces(network.getInterfaces());
+            writeTcp(network.getTcp());
+            writeUdp(network.getUdp());
+        }
+        writeTemperature(snapshot.getTemperature());
+        writeGpus(snapshot.getGpus());
+        writeProcesses(snapshot.getProcesses());
+    }
+
+    private void writeSystem(SystemStatus system) {
+        if (system == null) {
+            return;
+        }
+        writer.gauge("sysmon_snapshot_sequence", "Sequence number of the published snapshot.",
+                system.getSequence());
+        writer.gauge("sysmon_snapshot_timestamp_seconds", "Time the snapshot was published.",
+                system.getTimestamp() / 1000.0);
+
+        writer.family("sysmon_collection_duration_seconds", "gauge",
+                "Time the last collection of each section took.");
+        for (Map.Entry<String, Long> section : system.getCollectionMillis().entrySet()) {
+            writer.sample().label("section", section.getKey()).value(section.getValue() / 1000.0);
+        }
+        writer.family("sysmon_section_stale", "gauge",
+                "1 if the section missed its collection budget and holds its last good value.");
+        List<String> stale = system.getStale();
+        for (String section : system.getCollectionMillis().keySet()) {
+            writer.sample().label("section", section).value(stale.contains(section) ? 1 : 0);
+        }
+    }
+
+    private void writeCpu(CpuSnapshot cpu) {
+        if (cpu == null) {
+            return;
+        }
+        writer.gauge("sysmon_cpu_usage_percent", "CPU usage over the last interval.", cpu.getUsage());
+        writer.gauge("sysmon_cpu_logical_cores", "Number of logical processors.", cpu.getCores());
+
+        writer.family("sysmon_cpu_state_percent", "gauge", "Share of CPU time per state over the last interval.");
+        for (int i = 0; i < STATES.length; i++) {
+            writer.sample().label("state", STATE_NAMES[i]).value(cpu.getStatePercent(STATES[i]));
+        }
+        writer.family("sysmon_cpu_core_usage_percent", "gauge", "Usage of each logical processor over the last interval.");
+        for (int core = 0; core < cpu.getCoreCount(); core++) {
+            writer.sample().label("core", core).value(cpu.getCoreUsage(core));
+        }
+    }
+
+    private void writeMemory(MemorySnapshot memory) {
+        if (memory == null) {
+            return;
+        }
+        writer.gauge("sysmon_memory_total_bytes", "Physical memory.", memory.getTotal());
+        writer.gauge("sysmon_memory_used_bytes", "Physical memory in use.", memory.getUsed());
+        writer.gauge("sysmon_memory_available_bytes", "Physical memory available.", memory.getAvailable());
+    }
+
+    private void writeDisks(List<DiskSnapshot> disks) {
+        if (disks == null) {
+            return;
+        }
+        writer.family("sysmon_disk_size_bytes", "gauge", "Disk capacity.");
+        for (DiskSnapshot disk : disks) {
+            writer.sample().label("disk", disk.getName()).label("model", disk.getModel()).value(disk.getSize());
+        }
+        writer.family("sysmon_disk_reads_total", "counter", "Completed disk reads.");
+        for (DiskSnapshot disk : disks) {
+            writer.sample().label("disk", disk.getName()).value(disk.getReads());
+        }
+        writer.family("sysmon_disk_writes_total", "counter", "Completed disk writes.");
+        for (DiskSnapshot disk : disks) {
+            writer.sample().label("disk", disk.getName()).value(disk.getWrites());
+        }
+        writer.family("sysmon_disk_read_bytes_total", "counter", "Bytes read from disk.");
+        for (DiskSnapshot disk : disks) {
+            writer.sample().label("disk", disk.getName()).value(disk.getReadBytes());
+        }
+        writer.family("sysmon_disk_written_bytes_total", "counter", "Bytes written to disk.");
+        for (DiskSnapshot disk : disks) {
+            writer.sample().label("disk", disk.getName()).value(disk.getWriteBytes());
+        }
+
+        writer.family("sysmon_filesystem_size_bytes", "gauge", "Size of each mounted file system.");
+        for (DiskSnapshot disk : disks) {
+            for (PartitionSnapshot partition : disk.getPartitions()) {
+                if (partition.isMounted()) {
+                    writer.sample().label("mountpoint", partition.getMountPoint()).label("type", partition.getType())
+                            .value(partition.getTotalSpace());
+                }
+            }
+        }
+        writer.family("sysmon_filesystem_free_bytes", "gauge", "Free space of each mounted file system.");
+        for (DiskSnapshot disk : disks) {
+            for (PartitionSnapshot partition : disk.getPartitions()) {
+                if (partition.isMounted()) {
+                    writer.sample().label("mountpoint", partition.getMountPoint()).label("type", partition.getType())
+                            .value(partition.getFreeSpace());
+                }
+            }
+        }
+    }
+
+    private void writeInterfaces(List<InterfaceSnapshot> interfaces) {
+        writer.family("sysmon_network_up", "gauge", "1 if the interface is connected.");
+        for (InterfaceSnapshot nic : interfaces) {
+            writer.sample().label("interface", nic.getName()).value(nic.isConnected() ? 1 : 0);
+        }
+        writer.family("sysmon_network_speed_bits_per_second", "gauge", "Link speed reported by the interface.");
+        for (InterfaceSnapshot nic : interfaces) {
+            writer.sample().label("interface", nic.getName()).value(nic.getSpeed());
+        }
+        writer.family("sysmon_network_receive_bytes_total", "counter", "Bytes received.");
+        for (InterfaceSnapshot nic : interfaces) {
+            writer.sample().label("interface", nic.getName()).value(nic.getBytesRecv());
+        }
+        writer.family("sysmon_network_transmit_bytes_total", "counter", "Bytes sent.");
+        for (InterfaceSnapshot nic : interfaces) {
+            writer.sample().label("interface", nic.getName()).value(nic.getBytesSent());
+        }
+        writer.family("sysmon_network_receive_packets_total", "counter", "Packets received.");
+        for (InterfaceSnapshot nic : interfaces) {
+            writer.sample().label("interface", nic.getName()).value(nic.getPacketsRecv());
+        }
+        writer.family("sysmon_network_transmit_packets_total", "counter", "Packets sent.");
+        for (InterfaceSnapshot nic : interfaces) {
+            writer.sample().label("interface", nic.getName()).value(nic.getPacketsSent());
+        }
+    }
+
+    private void writeTcp(TcpSnapshot tcp) {
+        if (tcp == null) {
+            return;
+        }
+        writer.gauge("sysmon_tcp_connections_established", "TCP connections currently established.",
+                tcp.getConnectionsEstablished());
+        counter("sysmon_tcp_active_opens_total", "TCP connections opened by this host.", tcp.getConnectionsActive());
+        counter("sysmon_tcp_passive_opens_total", "TCP connections accepted by this host.", tcp.getConnectionsPassive());
+        counter("sysmon_tcp_connection_failures_total", "Failed TCP connection attempts.", tcp.getConnectionFailures());
+        counter("sysmon_tcp_segments_sent_total", "TCP segments sent.", tcp.getSegmentsSent());
+        counter("sysmon_tcp_segments_received_total", "TCP segments received.", tcp.getSegmentsReceived());
+        counter("sysmon_tcp_segments_retransmitted_total", "TCP segments retransmitted.", tcp.getSegmentsRetransmitted());
+        counter("sysmon_tcp_in_errors_total", "TCP segments received with errors.", tcp.getInErrors());
+        counter("sysmon_tcp_out_resets_total", "TCP resets sent.", tcp.getOutResets());
+    }
+
+    private void writeUdp(UdpSnapshot udp) {
+        if (udp == null) {
+            return;
+        }
+        counter("sysmon_udp_datagrams_sent_total", "UDP datagrams sent.", udp.getDatagramsSent());
+        counter("sysmon_udp_datagrams_received_total", "UDP datagrams delivered.", udp.getDatagramsReceived());
+        counter("sysmon_udp_datagrams_no_port_total", "UDP datagrams received for a closed port.",
+                udp.getDatagramsNoPort());
+        counter("sysmon_udp_receive_errors_total", "UDP datagrams that could not be delivered.",
+                udp.getDatagramsReceivedErrors());
+    }
+
+    private void writeTemperature(TemperatureSnapshot temperature) {
+        if (temperature == null) {
+            return;
+        }
+        // 0 means no sensor reading
+        if (!temperature.isCpuSimulated() && temperature.getCpuTemperature() > 0) {
+            writer.gauge("sysmon_cpu_temperature_celsius", "CPU temperature.", temperature.getCpuTemperature());
+        }
+        if (temperature.getCpuVoltage() > 0) {
+            writer.gauge("sysmon_cpu_voltage_volts", "CPU voltage.", temperature.getCpuVoltage());
+        }
+        if (temperature.getFanCount() > 0) {
+            writer.family("sysmon_fan_speed_rpm", "gauge", "Fan speed.");
+            for (int fan = 0; fan < temperature.getFanCount(); fan++) {
+                writer.sample().label("fan", fan).value(temperature.getFanSpeed(fan));
+            }
+        }
+    }
+
+    private void writeGpus(List<GpuSnapshot> gpus) {
+        if (gpus == null) {
+            return;
+        }
+        writer.family("sysmon_gpu_usage_percent", "gauge", "GPU utilization.");
+        for (GpuSnapshot gpu : gpus) {
+            if (!gpu.isSimulated()) {
+                writer.sample().label("gpu", gpu.getName()).label("vendor", gpu.getVendor()).value(gpu.getUsage());
+            }
+        }
+        writer.family("sysmon_gpu_memory_used_bytes", "gauge", "GPU memory in use.");
+        for (GpuSnapshot gpu : gpus) {
+            if (!gpu.isSimulated()) {
+                writer.sample().label("gpu", gpu.getName()).label("vendor", gpu.getVendor()).value(gpu.getUsedMemory());
+            }
+        }
+        writer.family("sysmon_gpu_memory_total_bytes", "gauge", "GPU memory.");
+        for (GpuSnapshot gpu : gpus) {
+            if (!gpu.isSimulated()) {
+                writer.sample().label("gpu", gpu.getName()).label("vendor", gpu.getVendor()).value(gpu.getTotalMemory());
+            }
+        }
+        writer.family("sysmon_gpu_temperature_celsius", "gauge", "GPU temperature.");
+        for (GpuSnapshot gpu : gpus) {
+            if (!gpu.isSimulated()) {
+                writer.sample().label("gpu", gpu.getName()).label("vendor", gpu.getVendor()).value(gpu.getTemperature());
+            }
+        }
+    }
+
+    private void writeProcesses(List<ProcessSnapshot> processes) {
+        if (processes == null) {
+            return;
+        }
+        writer.family("sysmon_process_resident_memory_bytes", "gauge", "Resident memory of the top processes.");
+        for (ProcessSnapshot process : processes) {
+            writer.sample().label("pid", process.getPid()).label("name", process.getName())
+                    .value(process.getResidentMemory());
+        }
+        writer.family("sysmon_process_cpu_percent", "gauge", "CPU usage of the top processes.");
+        for (ProcessSnapshot process : processes) {
+            writer.sample().label("pid", process.getPid()).label("name", process.getName()).value(process.getCpu());
+        }
+        writer.family("sysmon_process_threads", "gauge", "Threads of the top processes.");
+        for (ProcessSnapshot process : processes) {
+            writer.sample().label("pid", process.getPid()).label("name", process.getName()).value(process.getThreads());
+        }
+        writer.family("sysmon_process_io_bytes_per_second", "gauge", "Disk bytes read and written per second by the top processes.");
+        for (ProcessSnapshot process : processes) {
+            writer.sample().label("pid", process.getPid()).label("name", process.getName()).value(process.getIoRate());
+        }
+    }
+
+    private void counter(String name, String help, long value) {
+        writer.family(name, "counter", help).sample().value(value);
+    }
+}
@@ -0,0 +1,216 @@
+package com.monitor.api;
+
+import java.util.Arrays;
+
+/**
+ * Prometheus text exposition (format 0.0.4) written straight into a reusable
+ * byte buffer.
+ *
+ * Label values are escaped and UTF-8 encoded, and numbers formatted, without
+ * allocating. Doubles are written in fixed point with up to six decimals,
+ * which is exact enough for the percentages, bytes and degrees exported here.
+ * Not thread-safe.
+ */
+final class PrometheusWriter {
+
+    private static final double MAX_FIXED_POINT = 1e12;
+    private static final int FRACTION_DIGITS = 6;
+    private static final long FRACTION_SCALE = 1_000_000L;
+
+    private byte[] buffer;
+    private int size;
+    private String family;
+    private boolean labelsOpen;
+
+    PrometheusWriter(int initialCapacity) {
+        buffer = new byte[initialCapacity];
+    }
+
+    void reset() {
+        size = 0;
+        family = null;
+        labelsOpen = false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Start a metric family; its samples must follow before the next one.
+     *
+     * @param type counter or gauge
+     */
+    PrometheusWriter family(String name, String type, String help) {
+        family = name;
+        ascii("# HELP ").ascii(name).put(' ').ascii(help).put('\n');
+        ascii("# TYPE ").ascii(name).put(' ').ascii(type).put('\n');
+        return this;
+    }
+
+    /**
+     * Start a sample of the current family.
+     */
+    PrometheusWriter sample() {
+        ascii(family);
+        labelsOpen = false;
+        return this;
+    }
+
+    PrometheusWriter label(String name, String value) {
+        put(labelsOpen ? ',' : '{').ascii(name).put('=').put('"');
+        labelsOpen = true;
+        escaped(value != null ? value : "");
+        return put('"');
+    }
+
+    PrometheusWriter label(String name, long value) {
+        put(labelsOpen ? ',' : '{').ascii(name).put('=').put('"');
+        labelsOpen = true;
+        number(value);
+        return put('"');
+    }
+
+    /**
+     * End the sample with its value.
+     */
+    void value(double value) {
+        endLabels();
+        number(value);
+        put('\n');
+    }
+
+    void value(long value) {
+        endLabels();
+        number(value);
+        put('\n');
+    }
+
+    /**
+     * A family with a single unlabelled sample.
+     */
+    void gauge(String name, String help, double value) {
+        family(name, "gauge", help).sample().value(value);
+    }
+
+    private void endLabels() {
+        if (labelsOpen) {
+            put('}');
+            labelsOpen = false;
+        }
+        put(' ');
+    }
+
+    private PrometheusWriter put(char c) {
+        ensure(1);
+        buffer[size++] = (byte) c;
+        return this;
+    }
+
+    private PrometheusWriter ascii(String text) {
+        int length = text.length();
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            buffer[size++] = (byte) text.charAt(i);
+        }
+        return this;
+    }
+
+    /**
+     * A label value: backslash, double quote and newline escaped, the rest UTF-8.
+     */
+    private void escaped(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == '"') {
+                put('\\').put(c);
+            } else if (c == '\n') {
+                put('\\').put('n');
+            } else if (c < 0x80) {
+                put(c);
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[size++] = (byte) (0xC0 | (c >> 6));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                ensure(4);
+                buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                put('?'); // unpaired surrogate
+            } else {
+                ensure(3);
+                buffer[size++] = (byte) (0xE0 | (c >> 12));
+                buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void number(long value) {
+        if (value == Long.MIN_VALUE) {
+            ascii("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    private void number(double value) {
+        if (Double.isNaN(value)) {
+            ascii("NaN");
+        } else if (Double.isInfinite(value)) {
+            ascii(value > 0 ? "+Inf" : "-Inf");
+        } else if (Math.abs(value) >= MAX_FIXED_POINT) {
+            // Rare enough that the allocation doesn't matter
+            ascii(Double.toString(value));
+        } else {
+            long scaled = Math.round(Math.abs(value) * FRACTION_SCALE);
+            if (value < 0 && scaled != 0) {
+                put('-');
+            }
+            number(scaled / FRACTION_SCALE);
+            long fraction = scaled % FRACTION_SCALE;
+            if (fraction != 0) {
+                int digits = FRACTION_DIGITS;
+                while (fraction % 10 == 0) {
+                    fraction /= 10;
+                    digits--;
+                }
+                put('.');
+                ensure(digits);
+                for (int i = size + digits - 1; i >= size; i--) {
+                    buffer[i] = (byte) ('0' + fraction % 10);
+                    fraction /= 10;
+                }
+                size += digits;
+            }
+        }
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
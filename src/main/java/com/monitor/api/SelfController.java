@@ -0,0 +1,138 @@
+package com.monitor.api;
+
+import com.monitor.core.Collector;
+import com.monitor.core.LatencyHistogram;
+import com.monitor.core.MonitoringEngine;
+import com.monitor.core.PhaseStats;
+import com.monitor.core.SelfMonitor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the monitor itself costs: latency and allocation of every collector,
+ * engine phase and API route since startup, and the JVM's heap, GC and CPU
+ * figures.
+ */
+@RestController
+@RequestMapping("/api/self")
+public class SelfController {
+
+    private final MonitoringEngine monitoringEngine;
+    private final SelfMonitor selfMonitor;
+
+    @Autowired
+    public SelfController(MonitoringEngine monitoringEngine, SelfMonitor selfMonitor) {
+        this.monitoringEngine = monitoringEngine;
+        this.selfMonitor = selfMonitor;
+    }
+
+    /**
+     * Latencies (p50, p99, max, mean) are in milliseconds; allocatedBytes is
+     * the total since startup and allocatedPerRun its average per measured run.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getSelf() {
+        Map<String, Object> response = new LinkedHashMap<>();
+
+        // Collectors in snapshot order
+        Map<String, Object> collectors = new LinkedHashMap<>();
+        for (Collector<?> collector : monitoringEngine.getCollectors()) {
+            PhaseStats stats = selfMonitor.getCollectors().get(collector.getName());
+            if (stats != null) {
+                collectors.put(collector.getName(), phase(stats));
+            }
+        }
+        response.put("collectors", collectors);
+        response.put("engine", phases(selfMonitor.getEngine()));
+        response.put("api", phases(selfMonitor.getApi()));
+        response.put("jvm", jvm());
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> phases(Map<String, PhaseStats> phases) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<String, PhaseStats> entry : phases.entrySet()) {
+            result.put(entry.getKey(), phase(entry.getValue()));
+        }
+        return result;
+    }
+
+    private static Map<String, Object> phase(PhaseStats stats) {
+        LatencyHistogram.Snapshot latency = stats.getLatency().snapshot();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", latency.getCount());
+        result.put("errors", stats.getErrors());
+        result.put("p50", millis(latency.getPercentile(0.5)));
+        result.put("p99", millis(latency.getPercentile(0.99)));
+        result.put("max", millis(latency.getMax()));
+        result.put("mean", millis(latency.getMean()));
+        long samples = stats.getAllocationSamples();
+        if (samples > 0) {
+            result.put("allocatedBytes", stats.getAllocatedBytes());
+            result.put("allocatedPerRun", stats.getAllocatedBytes() / samples);
+        }
+        return result;
+    }
+
+    // Milliseconds with microsecond precision
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000) / 1_000.0;
+    }
+
+    private static Map<String, Object> jvm() {
+        Map<String, Object> jvm = new LinkedHashMap<>();
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        jvm.put("uptime", runtime.getUptime());
+
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            com.sun.management.OperatingSystemMXBean sunOs = (com.sun.management.OperatingSystemMXBean) os;
+            jvm.put("processCpuTime", sunOs.getProcessCpuTime() / 1_000_000);
+            jvm.put("processCpuLoad", sunOs.getProcessCpuLoad() * 100);
+        }
+
+        jvm.put("heap", memory(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()));
+        jvm.put("nonHeap", memory(ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage()));
+
+        List<Map<String, Object>> collectors = new ArrayList<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            Map<String, Object> collector = new LinkedHashMap<>();
+            collector.put("name", gc.getName());
+            collector.put("count", gc.getCollectionCount());
+            collector.put("time", gc.getCollectionTime());
+            collectors.add(collector);
+        }
+        jvm.put("gc", collectors);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<String, Object> threadCounts = new LinkedHashMap<>();
+        threadCounts.put("live", threads.getThreadCount());
+        threadCounts.put("peak", threads.getPeakThreadCount());
+        threadCounts.put("daemon", threads.getDaemonThreadCount());
+        jvm.put("threads", threadCounts);
+        return jvm;
+    }
+
+    private static Map<String, Object> memory(MemoryUsage usage) {
+        Map<String, Object> memory = new LinkedHashMap<>();
+        memory.put("used", usage.getUsed());
+        memory.put("committed", usage.getCommitted());
+        memory.put("max", usage.getMax());
+        return memory;
+    }
+}
@@ -0,0 +1,347 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a snapshot, served for
+ * {@code Accept: application/x-sysmon-bin}, and its reference decoder.
+ *
+ * It carries the same tree as the JSON representation minus the
+ * {@code *Formatted} display strings. Every object key and string value is
+ * stored once in a string table and referenced by index.
+ *
+ * <pre>
+ * message  := "SMB" version:u8 strings value          (version = 1)
+ * strings  := count:varint (length:varint utf8-bytes)*
+ * value    := 0x00                                    null
+ *           | 0x01 | 0x02                             false | true
+ *           | 0x03 zigzag-varint                      integer (64-bit)
+ *           | 0x04 8 bytes                            double, IEEE 754 big-endian
+ *           | 0x05 zigzag-varint                      double with a whole value
+ *           | 0x06 index:varint                       string
+ *           | 0x07 value* 0x09                        array
+ *           | 0x08 (key-index+1:varint value)* 0x00   object
+ * varint   := unsigned LEB128, low 7-bit group first
+ * </pre>
+ *
+ * Decoders must reject a version they don't know; fields may be added within
+ * a version, so unknown keys should be ignored.
+ */
+public final class SnapshotBinaryFormat {
+
+    public static final String MEDIA_TYPE = "application/x-sysmon-bin";
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'S', 'M', 'B'};
+    private static final String FORMATTED_SUFFIX = "Formatted";
+
+    private static final int NULL = 0x00;
+    private static final int FALSE = 0x01;
+    private static final int TRUE = 0x02;
+    private static final int INTEGER = 0x03;
+    private static final int DOUBLE = 0x04;
+    private static final int WHOLE_DOUBLE = 0x05;
+    private static final int STRING = 0x06;
+    private static final int ARRAY = 0x07;
+    private static final int OBJECT = 0x08;
+    private static final int END_ARRAY = 0x09;
+
+    // Doubles up to 2^53 have an exact long value
+    private static final double MAX_WHOLE_DOUBLE = 9007199254740992.0;
+
+    private SnapshotBinaryFormat() {
+    }
+
+    /**
+     * Encode a value as the mapper would serialize it to JSON, without
+     * building a tree.
+     */
+    public static byte[] encode(ObjectMapper mapper, Object value) {
+        try {
+            TokenBuffer tokens = new TokenBuffer(mapper, false);
+            mapper.writeValue(tokens, value);
+            Encoder encoder = new Encoder();
+            try (JsonParser parser = tokens.asParser()) {
+                encoder.writeValue(parser, parser.nextToken());
+            }
+            return encoder.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode snapshot", e);
+        }
+    }
+
+    /**
+     * Decode a message into the JSON tree it represents.
+     *
+     * @throws IllegalArgumentException if the bytes are not a valid message
+     */
+    public static JsonNode decode(byte[] message) {
+        Decoder decoder = new Decoder(message);
+        try {
+            return decoder.readMessage();
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated message", e);
+        }
+    }
+
+    private static final class Encoder {
+        private final Output body = new Output(4096);
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        void writeValue(JsonParser parser, JsonToken token) throws IOException {
+            switch (token) {
+                case START_OBJECT:
+                    body.write(OBJECT);
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String key = parser.getCurrentName();
+                        JsonToken valueToken = parser.nextToken();
+                        if (key.endsWith(FORMATTED_SUFFIX)) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        body.writeVarint(intern(key) + 1);
+                        writeValue(parser, valueToken);
+                    }
+                    body.write(0);
+                    break;
+                case START_ARRAY:
+                    body.write(ARRAY);
+                    for (JsonToken element = parser.nextToken(); element != JsonToken.END_ARRAY;
+                            element = parser.nextToken()) {
+                        writeValue(parser, element);
+                    }
+                    body.write(END_ARRAY);
+                    break;
+                case VALUE_STRING:
+                    body.write(STRING);
+                    body.writeVarint(intern(parser.getText()));
+                    break;
+                case VALUE_NUMBER_INT:
+                    if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                        writeDouble(parser.getDoubleValue());
+                    } else {
+                        body.write(INTEGER);
+                        body.writeVarint(zigzag(parser.getLongValue()));
+                    }
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    writeDouble(parser.getDoubleValue());
+                    break;
+                case VALUE_TRUE:
+                    body.write(TRUE);
+                    break;
+                case VALUE_FALSE:
+                    body.write(FALSE);
+                    break;
+                case VALUE_NULL:
+                    body.write(NULL);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected token " + token);
+            }
+        }
+
+        private void writeDouble(double value) {
+            if (value == Math.rint(value) && Math.abs(value) < MAX_WHOLE_DOUBLE
+                    && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0)) {
+                body.write(WHOLE_DOUBLE);
+                body.writeVarint(zigzag((long) value));
+                return;
+            }
+            body.write(DOUBLE);
+            body.writeLong(Double.doubleToRawLongBits(value));
+        }
+
+        private int intern(String value) {
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.put(value, index);
+            }
+            return index;
+        }
+
+        byte[] toByteArray() {
+            Output message = new Output(body.size + strings.size() * 16 + 8);
+            message.write(MAGIC, 0, MAGIC.length);
+            message.write(VERSION);
+            message.writeVarint(strings.size());
+            for (String value : strings.keySet()) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                message.writeVarint(utf8.length);
+                message.write(utf8, 0, utf8.length);
+            }
+            message.write(body.bytes, 0, body.size);
+            return message.bytes.length == message.size ? message.bytes : Arrays.copyOf(message.bytes, message.size);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Growable byte array; unlike ByteArrayOutputStream, not synchronized.
+     */
+    private static final class Output {
+        byte[] bytes;
+        int size;
+
+        Output(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        void write(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] source, int offset, int length) {
+            ensure(length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+
+    private static final class Decoder {
+        private final byte[] bytes;
+        private final List<String> strings = new ArrayList<>();
+        private int position;
+
+        Decoder(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        JsonNode readMessage() {
+            if (bytes.length < MAGIC.length + 1 || bytes[0] != MAGIC[0] || bytes[1] != MAGIC[1] || bytes[2] != MAGIC[2]) {
+                throw new IllegalArgumentException("Not a snapshot message");
+            }
+            position = MAGIC.length;
+            int version = bytes[position++] & 0xFF;
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported version " + version);
+            }
+            int count = readLength();
+            for (int i = 0; i < count; i++) {
+                int length = readLength();
+                strings.add(new String(bytes, position, length, StandardCharsets.UTF_8));
+                position += length;
+            }
+            JsonNode value = readValue(bytes[position++] & 0xFF);
+            if (position != bytes.length) {
+                throw new IllegalArgumentException("Trailing bytes after value");
+            }
+            return value;
+        }
+
+        private JsonNode readValue(int tag) {
+            JsonNodeFactory nodes = JsonNodeFactory.instance;
+            switch (tag) {
+                case NULL:
+                    return nodes.nullNode();
+                case FALSE:
+                    return nodes.booleanNode(false);
+                case TRUE:
+                    return nodes.booleanNode(true);
+                case INTEGER:
+                    // Same node types as parsing the JSON
+                    long integer = unzigzag(readVarint());
+                    return integer == (int) integer ? nodes.numberNode((int) integer) : nodes.numberNode(integer);
+                case DOUBLE:
+                    long bits = 0;
+                    for (int i = 0; i < 8; i++) {
+                        bits = (bits << 8) | (bytes[position++] & 0xFF);
+                    }
+                    return nodes.numberNode(Double.longBitsToDouble(bits));
+                case WHOLE_DOUBLE:
+                    return nodes.numberNode((double) unzigzag(readVarint()));
+                case STRING:
+                    return nodes.textNode(string(readLength()));
+                case ARRAY:
+                    ArrayNode array = nodes.arrayNode();
+                    for (int element = bytes[position++] & 0xFF; element != END_ARRAY; element = bytes[position++] & 0xFF) {
+                        array.add(readValue(element));
+                    }
+                    return array;
+                case OBJECT:
+                    ObjectNode object = nodes.objectNode();
+                    for (int key = readLength(); key != 0; key = readLength()) {
+                        String name = string(key - 1);
+                        object.set(name, readValue(bytes[position++] & 0xFF));
+                    }
+                    return object;
+                default:
+                    throw new IllegalArgumentException("Unknown tag 0x" + Integer.toHexString(tag)
+                            + " at offset " + (position - 1));
+            }
+        }
+
+        private String string(int index) {
+            if (index >= strings.size()) {
+                throw new IllegalArgumentException("String index " + index + " out of range");
+            }
+            return strings.get(index);
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint too long at offset " + position);
+        }
+
+        private int readLength() {
+            long value = readVarint();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Length out of range at offset " + position);
+            }
+            return (int) value;
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
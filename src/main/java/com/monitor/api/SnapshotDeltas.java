@@ -0,0 +1,112 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.monitor.core.MetricsSnapshot;
+import com.monitor.core.MonitoringEngine;
+import com.monitor.core.SnapshotListener;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Window of recently published snapshots that /api/all?since=&lt;seq&gt; diffs
+ * against, so a client only downloads the fields that changed since the
+ * snapshot it already has.
+ *
+ * The window holds the snapshots themselves, which share their section objects,
+ * and converts one to a JSON tree only when a client asks for a diff with it.
+ * A client whose base has left the window (or was never published, e.g. before
+ * a restart) is sent the full snapshot instead.
+ */
+@Component
+public class SnapshotDeltas implements SnapshotListener {
+
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+    private final ArrayDeque<Entry> window = new ArrayDeque<>();
+
+    @Autowired
+    public SnapshotDeltas(MonitoringEngine monitoringEngine, ObjectMapper objectMapper, Environment environment) {
+        this.objectMapper = objectMapper;
+        this.capacity = Math.max(1, environment.getProperty("metrics.delta.window", Integer.class, 120));
+        monitoringEngine.addSnapshotListener(this);
+    }
+
+    @Override
+    public void snapshotPublished(MetricsSnapshot snapshot) {
+        synchronized (window) {
+            Entry newest = window.peekLast();
+            if (newest != null && newest.snapshot.getSequence() >= snapshot.getSequence()) {
+                return;
+            }
+            window.addLast(new Entry(snapshot));
+            if (window.size() > capacity) {
+                window.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Changes from snapshot since to the latest one, as
+     * {"sequence", "base", "full": false, "patch"} with a {@link JsonDelta} patch,
+     * or {"sequence", "full": true, "snapshot"} when since is no longer known.
+     */
+    public ObjectNode delta(MetricsSnapshot latest, long since) {
+        Entry base = null;
+        Entry current = null;
+        synchronized (window) {
+            Iterator<Entry> entries = window.descendingIterator();
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                if (entry.snapshot.getSequence() == latest.getSequence()) {
+                    current = entry;
+                } else if (entry.snapshot.getSequence() == since) {
+                    base = entry;
+                    break;
+                }
+            }
+        }
+        if (current == null) {
+            // Published but not yet seen by the listener
+            current = new Entry(latest);
+        }
+
+        ObjectNode response = JsonNodeFactory.instance.objectNode();
+        response.put("sequence", latest.getSequence());
+        if (base == null && since != latest.getSequence()) {
+            response.put("full", true);
+            response.set("snapshot", current.tree());
+            return response;
+        }
+        response.put("base", since);
+        response.put("full", false);
+        response.set("patch", base == null ? JsonNodeFactory.instance.objectNode()
+                : JsonDelta.diff(base.tree(), current.tree()));
+        return response;
+    }
+
+    private final class Entry {
+        final MetricsSnapshot snapshot;
+        private volatile JsonNode tree;
+
+        Entry(MetricsSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        JsonNode tree() {
+            JsonNode result = tree;
+            if (result == null) {
+                result = objectMapper.valueToTree(snapshot.getSections());
+                tree = result;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitor.core.MetricsSnapshot;
+import com.monitor.core.MonitoringEngine;
+import com.monitor.core.SnapshotListener;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized forms of the latest snapshot, shared by every request for it.
+ *
+ * The JSON bytes, their gzip and deflate variants, and the
+ * {@link SnapshotBinaryFormat} encoding are each produced at
+ * most once per snapshot, by the first request that needs them; later requests
+ * for the same snapshot write the cached bytes as they are. Publishing the
+ * next snapshot drops them.
+ */
+@Component
+public class SnapshotEncodings implements SnapshotListener {
+
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Encoded> latest = new AtomicReference<>();
+
+    @Autowired
+    public SnapshotEncodings(MonitoringEngine monitoringEngine, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        monitoringEngine.addSnapshotListener(this);
+    }
+
+    @Override
+    public void snapshotPublished(MetricsSnapshot snapshot) {
+        get(snapshot);
+    }
+
+    /**
+     * Encodings of the snapshot. Cached if it is the newest one seen; an older
+     * snapshot gets a throwaway instance.
+     */
+    public Encoded get(MetricsSnapshot snapshot) {
+        Encoded current = latest.get();
+        while (current == null || current.snapshot.getSequence() < snapshot.getSequence()) {
+            Encoded created = new Encoded(snapshot);
+            if (latest.compareAndSet(current, created)) {
+                return created;
+            }
+            current = latest.get();
+        }
+        return current.snapshot.getSequence() == snapshot.getSequence() ? current : new Encoded(snapshot);
+    }
+
+    /**
+     * One snapshot's sections as JSON, plain and compressed, and in binary.
+     */
+    public final class Encoded {
+        private final MetricsSnapshot snapshot;
+        private byte[] json;
+        private byte[] gzip;
+        private byte[] deflate;
+        private byte[] binary;
+
+        private Encoded(MetricsSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        public MetricsSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        public synchronized byte[] getJson() {
+            if (json == null) {
+                try {
+                    json = objectMapper.writeValueAsBytes(snapshot.getSections());
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Cannot serialize snapshot " + snapshot.getSequence(), e);
+                }
+            }
+            return json;
+        }
+
+        public synchronized byte[] getGzip() {
+            if (gzip == null) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                try {
+                    compress(new GZIPOutputStream(buffer));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                gzip = buffer.toByteArray();
+            }
+            return gzip;
+        }
+
+        /**
+         * zlib-wrapped deflate, which is what HTTP's "deflate" coding means.
+         */
+        public synchronized byte[] getDeflate() {
+            if (deflate == null) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                try {
+                    compress(new DeflaterOutputStream(buffer));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                deflate = buffer.toByteArray();
+            }
+            return deflate;
+        }
+
+        public synchronized byte[] getBinary() {
+            if (binary == null) {
+                binary = SnapshotBinaryFormat.encode(objectMapper, snapshot.getSections());
+            }
+            return binary;
+        }
+
+        private void compress(OutputStream compressor) throws IOException {
+            try (OutputStream out = compressor) {
+                out.write(getJson());
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.monitor.api;
+
+import com.monitor.core.MetricsSnapshot;
+import com.monitor.core.MonitoringEngine;
+import com.monitor.core.SnapshotListener;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import javax.annotation.PreDestroy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes every published snapshot to the clients connected to /api/stream as
+ * Server-Sent Events.
+ *
+ * Each snapshot is framed once around the JSON bytes cached by
+ * {@link SnapshotEncodings}, and the same bytes are written to every client,
+ * so an extra viewer costs one socket write per snapshot. Framing happens on a
+ * dedicated thread, never on the engine's publisher.
+ *
+ * Every client has its own one-frame queue, drained by a writer thread of its
+ * own while it has something to send, so a slow or stalled client never holds
+ * up the others. A client that hasn't caught up skips to the newest snapshot;
+ * one whose write has been blocked for longer than WRITE_TIMEOUT_SECONDS is
+ * dropped and its stream completed once the write returns.
+ *
+ * The event id is &lt;epoch&gt;-&lt;sequence&gt;, so a reconnecting client
+ * that already has the latest snapshot isn't sent it again. Sequences restart
+ * with the application, so the epoch tells this run's ids from those of an
+ * earlier one; a client resuming from an id of another run is sent the latest
+ * snapshot straight away.
+ */
+@Component
+public class SnapshotStream implements SnapshotListener {
+
+    // Comment sent to every client when nothing else was, so dead connections are noticed
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final Frame HEARTBEAT = new Frame(0, ":\n\n".getBytes(StandardCharsets.UTF_8));
+    // A client whose write has been blocked this long has fallen behind and is dropped
+    private static final long WRITE_TIMEOUT_SECONDS = 30;
+
+    private final MonitoringEngine monitoringEngine;
+    private final SnapshotEncodings snapshotEncodings;
+    // Prefix of this run's event ids
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final AtomicReference<MetricsSnapshot> pending = new AtomicReference<>();
+    private final ScheduledExecutorService sender;
+    private final ExecutorService writers;
+    private Frame lastFrame; // only touched on the sender thread
+
+    @Autowired
+    public SnapshotStream(MonitoringEngine monitoringEngine, SnapshotEncodings snapshotEncodings) {
+        this.monitoringEngine = monitoringEngine;
+        this.snapshotEncodings = snapshotEncodings;
+        this.sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger writerCount = new AtomicInteger();
+        this.writers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-stream-writer-" + writerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender.scheduleWithFixedDelay(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        monitoringEngine.addSnapshotListener(this);
+    }
+
+    /**
+     * Open a stream for a new client. It is sent the latest snapshot right away,
+     * unless lastEventId shows it already has it.
+     *
+     * @param lastEventId Id of the last event the client received, or null
+     */
+    public ResponseBodyEmitter connect(String lastEventId) {
+        Client client = new Client(resumeSequence(lastEventId));
+        client.onCompletion(() -> clients.remove(client));
+        client.onTimeout(() -> clients.remove(client));
+        client.onError(error -> clients.remove(client));
+        clients.add(client);
+        sender.execute(() -> {
+            MetricsSnapshot latest = monitoringEngine.getLatestSnapshot();
+            if (latest != null) {
+                enqueue(client, frame(latest));
+            }
+        });
+        return client;
+    }
+
+    /**
+     * Sequence of the last snapshot a client with this event id has, or 0 if
+     * the id is from another run, malformed or ahead of every snapshot
+     * published so far.
+     */
+    long resumeSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return 0;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+        MetricsSnapshot latest = monitoringEngine.getLatestSnapshot();
+        return latest != null && sequence <= latest.getSequence() ? sequence : 0;
+    }
+
+    /**
+     * Sequence of the last snapshot written to a client from {@link #connect}.
+     */
+    long getSentSequence(ResponseBodyEmitter client) {
+        return ((Client) client).lastSequence;
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    @Override
+    public void snapshotPublished(MetricsSnapshot snapshot) {
+        // Publishes can race on different threads; only ever move forward
+        MetricsSnapshot previous = pending.getAndAccumulate(snapshot, (current, update) ->
+                current == null || update.getSequence() > current.getSequence() ? update : current);
+        if (previous == null) {
+            sender.execute(this::broadcast);
+        }
+    }
+
+    private void broadcast() {
+        MetricsSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null || clients.isEmpty()) {
+            return;
+        }
+        Frame frame = frame(snapshot);
+        for (Client client : clients) {
+            enqueue(client, frame);
+        }
+    }
+
+    private Frame frame(MetricsSnapshot snapshot) {
+        if (lastFrame == null || lastFrame.sequence != snapshot.getSequence()) {
+            byte[] json = snapshotEncodings.get(snapshot).getJson();
+            // The browser waits one refresh interval before reconnecting
+            long retryMillis = snapshot.getSystem() != null ? snapshot.getSystem().getRefreshRate() * 1000L : 2000;
+            String header = "id:" + epoch + "-" + snapshot.getSequence() + "\nevent:snapshot\nretry:" + retryMillis + "\ndata:";
+            ByteArrayOutputStream event = new ByteArrayOutputStream(header.length() + json.length + 2);
+            event.writeBytes(header.getBytes(StandardCharsets.UTF_8));
+            event.writeBytes(json);
+            event.write('\n');
+            event.write('\n');
+            lastFrame = new Frame(snapshot.getSequence(), event.toByteArray());
+        }
+        return lastFrame;
+    }
+
+    /**
+     * Queue a frame for the client, replacing one it hasn't been sent yet; a
+     * heartbeat never replaces a snapshot.
+     */
+    private void enqueue(Client client, Frame frame) {
+        if (frame != HEARTBEAT && frame.sequence <= client.lastSequence) {
+            return;
+        }
+        long writeStarted = client.writeStarted;
+        if (writeStarted != 0 && System.nanoTime() - writeStarted > TimeUnit.SECONDS.toNanos(WRITE_TIMEOUT_SECONDS)) {
+            // The blocked write can't be interrupted; the writer completes the stream when it returns
+            client.dropped = true;
+            clients.remove(client);
+            return;
+        }
+        if (frame == HEARTBEAT) {
+            client.pending.compareAndSet(null, HEARTBEAT);
+        } else {
+            client.pending.set(frame);
+        }
+        if (client.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(client));
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (Client client : clients) {
+            enqueue(client, HEARTBEAT);
+        }
+    }
+
+    /**
+     * Write the client's queued frames until its queue is empty, on a writer thread.
+     */
+    private void drain(Client client) {
+        Frame frame;
+        while ((frame = client.pending.getAndSet(null)) != null) {
+            if (frame != HEARTBEAT && frame.sequence <= client.lastSequence) {
+                continue;
+            }
+            client.writeStarted = System.nanoTime();
+            boolean written = write(client, frame.bytes);
+            client.writeStarted = 0;
+            if (client.dropped) {
+                client.complete();
+                return;
+            }
+            if (!written) {
+                return;
+            }
+            if (frame != HEARTBEAT) {
+                client.lastSequence = frame.sequence;
+            }
+        }
+        client.draining.set(false);
+        // A frame queued after the last poll but before draining was cleared
+        if (client.pending.get() != null && client.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(client));
+        }
+    }
+
+    private boolean write(Client client, byte[] bytes) {
+        try {
+            client.send(bytes, MediaType.TEXT_EVENT_STREAM);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            clients.remove(client);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        monitoringEngine.removeSnapshotListener(this);
+        sender.shutdownNow();
+        writers.shutdownNow();
+        for (Client client : clients) {
+            client.complete();
+        }
+        clients.clear();
+    }
+
+    /**
+     * One connected client. Extends ResponseBodyEmitter rather than SseEmitter
+     * so pre-framed event bytes can be written as they are.
+     */
+    private static final class Client extends ResponseBodyEmitter {
+        private final AtomicReference<Frame> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long lastSequence;
+        private volatile long writeStarted; // System.nanoTime() of the write in progress, 0 if none
+        private volatile boolean dropped;
+
+        Client(long lastSequence) {
+            super(0L); // never time out
+            this.lastSequence = lastSequence;
+        }
+
+        @Override
+        protected void extendResponse(ServerHttpResponse outputMessage) {
+            super.extendResponse(outputMessage);
+            HttpHeaders headers = outputMessage.getHeaders();
+            headers.setContentType(MediaType.TEXT_EVENT_STREAM);
+            headers.setCacheControl("no-cache");
+        }
+    }
+
+    private static final class Frame {
+        final long sequence;
+        final byte[] bytes;
+
+        Frame(long sequence, byte[] bytes) {
+            this.sequence = sequence;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.monitor.api;
+
+import com.monitor.core.MetricsSnapshot;
+import com.monitor.core.MonitoringEngine;
+import com.monitor.core.SnapshotListener;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PreDestroy;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Long-polling requests (?waitFor=&lt;seq&gt;) parked until a snapshot newer
+ * than the one they already have is published.
+ *
+ * Requests are held with servlet async processing, so a waiting client costs
+ * no Tomcat thread. Each is completed on a dedicated thread, never on the
+ * engine's publisher, as soon as a newer snapshot arrives, or with the current
+ * snapshot after metrics.long-poll.timeout-ms.
+ */
+@Component
+public class SnapshotWaiters implements SnapshotListener {
+
+    private final MonitoringEngine monitoringEngine;
+    private final long timeoutMillis;
+    private final Set<Waiter<?>> waiters = ConcurrentHashMap.newKeySet();
+    private final ExecutorService completer;
+
+    @Autowired
+    public SnapshotWaiters(MonitoringEngine monitoringEngine, Environment environment) {
+        this.monitoringEngine = monitoringEngine;
+        this.timeoutMillis = environment.getProperty("metrics.long-poll.timeout-ms", Long.class, 30000L);
+        this.completer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-waiters");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitoringEngine.addSnapshotListener(this);
+    }
+
+    /**
+     * Whether a request for a snapshot newer than sequence should be parked:
+     * the client already has the latest one. It is answered at once when a
+     * newer snapshot exists, when sequence is ahead of the latest (e.g. from
+     * before a restart), and in on-demand mode, where nothing is published
+     * unless a request collects.
+     */
+    public boolean shouldPark(long sequence) {
+        if (monitoringEngine.isOnDemand()) {
+            return false;
+        }
+        MetricsSnapshot latest = monitoringEngine.getLatestSnapshot();
+        return latest == null || latest.getSequence() == sequence;
+    }
+
+    /**
+     * Park a request until a snapshot newer than sequence is published.
+     *
+     * @param response builds the response from that snapshot; on timeout it is
+     *                 given the latest snapshot, which may be null
+     */
+    public <T> DeferredResult<T> await(long sequence, Function<MetricsSnapshot, T> response) {
+        DeferredResult<T> result = new DeferredResult<>(timeoutMillis);
+        Waiter<T> waiter = new Waiter<>(sequence, result, response);
+        result.onCompletion(() -> waiters.remove(waiter));
+        result.onTimeout(() -> waiter.complete(monitoringEngine.getLatestSnapshot()));
+        waiters.add(waiter);
+
+        // A snapshot may have been published between the caller's check and registration
+        MetricsSnapshot latest = monitoringEngine.getLatestSnapshot();
+        if (latest != null && latest.getSequence() > sequence) {
+            waiter.complete(latest);
+        }
+        return result;
+    }
+
+    @Override
+    public void snapshotPublished(MetricsSnapshot snapshot) {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        // Building the responses can take a while (deltas, projections); keep it off the publisher
+        completer.execute(() -> {
+            for (Waiter<?> waiter : waiters) {
+                if (snapshot.getSequence() > waiter.sequence) {
+                    waiter.complete(snapshot);
+                }
+            }
+        });
+    }
+
+    /**
+     * Number of requests currently waiting.
+     */
+    public int getWaitingCount() {
+        return waiters.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        completer.shutdownNow();
+    }
+
+    private static final class Waiter<T> {
+        final long sequence;
+        final DeferredResult<T> result;
+        final Function<MetricsSnapshot, T> response;
+
+        Waiter(long sequence, DeferredResult<T> result, Function<MetricsSnapshot, T> response) {
+            this.sequence = sequence;
+            this.result = result;
+            this.response = response;
+        }
+
+        void complete(MetricsSnapshot snapshot) {
+            if (!result.isSetOrExpired()) {
+                result.setResult(response.apply(snapshot));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.monitor.api;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * Live snapshots as Server-Sent Events.
+ */
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    private final SnapshotStream snapshotStream;
+
+    @Autowired
+    public StreamController(SnapshotStream snapshotStream) {
+        this.snapshotStream = snapshotStream;
+    }
+
+    /**
+     * Every published snapshot, as a "snapshot" event whose id is
+     * &lt;epoch&gt;-&lt;sequence&gt; and whose data is the same JSON as
+     * /api/all. A client that reconnects with Last-Event-ID (or ?lastEventId=)
+     * is only sent snapshots newer than that one, unless the id is from before
+     * a restart.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseBodyEmitter stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventId) {
+        return snapshotStream.connect(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
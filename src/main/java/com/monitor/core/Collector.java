@@ -0,0 +1,84 @@
+package com.monitor.core;
+
+import com.monitor.history.MetricsHistory;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * A source of one snapshot section.
+ *
+ * The engine discovers collectors among the Spring beans and through
+ * {@link java.util.ServiceLoader} (META-INF/services/com.monitor.core.Collector),
+ * schedules each at its own interval (metrics.interval.&lt;name&gt;, defaulting to
+ * {@link #getDefaultIntervalMillis()}), holds it to its time budget
+ * (metrics.collection.timeout.&lt;name&gt;) and publishes what it returns under
+ * its name. Sections appear in the snapshot in discovery order: Spring beans
+ * first, then ServiceLoader collectors; a later collector with a name already
+ * taken is ignored.
+ *
+ * Lifecycle: {@link #start(Environment)} once, after the system information is
+ * initialized and before the first collection; {@link #collect()} from one
+ * collector thread at a time; {@link #stop()} at shutdown.
+ *
+ * @param <T> the section value, immutable once returned
+ */
+public interface Collector<T> {
+
+    /**
+     * Section name in the snapshot and the API, e.g. "cpu".
+     */
+    String getName();
+
+    /**
+     * The output schema: the type every value returned by {@link #collect()}
+     * has. A value of another type counts as a failed run.
+     */
+    Class<?> getOutputType();
+
+    /**
+     * How expensive a run is. Costlier collectors are started first when
+     * sections are collected together, so they overlap the cheap ones.
+     */
+    default CollectorCost getCost() {
+        return CollectorCost.MEDIUM;
+    }
+
+    /**
+     * Interval when metrics.interval.&lt;name&gt; is not set; 0 for
+     * metrics.refresh-rate.
+     */
+    default long getDefaultIntervalMillis() {
+        return 0;
+    }
+
+    /**
+     * Prepare for collection, e.g. open files or read configuration. A
+     * collector that throws here is left out.
+     */
+    default void start(Environment environment) throws Exception {
+    }
+
+    /**
+     * Collect a fresh section value.
+     */
+    T collect() throws Exception;
+
+    /**
+     * Append the values worth charting from a freshly collected section to
+     * their history series.
+     */
+    default void record(T value, long timestamp, MetricsHistory history) {
+    }
+
+    /**
+     * Print the last collected values to the console.
+     */
+    default void display() {
+    }
+
+    /**
+     * Release resources at shutdown.
+     */
+    default void stop() {
+    }
+}
@@ -0,0 +1,13 @@
+package com.monitor.core;
+
+/**
+ * Rough cost of one collector run, declared by the {@link Collector}.
+ */
+public enum CollectorCost {
+    /** A few counters read from memory or a single file, e.g. CPU ticks. */
+    LOW,
+    /** Several files or system calls, e.g. per-device counters. */
+    MEDIUM,
+    /** Work proportional to the number of processes or devices probed, e.g. the process table. */
+    HIGH
+}
@@ -0,0 +1,141 @@
+package com.monitor.core;
+
+import com.monitor.history.MetricsHistory;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduling state of one snapshot section: the {@link Collector} that produces it,
+ * its own collection interval and time budget, the outcome of its last run and
+ * the cost of all runs so far.
+ *
+ * Intervals and budgets can be changed at runtime; the new interval takes effect
+ * for the next scheduled run.
+ */
+class CollectorSection {
+    private final String name;
+    private final Collector<Object> collector;
+    private final PhaseStats stats;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private volatile long intervalMillis;
+    private volatile long budgetMillis;
+    private volatile long runStartedNanos;
+    private volatile long lastDurationMillis;
+    private volatile long lastSuccessTime;
+    private volatile boolean lastRunFailed;
+
+    // Next scheduled run, guarded by the engine
+    private ScheduledFuture<?> nextRun;
+
+    @SuppressWarnings("unchecked")
+    CollectorSection(Collector<?> collector, PhaseStats stats) {
+        this.name = collector.getName();
+        this.collector = (Collector<Object>) collector;
+        this.stats = stats;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Collector<?> getCollector() {
+        return collector;
+    }
+
+    /**
+     * Run the collector unless a run is already in progress.
+     *
+     * @return the new section value, or null if the collector failed or was already running
+     */
+    Object run() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        long startBytes = SelfMonitor.threadAllocatedBytes();
+        runStartedNanos = start;
+        try {
+            Object section = collector.collect();
+            if (!collector.getOutputType().isInstance(section)) {
+                throw new IllegalStateException("collector returned " + (section == null ? "null"
+                        : section.getClass().getName()) + ", expected " + collector.getOutputType().getName());
+            }
+            lastSuccessTime = System.currentTimeMillis();
+            lastRunFailed = false;
+            return section;
+        } catch (Exception e) {
+            System.err.println("Error collecting " + name + " metrics: " + e.getMessage());
+            lastRunFailed = true;
+            stats.recordError();
+            return null;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            lastDurationMillis = nanos / 1_000_000;
+            stats.record(nanos, SelfMonitor.allocatedSince(startBytes));
+            running.set(false);
+        }
+    }
+
+    /**
+     * Record a value returned by {@link #run()} to its history series.
+     */
+    void record(Object section, MetricsHistory history) {
+        try {
+            collector.record(section, lastSuccessTime, history);
+        } catch (RuntimeException e) {
+            System.err.println("Error recording " + name + " history: " + e.getMessage());
+        }
+    }
+
+    boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * A section is stale when its last run failed or its current run has
+     * exceeded the time budget.
+     */
+    boolean isStale() {
+        if (lastRunFailed) {
+            return true;
+        }
+        return running.get() && (System.nanoTime() - runStartedNanos) / 1_000_000 > budgetMillis;
+    }
+
+    long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    void setBudgetMillis(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+    }
+
+    long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    /**
+     * Epoch millis of the last successful run, or 0 if it never succeeded.
+     */
+    long getLastSuccessTime() {
+        return lastSuccessTime;
+    }
+
+    ScheduledFuture<?> getNextRun() {
+        return nextRun;
+    }
+
+    void setNextRun(ScheduledFuture<?> nextRun) {
+        this.nextRun = nextRun;
+    }
+}
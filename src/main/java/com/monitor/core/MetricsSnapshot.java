@@ -0,0 +1,126 @@
+package com.monitor.core;
+
+import com.monitor.model.CpuSnapshot;
+import com.monitor.model.DiskSnapshot;
+import com.monitor.model.GpuSnapshot;
+import com.monitor.model.MemorySnapshot;
+import com.monitor.model.NetworkSnapshot;
+import com.monitor.model.ProcessList;
+import com.monitor.model.SystemStatus;
+import com.monitor.model.TemperatureSnapshot;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable result of one collection cycle.
+ *
+ * The engine builds a new snapshot at the end of every scheduled cycle and
+ * publishes it with a single reference swap, so readers (REST API, dashboard)
+ * never trigger collection themselves and never see a half-updated state.
+ *
+ * Sections hold the typed model objects from {@code com.monitor.model}; the
+ * typed getters return null for a section that has not been collected yet.
+ * Nothing is formatted for display until the snapshot is serialized.
+ */
+public final class MetricsSnapshot {
+    private final long sequence;
+    private final long timestamp;
+    private final Map<String, Object> sections;
+    private final Set<String> staleSections;
+
+    public MetricsSnapshot(long sequence, long timestamp, Map<String, Object> sections) {
+        this(sequence, timestamp, sections, Collections.emptySet());
+    }
+
+    public MetricsSnapshot(long sequence, long timestamp, Map<String, Object> sections,
+                           Collection<String> staleSections) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.sections = Collections.unmodifiableMap(new LinkedHashMap<>(sections));
+        this.staleSections = Collections.unmodifiableSet(new LinkedHashSet<>(staleSections));
+    }
+
+    /**
+     * Monotonically increasing number of the cycle that produced this snapshot.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Wall clock time (epoch millis) at which the snapshot was published.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Milliseconds elapsed since the snapshot was published.
+     */
+    public long getAgeMillis() {
+        return Math.max(0, System.currentTimeMillis() - timestamp);
+    }
+
+    public Map<String, Object> getSections() {
+        return sections;
+    }
+
+    public Object getSection(String name) {
+        return sections.get(name);
+    }
+
+    public SystemStatus getSystem() {
+        return (SystemStatus) sections.get("system");
+    }
+
+    public CpuSnapshot getCpu() {
+        return (CpuSnapshot) sections.get("cpu");
+    }
+
+    public MemorySnapshot getMemory() {
+        return (MemorySnapshot) sections.get("memory");
+    }
+
+    /**
+     * Top processes by memory; the list also carries the other rankings.
+     */
+    public ProcessList getProcesses() {
+        return (ProcessList) sections.get("processes");
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<DiskSnapshot> getDisks() {
+        return (List<DiskSnapshot>) sections.get("disks");
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<GpuSnapshot> getGpus() {
+        return (List<GpuSnapshot>) sections.get("gpus");
+    }
+
+    public NetworkSnapshot getNetwork() {
+        return (NetworkSnapshot) sections.get("network");
+    }
+
+    public TemperatureSnapshot getTemperature() {
+        return (TemperatureSnapshot) sections.get("temperature");
+    }
+
+    /**
+     * Sections whose collector failed or missed its time budget in this cycle.
+     * They carry the last good value from an earlier cycle.
+     */
+    public Set<String> getStaleSections() {
+        return staleSections;
+    }
+
+    public boolean isStale(String name) {
+        return staleSections.contains(name);
+    }
+}
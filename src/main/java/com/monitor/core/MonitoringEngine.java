@@ -1,164 +1,607 @@
 package com.monitor.core;
 
-import com.monitor.metrics.CpuMetrics;
-import com.monitor.metrics.DiskMetrics;
-import com.monitor.metrics.GpuMetrics;
-import com.monitor.metrics.MemoryMetrics;
-import com.monitor.metrics.NetworkMetrics;
-import com.monitor.metrics.ProcessMetrics;
+import com.monitor.history.HistoryTier;
+import com.monitor.history.MetricsHistory;
 import com.monitor.metrics.SystemMetrics;
-import com.monitor.metrics.TemperatureMetrics;
+import com.monitor.model.NetworkSnapshot;
+import com.monitor.model.SystemStatus;
+import com.monitor.storage.MetricLog;
+import com.monitor.synthetic.SyntheticHost;
 
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 @Component
 public class MonitoringEngine {
+    /** Shortest interval a section can be collected at. */
+    public static final long MIN_INTERVAL_MILLIS = 100;
+    
+    // Section completions this close together are published as one snapshot
+    private static final long PUBLISH_COALESCE_MILLIS = 10;
+    
     private final SystemMetrics systemMetrics;
-    private final CpuMetrics cpuMetrics;
-    private final MemoryMetrics memoryMetrics;
-    private final ProcessMetrics processMetrics;
-    private final DiskMetrics diskMetrics;
-    private final GpuMetrics gpuMetrics;
-    private final NetworkMetrics networkMetrics;
-    private final TemperatureMetrics temperatureMetrics;
+    private final Environment environment;
+    private final MetricsHistory history;
+    private final SelfMonitor selfMonitor;
+    private MetricLog metricLog;
     
     private int refreshRateSeconds = 2; // Default refresh rate
     private boolean consoleOutput = false; // Disable console output by default in web mode
+    private long lastConsoleDisplay;
+    
+    // Latest published snapshot; swapped atomically on every publish and read lock-free
+    private final AtomicReference<MetricsSnapshot> latestSnapshot = new AtomicReference<>();
+    private final Object publishLock = new Object();
+    private final AtomicBoolean publishPending = new AtomicBoolean(false);
+    private long nextSequence = 1;
+    private final List<SnapshotListener> snapshotListeners = new CopyOnWriteArrayList<>();
+    
+    // Each snapshot section is produced by one collector with its own cadence, in snapshot order
+    private final Map<String, CollectorSection> collectorSections = new LinkedHashMap<>();
+    // Last value each collector produced successfully
+    private final Map<String, Object> lastGoodSections = new ConcurrentHashMap<>();
+    private boolean elevatedUser;
+    
+    // Collection settings (metrics.collection.*, metrics.interval.*)
+    private boolean parallelCollection;
+    private boolean onDemand;
+    private final Object onDemandLock = new Object();
+    private ScheduledThreadPoolExecutor collectorScheduler;
+    private ScheduledExecutorService publisher;
+    private volatile boolean scheduling;
     
-    public MonitoringEngine() {
+    /**
+     * @param collectors the {@link Collector} beans; collectors registered
+     *                   through ServiceLoader are added after them
+     * @param selfMonitor where the cost of every collector run and publish is recorded
+     */
+    @Autowired
+    public MonitoringEngine(Environment environment, ObjectProvider<Collector<?>> collectors,
+                            SelfMonitor selfMonitor) {
+        this.environment = environment;
+        this.selfMonitor = selfMonitor;
         this.systemMetrics = new SystemMetrics();
-        this.cpuMetrics = new CpuMetrics();
-        this.memoryMetrics = new MemoryMetrics();
-        this.processMetrics = new ProcessMetrics();
-        this.diskMetrics = new DiskMetrics();
-        this.gpuMetrics = new GpuMetrics();
-        this.networkMetrics = new NetworkMetrics();
-        this.temperatureMetrics = new TemperatureMetrics();
+        this.history = new MetricsHistory(
+                environment.getProperty("metrics.history.capacity", Integer.class, 1800),
+                environment.getProperty("metrics.history.max-series", Integer.class, 128),
+                historyTiers(environment));
+        
+        collectors.orderedStream().forEach(this::addCollector);
+        try {
+            for (Collector<?> collector : ServiceLoader.load(Collector.class)) {
+                addCollector(collector);
+            }
+        } catch (ServiceConfigurationError e) {
+            System.err.println("Error loading collectors from META-INF/services: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Rollup tiers from metrics.history.rollup.*; a retention of 0 disables a tier.
+     */
+    private static List<HistoryTier> historyTiers(Environment environment) {
+        List<HistoryTier> tiers = new ArrayList<>();
+        Duration minuteRetention = environment.getProperty("metrics.history.rollup.minute-retention",
+                Duration.class, Duration.ofDays(7));
+        Duration hourRetention = environment.getProperty("metrics.history.rollup.hour-retention",
+                Duration.class, Duration.ofDays(90));
+        if (!minuteRetention.isZero()) {
+            tiers.add(new HistoryTier("1m", Duration.ofMinutes(1), minuteRetention));
+        }
+        if (!hourRetention.isZero()) {
+            tiers.add(new HistoryTier("1h", Duration.ofHours(1), hourRetention));
+        }
+        return tiers;
+    }
+    
+    private void addCollector(Collector<?> collector) {
+        String name = collector.getName();
+        if (collectorSections.containsKey(name)) {
+            System.err.println("Ignoring collector " + collector.getClass().getName() + ": section '" + name
+                    + "' is already collected by " + collectorSections.get(name).getCollector().getClass().getName());
+            return;
+        }
+        collectorSections.put(name, new CollectorSection(collector, selfMonitor.collector(name)));
+    }
+    
+    /**
+     * The hardware the collectors read, from metrics.hardware: native (the
+     * default) or a synthetic host sized by metrics.synthetic.*.
+     */
+    private void initializeHardware() {
+        String hardware = environment.getProperty("metrics.hardware", "native");
+        if ("synthetic".equalsIgnoreCase(hardware)) {
+            SyntheticHost host = SyntheticHost.fromEnvironment(environment);
+            systemMetrics.initialize(host.getHardware(), host.getOperatingSystem());
+            return;
+        }
+        if (!"native".equalsIgnoreCase(hardware)) {
+            System.err.println("Unknown metrics.hardware '" + hardware + "', using this machine's hardware");
+        }
+        systemMetrics.initialize();
     }
     
     @PostConstruct
     public void init() {
-        // Initialize the system
-        systemMetrics.initialize();
+        // Initialize the system, or a simulated one with metrics.hardware=synthetic
+        initializeHardware();
+        elevatedUser = isElevatedUser();
+        openMetricLog();
+        startCollectors();
+        
+        // Configure cadence and time budget per section
+        parallelCollection = environment.getProperty("metrics.collection.parallel", Boolean.class, true);
+        onDemand = environment.getProperty("metrics.collection.on-demand", Boolean.class, false);
+        long defaultBudget = environment.getProperty("metrics.collection.timeout-ms", Long.class, 1500L);
+        long defaultInterval = environment.getProperty("metrics.refresh-rate", Long.class, 2000L);
+        for (CollectorSection section : collectorSections.values()) {
+            long collectorInterval = section.getCollector().getDefaultIntervalMillis();
+            long interval = environment.getProperty("metrics.interval." + section.getName(), Long.class,
+                    collectorInterval > 0 ? collectorInterval : defaultInterval);
+            section.setIntervalMillis(Math.max(MIN_INTERVAL_MILLIS, interval));
+            section.setBudgetMillis(environment.getProperty(
+                    "metrics.collection.timeout." + section.getName(), Long.class, defaultBudget));
+        }
+        
+        // Sequential mode is a pool of one: collectors still keep their own cadence
+        int threads = parallelCollection ? 
+                Math.max(1, environment.getProperty("metrics.collection.threads", Integer.class, 4)) : 1;
+        collectorScheduler = new ScheduledThreadPoolExecutor(threads, daemonThreads("collector-"));
+        collectorScheduler.setRemoveOnCancelPolicy(true);
+        publisher = Executors.newSingleThreadScheduledExecutor(daemonThreads("snapshot-publisher-"));
         
         // Display refresh rate information
         System.out.println("Metrics collection rate: " + refreshRateSeconds + " seconds");
+        System.out.println("Collection mode: " + (parallelCollection ? "parallel" : "sequential") + 
+                (onDemand ? ", on demand" : "") + ", intervals (ms): " + getSectionIntervals());
+        
+        // On demand, sections are only collected when a request asks for them
+        if (onDemand) {
+            System.out.println("Metrics are collected on demand");
+            return;
+        }
         
         // Initial collection
         collectMetrics();
         
         // Start the scheduled collection
+        scheduling = true;
+        for (CollectorSection section : collectorSections.values()) {
+            scheduleNext(section, section.getIntervalMillis());
+        }
         System.out.println("Metrics collection started");
     }
     
-    @Scheduled(fixedDelayString = "${metrics.refresh-rate:2000}")
-    public void scheduledMetricsCollection() {
-        collectAndDisplayMetrics();
+    /**
+     * Start every collector; one that fails to start is left out of the snapshot.
+     */
+    private void startCollectors() {
+        Iterator<CollectorSection> sections = collectorSections.values().iterator();
+        while (sections.hasNext()) {
+            CollectorSection section = sections.next();
+            try {
+                section.getCollector().start(environment);
+            } catch (Exception e) {
+                System.err.println("Error starting " + section.getName() + " collector, leaving it out: " + e);
+                sections.remove();
+            }
+        }
     }
     
-    public void collectMetrics() {
+    /**
+     * Open the on-disk log (metrics.storage.*), replay it into the history and
+     * persist every sample recorded from now on. Without it history is memory-only.
+     */
+    private void openMetricLog() {
+        if (!environment.getProperty("metrics.storage.enabled", Boolean.class, true)) {
+            return;
+        }
         try {
-            // Collect CPU metrics
-            cpuMetrics.collectMetrics();
-            
-            // Collect Memory metrics
-            memoryMetrics.collectMetrics();
-            
-            // Collect Process metrics
-            processMetrics.collectMetrics();
-            
-            // Collect Disk metrics
-            diskMetrics.collectMetrics();
-            
-            // Collect GPU metrics
-            gpuMetrics.collectMetrics();
-            
-            // Collect Network metrics with error handling
+            metricLog = new MetricLog(
+                    Paths.get(environment.getProperty("metrics.storage.directory", "data")),
+                    environment.getProperty("metrics.storage.segment-size", DataSize.class,
+                            DataSize.ofMegabytes(8)).toBytes(),
+                    environment.getProperty("metrics.storage.segment-duration", Duration.class, Duration.ofHours(1)),
+                    environment.getProperty("metrics.storage.retention", Duration.class, Duration.ofDays(7)),
+                    environment.getProperty("metrics.storage.max-size", DataSize.class,
+                            DataSize.ofMegabytes(512)).toBytes(),
+                    environment.getProperty("metrics.storage.fsync-interval", Duration.class, Duration.ofSeconds(5)),
+                    environment.getProperty("metrics.storage.queue-capacity", Integer.class, 65536));
+            long start = System.currentTimeMillis();
+            long replayed = metricLog.replay(history::record);
+            history.setSink(metricLog);
+            metricLog.start();
+            System.out.println("Metric log: replayed " + replayed + " samples from "
+                    + metricLog.getSegmentCount() + " segments in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error opening metric log, history will not be persisted: " + e.getMessage());
+            closeMetricLog();
+        }
+    }
+    
+    private void closeMetricLog() {
+        history.setSink(null);
+        if (metricLog != null) {
             try {
-                networkMetrics.collectMetrics();
-            } catch (Exception e) {
-                System.err.println("Error collecting network metrics: " + e.getMessage());
-                // Continue with other metrics
+                metricLog.close();
+            } catch (IOException e) {
+                System.err.println("Error closing metric log: " + e.getMessage());
             }
-            
-            // Collect Temperature metrics with error handling
-            try {
-                temperatureMetrics.collectMetrics();
-            } catch (Exception e) {
-                System.err.println("Error collecting temperature metrics: " + e.getMessage());
-                // Continue with other metrics
+            metricLog = null;
+        }
+    }
+    
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    /**
+     * Collect every section now and publish the result as the latest snapshot.
+     * Used for the initial snapshot; afterwards each section runs on its own interval.
+     */
+    public void collectMetrics() {
+        try {
+            if (parallelCollection) {
+                collectParallel(collectorSections.values());
+            } else {
+                for (CollectorSection section : collectorSections.values()) {
+                    collectSection(section);
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
         } catch (Exception e) {
             System.err.println("Error collecting metrics: " + e.getMessage());
             e.printStackTrace();
         }
+        
+        publishSnapshot();
     }
     
-    private void collectAndDisplayMetrics() {
-        collectMetrics();
+    /**
+     * Latest snapshot, for a reader that needs the given sections. With
+     * metrics.collection.on-demand, those of the sections whose value is older
+     * than their interval are collected first, and no other collector runs;
+     * otherwise this is the same as {@link #getLatestSnapshot()}.
+     */
+    public MetricsSnapshot getSnapshot(Collection<String> sections) {
+        if (!onDemand) {
+            return latestSnapshot.get();
+        }
+        // One on-demand collection at a time, so concurrent readers share its result
+        synchronized (onDemandLock) {
+            long now = System.currentTimeMillis();
+            List<CollectorSection> due = new ArrayList<>();
+            for (String name : sections) {
+                CollectorSection section = collectorSections.get(name);
+                if (section != null && now - section.getLastSuccessTime() >= section.getIntervalMillis()) {
+                    due.add(section);
+                }
+            }
+            if (!due.isEmpty() || latestSnapshot.get() == null) {
+                try {
+                    if (parallelCollection) {
+                        collectParallel(due);
+                    } else {
+                        for (CollectorSection section : due) {
+                            collectSection(section);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                publishSnapshot();
+            }
+            return latestSnapshot.get();
+        }
+    }
+    
+    /**
+     * Whether sections are only collected when a reader asks for them.
+     */
+    public boolean isOnDemand() {
+        return onDemand;
+    }
+    
+    /**
+     * Fan the collectors out on the collector pool and wait for each one until its
+     * deadline. Collectors that overrun are left to finish in the background; their
+     * section keeps its last good value until they complete.
+     */
+    private void collectParallel(Collection<CollectorSection> sections) throws InterruptedException {
+        long start = System.nanoTime();
+        Map<CollectorSection, Future<Boolean>> submitted = new LinkedHashMap<>();
+        // Costliest first, so the cheap collectors run alongside them rather than ahead
+        List<CollectorSection> byCost = new ArrayList<>(sections);
+        byCost.sort(Comparator.comparing((CollectorSection section) -> section.getCollector().getCost()).reversed());
+        for (CollectorSection section : byCost) {
+            submitted.put(section, collectorScheduler.submit(() -> collectSection(section)));
+        }
+        
+        // Wait on the shortest budgets first so a slow collector can't hide another's overrun
+        List<CollectorSection> byDeadline = new ArrayList<>(sections);
+        byDeadline.sort(Comparator.comparingLong(CollectorSection::getBudgetMillis));
         
-        if (consoleOutput) {
+        for (CollectorSection section : byDeadline) {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(section.getBudgetMillis()) - (System.nanoTime() - start);
             try {
-                // Clear screen for better visibility (works on most terminals)
-                System.out.print("\033[H\033[2J");
-                System.out.flush();
-                
-                System.out.println("===== System Monitor ===== (Refresh: " + refreshRateSeconds + "s)");
-                
-                // Display CPU metrics
-                cpuMetrics.displayMetrics();
+                submitted.get(section).get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                System.err.println("Collector '" + section.getName() + "' missed its " + 
+                        section.getBudgetMillis() + " ms budget, serving last good value");
+            } catch (ExecutionException e) {
+                System.err.println("Error collecting " + section.getName() + " metrics: " + e.getCause());
+            }
+        }
+    }
+    
+    /**
+     * Run a single collector and record its section on success.
+     */
+    private boolean collectSection(CollectorSection section) {
+        Object value = section.run();
+        if (value == null) {
+            return false;
+        }
+        lastGoodSections.put(section.getName(), value);
+        section.record(value, history);
+        return true;
+    }
+    
+    /**
+     * Scheduled run of one section: collect, publish, then schedule the next run
+     * using the section's current interval, so runs of a section never overlap.
+     */
+    private void runScheduled(CollectorSection section) {
+        if (!scheduling) {
+            return;
+        }
+        // Republish once the budget has passed so a hanging collector shows up as stale
+        ScheduledFuture<?> budgetCheck = publisher.schedule(() -> {
+            if (section.isRunning()) {
+                publishSnapshot();
+            }
+        }, section.getBudgetMillis() + 1, TimeUnit.MILLISECONDS);
+        
+        try {
+            collectSection(section);
+        } finally {
+            budgetCheck.cancel(false);
+            requestPublish();
+            scheduleNext(section, section.getIntervalMillis());
+        }
+    }
+    
+    private synchronized void scheduleNext(CollectorSection section, long delayMillis) {
+        if (!scheduling) {
+            return;
+        }
+        section.setNextRun(collectorScheduler.schedule(() -> runScheduled(section), delayMillis, TimeUnit.MILLISECONDS));
+    }
+    
+    /**
+     * Publish a snapshot shortly, folding section completions that arrive together
+     * into a single snapshot.
+     */
+    private void requestPublish() {
+        if (publishPending.compareAndSet(false, true)) {
+            publisher.schedule(() -> {
+                publishPending.set(false);
+                publishSnapshot();
+            }, PUBLISH_COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Build an immutable snapshot from the last good section values and make it
+     * visible to readers with a single reference swap.
+     */
+    private void publishSnapshot() {
+        PhaseStats stats = selfMonitor.engine("publish");
+        long start = System.nanoTime();
+        long startBytes = SelfMonitor.threadAllocatedBytes();
+        MetricsSnapshot published;
+        try {
+            synchronized (publishLock) {
+                long sequence = nextSequence++;
+                long timestamp = System.currentTimeMillis();
                 
-                // Display Memory metrics
-                memoryMetrics.displayMetrics();
+                List<String> stale = new ArrayList<>();
+                Map<String, Long> collectionMillis = new LinkedHashMap<>();
+                Map<String, Long> updated = new LinkedHashMap<>();
+                for (CollectorSection section : collectorSections.values()) {
+                    if (section.isStale()) {
+                        stale.add(section.getName());
+                    }
+                    collectionMillis.put(section.getName(), section.getLastDurationMillis());
+                    updated.put(section.getName(), section.getLastSuccessTime());
+                }
                 
-                // Display Process metrics
-                processMetrics.displayMetrics();
+                Map<String, Object> sections = new LinkedHashMap<>();
                 
-                // Display Disk metrics
-                diskMetrics.displayMetrics();
+                // Detected interfaces imply elevated permissions (e.g. pcap access)
+                Object network = lastGoodSections.get("network");
+                boolean runningWithSudo = elevatedUser || (network instanceof NetworkSnapshot
+                        && !((NetworkSnapshot) network).getInterfaces().isEmpty());
                 
-                // Display GPU metrics
-                gpuMetrics.displayMetrics();
+                // System information
+                sections.put("system", new SystemStatus(systemMetrics.getOperatingSystem().toString(),
+                        refreshRateSeconds, timestamp, sequence, runningWithSudo, Collections.unmodifiableList(stale),
+                        Collections.unmodifiableMap(collectionMillis), Collections.unmodifiableMap(updated)));
                 
-                // Display Network metrics
-                networkMetrics.displayMetrics();
+                for (String name : collectorSections.keySet()) {
+                    Object section = lastGoodSections.get(name);
+                    if (section != null) {
+                        sections.put(name, section);
+                    }
+                }
                 
-                // Display Temperature metrics
-                temperatureMetrics.displayMetrics();
+                published = new MetricsSnapshot(sequence, timestamp, sections, stale);
+                latestSnapshot.set(published);
                 
-                System.out.println("=========================");
-                System.out.println("Press Ctrl+C to exit");
-            } catch (Exception e) {
-                System.err.println("Error displaying metrics: " + e.getMessage());
-                e.printStackTrace();
+                if (consoleOutput && timestamp - lastConsoleDisplay >= refreshRateSeconds * 1000L) {
+                    lastConsoleDisplay = timestamp;
+                    displayMetrics();
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error publishing metrics snapshot: " + e.getMessage());
+            e.printStackTrace();
+            stats.recordError();
+            return;
+        } finally {
+            stats.record(System.nanoTime() - start, SelfMonitor.allocatedSince(startBytes));
+        }
+        
+        // Outside the lock, so a listener can't hold up the next publish
+        PhaseStats notifyStats = selfMonitor.engine("notify");
+        start = System.nanoTime();
+        startBytes = SelfMonitor.threadAllocatedBytes();
+        for (SnapshotListener listener : snapshotListeners) {
+            try {
+                listener.snapshotPublished(published);
+            } catch (RuntimeException e) {
+                System.err.println("Error notifying snapshot listener: " + e.getMessage());
+                notifyStats.recordError();
             }
         }
+        notifyStats.record(System.nanoTime() - start, SelfMonitor.allocatedSince(startBytes));
     }
     
-    @PreDestroy
-    public void stopMonitoring() {
-        System.out.println("Stopping monitoring...");
+    /**
+     * Change how often one section is collected. Takes effect without a restart:
+     * a shorter interval pulls the pending run forward, a longer one applies
+     * after the pending run.
+     * 
+     * @param name Section name, e.g. cpu or processes
+     * @param millis Interval in milliseconds (minimum {@link #MIN_INTERVAL_MILLIS})
+     * @throws IllegalArgumentException if the section is unknown or the interval too short
+     */
+    public synchronized void setSectionInterval(String name, long millis) {
+        CollectorSection section = collectorSections.get(name);
+        if (section == null) {
+            throw new IllegalArgumentException("Unknown section: " + name);
+        }
+        if (millis < MIN_INTERVAL_MILLIS) {
+            throw new IllegalArgumentException("Interval must be at least " + MIN_INTERVAL_MILLIS + " ms");
+        }
+        section.setIntervalMillis(millis);
+        
+        ScheduledFuture<?> nextRun = section.getNextRun();
+        if (nextRun != null && nextRun.getDelay(TimeUnit.MILLISECONDS) > millis && nextRun.cancel(false)) {
+            scheduleNext(section, millis);
+        }
     }
     
     /**
-     * Set the number of processes to display in the process metrics.
-     * 
-     * @param count Number of top processes to display
+     * Current collection interval of every section in milliseconds.
      */
-    public void setProcessDisplayCount(int count) {
-        if (count < 1) {
-            System.err.println("Process count must be at least 1. Using default.");
-            return;
+    public Map<String, Long> getSectionIntervals() {
+        Map<String, Long> intervals = new LinkedHashMap<>();
+        for (CollectorSection section : collectorSections.values()) {
+            intervals.put(section.getName(), section.getIntervalMillis());
         }
-        processMetrics.setDisplayCount(count);
+        return intervals;
     }
     
     /**
-     * Set the refresh rate for metric collection and display.
+     * Check for a root or admin user.
+     */
+    private static boolean isElevatedUser() {
+        try {
+            String username = System.getProperty("user.name");
+            return "root".equals(username) || username.toLowerCase().startsWith("admin");
+        } catch (Exception e) {
+            System.err.println("Error checking sudo status: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private void displayMetrics() {
+        try {
+            // Clear screen for better visibility (works on most terminals)
+            System.out.print("\033[H\033[2J");
+            System.out.flush();
+            
+            System.out.println("===== System Monitor ===== (Refresh: " + refreshRateSeconds + "s)");
+            
+            // Each collector prints its own section, in snapshot order
+            for (CollectorSection section : collectorSections.values()) {
+                section.getCollector().display();
+            }
+            
+            System.out.println("=========================");
+            System.out.println("Press Ctrl+C to exit");
+        } catch (Exception e) {
+            System.err.println("Error displaying metrics: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    @PreDestroy
+    public void stopMonitoring() {
+        System.out.println("Stopping monitoring...");
+        scheduling = false;
+        if (collectorScheduler != null) {
+            collectorScheduler.shutdownNow();
+        }
+        if (publisher != null) {
+            publisher.shutdownNow();
+        }
+        for (CollectorSection section : collectorSections.values()) {
+            try {
+                section.getCollector().stop();
+            } catch (RuntimeException e) {
+                System.err.println("Error stopping " + section.getName() + " collector: " + e.getMessage());
+            }
+        }
+        closeMetricLog();
+    }
+    
+    /**
+     * Set the refresh rate for metric collection and display. Applies to every
+     * section that has neither an explicit metrics.interval.&lt;section&gt;
+     * setting nor a default interval of its own.
      * 
      * @param seconds Refresh rate in seconds (minimum 1)
      */
@@ -168,6 +611,12 @@ public class MonitoringEngine {
             return;
         }
         this.refreshRateSeconds = seconds;
+        for (CollectorSection section : collectorSections.values()) {
+            if (!environment.containsProperty("metrics.interval." + section.getName())
+                    && section.getCollector().getDefaultIntervalMillis() <= 0) {
+                setSectionInterval(section.getName(), seconds * 1000L);
+            }
+        }
     }
     
     /**
@@ -179,37 +628,55 @@ public class MonitoringEngine {
         this.consoleOutput = enabled;
     }
     
-    // Getter methods for REST controllers
-    public SystemMetrics getSystemMetrics() {
-        return systemMetrics;
-    }
-    
-    public CpuMetrics getCpuMetrics() {
-        return cpuMetrics;
+    /**
+     * Latest published snapshot. Never blocks and never triggers collection.
+     */
+    public MetricsSnapshot getLatestSnapshot() {
+        return latestSnapshot.get();
     }
     
-    public MemoryMetrics getMemoryMetrics() {
-        return memoryMetrics;
+    /**
+     * Notify the listener of every snapshot published from now on.
+     */
+    public void addSnapshotListener(SnapshotListener listener) {
+        snapshotListeners.add(listener);
     }
     
-    public ProcessMetrics getProcessMetrics() {
-        return processMetrics;
+    public void removeSnapshotListener(SnapshotListener listener) {
+        snapshotListeners.remove(listener);
     }
     
-    public DiskMetrics getDiskMetrics() {
-        return diskMetrics;
+    /**
+     * Time-series history recorded from every collection.
+     */
+    public MetricsHistory getHistory() {
+        return history;
     }
     
-    public GpuMetrics getGpuMetrics() {
-        return gpuMetrics;
+    /**
+     * The collector of every section, in snapshot order.
+     */
+    public List<Collector<?>> getCollectors() {
+        List<Collector<?>> collectors = new ArrayList<>();
+        for (CollectorSection section : collectorSections.values()) {
+            collectors.add(section.getCollector());
+        }
+        return collectors;
     }
     
-    public NetworkMetrics getNetworkMetrics() {
-        return networkMetrics;
+    /**
+     * Time budget of every section in milliseconds.
+     */
+    public Map<String, Long> getSectionBudgets() {
+        Map<String, Long> budgets = new LinkedHashMap<>();
+        for (CollectorSection section : collectorSections.values()) {
+            budgets.put(section.getName(), section.getBudgetMillis());
+        }
+        return budgets;
     }
     
-    public TemperatureMetrics getTemperatureMetrics() {
-        return temperatureMetrics;
+    public SystemMetrics getSystemMetrics() {
+        return systemMetrics;
     }
     
     public int getRefreshRateSeconds() {
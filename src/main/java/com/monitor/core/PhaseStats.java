@@ -0,0 +1,49 @@
+package com.monitor.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What one phase of the monitor's own work has cost since startup: a latency
+ * histogram, the bytes it allocated and how often it failed.
+ */
+public class PhaseStats {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder allocationSamples = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * @param allocatedBytes bytes allocated by the thread during the run, or
+     *                       -1 if not measured
+     */
+    public void record(long nanos, long allocatedBytes) {
+        latency.record(nanos);
+        if (allocatedBytes >= 0) {
+            this.allocatedBytes.add(allocatedBytes);
+            allocationSamples.increment();
+        }
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    /**
+     * Number of runs whose allocation was measured.
+     */
+    public long getAllocationSamples() {
+        return allocationSamples.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+}
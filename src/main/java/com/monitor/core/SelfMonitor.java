@@ -0,0 +1,87 @@
+package com.monitor.core;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The monitor's own cost, per phase: every collector run, every snapshot
+ * publish and every API request is timed into a {@link PhaseStats}, with the
+ * bytes the running thread allocated. Served at /api/self.
+ */
+@Component
+public class SelfMonitor {
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCountingThreads();
+
+    private final Map<String, PhaseStats> collectors = new ConcurrentHashMap<>();
+    private final Map<String, PhaseStats> engine = new ConcurrentHashMap<>();
+    private final Map<String, PhaseStats> api = new ConcurrentSkipListMap<>();
+
+    private static com.sun.management.ThreadMXBean allocationCountingThreads() {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+                if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+                    return sunThreads;
+                }
+            }
+        } catch (LinkageError e) {
+            // Not a HotSpot-derived JVM
+        }
+        System.err.println("Thread allocation counting is not available, allocations will not be reported");
+        return null;
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 if the JVM doesn't
+     * count them. The difference of two calls is what the thread allocated in
+     * between.
+     */
+    public static long threadAllocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * Allocation between a {@link #threadAllocatedBytes()} reading and now, or
+     * -1 if not counted.
+     */
+    public static long allocatedSince(long startBytes) {
+        return startBytes >= 0 ? threadAllocatedBytes() - startBytes : -1;
+    }
+
+    public PhaseStats collector(String name) {
+        return collectors.computeIfAbsent(name, key -> new PhaseStats());
+    }
+
+    /**
+     * Engine work outside the collectors, e.g. "publish".
+     */
+    public PhaseStats engine(String phase) {
+        return engine.computeIfAbsent(phase, key -> new PhaseStats());
+    }
+
+    /**
+     * An API route, e.g. "GET /api/all".
+     */
+    public PhaseStats api(String route) {
+        return api.computeIfAbsent(route, key -> new PhaseStats());
+    }
+
+    public Map<String, PhaseStats> getCollectors() {
+        return Collections.unmodifiableMap(collectors);
+    }
+
+    public Map<String, PhaseStats> getEngine() {
+        return Collections.unmodifiableMap(engine);
+    }
+
+    public Map<String, PhaseStats> getApi() {
+        return Collections.unmodifiableMap(api);
+    }
+}
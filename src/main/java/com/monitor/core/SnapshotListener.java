@@ -0,0 +1,9 @@
+package com.monitor.core;
+
+/**
+ * Notified of every snapshot the engine publishes, on the publishing thread.
+ * Implementations must return quickly and hand slow work to their own thread.
+ */
+public interface SnapshotListener {
+    void snapshotPublished(MetricsSnapshot snapshot);
+}
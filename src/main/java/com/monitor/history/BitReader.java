@@ -0,0 +1,36 @@
+package com.monitor.history;
+
+/**
+ * Reads back bit strings written by {@link BitWriter}.
+ */
+final class BitReader {
+
+    private final long[] words;
+    private int position;
+
+    BitReader(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * @param bits Number of bits to read, 1 to 64
+     * @return the bits as the lowest bits of a long
+     */
+    long readBits(int bits) {
+        int index = position >>> 6;
+        int free = 64 - (position & 63);
+        long result;
+        if (bits <= free) {
+            result = words[index] >>> (free - bits);
+        } else {
+            int spill = bits - free;
+            result = (words[index] << spill) | (words[index + 1] >>> (64 - spill));
+        }
+        position += bits;
+        return bits < 64 ? result & ((1L << bits) - 1) : result;
+    }
+
+    boolean readBit() {
+        return readBits(1) != 0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.monitor.history;
+
+import java.util.Arrays;
+
+/**
+ * Appends bit strings, most significant bit first, to a growable array of longs.
+ */
+final class BitWriter {
+
+    private long[] words;
+    private int bitLength;
+
+    BitWriter(int initialWords) {
+        this.words = new long[Math.max(1, initialWords)];
+    }
+
+    /**
+     * Append the lowest bits of the value.
+     *
+     * @param bits Number of bits to write, 1 to 64
+     */
+    void writeBits(long value, int bits) {
+        int index = bitLength >>> 6;
+        int free = 64 - (bitLength & 63);
+        if (index + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        if (bits < 64) {
+            value &= (1L << bits) - 1;
+        }
+        if (bits <= free) {
+            words[index] |= value << (free - bits);
+        } else {
+            int spill = bits - free;
+            words[index] |= value >>> spill;
+            words[index + 1] |= value << (64 - spill);
+        }
+        bitLength += bits;
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    int getBitLength() {
+        return bitLength;
+    }
+
+    /**
+     * The backing array; only the first {@link #getBitLength()} bits are meaningful.
+     */
+    long[] getWords() {
+        return words;
+    }
+
+    /**
+     * Copy of the written bits, trimmed to the words actually used.
+     */
+    long[] toWords() {
+        return Arrays.copyOf(words, (bitLength + 63) >>> 6);
+    }
+}
@@ -0,0 +1,49 @@
+package com.monitor.history;
+
+/**
+ * Sealed, immutable run of samples compressed by {@link GorillaEncoder}. The
+ * time range is kept uncompressed so reads can skip blocks outside their range.
+ */
+public final class GorillaBlock {
+
+    private final long[] words;
+    private final int bitLength;
+    private final int count;
+    private final long firstTimestamp;
+    private final long lastTimestamp;
+
+    GorillaBlock(long[] words, int bitLength, int count, long firstTimestamp, long lastTimestamp) {
+        this.words = words;
+        this.bitLength = bitLength;
+        this.count = count;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    /**
+     * Stream the samples, oldest first. Each decoder is independent, so any
+     * number of readers can decode the same block concurrently.
+     */
+    public GorillaDecoder decoder() {
+        return new GorillaDecoder(words, count);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * Encoded size rounded up to whole bytes, excluding the object headers.
+     */
+    public int getSizeBytes() {
+        return (bitLength + 7) >>> 3;
+    }
+}
@@ -0,0 +1,79 @@
+package com.monitor.history;
+
+/**
+ * Streaming cursor over samples written by {@link GorillaEncoder}. Decodes one
+ * sample per {@link #next()} without allocating, so a block is never expanded
+ * into arrays.
+ */
+public final class GorillaDecoder {
+
+    private final BitReader in;
+    private int remaining;
+    private boolean started;
+    private long timestamp;
+    private long delta;
+    private long valueBits;
+    private int leading;
+    private int trailing;
+
+    GorillaDecoder(long[] words, int count) {
+        this.in = new BitReader(words);
+        this.remaining = count;
+    }
+
+    /**
+     * Advance to the next sample.
+     *
+     * @return false once every sample has been read
+     */
+    public boolean next() {
+        if (remaining == 0) {
+            return false;
+        }
+        remaining--;
+        if (!started) {
+            started = true;
+            timestamp = in.readBits(64);
+            valueBits = in.readBits(64);
+            return true;
+        }
+        delta += readDeltaOfDelta();
+        timestamp += delta;
+        if (in.readBit()) {
+            if (in.readBit()) {
+                leading = (int) in.readBits(5);
+                int meaningful = (int) in.readBits(6);
+                if (meaningful == 0) {
+                    meaningful = 64;
+                }
+                trailing = 64 - leading - meaningful;
+            }
+            valueBits ^= in.readBits(64 - leading - trailing) << trailing;
+        }
+        return true;
+    }
+
+    private long readDeltaOfDelta() {
+        if (!in.readBit()) {
+            return 0;
+        }
+        if (!in.readBit()) {
+            return in.readBits(7) - 63;
+        }
+        if (!in.readBit()) {
+            return in.readBits(9) - 255;
+        }
+        if (!in.readBit()) {
+            return in.readBits(12) - 2047;
+        }
+        return in.readBits(64);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public double getValue() {
+        return Double.longBitsToDouble(valueBits);
+    }
+}
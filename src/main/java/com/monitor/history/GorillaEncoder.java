@@ -0,0 +1,114 @@
+package com.monitor.history;
+
+/**
+ * Compresses a run of samples as in Facebook's Gorilla paper: timestamps as
+ * delta-of-deltas, values as the XOR with the previous value.
+ *
+ * Samples taken at a steady interval cost one bit per timestamp, and a value
+ * that didn't change costs one bit; a value that changed usually costs a few
+ * control bits plus only its meaningful XOR bits. The first sample is stored in
+ * full. Samples must be appended in timestamp order. {@link #seal()} turns the
+ * run into an immutable {@link GorillaBlock}.
+ */
+public final class GorillaEncoder {
+
+    private final BitWriter out = new BitWriter(16);
+    private int count;
+    private long firstTimestamp;
+    private long previousTimestamp;
+    private long previousDelta;
+    private long previousValue;
+    private int previousLeading = -1;
+    private int previousTrailing;
+
+    public void append(long timestamp, double value) {
+        long valueBits = Double.doubleToRawLongBits(value);
+        if (count == 0) {
+            out.writeBits(timestamp, 64);
+            out.writeBits(valueBits, 64);
+            firstTimestamp = timestamp;
+        } else {
+            long delta = timestamp - previousTimestamp;
+            writeDeltaOfDelta(delta - previousDelta);
+            writeXor(valueBits ^ previousValue);
+            previousDelta = delta;
+        }
+        previousTimestamp = timestamp;
+        previousValue = valueBits;
+        count++;
+    }
+
+    // Control bits 0, 10, 110, 1110, 1111 select 0, 7, 9, 12 or 64 payload bits
+    private void writeDeltaOfDelta(long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            out.writeBit(false);
+        } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+            out.writeBits(0b10, 2);
+            out.writeBits(deltaOfDelta + 63, 7);
+        } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+            out.writeBits(0b110, 3);
+            out.writeBits(deltaOfDelta + 255, 9);
+        } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+            out.writeBits(0b1110, 4);
+            out.writeBits(deltaOfDelta + 2047, 12);
+        } else {
+            out.writeBits(0b1111, 4);
+            out.writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    // 0: same value; 10: meaningful bits fit the previous window; 11: new window follows
+    private void writeXor(long xor) {
+        if (xor == 0) {
+            out.writeBit(false);
+            return;
+        }
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+            out.writeBits(0b10, 2);
+            out.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            out.writeBits(0b11, 2);
+            out.writeBits(leading, 5);
+            out.writeBits(meaningful, 6); // 64 wraps to 0
+            out.writeBits(xor >>> trailing, meaningful);
+            previousLeading = leading;
+            previousTrailing = trailing;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public long getLastTimestamp() {
+        return previousTimestamp;
+    }
+
+    /**
+     * Encoded size so far, rounded up to whole bytes.
+     */
+    public int getSizeBytes() {
+        return (out.getBitLength() + 7) >>> 3;
+    }
+
+    /**
+     * Stream the samples appended so far; valid until the next append.
+     */
+    public GorillaDecoder decoder() {
+        return new GorillaDecoder(out.getWords(), count);
+    }
+
+    /**
+     * Immutable copy of the samples appended so far, trimmed to size.
+     */
+    public GorillaBlock seal() {
+        return new GorillaBlock(out.toWords(), out.getBitLength(), count, firstTimestamp, previousTimestamp);
+    }
+}
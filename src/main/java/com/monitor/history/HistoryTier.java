@@ -0,0 +1,39 @@
+package com.monitor.history;
+
+import java.time.Duration;
+
+/**
+ * A rollup tier: bucket width and how long its buckets are kept.
+ */
+public final class HistoryTier {
+    private final String name;
+    private final long resolutionMillis;
+    private final int capacity;
+
+    /**
+     * @param name Tier name used in API responses, e.g. "1m"
+     * @param resolution Bucket width
+     * @param retention How far back the tier reaches; rounded up to whole buckets
+     */
+    public HistoryTier(String name, Duration resolution, Duration retention) {
+        this.name = name;
+        this.resolutionMillis = resolution.toMillis();
+        long buckets = (retention.toMillis() + resolutionMillis - 1) / resolutionMillis;
+        this.capacity = (int) Math.max(1, Math.min(Integer.MAX_VALUE, buckets));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    /**
+     * Number of buckets kept per series.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,176 @@
+package com.monitor.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-side history of selected metrics, kept per series name (e.g.
+ * "cpu.usage", "disks.sda.readRate") at several resolutions: the raw samples
+ * in a {@link TimeSeries}, plus one {@link RollupBuffer} per rollup tier.
+ *
+ * Every tier is updated as each sample is recorded, so rollups never rescan
+ * raw data. Series are created on first use. Both the size of each tier and
+ * the number of series are capped. Raw samples are compressed, typically to
+ * one to three bytes each, so the memory held is roughly
+ * maxSeries * (rawCapacity * 4 + sum of tier capacities * 36) bytes.
+ */
+public class MetricsHistory {
+    /** Tier name reported for raw samples. */
+    public static final String RAW_TIER = "raw";
+
+    private final int capacity;
+    private final int maxSeries;
+    private final List<HistoryTier> tiers;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private volatile boolean seriesLimitReported;
+    private volatile SampleSink sink;
+
+    /**
+     * @param capacity Raw samples kept per series
+     * @param maxSeries Maximum number of series; samples for further series are dropped
+     * @param tiers Rollup tiers, finest first
+     */
+    public MetricsHistory(int capacity, int maxSeries, List<HistoryTier> tiers) {
+        this.capacity = capacity;
+        this.maxSeries = maxSeries;
+        this.tiers = Collections.unmodifiableList(new ArrayList<>(tiers));
+    }
+
+    /**
+     * Append a sample to a series and its rollups, creating the series if needed.
+     */
+    public void record(String name, long timestamp, double value) {
+        Series entry = series.get(name);
+        if (entry == null) {
+            if (series.size() >= maxSeries) {
+                if (!seriesLimitReported) {
+                    seriesLimitReported = true;
+                    System.err.println("History series limit of " + maxSeries + " reached, not recording " + name);
+                }
+                return;
+            }
+            entry = series.computeIfAbsent(name, key -> new Series(key, capacity, tiers));
+        }
+        SampleSink currentSink = sink;
+        if (entry.record(timestamp, value) && currentSink != null) {
+            currentSink.accept(name, timestamp, value);
+        }
+    }
+
+    /**
+     * Forward every sample accepted from now on to the sink, or stop forwarding if null.
+     */
+    public void setSink(SampleSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @return the series, or null if nothing was recorded under this name
+     */
+    public Series getSeries(String name) {
+        return series.get(name);
+    }
+
+    /**
+     * Names of all recorded series, sorted.
+     */
+    public List<String> getSeriesNames() {
+        List<String> names = new ArrayList<>(series.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public List<HistoryTier> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * Pick the coarsest tier whose resolution is at least as fine as the requested step.
+     *
+     * @param stepMillis Requested spacing between points; 0 or less selects raw samples
+     * @return index into {@link #getTiers()}, or -1 for raw samples
+     */
+    public int selectTier(long stepMillis) {
+        int selected = -1;
+        for (int i = 0; i < tiers.size(); i++) {
+            if (tiers.get(i).getResolutionMillis() <= stepMillis) {
+                selected = i;
+            }
+        }
+        return selected;
+    }
+    
+    /**
+     * Pick the tier to read a range of one series from: the tier for the step,
+     * or the next coarser one that still reaches back to from. Raw samples
+     * reach back as far as the oldest one held, a rollup tier its capacity
+     * times its resolution. If no tier reaches that far, the coarsest is used.
+     *
+     * @return index into {@link #getTiers()}, or -1 for raw samples
+     */
+    public int selectTier(Series series, long stepMillis, long fromMillis, long nowMillis) {
+        int selected = selectTier(stepMillis);
+        while (selected < tiers.size() - 1 && !reaches(series, selected, fromMillis, nowMillis)) {
+            selected++;
+        }
+        return selected;
+    }
+    
+    private boolean reaches(Series series, int tier, long fromMillis, long nowMillis) {
+        if (tier < 0) {
+            return series.getRaw().covers(fromMillis);
+        }
+        HistoryTier spec = tiers.get(tier);
+        return nowMillis - spec.getResolutionMillis() * spec.getCapacity() <= fromMillis;
+    }
+
+    /**
+     * Raw samples and rollups of one series.
+     */
+    public static final class Series {
+        private final String name;
+        private final TimeSeries raw;
+        private final RollupBuffer[] rollups;
+
+        Series(String name, int capacity, List<HistoryTier> tiers) {
+            this.name = name;
+            this.raw = new TimeSeries(name, capacity);
+            this.rollups = new RollupBuffer[tiers.size()];
+            for (int i = 0; i < rollups.length; i++) {
+                rollups[i] = new RollupBuffer(tiers.get(i).getResolutionMillis(), tiers.get(i).getCapacity());
+            }
+        }
+
+        boolean record(long timestamp, double value) {
+            if (!raw.append(timestamp, value)) {
+                return false;
+            }
+            for (RollupBuffer rollup : rollups) {
+                rollup.append(timestamp, value);
+            }
+            return true;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TimeSeries getRaw() {
+            return raw;
+        }
+
+        /**
+         * @param tier Index into {@link MetricsHistory#getTiers()}
+         */
+        public RollupBuffer getRollup(int tier) {
+            return rollups[tier];
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.monitor.history;
+
+/**
+ * Downsampled tier of one series: a fixed-capacity ring of time buckets, each
+ * holding the min, max, sum and count of the samples that fell into it.
+ *
+ * Buckets are maintained incrementally as samples arrive: a sample either
+ * updates the newest bucket in place or opens the next one, overwriting the
+ * oldest bucket once the ring is full. The newest bucket is therefore partial
+ * until the first sample of the following bucket arrives.
+ */
+public class RollupBuffer {
+    private final long resolutionMillis;
+    private final long[] starts;
+    private final double[] min;
+    private final double[] max;
+    private final double[] sum;
+    private final int[] count;
+    private int start; // physical index of the oldest bucket
+    private int size;
+
+    /**
+     * @param resolutionMillis Bucket width in milliseconds
+     * @param capacity Number of buckets kept
+     */
+    public RollupBuffer(long resolutionMillis, int capacity) {
+        if (resolutionMillis < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Resolution and capacity must be at least 1");
+        }
+        this.resolutionMillis = resolutionMillis;
+        this.starts = new long[capacity];
+        this.min = new double[capacity];
+        this.max = new double[capacity];
+        this.sum = new double[capacity];
+        this.count = new int[capacity];
+    }
+
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    public int getCapacity() {
+        return starts.length;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Add a sample to the bucket it falls into.
+     *
+     * @return false if the sample belongs to a bucket older than the newest one and was dropped
+     */
+    public synchronized boolean append(long timestamp, double value) {
+        long bucket = Math.floorDiv(timestamp, resolutionMillis) * resolutionMillis;
+        if (size > 0) {
+            int newest = physical(size - 1);
+            if (starts[newest] == bucket) {
+                min[newest] = Math.min(min[newest], value);
+                max[newest] = Math.max(max[newest], value);
+                sum[newest] += value;
+                count[newest]++;
+                return true;
+            }
+            if (bucket < starts[newest]) {
+                return false;
+            }
+        }
+
+        int index;
+        if (size < starts.length) {
+            index = physical(size);
+            size++;
+        } else {
+            index = start;
+            start = physical(1);
+        }
+        starts[index] = bucket;
+        min[index] = value;
+        max[index] = value;
+        sum[index] = value;
+        count[index] = 1;
+        return true;
+    }
+
+    /**
+     * Copy the buckets that overlap from..to (epoch millis, inclusive).
+     */
+    public synchronized Buckets copy(long from, long to) {
+        // A bucket overlaps the range if it ends after from and starts no later than to
+        int first = lowerBound(from - resolutionMillis + 1);
+        int end = upperBound(to);
+        int length = Math.max(0, end - first);
+
+        Buckets buckets = new Buckets(resolutionMillis, length);
+        for (int i = 0; i < length; i++) {
+            int index = physical(first + i);
+            buckets.timestamps[i] = starts[index];
+            buckets.min[i] = min[index];
+            buckets.max[i] = max[index];
+            buckets.values[i] = sum[index] / count[index];
+            buckets.count[i] = count[index];
+        }
+        return buckets;
+    }
+
+    // Logical position (0 = oldest) to array index
+    private int physical(int logical) {
+        int index = start + logical;
+        return index >= starts.length ? index - starts.length : index;
+    }
+
+    // First logical position with bucket start >= from
+    private int lowerBound(long from) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[physical(mid)] < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First logical position with bucket start > to
+    private int upperBound(long to) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[physical(mid)] <= to) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Buckets of one range read as parallel arrays; values holds the bucket averages.
+     */
+    public static final class Buckets {
+        private final long resolutionMillis;
+        private final long[] timestamps;
+        private final double[] values;
+        private final double[] min;
+        private final double[] max;
+        private final int[] count;
+
+        Buckets(long resolutionMillis, int length) {
+            this.resolutionMillis = resolutionMillis;
+            this.timestamps = new long[length];
+            this.values = new double[length];
+            this.min = new double[length];
+            this.max = new double[length];
+            this.count = new int[length];
+        }
+
+        public long getResolutionMillis() {
+            return resolutionMillis;
+        }
+
+        /**
+         * Bucket start times.
+         */
+        public long[] getTimestamps() {
+            return timestamps;
+        }
+
+        public double[] getValues() {
+            return values;
+        }
+
+        public double[] getMin() {
+            return min;
+        }
+
+        public double[] getMax() {
+            return max;
+        }
+
+        public int[] getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.monitor.history;
+
+/**
+ * Receives recorded samples, e.g. to persist them.
+ */
+public interface SampleSink {
+    void accept(String series, long timestamp, double value);
+}
@@ -0,0 +1,194 @@
+package com.monitor.history;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Bounded history of (timestamp, value) samples for one series, compressed.
+ *
+ * Samples are appended to an open {@link GorillaEncoder}; every
+ * {@link #BLOCK_SIZE} samples it is sealed into an immutable
+ * {@link GorillaBlock}. Slowly changing series take one to three bytes per
+ * sample instead of sixteen. Once more than capacity samples are held, the
+ * oldest ones are skipped on read and their block is dropped when all of its
+ * samples have expired. Timestamps are kept in ascending order, so reads skip
+ * whole blocks outside the requested range and decode the rest as a stream.
+ */
+public class TimeSeries {
+
+    /** Samples per sealed block. */
+    public static final int BLOCK_SIZE = 120;
+
+    /**
+     * Receives samples from {@link #read(long, long, SampleConsumer)} without boxing.
+     */
+    public interface SampleConsumer {
+        void accept(long timestamp, double value);
+    }
+
+    private final String name;
+    private final int capacity;
+    private final ArrayDeque<GorillaBlock> sealed = new ArrayDeque<>();
+    private GorillaEncoder open = new GorillaEncoder();
+    private int stored;  // samples in the sealed blocks and the open one
+    private int expired; // oldest samples of the first block that are past capacity
+    private long lastTimestamp;
+    private boolean truncated; // some sample has expired
+
+    public TimeSeries(String name, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return stored - expired;
+    }
+
+    /**
+     * Encoded size of the samples held, in bytes.
+     */
+    public synchronized long getSizeBytes() {
+        long bytes = open.getSizeBytes();
+        for (GorillaBlock block : sealed) {
+            bytes += block.getSizeBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Append a sample, expiring the oldest one when the series is full.
+     *
+     * @return false if the sample is older than the newest one and was dropped
+     */
+    public synchronized boolean append(long timestamp, double value) {
+        if (stored > 0 && timestamp < lastTimestamp) {
+            return false;
+        }
+        open.append(timestamp, value);
+        stored++;
+        lastTimestamp = timestamp;
+        if (open.getCount() == BLOCK_SIZE) {
+            sealed.addLast(open.seal());
+            open = new GorillaEncoder();
+        }
+
+        if (stored - expired > capacity) {
+            expired++;
+            truncated = true;
+            GorillaBlock oldest = sealed.peekFirst();
+            if (oldest != null && expired == oldest.getCount()) {
+                sealed.removeFirst();
+                stored -= expired;
+                expired = 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether every sample recorded since the given time is still held:
+     * nothing has expired yet, or the oldest sample held is no later than from.
+     */
+    public synchronized boolean covers(long from) {
+        if (!truncated) {
+            return true;
+        }
+        GorillaDecoder decoder = sealed.isEmpty() ? open.decoder() : sealed.peekFirst().decoder();
+        for (int i = 0; i <= expired; i++) {
+            if (!decoder.next()) {
+                return false;
+            }
+        }
+        return decoder.getTimestamp() <= from;
+    }
+
+    /**
+     * Pass every sample with from &lt;= timestamp &lt;= to, oldest first, to the consumer.
+     *
+     * @return number of samples visited
+     */
+    public synchronized int read(long from, long to, SampleConsumer consumer) {
+        int visited = 0;
+        int skip = expired; // applies to the first block only
+        for (GorillaBlock block : sealed) {
+            if (block.getFirstTimestamp() > to) {
+                return visited;
+            }
+            if (block.getLastTimestamp() >= from) {
+                visited += read(block.decoder(), skip, from, to, consumer);
+            }
+            skip = 0;
+        }
+        if (open.getCount() > 0 && open.getFirstTimestamp() <= to && open.getLastTimestamp() >= from) {
+            visited += read(open.decoder(), skip, from, to, consumer);
+        }
+        return visited;
+    }
+
+    private static int read(GorillaDecoder decoder, int skip, long from, long to, SampleConsumer consumer) {
+        int visited = 0;
+        while (decoder.next()) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            long timestamp = decoder.getTimestamp();
+            if (timestamp > to) {
+                break;
+            }
+            if (timestamp >= from) {
+                consumer.accept(timestamp, decoder.getValue());
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Copy the samples with from &lt;= timestamp &lt;= to into new arrays sized to the result.
+     */
+    public synchronized Samples copy(long from, long to) {
+        int limit = size();
+        long[] resultTimestamps = new long[limit];
+        double[] resultValues = new double[limit];
+        int[] count = new int[1];
+        read(from, to, (timestamp, value) -> {
+            resultTimestamps[count[0]] = timestamp;
+            resultValues[count[0]] = value;
+            count[0]++;
+        });
+        return new Samples(Arrays.copyOf(resultTimestamps, count[0]), Arrays.copyOf(resultValues, count[0]));
+    }
+
+    /**
+     * Samples of one range read, as parallel timestamp and value arrays.
+     */
+    public static final class Samples {
+        private final long[] timestamps;
+        private final double[] values;
+
+        Samples(long[] timestamps, double[] values) {
+            this.timestamps = timestamps;
+            this.values = values;
+        }
+
+        public long[] getTimestamps() {
+            return timestamps;
+        }
+
+        public double[] getValues() {
+            return values;
+        }
+    }
+}
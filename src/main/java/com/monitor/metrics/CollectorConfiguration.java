@@ -0,0 +1,56 @@
+package com.monitor.metrics;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * The built-in collectors. The engine picks up every
+ * {@link com.monitor.core.Collector} bean, so a new section only needs a bean
+ * here or anywhere else in the context; the order sets the snapshot order.
+ */
+@Configuration
+public class CollectorConfiguration {
+
+    @Bean
+    @Order(100)
+    public CpuMetrics cpuMetrics() {
+        return new CpuMetrics();
+    }
+
+    @Bean
+    @Order(200)
+    public MemoryMetrics memoryMetrics() {
+        return new MemoryMetrics();
+    }
+
+    @Bean
+    @Order(300)
+    public ProcessMetrics processMetrics() {
+        return new ProcessMetrics();
+    }
+
+    @Bean
+    @Order(400)
+    public DiskMetrics diskMetrics() {
+        return new DiskMetrics();
+    }
+
+    @Bean
+    @Order(500)
+    public GpuMetrics gpuMetrics() {
+        return new GpuMetrics();
+    }
+
+    @Bean
+    @Order(600)
+    public NetworkMetrics networkMetrics() {
+        return new NetworkMetrics();
+    }
+
+    @Bean
+    @Order(700)
+    public TemperatureMetrics temperatureMetrics() {
+        return new TemperatureMetrics();
+    }
+}
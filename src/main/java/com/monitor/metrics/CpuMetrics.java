@@ -1,35 +1,130 @@
 package com.monitor.metrics;
 
+import com.monitor.core.Collector;
+import com.monitor.core.CollectorCost;
+import com.monitor.history.MetricsHistory;
+import com.monitor.model.CpuSnapshot;
+
 import oshi.hardware.CentralProcessor;
 import oshi.hardware.CentralProcessor.TickType;
 
+import java.io.IOException;
 import java.text.DecimalFormat;
 
-public class CpuMetrics {
+/**
+ * Collects CPU usage from tick counters.
+ *
+ * Usage is computed from the difference between the ticks read in this cycle and
+ * those saved in the previous one, so collection never sleeps. The first cycle
+ * only records a baseline and reports 0%.
+ *
+ * Per-core usage and the per-state breakdown are kept in flat primitive arrays
+ * (core * TICK_TYPES + tick index) that are reused across cycles; they are only
+ * reallocated if the number of logical processors changes. On Linux the
+ * ticks are read from /proc/stat by {@link LinuxSystemCounters} without
+ * allocating; elsewhere they come from OSHI.
+ */
+public class CpuMetrics implements Collector<CpuSnapshot> {
+    /** Number of tick types (user, nice, system, idle, iowait, irq, softirq, steal). */
+    public static final int TICK_TYPES = TickType.values().length;
+
     private static final DecimalFormat df = new DecimalFormat("0.00");
     private CentralProcessor processor;
-    private long[] prevTicks;
-    private long[] currTicks;
+    private final long[] prevTicks = new long[TICK_TYPES];
+    private boolean havePrevTicks;
     private double cpuUsage;
+    private final double[] statePercent = new double[TICK_TYPES];
     private static double lastCpuLoad = 0.0; // Static to share between instances
-    
+
+    // Per logical processor state, reused across cycles
+    private int coreCount;
+    private long[] prevCoreTicks;
+    private double[] coreUsage;
+    private double[] coreStatePercent;
+    private long[] oshiCoreTicks = new long[0];
+
+    // Linux fast path, null elsewhere
+    private LinuxSystemCounters.Cpu procCpu;
+    private boolean procChecked;
+
     public void collectMetrics() {
         if (SystemMetrics.hardware == null) {
             throw new IllegalStateException("System hardware not initialized");
         }
 
-        processor = SystemMetrics.hardware.getProcessor();
-        prevTicks = currTicks != null ? currTicks : processor.getSystemCpuLoadTicks();
-        // Sleep a bit to get a difference
-        try { Thread.sleep(100); } catch (InterruptedException ignored) {}
-        currTicks = processor.getSystemCpuLoadTicks();
+        if (processor == null) {
+            processor = SystemMetrics.hardware.getProcessor();
+        }
 
-        cpuUsage = calculateCpuUsage(prevTicks, currTicks);
+        // Aggregate and per logical processor ticks (core * TICK_TYPES + tick index)
+        long[] currTicks;
+        long[] currCoreTicks;
+        int cores;
+        if (readProc()) {
+            currTicks = procCpu.getTicks();
+            currCoreTicks = procCpu.getCoreTicks();
+            cores = procCpu.getCoreCount();
+        } else {
+            currTicks = processor.getSystemCpuLoadTicks();
+            long[][] coreTicks = processor.getProcessorCpuLoadTicks();
+            cores = coreTicks.length;
+            if (oshiCoreTicks.length < cores * TICK_TYPES) {
+                oshiCoreTicks = new long[cores * TICK_TYPES];
+            }
+            for (int core = 0; core < cores; core++) {
+                System.arraycopy(coreTicks[core], 0, oshiCoreTicks, core * TICK_TYPES, TICK_TYPES);
+            }
+            currCoreTicks = oshiCoreTicks;
+        }
+
+        // Aggregate usage against the ticks saved in the previous cycle
+        if (havePrevTicks) {
+            cpuUsage = calculateStatePercent(prevTicks, 0, currTicks, 0, statePercent, 0);
+        }
+        System.arraycopy(currTicks, 0, prevTicks, 0, TICK_TYPES);
+        havePrevTicks = true;
+
+        // Per logical processor usage
+        boolean havePrevious = prevCoreTicks != null && coreCount == cores;
+        if (!havePrevious) {
+            coreCount = cores;
+            prevCoreTicks = new long[coreCount * TICK_TYPES];
+            coreUsage = new double[coreCount];
+            coreStatePercent = new double[coreCount * TICK_TYPES];
+        } else {
+            for (int core = 0; core < coreCount; core++) {
+                int offset = core * TICK_TYPES;
+                coreUsage[core] = calculateStatePercent(prevCoreTicks, offset, currCoreTicks, offset,
+                        coreStatePercent, offset);
+            }
+        }
+        System.arraycopy(currCoreTicks, 0, prevCoreTicks, 0, coreCount * TICK_TYPES);
 
         // Update the static last CPU load for use by other components
         lastCpuLoad = cpuUsage;
     }
 
+    /**
+     * Read the ticks straight from /proc/stat on Linux; false to use OSHI instead.
+     */
+    private boolean readProc() {
+        if (!procChecked) {
+            procChecked = true;
+            procCpu = SystemMetrics.isNative() ? LinuxSystemCounters.openCpu() : null;
+        }
+        if (procCpu == null) {
+            return false;
+        }
+        try {
+            procCpu.read();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Reading /proc/stat failed, using OSHI for CPU ticks: " + e.getMessage());
+            procCpu = null;
+            return false;
+        }
+    }
+
     /**
      * Calculate CPU usage percent from previous and current tick arrays.
      */
@@ -46,20 +141,119 @@ public class CpuMetrics {
         long totalCpu = user + nice + sys + idle + iowait + irq + softirq + steal;
         return totalCpu > 0 ? 100d * (totalCpu - idle) / totalCpu : 0d;
     }
-    
+
+    /**
+     * Calculate the share of each tick type between two tick readings without allocating.
+     * Writes TICK_TYPES percentages to {@code out} starting at {@code outOffset}.
+     *
+     * @return usage percent (everything except idle), as {@link #calculateCpuUsage}
+     */
+    static double calculateStatePercent(long[] previous, int prevOffset, long[] current, int currOffset,
+                                        double[] out, int outOffset) {
+        long total = 0;
+        for (int i = 0; i < TICK_TYPES; i++) {
+            total += Math.max(0, current[currOffset + i] - previous[prevOffset + i]);
+        }
+        if (total <= 0) {
+            for (int i = 0; i < TICK_TYPES; i++) {
+                out[outOffset + i] = 0d;
+            }
+            return 0d;
+        }
+        for (int i = 0; i < TICK_TYPES; i++) {
+            out[outOffset + i] = 100d * Math.max(0, current[currOffset + i] - previous[prevOffset + i]) / total;
+        }
+        return 100d - out[outOffset + TickType.IDLE.getIndex()];
+    }
+
+    @Override
+    public String getName() {
+        return "cpu";
+    }
+
+    @Override
+    public Class<?> getOutputType() {
+        return CpuSnapshot.class;
+    }
+
+    @Override
+    public CollectorCost getCost() {
+        return CollectorCost.LOW;
+    }
+
+    @Override
+    public CpuSnapshot collect() {
+        collectMetrics();
+        return getSnapshot();
+    }
+
+    @Override
+    public void record(CpuSnapshot cpu, long timestamp, MetricsHistory history) {
+        history.record("cpu.usage", timestamp, cpu.getUsage());
+        history.record("cpu.user", timestamp, cpu.getStatePercent(TickType.USER));
+        history.record("cpu.system", timestamp, cpu.getStatePercent(TickType.SYSTEM));
+        history.record("cpu.iowait", timestamp, cpu.getStatePercent(TickType.IOWAIT));
+    }
+
+    @Override
+    public void display() {
+        displayMetrics();
+    }
+
     public void displayMetrics() {
-        System.out.println("CPU Usage: " + df.format(cpuUsage) + "%");
+        System.out.println("CPU Usage: " + df.format(cpuUsage) + "%" +
+                " (user " + df.format(getStatePercent(TickType.USER)) +
+                "%, system " + df.format(getStatePercent(TickType.SYSTEM)) +
+                "%, iowait " + df.format(getStatePercent(TickType.IOWAIT)) + "%)");
         System.out.println("CPU Cores: " + processor.getLogicalProcessorCount());
     }
-    
+
     public double getCpuUsage() {
         return cpuUsage;
     }
-    
+
+    /**
+     * Aggregate share of one tick type in percent over the last interval.
+     */
+    public double getStatePercent(TickType type) {
+        return statePercent[type.getIndex()];
+    }
+
+    public int getCoreCount() {
+        return coreCount;
+    }
+
+    /**
+     * Usage percent per logical processor over the last interval. The array is
+     * reused by the next cycle, so callers that keep it must copy it.
+     */
+    public double[] getCoreUsage() {
+        return coreUsage;
+    }
+
+    /**
+     * Copy the share of one tick type for every logical processor into a new array.
+     */
+    public double[] copyCoreStatePercent(TickType type) {
+        double[] values = new double[coreCount];
+        for (int core = 0; core < coreCount; core++) {
+            values[core] = coreStatePercent[core * TICK_TYPES + type.getIndex()];
+        }
+        return values;
+    }
+
+    /**
+     * Copy the values of the last interval into an immutable snapshot.
+     */
+    public CpuSnapshot getSnapshot() {
+        return new CpuSnapshot(cpuUsage, processor.getLogicalProcessorCount(), statePercent.clone(),
+                coreUsage.clone(), coreStatePercent.clone());
+    }
+
     public CentralProcessor getProcessor() {
         return processor;
     }
-    
+
     /**
      * Get the last CPU load percentage (0-100)
      * This is used by other components like TemperatureMetrics to adjust simulations
@@ -67,4 +261,4 @@ public class CpuMetrics {
     public static double getLastCpuLoad() {
         return lastCpuLoad;
     }
-}
\ No newline at end of file
+}
@@ -1,31 +1,43 @@
 package com.monitor.metrics;
 
+import com.monitor.core.Collector;
+import com.monitor.core.CollectorCost;
+import com.monitor.history.MetricsHistory;
+import com.monitor.model.DiskSnapshot;
+import com.monitor.model.PartitionSnapshot;
 import com.monitor.util.FormatUtil;
 
 import oshi.hardware.HWDiskStore;
 import oshi.hardware.HWPartition;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class DiskMetrics {
-    private List<HWDiskStore> diskStores;
-    private List<Map<String, Object>> diskInfo;
-    private Map<String, Long> previousReadBytes;
-    private Map<String, Long> previousWriteBytes;
-    private Map<String, Long> readBytesRate;
-    private Map<String, Long> writeBytesRate;
+public class DiskMetrics implements Collector<List<DiskSnapshot>> {
+    // Per disk counters: previous read bytes, previous write bytes, read rate, write rate
+    private static final int PREV_READ = 0;
+    private static final int PREV_WRITE = 1;
+    private static final int READ_RATE = 2;
+    private static final int WRITE_RATE = 3;
+    // How long the disk list is reused when the counters come from /proc
+    private static final long STORES_REFRESH_MILLIS = 60_000;
+    
+    private final Map<String, long[]> diskCounters;
+    private List<DiskSnapshot> snapshot;
     private long lastUpdateTime;
+    private List<HWDiskStore> diskStores;
+    private long storesTime;
+    private LinuxSystemCounters.Disks procDisks; // Linux fast path, null elsewhere
+    private boolean procChecked;
     
     public DiskMetrics() {
-        this.diskInfo = new ArrayList<>();
-        this.previousReadBytes = new HashMap<>();
-        this.previousWriteBytes = new HashMap<>();
-        this.readBytesRate = new HashMap<>();
-        this.writeBytesRate = new HashMap<>();
+        this.snapshot = Collections.emptyList();
+        this.diskCounters = new HashMap<>();
         this.lastUpdateTime = System.currentTimeMillis();
     }
     
@@ -37,117 +49,138 @@ public class DiskMetrics {
         long currentTime = System.currentTimeMillis();
         double timeDiffSeconds = (currentTime - lastUpdateTime) / 1000.0;
         
-        // Get the disk stores
-        diskStores = SystemMetrics.hardware.getDiskStores();
-        diskInfo = new ArrayList<>();
+        // Get the disk stores; with /proc the list is only for names, models and partitions, so it is kept a while
+        boolean fromProc = readProc();
+        if (!fromProc || diskStores == null || currentTime - storesTime >= STORES_REFRESH_MILLIS) {
+            diskStores = SystemMetrics.hardware.getDiskStores();
+            storesTime = currentTime;
+        }
+        List<DiskSnapshot> disks = new ArrayList<>(diskStores.size());
         
         // Process each disk store
         for (HWDiskStore store : diskStores) {
-            Map<String, Object> disk = new HashMap<>();
-            String diskId = store.getName();
+            int index = fromProc ? procDisks.indexOf(store.getName()) : -1;
+            long reads = index >= 0 ? procDisks.getReads(index) : store.getReads();
+            long writes = index >= 0 ? procDisks.getWrites(index) : store.getWrites();
+            long readBytes = index >= 0 ? procDisks.getReadBytes(index) : store.getReadBytes();
+            long writeBytes = index >= 0 ? procDisks.getWriteBytes(index) : store.getWriteBytes();
             
-            // Calculate read/write rates
-            if (previousReadBytes.containsKey(diskId) && timeDiffSeconds > 0) {
-                long readDiff = store.getReadBytes() - previousReadBytes.get(diskId);
-                long writeDiff = store.getWriteBytes() - previousWriteBytes.get(diskId);
-                
-                readBytesRate.put(diskId, (long)(readDiff / timeDiffSeconds));
-                writeBytesRate.put(diskId, (long)(writeDiff / timeDiffSeconds));
+            // Calculate read/write rates, updating the counters in place
+            long[] counters = diskCounters.get(store.getName());
+            if (counters == null) {
+                counters = new long[4];
+                diskCounters.put(store.getName(), counters);
+            } else if (timeDiffSeconds > 0) {
+                counters[READ_RATE] = (long) ((readBytes - counters[PREV_READ]) / timeDiffSeconds);
+                counters[WRITE_RATE] = (long) ((writeBytes - counters[PREV_WRITE]) / timeDiffSeconds);
             }
-            
-            // Store current values for next calculation
-            previousReadBytes.put(diskId, store.getReadBytes());
-            previousWriteBytes.put(diskId, store.getWriteBytes());
-            
-            // Basic disk info
-            disk.put("name", store.getName());
-            disk.put("model", store.getModel());
-            disk.put("serial", store.getSerial());
-            disk.put("size", store.getSize());
-            disk.put("sizeFormatted", FormatUtil.formatBytes(store.getSize()));
-            
-            // I/O stats
-            disk.put("reads", store.getReads());
-            disk.put("writes", store.getWrites());
-            disk.put("readBytes", store.getReadBytes());
-            disk.put("readBytesFormatted", FormatUtil.formatBytes(store.getReadBytes()));
-            disk.put("writeBytes", store.getWriteBytes());
-            disk.put("writeBytesFormatted", FormatUtil.formatBytes(store.getWriteBytes()));
-            
-            // Read/Write rates
-            long readRate = readBytesRate.getOrDefault(diskId, 0L);
-            long writeRate = writeBytesRate.getOrDefault(diskId, 0L);
-            disk.put("readRate", readRate);
-            disk.put("readRateFormatted", FormatUtil.formatBytes(readRate) + "/s");
-            disk.put("writeRate", writeRate);
-            disk.put("writeRateFormatted", FormatUtil.formatBytes(writeRate) + "/s");
+            counters[PREV_READ] = readBytes;
+            counters[PREV_WRITE] = writeBytes;
             
             // Get partitions
-            List<Map<String, Object>> partitionsList = new ArrayList<>();
-            for (HWPartition partition : store.getPartitions()) {
-                Map<String, Object> part = new HashMap<>();
-                part.put("identification", partition.getIdentification());
-                part.put("name", partition.getName());
-                part.put("type", partition.getType());
-                part.put("mountPoint", partition.getMountPoint());
-                part.put("size", partition.getSize());
-                part.put("sizeFormatted", FormatUtil.formatBytes(partition.getSize()));
-                
+            List<HWPartition> hwPartitions = store.getPartitions();
+            List<PartitionSnapshot> partitions = new ArrayList<>(hwPartitions.size());
+            for (HWPartition partition : hwPartitions) {
                 // Get filesystem details for this partition
                 File fileSystem = new File(partition.getMountPoint());
-                if (fileSystem.exists()) {
-                    long totalSpace = fileSystem.getTotalSpace();
-                    long freeSpace = fileSystem.getFreeSpace();
-                    long usableSpace = fileSystem.getUsableSpace();
-                    double usedPercent = totalSpace > 0 ? 
-                            100.0 * (totalSpace - freeSpace) / totalSpace : 0.0;
-                    
-                    part.put("totalSpace", totalSpace);
-                    part.put("totalSpaceFormatted", FormatUtil.formatBytes(totalSpace));
-                    part.put("freeSpace", freeSpace);
-                    part.put("freeSpaceFormatted", FormatUtil.formatBytes(freeSpace));
-                    part.put("usableSpace", usableSpace);
-                    part.put("usableSpaceFormatted", FormatUtil.formatBytes(usableSpace));
-                    part.put("usedPercent", usedPercent);
-                    part.put("usedPercentFormatted", FormatUtil.formatPercent(usedPercent));
-                }
-                
-                partitionsList.add(part);
+                boolean mounted = fileSystem.exists();
+                partitions.add(new PartitionSnapshot(partition.getIdentification(), partition.getName(),
+                        partition.getType(), partition.getMountPoint(), partition.getSize(), mounted,
+                        mounted ? fileSystem.getTotalSpace() : 0,
+                        mounted ? fileSystem.getFreeSpace() : 0,
+                        mounted ? fileSystem.getUsableSpace() : 0));
             }
-            disk.put("partitions", partitionsList);
             
-            diskInfo.add(disk);
+            disks.add(new DiskSnapshot(store.getName(), store.getModel(), store.getSerial(), store.getSize(),
+                    reads, writes, readBytes, writeBytes,
+                    counters[READ_RATE], counters[WRITE_RATE], Collections.unmodifiableList(partitions)));
         }
         
+        snapshot = Collections.unmodifiableList(disks);
         lastUpdateTime = currentTime;
     }
     
+    /**
+     * Read the I/O counters straight from /proc/diskstats on Linux; false to use OSHI instead.
+     */
+    private boolean readProc() {
+        if (!procChecked) {
+            procChecked = true;
+            procDisks = SystemMetrics.isNative() ? LinuxSystemCounters.openDisks() : null;
+        }
+        if (procDisks == null) {
+            return false;
+        }
+        try {
+            procDisks.read();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Reading /proc/diskstats failed, using OSHI for disks: " + e.getMessage());
+            procDisks = null;
+            return false;
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "disks";
+    }
+    
+    @Override
+    public Class<?> getOutputType() {
+        return List.class;
+    }
+    
+    @Override
+    public CollectorCost getCost() {
+        return CollectorCost.MEDIUM;
+    }
+    
+    @Override
+    public List<DiskSnapshot> collect() {
+        collectMetrics();
+        return getSnapshot();
+    }
+    
+    @Override
+    public void record(List<DiskSnapshot> disks, long timestamp, MetricsHistory history) {
+        for (DiskSnapshot disk : disks) {
+            history.record("disks." + disk.getName() + ".readRate", timestamp, disk.getReadRate());
+            history.record("disks." + disk.getName() + ".writeRate", timestamp, disk.getWriteRate());
+        }
+    }
+    
+    @Override
+    public void display() {
+        displayMetrics();
+    }
+    
     public void displayMetrics() {
         System.out.println("==== Disk Information ====");
-        for (Map<String, Object> disk : diskInfo) {
-            System.out.println("Disk: " + disk.get("name") + " (" + disk.get("model") + ")");
-            System.out.println("Size: " + disk.get("sizeFormatted"));
-            System.out.println("I/O: Read " + disk.get("readRateFormatted") + 
-                    ", Write " + disk.get("writeRateFormatted"));
-            
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> partitions = (List<Map<String, Object>>) disk.get("partitions");
-            System.out.println("Partitions: " + partitions.size());
+        for (DiskSnapshot disk : snapshot) {
+            System.out.println("Disk: " + disk.getName() + " (" + disk.getModel() + ")");
+            System.out.println("Size: " + FormatUtil.formatBytes(disk.getSize()));
+            System.out.println("I/O: Read " + FormatUtil.formatBytes(disk.getReadRate()) + "/s" +
+                    ", Write " + FormatUtil.formatBytes(disk.getWriteRate()) + "/s");
+            System.out.println("Partitions: " + disk.getPartitions().size());
             
-            for (Map<String, Object> partition : partitions) {
-                if (partition.containsKey("totalSpace") && (Long)partition.get("totalSpace") > 0) {
-                    System.out.println("  [" + partition.get("name") + "] " + 
-                            partition.get("mountPoint") + ": " + 
-                            partition.get("usedPercentFormatted") + " used, " + 
-                            partition.get("freeSpaceFormatted") + " free of " + 
-                            partition.get("totalSpaceFormatted"));
+            for (PartitionSnapshot partition : disk.getPartitions()) {
+                if (partition.getTotalSpace() > 0) {
+                    System.out.println("  [" + partition.getName() + "] " +
+                            partition.getMountPoint() + ": " +
+                            FormatUtil.formatPercent(partition.getUsedPercent()) + " used, " +
+                            FormatUtil.formatBytes(partition.getFreeSpace()) + " free of " +
+                            FormatUtil.formatBytes(partition.getTotalSpace()));
                 }
             }
             System.out.println();
         }
     }
     
-    public List<Map<String, Object>> getDiskInfo() {
-        return diskInfo;
+    /**
+     * Disks as of the last collection. The list is immutable and replaced by the next cycle.
+     */
+    public List<DiskSnapshot> getSnapshot() {
+        return snapshot;
     }
-}
\ No newline at end of file
+}
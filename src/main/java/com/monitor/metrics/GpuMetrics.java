@@ -1,13 +1,15 @@
 package com.monitor.metrics;
 
+import com.monitor.core.Collector;
+import com.monitor.core.CollectorCost;
+import com.monitor.model.GpuSnapshot;
 import com.monitor.util.FormatUtil;
 
 import oshi.hardware.GraphicsCard;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Class for collecting and displaying GPU metrics.
@@ -17,12 +19,11 @@ import java.util.Map;
  * GPU memory usage, or temperature. For more detailed metrics, additional
  * libraries (like NVML for NVIDIA GPUs) would be needed.
  */
-public class GpuMetrics {
-    private List<GraphicsCard> graphicsCards;
-    private List<Map<String, Object>> gpuInfo;
+public class GpuMetrics implements Collector<List<GpuSnapshot>> {
+    private List<GpuSnapshot> snapshot;
     
     public GpuMetrics() {
-        this.gpuInfo = new ArrayList<>();
+        this.snapshot = Collections.emptyList();
     }
     
     public void collectMetrics() {
@@ -31,42 +32,22 @@ public class GpuMetrics {
         }
         
         // Get the graphics cards
-        graphicsCards = SystemMetrics.hardware.getGraphicsCards();
-        gpuInfo = new ArrayList<>();
+        List<GraphicsCard> graphicsCards = SystemMetrics.hardware.getGraphicsCards();
+        List<GpuSnapshot> gpus = new ArrayList<>(Math.max(1, graphicsCards.size()));
         
         // Process each graphics card
         for (GraphicsCard gpu : graphicsCards) {
-            Map<String, Object> gpuData = new HashMap<>();
-            
-            // Basic GPU info
-            gpuData.put("name", gpu.getName());
-            gpuData.put("vendor", gpu.getVendor());
-            gpuData.put("deviceId", gpu.getDeviceId());
-            gpuData.put("versionInfo", gpu.getVersionInfo());
-            
             // Add simulated data for demonstration purposes
             // Note: In a real implementation, these would be retrieved from
             // a dedicated GPU monitoring library like NVML for NVIDIA GPUs
             
             // Simulate GPU usage (percentage)
             double simulatedUsage = Math.random() * 100;
-            gpuData.put("usage", simulatedUsage);
-            gpuData.put("usageFormatted", FormatUtil.formatPercent(simulatedUsage));
             
-            // Simulate GPU memory (total, used, free)
+            // Simulate GPU memory (total, used)
             long simulatedTotalMemory = 8L * 1024 * 1024 * 1024; // 8 GB
             double memUsagePercent = Math.random() * 100;
             long simulatedUsedMemory = (long)(simulatedTotalMemory * (memUsagePercent / 100.0));
-            long simulatedFreeMemory = simulatedTotalMemory - simulatedUsedMemory;
-            
-            gpuData.put("totalMemory", simulatedTotalMemory);
-            gpuData.put("totalMemoryFormatted", FormatUtil.formatBytes(simulatedTotalMemory));
-            gpuData.put("usedMemory", simulatedUsedMemory);
-            gpuData.put("usedMemoryFormatted", FormatUtil.formatBytes(simulatedUsedMemory));
-            gpuData.put("freeMemory", simulatedFreeMemory);
-            gpuData.put("freeMemoryFormatted", FormatUtil.formatBytes(simulatedFreeMemory));
-            gpuData.put("memoryUsage", memUsagePercent);
-            gpuData.put("memoryUsageFormatted", FormatUtil.formatPercent(memUsagePercent));
             
             // Simulate GPU temperature (in °C) for Apple Silicon - these values are estimated
             // Real Apple GPU temperatures would require root access and Apple's private IOKit framework
@@ -83,63 +64,75 @@ public class GpuMetrics {
             double loadFactor = (gpuLoadFactor * 0.7) + ((cpuLoad / 100.0) * 0.3);
             double simulatedTemperature = baseTemp + (loadFactor * 20);
             
-            gpuData.put("temperature", simulatedTemperature);
-            gpuData.put("temperatureFormatted", String.format("%.1f°C", simulatedTemperature));
-            gpuData.put("isSimulated", true);
-            
-            // Add to the list of GPUs
-            gpuInfo.add(gpuData);
+            gpus.add(new GpuSnapshot(gpu.getName(), gpu.getVendor(), gpu.getDeviceId(), gpu.getVersionInfo(),
+                    simulatedUsage, simulatedTotalMemory, simulatedUsedMemory, memUsagePercent,
+                    simulatedTemperature, true));
         }
         
         // If no GPU was detected, add a simulated one for testing
-        if (gpuInfo.isEmpty()) {
-            Map<String, Object> defaultGpu = new HashMap<>();
-            defaultGpu.put("name", "Simulated GPU");
-            defaultGpu.put("vendor", "Generic");
-            defaultGpu.put("deviceId", "00000000");
-            defaultGpu.put("versionInfo", "1.0");
-            
-            // Add simulated metrics
+        if (gpus.isEmpty()) {
             double simulatedUsage = Math.random() * 100;
-            defaultGpu.put("usage", simulatedUsage);
-            defaultGpu.put("usageFormatted", FormatUtil.formatPercent(simulatedUsage));
-            
             long simulatedTotalMemory = 4L * 1024 * 1024 * 1024; // 4 GB
             double memUsagePercent = Math.random() * 100;
             long simulatedUsedMemory = (long)(simulatedTotalMemory * (memUsagePercent / 100.0));
-            long simulatedFreeMemory = simulatedTotalMemory - simulatedUsedMemory;
-            
-            defaultGpu.put("totalMemory", simulatedTotalMemory);
-            defaultGpu.put("totalMemoryFormatted", FormatUtil.formatBytes(simulatedTotalMemory));
-            defaultGpu.put("usedMemory", simulatedUsedMemory);
-            defaultGpu.put("usedMemoryFormatted", FormatUtil.formatBytes(simulatedUsedMemory));
-            defaultGpu.put("freeMemory", simulatedFreeMemory);
-            defaultGpu.put("freeMemoryFormatted", FormatUtil.formatBytes(simulatedFreeMemory));
-            defaultGpu.put("memoryUsage", memUsagePercent);
-            defaultGpu.put("memoryUsageFormatted", FormatUtil.formatPercent(memUsagePercent));
-            
             double simulatedTemperature = 40 + (Math.random() * 40); // 40-80°C
-            defaultGpu.put("temperature", simulatedTemperature);
-            defaultGpu.put("temperatureFormatted", String.format("%.1f°C", simulatedTemperature));
             
-            gpuInfo.add(defaultGpu);
+            gpus.add(new GpuSnapshot("Simulated GPU", "Generic", "00000000", "1.0",
+                    simulatedUsage, simulatedTotalMemory, simulatedUsedMemory, memUsagePercent,
+                    simulatedTemperature, true));
         }
+        
+        snapshot = Collections.unmodifiableList(gpus);
+    }
+    
+    @Override
+    public String getName() {
+        return "gpus";
+    }
+    
+    @Override
+    public Class<?> getOutputType() {
+        return List.class;
+    }
+    
+    @Override
+    public CollectorCost getCost() {
+        return CollectorCost.MEDIUM;
+    }
+    
+    @Override
+    public long getDefaultIntervalMillis() {
+        return 60_000;
+    }
+    
+    @Override
+    public List<GpuSnapshot> collect() {
+        collectMetrics();
+        return getSnapshot();
+    }
+    
+    @Override
+    public void display() {
+        displayMetrics();
     }
     
     public void displayMetrics() {
         System.out.println("==== GPU Information ====");
-        for (Map<String, Object> gpu : gpuInfo) {
-            System.out.println("GPU: " + gpu.get("name") + " (" + gpu.get("vendor") + ")");
-            System.out.println("Usage: " + gpu.get("usageFormatted"));
-            System.out.println("Memory: " + gpu.get("usedMemoryFormatted") + " / " + 
-                               gpu.get("totalMemoryFormatted") + 
-                               " (" + gpu.get("memoryUsageFormatted") + ")");
-            System.out.println("Temperature: " + gpu.get("temperatureFormatted"));
+        for (GpuSnapshot gpu : snapshot) {
+            System.out.println("GPU: " + gpu.getName() + " (" + gpu.getVendor() + ")");
+            System.out.println("Usage: " + FormatUtil.formatPercent(gpu.getUsage()));
+            System.out.println("Memory: " + FormatUtil.formatBytes(gpu.getUsedMemory()) + " / " + 
+                               FormatUtil.formatBytes(gpu.getTotalMemory()) + 
+                               " (" + FormatUtil.formatPercent(gpu.getMemoryUsage()) + ")");
+            System.out.println("Temperature: " + String.format("%.1f°C", gpu.getTemperature()));
             System.out.println();
         }
     }
     
-    public List<Map<String, Object>> getGpuInfo() {
-        return gpuInfo;
+    /**
+     * GPUs as of the last collection. The list is immutable and replaced by the next cycle.
+     */
+    public List<GpuSnapshot> getSnapshot() {
+        return snapshot;
     }
-}
\ No newline at end of file
+}
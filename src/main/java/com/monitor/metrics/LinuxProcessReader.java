@@ -0,0 +1,248 @@
+package com.monitor.metrics;
+
+import oshi.util.platform.linux.ProcPath;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads processes straight from a Linux /proc into a {@link ProcessTable},
+ * much cheaper than building OSHI's OSProcess objects.
+ *
+ * Each process costs /proc/&lt;pid&gt;/stat and statm, plus io when it is
+ * readable for every process (that is, when running as root). The files are
+ * read into one reusable buffer and parsed in place; a process name is only
+ * decoded when it changed. Processes that exit while being read are skipped.
+ * Not thread-safe.
+ */
+public class LinuxProcessReader {
+
+    private static final byte[] READ_BYTES = ascii("read_bytes:");
+    private static final byte[] WRITE_BYTES = ascii("write_bytes:");
+
+    private final Path procRoot;
+    private final long hz;
+    private final long pageSize;
+    private final long bootTimeMillis;
+    private final boolean readIo;
+    private final ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private final byte[] bytes = buffer.array();
+    private int length;
+    private int position;
+
+    /**
+     * @param procRoot       the /proc mount
+     * @param hz             clock ticks per second, the unit of CPU and start times in stat
+     * @param pageSize       bytes per page, the unit of statm
+     * @param bootTimeMillis boot time in epoch milliseconds, to turn start times into timestamps
+     */
+    public LinuxProcessReader(Path procRoot, long hz, long pageSize, long bootTimeMillis) {
+        this.procRoot = procRoot;
+        this.hz = hz;
+        this.pageSize = pageSize;
+        this.bootTimeMillis = bootTimeMillis;
+        // Other users' io files need root; failing to open them for every process costs more than it's worth
+        this.readIo = Files.isReadable(procRoot.resolve("1").resolve("io"));
+    }
+
+    /**
+     * Whether this is Linux with a readable /proc.
+     */
+    public static boolean isSupported() {
+        return System.getProperty("os.name", "").toLowerCase().startsWith("linux")
+                && Files.isReadable(Paths.get(ProcPath.SELF_STAT));
+    }
+
+    /**
+     * Update the table with every process under the /proc root. The caller
+     * begins and ends the table's cycle.
+     *
+     * @return the number of processes read
+     * @throws IOException if the /proc root cannot be listed
+     */
+    public int read(ProcessTable table, long nowMillis) throws IOException {
+        int count = 0;
+        try (DirectoryStream<Path> pids = Files.newDirectoryStream(procRoot)) {
+            for (Path dir : pids) {
+                int pid = parsePid(dir.getFileName().toString());
+                if (pid >= 0 && readProcess(table, pid, dir, nowMillis)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean readProcess(ProcessTable table, int pid, Path dir, long nowMillis) {
+        try {
+            // stat: pid (comm) state ppid ... utime(14) stime(15) ... num_threads(20) ... starttime(22)
+            if (!load(dir.resolve("stat"))) {
+                return false;
+            }
+            int nameStart = indexOf('(') + 1;
+            int nameEnd = lastIndexOf(')'); // comm may itself contain ')'
+            if (nameStart <= 0 || nameEnd < nameStart) {
+                return false;
+            }
+            position = nameEnd + 1;
+            skipFields(11); // state .. cmajflt
+            long ticks = nextLong() + nextLong();
+            skipFields(4); // cutime .. nice
+            int threads = (int) nextLong();
+            skipFields(1); // itrealvalue
+            long startTime = bootTimeMillis + nextLong() * 1000 / hz;
+            String name = name(table.get(pid), startTime, nameStart, nameEnd);
+
+            // statm: size resident ...
+            if (!load(dir.resolve("statm"))) {
+                return false;
+            }
+            position = 0;
+            skipFields(1);
+            long residentMemory = nextLong() * pageSize;
+
+            long ioBytes = readIo ? ioBytes(dir) : 0;
+
+            table.update(pid, startTime, name, residentMemory, threads,
+                    ticks * 1000 / hz, Math.max(0, nowMillis - startTime), ioBytes);
+            return true;
+        } catch (IOException e) {
+            return false; // the process exited
+        }
+    }
+
+    /**
+     * Bytes read plus written from /proc/&lt;pid&gt;/io, or 0 if it can't be read.
+     */
+    private long ioBytes(Path dir) {
+        try {
+            return load(dir.resolve("io")) ? value(READ_BYTES) + value(WRITE_BYTES) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * The process name, reusing the table's string while the bytes match.
+     */
+    private String name(ProcessTable.Entry entry, long startTime, int start, int end) {
+        if (entry != null && entry.getStartTime() == startTime) {
+            String name = entry.getName();
+            if (name.length() == end - start) {
+                int i = 0;
+                while (i < name.length() && name.charAt(i) == bytes[start + i]) {
+                    i++;
+                }
+                if (i == name.length()) {
+                    return name;
+                }
+            }
+        }
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private boolean load(Path file) throws IOException {
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // procfs may return a file in several reads
+            }
+        }
+        length = buffer.position();
+        return length > 0;
+    }
+
+    private int indexOf(char c) {
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lastIndexOf(char c) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void skipFields(int count) {
+        for (int i = 0; i < count; i++) {
+            while (position < length && bytes[position] == ' ') {
+                position++;
+            }
+            while (position < length && bytes[position] != ' ' && bytes[position] != '\n') {
+                position++;
+            }
+        }
+    }
+
+    /**
+     * The next space-separated number; 0 if the line ended.
+     */
+    private long nextLong() {
+        while (position < length && bytes[position] == ' ') {
+            position++;
+        }
+        boolean negative = position < length && bytes[position] == '-';
+        if (negative) {
+            position++;
+        }
+        long value = 0;
+        while (position < length && bytes[position] >= '0' && bytes[position] <= '9') {
+            value = value * 10 + (bytes[position++] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * The number after a "key:" at the start of a line, or 0.
+     */
+    private long value(byte[] key) {
+        for (int line = 0; line < length; ) {
+            int i = 0;
+            while (i < key.length && line + i < length && bytes[line + i] == key[i]) {
+                i++;
+            }
+            if (i == key.length) {
+                position = line + i;
+                return nextLong();
+            }
+            while (line < length && bytes[line] != '\n') {
+                line++;
+            }
+            line++;
+        }
+        return 0;
+    }
+
+    private static int parsePid(String name) {
+        if (name.isEmpty() || name.length() > 9) {
+            return -1;
+        }
+        int pid = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            pid = pid * 10 + (c - '0');
+        }
+        return pid;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
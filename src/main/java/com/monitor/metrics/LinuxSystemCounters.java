@@ -0,0 +1,485 @@
+package com.monitor.metrics;
+
+import oshi.util.platform.linux.ProcPath;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * System-wide counters read straight from Linux /proc, for the metrics that
+ * would otherwise get them from OSHI.
+ *
+ * Each reader keeps its file open and re-reads it from offset 0 into a direct
+ * buffer that is reused from cycle to cycle. It parses the bytes in place into
+ * primitive arrays that are also reused, so a steady-state read allocates
+ * nothing: buffers and arrays only grow when the file or the number of
+ * devices does, and a device name is only decoded when it changes. Readers
+ * are not thread-safe; each metrics class owns its own.
+ */
+public final class LinuxSystemCounters {
+
+    // OSHI's oshi.util.proc.path, so both read the same, possibly synthetic, /proc
+    private static final Path PROC = Paths.get(ProcPath.PROC);
+
+    private LinuxSystemCounters() {
+    }
+
+    /**
+     * Whether this is Linux with the /proc files read here.
+     */
+    public static boolean isSupported() {
+        return System.getProperty("os.name", "").toLowerCase().startsWith("linux")
+                && Files.isReadable(PROC.resolve("stat"));
+    }
+
+    /**
+     * The CPU tick reader for this system, or null if /proc can't be used.
+     */
+    public static Cpu openCpu() {
+        try {
+            return isSupported() ? new Cpu(PROC.resolve("stat")) : null;
+        } catch (IOException e) {
+            return unavailable("stat", e);
+        }
+    }
+
+    public static Memory openMemory() {
+        try {
+            return isSupported() ? new Memory(PROC.resolve("meminfo")) : null;
+        } catch (IOException e) {
+            return unavailable("meminfo", e);
+        }
+    }
+
+    public static Disks openDisks() {
+        try {
+            return isSupported() ? new Disks(PROC.resolve("diskstats")) : null;
+        } catch (IOException e) {
+            return unavailable("diskstats", e);
+        }
+    }
+
+    public static Network openNetwork() {
+        try {
+            return isSupported() ? new Network(PROC.resolve("net").resolve("dev")) : null;
+        } catch (IOException e) {
+            return unavailable("net/dev", e);
+        }
+    }
+
+    private static <T> T unavailable(String file, IOException e) {
+        System.err.println("Cannot open /proc/" + file + ", using OSHI: " + e.getMessage());
+        return null;
+    }
+
+    /**
+     * Aggregate and per logical processor ticks from /proc/stat, in the order
+     * of OSHI's TickType (user, nice, system, idle, iowait, irq, softirq, steal).
+     */
+    public static final class Cpu {
+        private static final byte[] CPU = ascii("cpu");
+
+        private final ProcFile file;
+        private final long[] ticks = new long[CpuMetrics.TICK_TYPES];
+        private long[] coreTicks = new long[0];
+        private int coreCount;
+
+        public Cpu(Path stat) throws IOException {
+            file = new ProcFile(stat, 8192);
+        }
+
+        public void read() throws IOException {
+            file.read();
+            coreCount = 0;
+            // The cpu lines come first; stop before the long intr line
+            while (file.startsWith(CPU)) {
+                file.skip(CPU.length);
+                if (file.peek() == ' ') {
+                    file.readLongs(ticks, 0, CpuMetrics.TICK_TYPES);
+                } else {
+                    int core = (int) file.nextLong();
+                    int needed = (core + 1) * CpuMetrics.TICK_TYPES;
+                    if (coreTicks.length < needed) {
+                        coreTicks = Arrays.copyOf(coreTicks, Math.max(needed, coreTicks.length * 2));
+                    }
+                    file.readLongs(coreTicks, core * CpuMetrics.TICK_TYPES, CpuMetrics.TICK_TYPES);
+                    coreCount = Math.max(coreCount, core + 1);
+                }
+                file.nextLine();
+            }
+        }
+
+        /**
+         * Aggregate ticks; the array is reused by the next read.
+         */
+        public long[] getTicks() {
+            return ticks;
+        }
+
+        /**
+         * Ticks per logical processor, flat (core * TICK_TYPES + tick index);
+         * the array is reused by the next read and may be longer than needed.
+         */
+        public long[] getCoreTicks() {
+            return coreTicks;
+        }
+
+        public int getCoreCount() {
+            return coreCount;
+        }
+    }
+
+    /**
+     * Total and available memory from /proc/meminfo.
+     */
+    public static final class Memory {
+        private static final byte[] MEM_TOTAL = ascii("MemTotal:");
+        private static final byte[] MEM_FREE = ascii("MemFree:");
+        private static final byte[] MEM_AVAILABLE = ascii("MemAvailable:");
+        private static final byte[] BUFFERS = ascii("Buffers:");
+        private static final byte[] CACHED = ascii("Cached:");
+
+        private final ProcFile file;
+        private long total;
+        private long available;
+
+        public Memory(Path meminfo) throws IOException {
+            file = new ProcFile(meminfo, 8192);
+        }
+
+        public void read() throws IOException {
+            file.read();
+            long free = 0;
+            long buffers = 0;
+            long cached = 0;
+            long memAvailable = -1;
+            while (file.hasMore()) {
+                if (file.startsWith(MEM_TOTAL)) {
+                    total = file.skip(MEM_TOTAL.length).nextLong() * 1024;
+                } else if (file.startsWith(MEM_FREE)) {
+                    free = file.skip(MEM_FREE.length).nextLong() * 1024;
+                } else if (file.startsWith(MEM_AVAILABLE)) {
+                    memAvailable = file.skip(MEM_AVAILABLE.length).nextLong() * 1024;
+                } else if (file.startsWith(BUFFERS)) {
+                    buffers = file.skip(BUFFERS.length).nextLong() * 1024;
+                } else if (file.startsWith(CACHED)) {
+                    cached = file.skip(CACHED.length).nextLong() * 1024;
+                }
+                file.nextLine();
+            }
+            // Kernels before 3.14 have no MemAvailable
+            available = memAvailable >= 0 ? memAvailable : free + buffers + cached;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getAvailable() {
+            return available;
+        }
+    }
+
+    /**
+     * Per block device I/O counters from /proc/diskstats.
+     */
+    public static final class Disks {
+        private static final int SECTOR_BYTES = 512;
+
+        private final ProcFile file;
+        private final DeviceCounters devices = new DeviceCounters();
+
+        public Disks(Path diskstats) throws IOException {
+            file = new ProcFile(diskstats, 16384);
+        }
+
+        public void read() throws IOException {
+            file.read();
+            int count = 0;
+            // major minor name reads merged sectors ms writes merged sectors ...
+            while (file.hasMore()) {
+                file.nextLong();
+                file.nextLong();
+                devices.ensure(count + 1);
+                long[] fields = devices.fields;
+                devices.names[count] = file.nextToken(devices.names[count], (byte) ' ');
+                int offset = count * DeviceCounters.FIELDS;
+                fields[offset] = file.nextLong();                          // reads completed
+                file.nextLong();
+                fields[offset + 1] = file.nextLong() * SECTOR_BYTES;       // bytes read
+                file.nextLong();
+                fields[offset + 2] = file.nextLong();                      // writes completed
+                file.nextLong();
+                fields[offset + 3] = file.nextLong() * SECTOR_BYTES;       // bytes written
+                count++;
+                file.nextLine();
+            }
+            devices.count = count;
+        }
+
+        /**
+         * Index of a device by name, with or without a leading /dev/, or -1.
+         */
+        public int indexOf(String name) {
+            return devices.indexOf(name, name.startsWith("/dev/") ? 5 : 0);
+        }
+
+        public int getCount() {
+            return devices.count;
+        }
+
+        public String getName(int index) {
+            return devices.names[index];
+        }
+
+        public long getReads(int index) {
+            return devices.fields[index * DeviceCounters.FIELDS];
+        }
+
+        public long getReadBytes(int index) {
+            return devices.fields[index * DeviceCounters.FIELDS + 1];
+        }
+
+        public long getWrites(int index) {
+            return devices.fields[index * DeviceCounters.FIELDS + 2];
+        }
+
+        public long getWriteBytes(int index) {
+            return devices.fields[index * DeviceCounters.FIELDS + 3];
+        }
+    }
+
+    /**
+     * Per interface traffic counters from /proc/net/dev.
+     */
+    public static final class Network {
+        private final ProcFile file;
+        private final DeviceCounters devices = new DeviceCounters();
+
+        public Network(Path netDev) throws IOException {
+            file = new ProcFile(netDev, 8192);
+        }
+
+        public void read() throws IOException {
+            file.read();
+            file.nextLine(); // two header lines
+            file.nextLine();
+            int count = 0;
+            // name: rx bytes packets errs drop fifo frame compressed multicast tx bytes packets ...
+            while (file.hasMore()) {
+                devices.ensure(count + 1);
+                long[] fields = devices.fields;
+                devices.names[count] = file.nextToken(devices.names[count], (byte) ':');
+                file.skip(1);
+                int offset = count * DeviceCounters.FIELDS;
+                fields[offset] = file.nextLong();     // bytes received
+                fields[offset + 1] = file.nextLong(); // packets received
+                for (int i = 0; i < 6; i++) {
+                    file.nextLong();
+                }
+                fields[offset + 2] = file.nextLong(); // bytes sent
+                fields[offset + 3] = file.nextLong(); // packets sent
+                count++;
+                file.nextLine();
+            }
+            devices.count = count;
+        }
+
+        public int indexOf(String name) {
+            return devices.indexOf(name, 0);
+        }
+
+        public int getCount() {
+            return devices.count;
+        }
+
+        public String getName(int index) {
+            return devices.names[index];
+        }
+
+        public long getBytesRecv(int index) {
+            return devices.fields[index * DeviceCounters.FIELDS];
+        }
+
+        public long getPacketsRecv(int index) {
+            return devices.fields[index * DeviceCounters.FIELDS + 1];
+        }
+
+        public long getBytesSent(int index) {
+            return devices.fields[index * DeviceCounters.FIELDS + 2];
+        }
+
+        public long getPacketsSent(int index) {
+            return devices.fields[index * DeviceCounters.FIELDS + 3];
+        }
+    }
+
+    /**
+     * Names and four counters per device, in flat arrays grown on demand.
+     */
+    private static final class DeviceCounters {
+        static final int FIELDS = 4;
+
+        String[] names = new String[16];
+        long[] fields = new long[16 * FIELDS];
+        int count;
+
+        void ensure(int devices) {
+            if (names.length < devices) {
+                names = Arrays.copyOf(names, devices * 2);
+                fields = Arrays.copyOf(fields, devices * 2 * FIELDS);
+            }
+        }
+
+        int indexOf(String name, int offset) {
+            int length = name.length() - offset;
+            for (int i = 0; i < count; i++) {
+                String candidate = names[i];
+                if (candidate.length() == length && name.regionMatches(offset, candidate, 0, length)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * A /proc file kept open, read whole into a reused direct buffer and
+     * parsed with a cursor. Parsing never crosses a newline except through
+     * {@link #nextLine()}.
+     */
+    private static final class ProcFile {
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+        private int limit;
+        private int position;
+
+        ProcFile(Path path, int capacity) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        void read() throws IOException {
+            buffer.clear();
+            long offset = 0;
+            int read;
+            while ((read = channel.read(buffer, offset)) > 0) {
+                offset += read;
+                if (!buffer.hasRemaining()) {
+                    // The file outgrew the buffer: keep the larger one from now on
+                    ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                    buffer.flip();
+                    larger.put(buffer);
+                    buffer = larger;
+                }
+            }
+            limit = buffer.position();
+            position = 0;
+        }
+
+        boolean hasMore() {
+            skipBlanks();
+            return position < limit;
+        }
+
+        byte peek() {
+            return position < limit ? buffer.get(position) : (byte) '\n';
+        }
+
+        ProcFile skip(int count) {
+            position = Math.min(limit, position + count);
+            return this;
+        }
+
+        boolean startsWith(byte[] prefix) {
+            if (position + prefix.length > limit) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (buffer.get(position + i) != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void nextLine() {
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+            if (position < limit) {
+                position++;
+            }
+        }
+
+        /**
+         * The next unsigned number on the line; 0 at the end of the line.
+         */
+        long nextLong() {
+            skipBlanks();
+            long value = 0;
+            byte b;
+            while (position < limit && (b = buffer.get(position)) >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                position++;
+            }
+            // Skip anything else in the field, e.g. the "kB" unit
+            while (position < limit && (b = buffer.get(position)) != ' ' && b != '\t' && b != '\n') {
+                position++;
+            }
+            return value;
+        }
+
+        void readLongs(long[] into, int offset, int count) {
+            for (int i = 0; i < count; i++) {
+                into[offset + i] = nextLong();
+            }
+        }
+
+        /**
+         * The next token, up to a blank or the terminator; previous if it has the same characters.
+         */
+        String nextToken(String previous, byte terminator) {
+            skipBlanks();
+            int start = position;
+            byte b;
+            while (position < limit && (b = buffer.get(position)) != terminator
+                    && b != ' ' && b != '\t' && b != '\n') {
+                position++;
+            }
+            int length = position - start;
+            if (previous != null && previous.length() == length) {
+                int i = 0;
+                while (i < length && previous.charAt(i) == buffer.get(start + i)) {
+                    i++;
+                }
+                if (i == length) {
+                    return previous;
+                }
+            }
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(start + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void skipBlanks() {
+            byte b;
+            while (position < limit && ((b = buffer.get(position)) == ' ' || b == '\t')) {
+                position++;
+            }
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
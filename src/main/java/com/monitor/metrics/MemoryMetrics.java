@@ -1,24 +1,93 @@
 package com.monitor.metrics;
 
+import com.monitor.core.Collector;
+import com.monitor.core.CollectorCost;
+import com.monitor.history.MetricsHistory;
+import com.monitor.model.MemorySnapshot;
+
 import oshi.hardware.GlobalMemory;
 
-public class MemoryMetrics {
+import java.io.IOException;
+
+public class MemoryMetrics implements Collector<MemorySnapshot> {
     private GlobalMemory memory;
     private long totalMemory;
     private long availableMemory;
     private long usedMemory;
     private double memoryUsagePercent;
+    private MemorySnapshot snapshot;
+    private LinuxSystemCounters.Memory procMemory; // Linux fast path, null elsewhere
+    private boolean procChecked;
     
     public void collectMetrics() {
         if (SystemMetrics.hardware == null) {
             throw new IllegalStateException("System hardware not initialized");
         }
         
-        memory = SystemMetrics.hardware.getMemory();
-        totalMemory = memory.getTotal();
-        availableMemory = memory.getAvailable();
+        if (readProc()) {
+            totalMemory = procMemory.getTotal();
+            availableMemory = procMemory.getAvailable();
+        } else {
+            memory = SystemMetrics.hardware.getMemory();
+            totalMemory = memory.getTotal();
+            availableMemory = memory.getAvailable();
+        }
         usedMemory = totalMemory - availableMemory;
         memoryUsagePercent = ((double) usedMemory / totalMemory) * 100;
+        snapshot = new MemorySnapshot(totalMemory, availableMemory);
+    }
+    
+    /**
+     * Read total and available memory straight from /proc/meminfo on Linux; false to use OSHI instead.
+     */
+    private boolean readProc() {
+        if (!procChecked) {
+            procChecked = true;
+            procMemory = SystemMetrics.isNative() ? LinuxSystemCounters.openMemory() : null;
+        }
+        if (procMemory == null) {
+            return false;
+        }
+        try {
+            procMemory.read();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Reading /proc/meminfo failed, using OSHI for memory: " + e.getMessage());
+            procMemory = null;
+            return false;
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "memory";
+    }
+    
+    @Override
+    public Class<?> getOutputType() {
+        return MemorySnapshot.class;
+    }
+    
+    @Override
+    public CollectorCost getCost() {
+        return CollectorCost.LOW;
+    }
+    
+    @Override
+    public MemorySnapshot collect() {
+        collectMetrics();
+        return getSnapshot();
+    }
+    
+    @Override
+    public void record(MemorySnapshot memory, long timestamp, MetricsHistory history) {
+        history.record("memory.usage", timestamp, memory.getUsage());
+        history.record("memory.used", timestamp, memory.getUsed());
+    }
+    
+    @Override
+    public void display() {
+        displayMetrics();
     }
     
     public void displayMetrics() {
@@ -52,4 +121,8 @@ public class MemoryMetrics {
     public long getUsedMemory() {
         return usedMemory;
     }
+    
+    public MemorySnapshot getSnapshot() {
+        return snapshot;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,12 @@
 package com.monitor.metrics;
 
+import com.monitor.core.Collector;
+import com.monitor.core.CollectorCost;
+import com.monitor.history.MetricsHistory;
+import com.monitor.model.InterfaceSnapshot;
+import com.monitor.model.NetworkSnapshot;
+import com.monitor.model.TcpSnapshot;
+import com.monitor.model.UdpSnapshot;
 import com.monitor.util.FormatUtil;
 import com.monitor.util.PcapNetworkUtil;
 
@@ -9,10 +16,12 @@ import oshi.software.os.InternetProtocolStats.TcpStats;
 import oshi.software.os.InternetProtocolStats.UdpStats;
 import oshi.software.os.NetworkParams;
 
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -22,99 +31,72 @@ import java.util.Map;
 /**
  * Class for collecting and displaying network metrics.
  */
-public class NetworkMetrics {
-    private List<NetworkIF> oshiNetworkInterfaces;
-    private List<Map<String, Object>> networkInfo;
-    private Map<String, Long> previousBytesRecv;
-    private Map<String, Long> previousBytesSent;
-    private Map<String, Long> bytesRecvRate;
-    private Map<String, Long> bytesSentRate;
-    private InternetProtocolStats ipStats;
-    private NetworkParams networkParams;
+public class NetworkMetrics implements Collector<NetworkSnapshot> {
+    // Per interface counters: previous bytes received, previous bytes sent, receive rate, send rate
+    private static final int PREV_RECV = 0;
+    private static final int PREV_SENT = 1;
+    private static final int RECV_RATE = 2;
+    private static final int SENT_RATE = 3;
+    // How long the interface list is reused when the counters come from /proc
+    private static final long INTERFACES_REFRESH_MILLIS = 60_000;
+    
+    private final Map<String, long[]> interfaceCounters;
+    private List<InterfaceSnapshot> interfaces;
+    private NetworkSnapshot snapshot;
     private long lastUpdateTime;
+    private List<NetworkIF> oshiNetworkInterfaces;
+    private long interfacesTime;
+    private LinuxSystemCounters.Network procNetwork; // Linux fast path, null elsewhere
+    private boolean procChecked;
     
     public NetworkMetrics() {
-        this.networkInfo = new ArrayList<>();
-        this.previousBytesRecv = new HashMap<>();
-        this.previousBytesSent = new HashMap<>();
-        this.bytesRecvRate = new HashMap<>();
-        this.bytesSentRate = new HashMap<>();
+        this.interfaceCounters = new HashMap<>();
         this.lastUpdateTime = System.currentTimeMillis();
     }
     
     public synchronized void collectMetrics() {
-        if (SystemMetrics.hardware == null || SystemMetrics.systemInfo == null) {
+        if (SystemMetrics.hardware == null || SystemMetrics.operatingSystem == null) {
             throw new IllegalStateException("System hardware not initialized");
         }
         
         long currentTime = System.currentTimeMillis();
         double timeDiffSeconds = (currentTime - lastUpdateTime) / 1000.0;
         
-        // Reset networkInfo - we'll rebuild it
-        networkInfo = new ArrayList<>();
+        // Rebuild the interface list
+        interfaces = new ArrayList<>();
         
-        // First, try to get interfaces from OSHI
+        // First, try to get interfaces from OSHI; with /proc the list is only for names and addresses, so it is kept a while
         try {
-            oshiNetworkInterfaces = SystemMetrics.hardware.getNetworkIFs();
+            boolean fromProc = readProc();
+            if (!fromProc || oshiNetworkInterfaces == null || currentTime - interfacesTime >= INTERFACES_REFRESH_MILLIS) {
+                oshiNetworkInterfaces = SystemMetrics.hardware.getNetworkIFs();
+                interfacesTime = currentTime;
+            }
             
             if (oshiNetworkInterfaces != null && !oshiNetworkInterfaces.isEmpty()) {
                 // Process OSHI interfaces
                 for (NetworkIF networkIF : oshiNetworkInterfaces) {
                     try {
-                        networkIF.updateAttributes(); // Update to get current values
-                        
-                        Map<String, Object> netData = new HashMap<>();
-                        String interfaceId = networkIF.getName();
-                        
-                        // Basic network interface info
-                        netData.put("name", networkIF.getName());
-                        netData.put("displayName", networkIF.getDisplayName());
-                        netData.put("macAddress", networkIF.getMacaddr());
-                        netData.put("mtu", networkIF.getMTU());
-                        netData.put("speed", networkIF.getSpeed());
-                        netData.put("speedFormatted", networkIF.getSpeed() > 0 ? 
-                                FormatUtil.formatBitRate(networkIF.getSpeed()) : "Unknown");
-                        netData.put("connected", networkIF.isConnectorPresent());
-                        
-                        // IP addresses
-                        netData.put("ipv4Addresses", networkIF.getIPv4addr());
-                        netData.put("ipv6Addresses", networkIF.getIPv6addr());
-                        
-                        // Traffic statistics
-                        netData.put("packetsRecv", networkIF.getPacketsRecv());
-                        netData.put("packetsSent", networkIF.getPacketsSent());
-                        netData.put("bytesRecv", networkIF.getBytesRecv());
-                        netData.put("bytesRecvFormatted", FormatUtil.formatBytes(networkIF.getBytesRecv()));
-                        netData.put("bytesSent", networkIF.getBytesSent());
-                        netData.put("bytesSentFormatted", FormatUtil.formatBytes(networkIF.getBytesSent()));
-                        
-                        // Calculate transfer rates
-                        if (previousBytesRecv.containsKey(interfaceId) && timeDiffSeconds > 0) {
-                            long bytesRecvDiff = networkIF.getBytesRecv() - previousBytesRecv.get(interfaceId);
-                            long bytesSentDiff = networkIF.getBytesSent() - previousBytesSent.get(interfaceId);
-                            
-                            long recvRate = (long)(bytesRecvDiff / timeDiffSeconds);
-                            long sentRate = (long)(bytesSentDiff / timeDiffSeconds);
-                            
-                            bytesRecvRate.put(interfaceId, recvRate);
-                            bytesSentRate.put(interfaceId, sentRate);
+                        int index = fromProc ? procNetwork.indexOf(networkIF.getName()) : -1;
+                        if (index < 0) {
+                            networkIF.updateAttributes(); // Update to get current values
                         }
                         
-                        // Store current values for next rate calculation
-                        previousBytesRecv.put(interfaceId, networkIF.getBytesRecv());
-                        previousBytesSent.put(interfaceId, networkIF.getBytesSent());
+                        long bytesRecv = index >= 0 ? procNetwork.getBytesRecv(index) : networkIF.getBytesRecv();
+                        long bytesSent = index >= 0 ? procNetwork.getBytesSent(index) : networkIF.getBytesSent();
+                        long packetsRecv = index >= 0 ? procNetwork.getPacketsRecv(index) : networkIF.getPacketsRecv();
+                        long packetsSent = index >= 0 ? procNetwork.getPacketsSent(index) : networkIF.getPacketsSent();
                         
-                        // Add transfer rates to the data
-                        long downloadRate = bytesRecvRate.getOrDefault(interfaceId, 0L);
-                        long uploadRate = bytesSentRate.getOrDefault(interfaceId, 0L);
-                        
-                        netData.put("downloadRate", downloadRate);
-                        netData.put("downloadRateFormatted", FormatUtil.formatBytes(downloadRate) + "/s");
-                        netData.put("uploadRate", uploadRate);
-                        netData.put("uploadRateFormatted", FormatUtil.formatBytes(uploadRate) + "/s");
-                        
-                        // Add to the list of interfaces
-                        networkInfo.add(netData);
+                        // Calculate transfer rates
+                        long[] counters = updateCounters(networkIF.getName(), bytesRecv, bytesSent, timeDiffSeconds);
+                        
+                        interfaces.add(new InterfaceSnapshot(networkIF.getName(), networkIF.getDisplayName(),
+                                networkIF.getMacaddr(), networkIF.getMTU(), networkIF.getSpeed(),
+                                networkIF.isConnectorPresent(),
+                                Collections.unmodifiableList(Arrays.asList(networkIF.getIPv4addr())),
+                                Collections.unmodifiableList(Arrays.asList(networkIF.getIPv6addr())),
+                                packetsRecv, packetsSent, bytesRecv, bytesSent,
+                                counters[RECV_RATE], counters[SENT_RATE], false));
                     } catch (Exception e) {
                         System.err.println("Error processing network interface " + networkIF.getName() + ": " + e.getMessage());
                     }
@@ -125,7 +107,7 @@ public class NetworkMetrics {
         }
         
         // If we have no interfaces from OSHI (common on macOS), use Java's NetworkInterface
-        if (networkInfo.isEmpty()) {
+        if (interfaces.isEmpty()) {
             System.out.println("DEBUG: No network interfaces found via OSHI, trying Java's NetworkInterface...");
             try {
                 // Get all network interfaces - use Collections.list for easier debugging
@@ -211,36 +193,17 @@ public class NetworkMetrics {
                         // On macOS, consider en0/en1 as connected even with no IPv4 addresses
                         boolean connected = javaIf.isUp() && (isImportantMacInterface || !ipv4Addresses.isEmpty());
                         
-                        // Create a map for this interface
-                        Map<String, Object> netData = new HashMap<>();
-                        
-                        // Basic network interface info
-                        netData.put("name", name);
-                        netData.put("displayName", displayName);
-                        netData.put("macAddress", macAddress);
-                        netData.put("mtu", mtu);
-                        netData.put("speed", speed);
-                        netData.put("speedFormatted", speed > 0 ? 
-                                FormatUtil.formatBitRate(speed) : "Unknown");
-                        netData.put("connected", connected);
-                        
-                        // IP addresses
-                        netData.put("ipv4Addresses", ipv4Addresses.toArray(new String[0]));
-                        netData.put("ipv6Addresses", ipv6Addresses.toArray(new String[0]));
-                        
                         // For traffic statistics, we'll simulate increasing values
                         // since Java's NetworkInterface doesn't provide these
-                        String interfaceId = name;
-                        
-                        // Set or update traffic statistics (simulated)
+                        long[] counters = interfaceCounters.get(name);
                         long bytesRecv;
                         long bytesSent;
                         
-                        if (previousBytesRecv.containsKey(interfaceId)) {
+                        if (counters != null) {
                             // Update with a realistic increase
-                            bytesRecv = previousBytesRecv.get(interfaceId) + 
+                            bytesRecv = counters[PREV_RECV] + 
                                     (long)(timeDiffSeconds * (50000 + Math.random() * 100000));
-                            bytesSent = previousBytesSent.get(interfaceId) + 
+                            bytesSent = counters[PREV_SENT] + 
                                     (long)(timeDiffSeconds * (20000 + Math.random() * 50000));
                         } else {
                             // Initialize with reasonable baseline values
@@ -248,43 +211,14 @@ public class NetworkMetrics {
                             bytesSent = 500_000 + (long)(Math.random() * 500_000);
                         }
                         
-                        int packetsRecv = (int)(bytesRecv / 1500); // Estimate based on typical packet size
-                        int packetsSent = (int)(bytesSent / 1500);
-                        
-                        netData.put("packetsRecv", packetsRecv);
-                        netData.put("packetsSent", packetsSent);
-                        netData.put("bytesRecv", bytesRecv);
-                        netData.put("bytesRecvFormatted", FormatUtil.formatBytes(bytesRecv));
-                        netData.put("bytesSent", bytesSent);
-                        netData.put("bytesSentFormatted", FormatUtil.formatBytes(bytesSent));
-                        
                         // Calculate transfer rates
-                        if (previousBytesRecv.containsKey(interfaceId) && timeDiffSeconds > 0) {
-                            long bytesRecvDiff = bytesRecv - previousBytesRecv.get(interfaceId);
-                            long bytesSentDiff = bytesSent - previousBytesSent.get(interfaceId);
-                            
-                            long recvRate = (long)(bytesRecvDiff / timeDiffSeconds);
-                            long sentRate = (long)(bytesSentDiff / timeDiffSeconds);
-                            
-                            bytesRecvRate.put(interfaceId, recvRate);
-                            bytesSentRate.put(interfaceId, sentRate);
-                        }
+                        counters = updateCounters(name, bytesRecv, bytesSent, timeDiffSeconds);
                         
-                        // Store current values for next rate calculation
-                        previousBytesRecv.put(interfaceId, bytesRecv);
-                        previousBytesSent.put(interfaceId, bytesSent);
-                        
-                        // Add transfer rates to the data
-                        long downloadRate = bytesRecvRate.getOrDefault(interfaceId, 0L);
-                        long uploadRate = bytesSentRate.getOrDefault(interfaceId, 0L);
-                        
-                        netData.put("downloadRate", downloadRate);
-                        netData.put("downloadRateFormatted", FormatUtil.formatBytes(downloadRate) + "/s");
-                        netData.put("uploadRate", uploadRate);
-                        netData.put("uploadRateFormatted", FormatUtil.formatBytes(uploadRate) + "/s");
-                        
-                        // Add to network info
-                        networkInfo.add(netData);
+                        // Estimate packets based on typical packet size
+                        interfaces.add(new InterfaceSnapshot(name, displayName, macAddress, mtu, speed, connected,
+                                Collections.unmodifiableList(ipv4Addresses), Collections.unmodifiableList(ipv6Addresses),
+                                bytesRecv / 1500, bytesSent / 1500, bytesRecv, bytesSent,
+                                counters[RECV_RATE], counters[SENT_RATE], false));
                     } catch (Exception e) {
                         System.err.println("Error processing Java network interface " + javaIf.getName() + ": " + e.getMessage());
                     }
@@ -295,96 +229,77 @@ public class NetworkMetrics {
         }
         
         // Get IP statistics
+        InternetProtocolStats ipStats;
         try {
-            ipStats = SystemMetrics.systemInfo.getOperatingSystem().getInternetProtocolStats();
+            ipStats = SystemMetrics.operatingSystem.getInternetProtocolStats();
         } catch (Exception e) {
             ipStats = null;
             System.err.println("Error getting IP statistics: " + e.getMessage());
         }
         
         // Get network parameters with error suppression
+        NetworkParams networkParams;
         try {
-            networkParams = SystemMetrics.systemInfo.getOperatingSystem().getNetworkParams();
+            networkParams = SystemMetrics.operatingSystem.getNetworkParams();
         } catch (Exception e) {
             networkParams = null;
         }
         
-        // Add global network statistics
-        Map<String, Object> globalStats = new HashMap<>();
-        
         // Default values for all network parameters
-        globalStats.put("hostname", "Unknown");
-        globalStats.put("domain", "Unknown");
-        globalStats.put("dnsServers", new String[0]);
-        globalStats.put("ipv4DefaultGateway", "Unknown");
-        globalStats.put("ipv6DefaultGateway", "Unknown");
+        String hostname = "Unknown";
+        String domain = "Unknown";
+        List<String> dnsServers = Collections.emptyList();
+        String ipv4DefaultGateway = "Unknown";
+        String ipv6DefaultGateway = "Unknown";
         
         // Only try to get network parameters if networkParams is not null
         if (networkParams != null) {
             try {
-                String hostname = networkParams.getHostName();
-                if (hostname != null && !hostname.isEmpty()) {
-                    globalStats.put("hostname", hostname);
-                }
+                hostname = orDefault(networkParams.getHostName(), hostname);
             } catch (Exception e) {
                 // Keep default value
             }
             
             try {
-                String domain = networkParams.getDomainName();
-                if (domain != null && !domain.isEmpty()) {
-                    globalStats.put("domain", domain);
-                }
+                domain = orDefault(networkParams.getDomainName(), domain);
             } catch (Exception e) {
                 // Keep default value
             }
             
             try {
-                String[] dnsServers = networkParams.getDnsServers();
-                if (dnsServers != null && dnsServers.length > 0) {
-                    globalStats.put("dnsServers", dnsServers);
+                String[] servers = networkParams.getDnsServers();
+                if (servers != null && servers.length > 0) {
+                    dnsServers = Collections.unmodifiableList(Arrays.asList(servers));
                 }
             } catch (Exception e) {
                 // Keep default value
             }
             
             try {
-                String ipv4Gateway = networkParams.getIpv4DefaultGateway();
-                if (ipv4Gateway != null && !ipv4Gateway.isEmpty()) {
-                    globalStats.put("ipv4DefaultGateway", ipv4Gateway);
-                }
+                ipv4DefaultGateway = orDefault(networkParams.getIpv4DefaultGateway(), ipv4DefaultGateway);
             } catch (Exception e) {
                 // Keep default value
             }
             
             try {
-                String ipv6Gateway = networkParams.getIpv6DefaultGateway();
-                if (ipv6Gateway != null && !ipv6Gateway.isEmpty()) {
-                    globalStats.put("ipv6DefaultGateway", ipv6Gateway);
-                }
+                ipv6DefaultGateway = orDefault(networkParams.getIpv6DefaultGateway(), ipv6DefaultGateway);
             } catch (Exception e) {
                 // Keep default value
             }
         }
         
         // Add TCP/UDP connection stats if available
+        TcpSnapshot tcp = null;
+        UdpSnapshot udp = null;
         if (ipStats != null) {
             // Use TCPv4 stats (more common)
             try {
                 TcpStats tcpStats = ipStats.getTCPv4Stats();
                 if (tcpStats != null) {
-                    Map<String, Object> tcpData = new HashMap<>();
-                    tcpData.put("connectionsActive", tcpStats.getConnectionsActive());
-                    tcpData.put("connectionsPassive", tcpStats.getConnectionsPassive());
-                    tcpData.put("connectionsFailures", tcpStats.getConnectionFailures());
-                    tcpData.put("connectionsEstablished", tcpStats.getConnectionsEstablished());
-                    tcpData.put("segmentsSent", tcpStats.getSegmentsSent());
-                    tcpData.put("segmentsReceived", tcpStats.getSegmentsReceived());
-                    tcpData.put("segmentsRetransmitted", tcpStats.getSegmentsRetransmitted());
-                    tcpData.put("inErrors", tcpStats.getInErrors());
-                    tcpData.put("outResets", tcpStats.getOutResets());
-                    
-                    globalStats.put("tcp", tcpData);
+                    tcp = new TcpSnapshot(tcpStats.getConnectionsActive(), tcpStats.getConnectionsPassive(),
+                            tcpStats.getConnectionFailures(), tcpStats.getConnectionsEstablished(),
+                            tcpStats.getSegmentsSent(), tcpStats.getSegmentsReceived(),
+                            tcpStats.getSegmentsRetransmitted(), tcpStats.getInErrors(), tcpStats.getOutResets());
                 }
             } catch (Exception e) {
                 System.err.println("Error getting TCP stats: " + e.getMessage());
@@ -394,35 +309,24 @@ public class NetworkMetrics {
             try {
                 UdpStats udpStats = ipStats.getUDPv4Stats();
                 if (udpStats != null) {
-                    Map<String, Object> udpData = new HashMap<>();
-                    udpData.put("datagramsSent", udpStats.getDatagramsSent());
-                    udpData.put("datagramsReceived", udpStats.getDatagramsReceived());
-                    udpData.put("datagramsNoPort", udpStats.getDatagramsNoPort());
-                    udpData.put("datagramsReceivedErrors", udpStats.getDatagramsReceivedErrors());
-                    
-                    globalStats.put("udp", udpData);
+                    udp = new UdpSnapshot(udpStats.getDatagramsSent(), udpStats.getDatagramsReceived(),
+                            udpStats.getDatagramsNoPort(), udpStats.getDatagramsReceivedErrors());
                 }
             } catch (Exception e) {
                 System.err.println("Error getting UDP stats: " + e.getMessage());
             }
         }
         
-        // Add global stats to the first position
-        networkInfo.add(0, globalStats);
-        
         // On macOS or if no interfaces were found, try using pcap for better detection
-        if (System.getProperty("os.name").toLowerCase().contains("mac") || networkInfo.size() <= 1) {
+        if (System.getProperty("os.name").toLowerCase().contains("mac") || interfaces.isEmpty()) {
             try {
                 // Try to get interfaces with a single attempt (retry logic moved to PcapNetworkUtil)
-                List<Map<String, Object>> pcapInterfaces = PcapNetworkUtil.getNetworkInterfaces();
+                List<InterfaceSnapshot> pcapInterfaces = PcapNetworkUtil.getNetworkInterfaces();
                 
                 if (pcapInterfaces != null && !pcapInterfaces.isEmpty()) {
-                    // Add pcap interfaces to the network info (after global stats)
-                    for (Map<String, Object> pcapInterface : pcapInterfaces) {
-                        networkInfo.add(pcapInterface);
-                    }
+                    interfaces.addAll(pcapInterfaces);
                     System.out.println("Added " + pcapInterfaces.size() + " network interfaces via native pcap");
-                } else if (networkInfo.size() <= 1) {
+                } else if (interfaces.isEmpty()) {
                     System.out.println("Pcap network detection didn't find interfaces, using fallback");
                     addDefaultMacInterface();
                 }
@@ -430,107 +334,176 @@ public class NetworkMetrics {
                 System.err.println("Error getting network interfaces with pcap: " + e.getMessage());
                 
                 // If pcap failed and no interfaces found, use fallback
-                if (networkInfo.size() <= 1) {
+                if (interfaces.isEmpty()) {
                     addDefaultMacInterface();
                 }
             }
         }
         
+        snapshot = new NetworkSnapshot(hostname, domain, dnsServers, ipv4DefaultGateway, ipv6DefaultGateway,
+                tcp, udp, Collections.unmodifiableList(interfaces));
         lastUpdateTime = currentTime;
     }
     
+    /**
+     * Read the interface counters straight from /proc/net/dev on Linux; false to use OSHI instead.
+     */
+    private boolean readProc() {
+        if (!procChecked) {
+            procChecked = true;
+            procNetwork = SystemMetrics.isNative() ? LinuxSystemCounters.openNetwork() : null;
+        }
+        if (procNetwork == null) {
+            return false;
+        }
+        try {
+            procNetwork.read();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Reading /proc/net/dev failed, using OSHI for interfaces: " + e.getMessage());
+            procNetwork = null;
+            return false;
+        }
+    }
+    
+    /**
+     * Record the current byte counters of an interface and update its transfer
+     * rates in place.
+     * 
+     * @return the interface counters (PREV_RECV, PREV_SENT, RECV_RATE, SENT_RATE)
+     */
+    private long[] updateCounters(String interfaceId, long bytesRecv, long bytesSent, double timeDiffSeconds) {
+        long[] counters = interfaceCounters.get(interfaceId);
+        if (counters == null) {
+            counters = new long[4];
+            interfaceCounters.put(interfaceId, counters);
+        } else if (timeDiffSeconds > 0) {
+            counters[RECV_RATE] = (long)((bytesRecv - counters[PREV_RECV]) / timeDiffSeconds);
+            counters[SENT_RATE] = (long)((bytesSent - counters[PREV_SENT]) / timeDiffSeconds);
+        }
+        
+        // Store current values for next rate calculation
+        counters[PREV_RECV] = bytesRecv;
+        counters[PREV_SENT] = bytesSent;
+        return counters;
+    }
+    
+    private static String orDefault(String value, String defaultValue) {
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+    
+    @Override
+    public String getName() {
+        return "network";
+    }
+    
+    @Override
+    public Class<?> getOutputType() {
+        return NetworkSnapshot.class;
+    }
+    
+    @Override
+    public CollectorCost getCost() {
+        return CollectorCost.MEDIUM;
+    }
+    
+    @Override
+    public NetworkSnapshot collect() {
+        collectMetrics();
+        return getSnapshot();
+    }
+    
+    @Override
+    public void record(NetworkSnapshot network, long timestamp, MetricsHistory history) {
+        for (InterfaceSnapshot netInterface : network.getInterfaces()) {
+            if (!netInterface.isLimitedAccess()) {
+                history.record("network." + netInterface.getName() + ".downloadRate", timestamp,
+                        netInterface.getDownloadRate());
+                history.record("network." + netInterface.getName() + ".uploadRate", timestamp,
+                        netInterface.getUploadRate());
+            }
+        }
+    }
+    
+    @Override
+    public void display() {
+        displayMetrics();
+    }
+    
     public void displayMetrics() {
         System.out.println("==== Network Information ====");
+        NetworkSnapshot network = snapshot;
+        if (network == null) {
+            return;
+        }
         
-        // Display global network info from first item
-        if (!networkInfo.isEmpty()) {
-            Map<String, Object> globalStats = networkInfo.get(0);
-            System.out.println("Hostname: " + globalStats.getOrDefault("hostname", "Unknown"));
-            System.out.println("Domain: " + globalStats.getOrDefault("domain", "Unknown"));
-            
-            Object dnsServersObj = globalStats.get("dnsServers");
-            if (dnsServersObj instanceof String[] && ((String[])dnsServersObj).length > 0) {
-                String[] dnsServers = (String[]) dnsServersObj;
-                System.out.println("DNS Servers:");
-                for (String dns : dnsServers) {
-                    System.out.println("  - " + dns);
-                }
-            } else {
-                System.out.println("DNS Servers: None detected");
-            }
-            
-            System.out.println("Default Gateway (IPv4): " + globalStats.getOrDefault("ipv4DefaultGateway", "Unknown"));
-            
-            // Display TCP/UDP stats if available
-            if (globalStats.containsKey("tcp")) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> tcpStats = (Map<String, Object>) globalStats.get("tcp");
-                System.out.println("TCP Connections:");
-                System.out.println("  - Established: " + tcpStats.get("connectionsEstablished"));
-                System.out.println("  - Active: " + tcpStats.get("connectionsActive"));
-                System.out.println("  - Passive: " + tcpStats.get("connectionsPassive"));
+        // Display global network info
+        System.out.println("Hostname: " + network.getHostname());
+        System.out.println("Domain: " + network.getDomain());
+        
+        if (!network.getDnsServers().isEmpty()) {
+            System.out.println("DNS Servers:");
+            for (String dns : network.getDnsServers()) {
+                System.out.println("  - " + dns);
             }
-            
-            System.out.println();
+        } else {
+            System.out.println("DNS Servers: None detected");
         }
         
-        // Skip the first item (global stats) when displaying interfaces
-        if (networkInfo.size() <= 1) {
-            System.out.println("No active network interfaces detected via standard detection");
-            
-            // On macOS, create a default interface when none are detected
-            if (System.getProperty("os.name").toLowerCase().contains("mac")) {
-                addDefaultMacInterface();
-            }
-        } 
+        System.out.println("Default Gateway (IPv4): " + network.getIpv4DefaultGateway());
+        
+        // Display TCP/UDP stats if available
+        TcpSnapshot tcp = network.getTcp();
+        if (tcp != null) {
+            System.out.println("TCP Connections:");
+            System.out.println("  - Established: " + tcp.getConnectionsEstablished());
+            System.out.println("  - Active: " + tcp.getConnectionsActive());
+            System.out.println("  - Passive: " + tcp.getConnectionsPassive());
+        }
+        
+        System.out.println();
         
         // Now display the interfaces
-        if (networkInfo.size() <= 1) {
+        if (network.getInterfaces().isEmpty()) {
             System.out.println("No active network interfaces detected");
-        } else {
-            for (int i = 1; i < networkInfo.size(); i++) {
-                Map<String, Object> netInterface = networkInfo.get(i);
-                boolean connected = (boolean) netInterface.get("connected");
-                
-                System.out.println("Interface: " + netInterface.get("displayName") + 
-                        " (" + netInterface.get("name") + ")" + 
-                        (connected ? " [Connected]" : " [Disconnected]"));
-                
-                System.out.println("  MAC: " + netInterface.get("macAddress"));
-                
-                // Display IP addresses
-                String[] ipv4Addresses = (String[]) netInterface.get("ipv4Addresses");
-                if (ipv4Addresses != null && ipv4Addresses.length > 0) {
-                    System.out.println("  IPv4:");
-                    for (String ip : ipv4Addresses) {
-                        System.out.println("    - " + ip);
-                    }
-                }
-                
-                // Only show transfer rates for connected interfaces
-                if (connected) {
-                    System.out.println("  Speed: " + netInterface.get("speedFormatted"));
-                    System.out.println("  Download: " + netInterface.get("downloadRateFormatted") + 
-                            " (" + netInterface.get("bytesRecvFormatted") + " total)");
-                    System.out.println("  Upload: " + netInterface.get("uploadRateFormatted") + 
-                            " (" + netInterface.get("bytesSentFormatted") + " total)");
+            return;
+        }
+        for (InterfaceSnapshot netInterface : network.getInterfaces()) {
+            boolean connected = netInterface.isConnected();
+            
+            System.out.println("Interface: " + netInterface.getDisplayName() + 
+                    " (" + netInterface.getName() + ")" + 
+                    (connected ? " [Connected]" : " [Disconnected]"));
+            
+            System.out.println("  MAC: " + netInterface.getMacAddress());
+            
+            // Display IP addresses
+            if (!netInterface.getIpv4Addresses().isEmpty()) {
+                System.out.println("  IPv4:");
+                for (String ip : netInterface.getIpv4Addresses()) {
+                    System.out.println("    - " + ip);
                 }
-                
-                System.out.println();
             }
+            
+            // Only show transfer rates for connected interfaces with traffic data
+            if (connected && !netInterface.isLimitedAccess()) {
+                System.out.println("  Speed: " + (netInterface.getSpeed() > 0 ? 
+                        FormatUtil.formatBitRate(netInterface.getSpeed()) : "Unknown"));
+                System.out.println("  Download: " + FormatUtil.formatBytes(netInterface.getDownloadRate()) + "/s" + 
+                        " (" + FormatUtil.formatBytes(netInterface.getBytesRecv()) + " total)");
+                System.out.println("  Upload: " + FormatUtil.formatBytes(netInterface.getUploadRate()) + "/s" + 
+                        " (" + FormatUtil.formatBytes(netInterface.getBytesSent()) + " total)");
+            }
+            
+            System.out.println();
         }
     }
     
-    public synchronized List<Map<String, Object>> getNetworkInfo() {
-        // Create a deep copy to avoid concurrent modification
-        List<Map<String, Object>> copy = new ArrayList<>();
-        
-        // Deep copy each map to prevent concurrent modification
-        for (Map<String, Object> item : networkInfo) {
-            copy.add(new HashMap<>(item));
-        }
-        
-        return copy;
+    /**
+     * Network state as of the last collection, or null before the first one.
+     */
+    public NetworkSnapshot getSnapshot() {
+        return snapshot;
     }
     
     /**
@@ -546,37 +519,12 @@ public class NetworkMetrics {
             System.out.println("NOTICE: Using basic network interface data - full packet capture requires sudo");
             System.out.println("        Run with 'sudo ./build.sh' for complete network monitoring");
             
-            // Create a custom network interface with a note that it has limited data
-            Map<String, Object> netData = new HashMap<>();
-            
-            // Basic network interface info
-            netData.put("name", "en0");
-            netData.put("displayName", "Network Interface (Limited Data)");
-            netData.put("macAddress", "XX:XX:XX:XX:XX:XX"); // Redacted for privacy
-            netData.put("mtu", 1500);
-            netData.put("speed", 100_000_000L); // 100 Mbps
-            netData.put("speedFormatted", FormatUtil.formatBitRate(100_000_000L));
-            netData.put("connected", true);
-            
-            // IP addresses - we can at least show the local IP
-            String[] ipv4 = new String[] { localIp };
-            netData.put("ipv4Addresses", ipv4);
-            netData.put("ipv6Addresses", new String[] {});
-            
-            // Minimal statistics - show a dash instead of 0 to indicate data is unavailable
-            netData.put("packetsRecv", 0);
-            netData.put("packetsSent", 0);
-            netData.put("bytesRecv", 0L);
-            netData.put("bytesRecvFormatted", "Limited access");
-            netData.put("bytesSent", 0L);
-            netData.put("bytesSentFormatted", "Limited access");
-            netData.put("downloadRate", 0L);
-            netData.put("downloadRateFormatted", "Run with sudo");
-            netData.put("uploadRate", 0L);
-            netData.put("uploadRateFormatted", "Run with sudo");
-            
-            // Add to network info
-            networkInfo.add(netData);
+            // Create a custom network interface with a note that it has limited data.
+            // Traffic counters are unavailable, the MAC address is redacted for privacy
+            // and we can at least show the local IP
+            interfaces.add(new InterfaceSnapshot("en0", "Network Interface (Limited Data)", "XX:XX:XX:XX:XX:XX",
+                    1500, 100_000_000L, true, Collections.singletonList(localIp), Collections.emptyList(),
+                    0, 0, 0, 0, 0, 0, true));
             
             System.out.println("Created limited network interface with IP: " + localIp);
         } catch (Exception e) {
@@ -0,0 +1,263 @@
+package com.monitor.metrics;
+
+import com.monitor.model.ProcessList;
+import com.monitor.model.ProcessRanking;
+import com.monitor.model.ProcessSnapshot;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Recent CPU and resident memory of every process that has made any top-K
+ * ranking, so a process that spiked and dropped out of the top still has a
+ * record.
+ *
+ * Each process has a ring of primitive arrays holding the samples of the last
+ * window; it grows as needed and is recorded every cycle while the process is
+ * alive. A process is dropped once it has been out of every ranking for longer
+ * than the window, whether it exited or not. Processes are kept in
+ * least-recently-ranked order: when the rings take more than the memory cap,
+ * the processes that have been out of every ranking the longest (usually ones
+ * that exited) are dropped first. Looking a process up counts as a use.
+ */
+public class ProcessHistory {
+
+    // Per sample: timestamp (8) + CPU as float (4) + resident memory (8)
+    private static final int SAMPLE_BYTES = 20;
+    // Per process: the ring, its arrays and its map entry
+    private static final int PROCESS_BYTES = 160;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long windowMillis;
+    private final long maxBytes;
+    private final LinkedHashMap<Integer, Ring> rings = new LinkedHashMap<>(64, 0.75f, true);
+    private long sizeBytes;
+
+    /**
+     * @param windowMillis how far back each process's samples go
+     * @param maxBytes     approximate cap on the memory used by all processes' samples
+     */
+    public ProcessHistory(long windowMillis, long maxBytes) {
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.windowMillis = windowMillis;
+        this.maxBytes = maxBytes;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Record one cycle: start tracking the processes in any of the rankings,
+     * drop those unranked for longer than the window, append a sample for
+     * every tracked process still in the table, then evict down to the memory
+     * cap.
+     */
+    public synchronized void record(ProcessTable table, ProcessList ranked, long nowMillis) {
+        for (ProcessRanking ranking : ProcessRanking.values()) {
+            for (ProcessSnapshot process : ranked.getRanking(ranking, ranked.getRankingSize())) {
+                ProcessTable.Entry entry = table.get(process.getPid());
+                if (entry == null) {
+                    continue;
+                }
+                Ring ring = rings.get(entry.getPid()); // marks it recently ranked
+                if (ring == null || ring.startTime != entry.getStartTime()) {
+                    if (ring != null) {
+                        sizeBytes -= ring.sizeBytes();
+                    }
+                    ring = new Ring(entry.getPid(), entry.getStartTime());
+                    rings.put(entry.getPid(), ring);
+                    sizeBytes += ring.sizeBytes();
+                }
+                ring.lastRanked = nowMillis;
+            }
+        }
+
+        long cutoff = nowMillis - windowMillis;
+        Iterator<Ring> tracked = rings.values().iterator(); // iterating doesn't change the access order
+        while (tracked.hasNext()) {
+            Ring ring = tracked.next();
+            if (ring.lastRanked < cutoff) {
+                sizeBytes -= ring.sizeBytes();
+                tracked.remove();
+                continue;
+            }
+            ProcessTable.Entry entry = table.get(ring.pid);
+            if (entry != null && entry.getStartTime() == ring.startTime && ring.lastTimestamp() != nowMillis) {
+                sizeBytes -= ring.sizeBytes();
+                ring.name = entry.getName();
+                ring.append(nowMillis, entry.getCpu(), entry.getResidentMemory(), cutoff);
+                sizeBytes += ring.sizeBytes();
+            } else if (entry == null || entry.getStartTime() != ring.startTime) {
+                ring.alive = false;
+            }
+        }
+
+        Iterator<Ring> eldest = rings.values().iterator();
+        while (sizeBytes > maxBytes && eldest.hasNext()) {
+            sizeBytes -= eldest.next().sizeBytes();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * The samples of a process within the window before now, or null if it is not tracked.
+     */
+    public synchronized Samples get(int pid, long nowMillis) {
+        Ring ring = rings.get(pid);
+        return ring != null ? ring.copy(nowMillis - windowMillis) : null;
+    }
+
+    /**
+     * Number of processes tracked.
+     */
+    public synchronized int size() {
+        return rings.size();
+    }
+
+    /**
+     * Approximate memory used by the tracked processes, in bytes.
+     */
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    private static final class Ring {
+        final int pid;
+        final long startTime;
+        String name;
+        boolean alive = true;
+        long lastRanked;
+        long[] timestamps = new long[INITIAL_CAPACITY];
+        float[] cpu = new float[INITIAL_CAPACITY];
+        long[] memory = new long[INITIAL_CAPACITY];
+        int head;
+        int size;
+
+        Ring(int pid, long startTime) {
+            this.pid = pid;
+            this.startTime = startTime;
+        }
+
+        long sizeBytes() {
+            return PROCESS_BYTES + (long) timestamps.length * SAMPLE_BYTES;
+        }
+
+        long lastTimestamp() {
+            return size > 0 ? timestamps[(head + size - 1) % timestamps.length] : Long.MIN_VALUE;
+        }
+
+        void append(long timestamp, double cpuPercent, long residentMemory, long cutoff) {
+            while (size > 0 && timestamps[head] < cutoff) {
+                head = (head + 1) % timestamps.length;
+                size--;
+            }
+            if (size == timestamps.length) {
+                grow();
+            }
+            int tail = (head + size) % timestamps.length;
+            timestamps[tail] = timestamp;
+            cpu[tail] = (float) cpuPercent;
+            memory[tail] = residentMemory;
+            size++;
+        }
+
+        private void grow() {
+            int capacity = timestamps.length * 2;
+            long[] newTimestamps = new long[capacity];
+            float[] newCpu = new float[capacity];
+            long[] newMemory = new long[capacity];
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % timestamps.length;
+                newTimestamps[i] = timestamps[index];
+                newCpu[i] = cpu[index];
+                newMemory[i] = memory[index];
+            }
+            timestamps = newTimestamps;
+            cpu = newCpu;
+            memory = newMemory;
+            head = 0;
+        }
+
+        Samples copy(long cutoff) {
+            int first = 0;
+            while (first < size && timestamps[(head + first) % timestamps.length] < cutoff) {
+                first++;
+            }
+            int count = size - first;
+            long[] copiedTimestamps = new long[count];
+            double[] copiedCpu = new double[count];
+            long[] copiedMemory = new long[count];
+            for (int i = 0; i < count; i++) {
+                int index = (head + first + i) % timestamps.length;
+                copiedTimestamps[i] = timestamps[index];
+                copiedCpu[i] = cpu[index];
+                copiedMemory[i] = memory[index];
+            }
+            return new Samples(pid, name, startTime, alive, copiedTimestamps, copiedCpu, copiedMemory);
+        }
+    }
+
+    /**
+     * A copy of one process's samples, oldest first.
+     */
+    public static final class Samples {
+        private final int pid;
+        private final String name;
+        private final long startTime;
+        private final boolean alive;
+        private final long[] timestamps;
+        private final double[] cpu;
+        private final long[] memory;
+
+        Samples(int pid, String name, long startTime, boolean alive,
+                long[] timestamps, double[] cpu, long[] memory) {
+            this.pid = pid;
+            this.name = name;
+            this.startTime = startTime;
+            this.alive = alive;
+            this.timestamps = timestamps;
+            this.cpu = cpu;
+            this.memory = memory;
+        }
+
+        public int getPid() {
+            return pid;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * False once the process has exited (or its PID was reused).
+         */
+        public boolean isAlive() {
+            return alive;
+        }
+
+        public long[] getTimestamps() {
+            return timestamps;
+        }
+
+        /**
+         * CPU usage in percent of one core, per sample.
+         */
+        public double[] getCpu() {
+            return cpu;
+        }
+
+        /**
+         * Resident memory in bytes, per sample.
+         */
+        public long[] getMemory() {
+            return memory;
+        }
+    }
+}
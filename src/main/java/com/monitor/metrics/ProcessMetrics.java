@@ -1,30 +1,124 @@
 package com.monitor.metrics;
 
+import com.monitor.core.Collector;
+import com.monitor.core.CollectorCost;
+import com.monitor.model.ProcessList;
+import com.monitor.model.ProcessSnapshot;
+
 import oshi.software.os.OSProcess;
 import oshi.software.os.OperatingSystem;
+import oshi.software.os.linux.LinuxOperatingSystem;
+import oshi.util.platform.linux.ProcPath;
+
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
 
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 
-public class ProcessMetrics {
-    private List<OSProcess> processes;
+public class ProcessMetrics implements Collector<ProcessList> {
+    private final ProcessTable table = new ProcessTable();
+    private ProcessList snapshot = ProcessList.empty();
     private int displayCount = 5; // Number of top processes to display
+    private int rankingSize = 50; // Processes kept per ranking for the API
+    private ProcessHistory history; // Recent samples of ranked processes, if enabled
+    private LinuxProcessReader procReader; // Linux fast path, null elsewhere
+    private boolean procChecked;
     
     public void collectMetrics() {
-        if (SystemMetrics.systemInfo == null) {
+        if (SystemMetrics.operatingSystem == null) {
             throw new IllegalStateException("System info not initialized");
         }
         
-        OperatingSystem os = SystemMetrics.systemInfo.getOperatingSystem();
-        List<OSProcess> allProcesses = os.getProcesses();
+        OperatingSystem os = SystemMetrics.operatingSystem;
         
-        // Sort by memory usage (resident set size)
-        allProcesses.sort(Comparator.comparingLong(OSProcess::getResidentSetSize).reversed());
+        // Update the process table in place; CPU comes from the tick delta since the last cycle
+        long now = System.currentTimeMillis();
+        table.beginCycle(now);
+        if (!readProc(os, now)) {
+            for (OSProcess process : os.getProcesses()) {
+                table.update(process.getProcessID(), process.getStartTime(), process.getName(),
+                        process.getResidentSetSize(), process.getThreadCount(),
+                        process.getKernelTime() + process.getUserTime(), process.getUpTime(),
+                        process.getBytesRead() + process.getBytesWritten());
+            }
+        }
+        table.endCycle();
         
-        // Get top processes
-        int count = Math.min(displayCount, allProcesses.size());
-        processes = new ArrayList<>(allProcesses.subList(0, count));
+        // Top processes by every ranking in one pass; the list itself holds the top by memory
+        int limit = Math.max(rankingSize, displayCount);
+        snapshot = new ProcessList(table.rank(limit), limit, displayCount);
+        if (history != null) {
+            history.record(table, snapshot, now);
+        }
+    }
+    
+    /**
+     * Read the processes straight from /proc on Linux; false to use OSHI instead.
+     */
+    private boolean readProc(OperatingSystem os, long now) {
+        if (!procChecked) {
+            procChecked = true;
+            if (SystemMetrics.isNative() && LinuxProcessReader.isSupported()) {
+                procReader = new LinuxProcessReader(Paths.get(ProcPath.PROC), LinuxOperatingSystem.getHz(),
+                        LinuxOperatingSystem.getPageSize(), os.getSystemBootTime() * 1000);
+                System.out.println("Reading processes directly from /proc");
+            }
+        }
+        if (procReader == null) {
+            return false;
+        }
+        try {
+            procReader.read(table, now);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Reading /proc failed, using OSHI for processes: " + e.getMessage());
+            procReader = null;
+            return false;
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "processes";
+    }
+    
+    @Override
+    public Class<?> getOutputType() {
+        return ProcessList.class;
+    }
+    
+    @Override
+    public CollectorCost getCost() {
+        return CollectorCost.HIGH;
+    }
+    
+    @Override
+    public long getDefaultIntervalMillis() {
+        return 5000;
+    }
+    
+    /**
+     * Ranking size and history from metrics.processes.*.
+     */
+    @Override
+    public void start(Environment environment) {
+        setRankingSize(environment.getProperty("metrics.processes.ranking-size", Integer.class, 50));
+        setHistory(new ProcessHistory(
+                environment.getProperty("metrics.processes.history.window", Duration.class, Duration.ofMinutes(10)).toMillis(),
+                environment.getProperty("metrics.processes.history.max-size", DataSize.class, DataSize.ofMegabytes(8)).toBytes()));
+    }
+    
+    @Override
+    public ProcessList collect() {
+        collectMetrics();
+        return getSnapshot();
+    }
+    
+    @Override
+    public void display() {
+        displayMetrics();
     }
     
     public void displayMetrics() {
@@ -33,13 +127,13 @@ public class ProcessMetrics {
         System.out.printf("%-7s %-30s %-10s %-10s %-10s%n", 
                 "PID", "Name", "Memory", "CPU %", "Threads");
         
-        for (OSProcess process : processes) {
+        for (ProcessSnapshot process : snapshot) {
             System.out.printf("%-7d %-30s %-10s %-10.1f %-10d%n",
-                    process.getProcessID(),
+                    process.getPid(),
                     truncate(process.getName(), 30),
-                    formatBytes(process.getResidentSetSize()),
-                    process.getProcessCpuLoadCumulative() * 100,
-                    process.getThreadCount());
+                    formatBytes(process.getResidentMemory()),
+                    process.getCpu(),
+                    process.getThreads());
         }
     }
     
@@ -63,7 +157,35 @@ public class ProcessMetrics {
         this.displayCount = count;
     }
     
-    public List<OSProcess> getProcesses() {
-        return processes;
+    /**
+     * Set how many processes each ranking (CPU, memory, threads, I/O) keeps.
+     */
+    public void setRankingSize(int size) {
+        this.rankingSize = size;
+    }
+    
+    /**
+     * Keep recent samples of every process that makes a ranking; null to stop.
+     */
+    public void setHistory(ProcessHistory history) {
+        this.history = history;
+    }
+    
+    public ProcessHistory getHistory() {
+        return history;
+    }
+    
+    /**
+     * All processes seen by the last collection.
+     */
+    public ProcessTable getTable() {
+        return table;
+    }
+    
+    /**
+     * Top processes as of the last collection. The list is immutable and replaced by the next cycle.
+     */
+    public ProcessList getSnapshot() {
+        return snapshot;
     }
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.monitor.metrics;
+
+import com.monitor.model.ProcessRanking;
+import com.monitor.model.ProcessSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Processes seen by the last collection, keyed by PID and updated in place
+ * from one cycle to the next.
+ *
+ * CPU usage is the process's CPU time over the wall time between two cycles,
+ * in percent of one core (like top: a process busy on two cores shows 200%),
+ * and the I/O rate its bytes read and written over the same time. A process
+ * seen for the first time reports its lifetime averages instead. A
+ * PID whose start time changed belongs to a new process and starts over.
+ * Processes missing from a cycle are dropped at its end.
+ *
+ * Use from one thread at a time:
+ * <pre>
+ * table.beginCycle(now);
+ * for (each process) table.update(...);
+ * table.endCycle();
+ * Map&lt;ProcessRanking, List&lt;ProcessSnapshot&gt;&gt; top = table.rank(50);
+ * </pre>
+ */
+public class ProcessTable {
+
+    private static final ProcessRanking[] RANKINGS = ProcessRanking.values();
+    private static final Map<ProcessRanking, Comparator<Entry>> ORDERS = new EnumMap<>(ProcessRanking.class);
+
+    static {
+        // Ties broken by PID so rankings are stable from cycle to cycle
+        ORDERS.put(ProcessRanking.CPU, Comparator.comparingDouble(Entry::getCpu));
+        ORDERS.put(ProcessRanking.MEMORY, Comparator.comparingLong(Entry::getResidentMemory));
+        ORDERS.put(ProcessRanking.THREADS, Comparator.comparingInt(Entry::getThreads));
+        ORDERS.put(ProcessRanking.IO, Comparator.comparingLong(Entry::getIoRate));
+        for (ProcessRanking ranking : RANKINGS) {
+            ORDERS.put(ranking, ORDERS.get(ranking).thenComparing(Comparator.comparingInt(Entry::getPid).reversed()));
+        }
+    }
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private long cycle;
+    private long cycleMillis;
+
+    public void beginCycle(long nowMillis) {
+        cycle++;
+        cycleMillis = nowMillis;
+    }
+
+    /**
+     * Record one process for the current cycle.
+     *
+     * @param startTime    start time in epoch milliseconds, to tell a reused PID apart
+     * @param cpuTimeMillis user plus kernel time since the process started
+     * @param upTimeMillis  time since the process started
+     * @param ioBytes       bytes read plus bytes written since the process started
+     */
+    public void update(int pid, long startTime, String name, long residentMemory, int threads,
+                       long cpuTimeMillis, long upTimeMillis, long ioBytes) {
+        Entry entry = entries.get(pid);
+        if (entry == null || entry.startTime != startTime) {
+            entry = new Entry(pid, startTime);
+            entries.put(pid, entry);
+            entry.cpu = upTimeMillis > 0 ? 100.0 * cpuTimeMillis / upTimeMillis : 0;
+            entry.ioRate = upTimeMillis > 0 ? ioBytes * 1000 / upTimeMillis : 0;
+        } else {
+            long elapsed = cycleMillis - entry.sampledMillis;
+            if (elapsed > 0) {
+                entry.cpu = 100.0 * Math.max(0, cpuTimeMillis - entry.cpuTimeMillis) / elapsed;
+                entry.ioRate = Math.max(0, ioBytes - entry.ioBytes) * 1000 / elapsed;
+            }
+        }
+        entry.name = name;
+        entry.residentMemory = residentMemory;
+        entry.threads = threads;
+        entry.cpuTimeMillis = cpuTimeMillis;
+        entry.ioBytes = ioBytes;
+        entry.sampledMillis = cycleMillis;
+        entry.seenCycle = cycle;
+    }
+
+    /**
+     * Drop the processes that were not updated in the current cycle.
+     */
+    public void endCycle() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().seenCycle != cycle) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The process with the given PID as of the last cycle, or null.
+     */
+    public Entry get(int pid) {
+        return entries.get(pid);
+    }
+
+    /**
+     * The limit largest processes by every ranking, largest first, from a
+     * single pass over the table. Each ranking keeps a min-heap of limit
+     * entries, so the cost is O(n log limit) per ranking however large the
+     * table is.
+     */
+    public Map<ProcessRanking, List<ProcessSnapshot>> rank(int limit) {
+        Map<ProcessRanking, List<ProcessSnapshot>> result = new EnumMap<>(ProcessRanking.class);
+        if (limit <= 0) {
+            for (ProcessRanking ranking : RANKINGS) {
+                result.put(ranking, new ArrayList<>());
+            }
+            return result;
+        }
+
+        // Min-heaps of the largest entries seen so far; a head is the first to go
+        List<PriorityQueue<Entry>> heaps = new ArrayList<>(RANKINGS.length);
+        List<Comparator<Entry>> orders = new ArrayList<>(RANKINGS.length);
+        for (ProcessRanking ranking : RANKINGS) {
+            orders.add(ORDERS.get(ranking));
+            heaps.add(new PriorityQueue<>(limit + 1, ORDERS.get(ranking)));
+        }
+        for (Entry entry : entries.values()) {
+            for (int i = 0; i < RANKINGS.length; i++) {
+                PriorityQueue<Entry> heap = heaps.get(i);
+                if (heap.size() < limit) {
+                    heap.add(entry);
+                } else if (orders.get(i).compare(entry, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(entry);
+                }
+            }
+        }
+
+        // Snapshots are shared between rankings that picked the same process
+        Map<Entry, ProcessSnapshot> snapshots = new HashMap<>();
+        for (int i = 0; i < RANKINGS.length; i++) {
+            PriorityQueue<Entry> heap = heaps.get(i);
+            ProcessSnapshot[] top = new ProcessSnapshot[heap.size()];
+            for (int j = top.length - 1; j >= 0; j--) {
+                top[j] = snapshots.computeIfAbsent(heap.poll(), Entry::toSnapshot);
+            }
+            result.put(RANKINGS[i], new ArrayList<>(Arrays.asList(top)));
+        }
+        return result;
+    }
+
+    /**
+     * One process, updated in place every cycle.
+     */
+    public static final class Entry {
+        private final int pid;
+        private final long startTime;
+        private String name;
+        private long residentMemory;
+        private int threads;
+        private long cpuTimeMillis;
+        private long ioBytes;
+        private long sampledMillis;
+        private double cpu;
+        private long ioRate;
+        private long seenCycle;
+
+        private Entry(int pid, long startTime) {
+            this.pid = pid;
+            this.startTime = startTime;
+        }
+
+        public int getPid() {
+            return pid;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getResidentMemory() {
+            return residentMemory;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * CPU usage over the last interval in percent of one core.
+         */
+        public double getCpu() {
+            return cpu;
+        }
+
+        /**
+         * Bytes read plus bytes written per second over the last interval.
+         */
+        public long getIoRate() {
+            return ioRate;
+        }
+
+        ProcessSnapshot toSnapshot() {
+            return new ProcessSnapshot(pid, name, residentMemory, cpu, threads, ioRate);
+        }
+    }
+}
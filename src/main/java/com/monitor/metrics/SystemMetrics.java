@@ -2,17 +2,44 @@ package com.monitor.metrics;
 
 import oshi.SystemInfo;
 import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OperatingSystem;
 
 public class SystemMetrics {
     protected static SystemInfo systemInfo;
     protected static HardwareAbstractionLayer hardware;
+    protected static OperatingSystem operatingSystem;
+    private static boolean nativeHardware;
     
     public void initialize() {
         systemInfo = new SystemInfo();
         hardware = systemInfo.getHardware();
-        System.out.println("System: " + systemInfo.getOperatingSystem());
+        operatingSystem = systemInfo.getOperatingSystem();
+        nativeHardware = true;
+        System.out.println("System: " + operatingSystem);
     }
     
+    /**
+     * Collect from the given hardware and operating system instead of this
+     * machine's, e.g. a synthetic host. The Linux /proc readers are not used.
+     */
+    public void initialize(HardwareAbstractionLayer hardware, OperatingSystem operatingSystem) {
+        SystemMetrics.systemInfo = null;
+        SystemMetrics.hardware = hardware;
+        SystemMetrics.operatingSystem = operatingSystem;
+        nativeHardware = false;
+        System.out.println("System: " + operatingSystem);
+    }
+    
+    /**
+     * Whether the collectors read this machine, so its /proc may be read directly.
+     */
+    static boolean isNative() {
+        return nativeHardware;
+    }
+    
+    /**
+     * OSHI's view of this machine; null when another hardware layer was given.
+     */
     public SystemInfo getSystemInfo() {
         return systemInfo;
     }
@@ -20,4 +47,8 @@ public class SystemMetrics {
     public HardwareAbstractionLayer getHardware() {
         return hardware;
     }
-}
\ No newline at end of file
+    
+    public OperatingSystem getOperatingSystem() {
+        return operatingSystem;
+    }
+}
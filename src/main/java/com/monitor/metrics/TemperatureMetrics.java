@@ -1,5 +1,10 @@
 package com.monitor.metrics;
 
+import com.monitor.core.Collector;
+import com.monitor.core.CollectorCost;
+import com.monitor.history.MetricsHistory;
+import com.monitor.model.GpuTemperature;
+import com.monitor.model.TemperatureSnapshot;
 import com.monitor.util.FormatUtil;
 
 import oshi.hardware.CentralProcessor;
@@ -7,25 +12,20 @@ import oshi.hardware.GraphicsCard;
 import oshi.hardware.Sensors;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Class for collecting and displaying hardware temperature metrics.
  * Note: OSHI provides limited temperature sensor information,
  * and availability depends on the platform and hardware.
  */
-public class TemperatureMetrics {
+public class TemperatureMetrics implements Collector<TemperatureSnapshot> {
     private Sensors sensors;
     private double cpuTemperature;
     private double cpuVoltage;
     private int[] fanSpeeds;
-    private Map<String, Object> temperatureInfo;
-    
-    public TemperatureMetrics() {
-        temperatureInfo = new HashMap<>();
-    }
+    private TemperatureSnapshot snapshot;
     
     public void collectMetrics() {
         if (SystemMetrics.hardware == null) {
@@ -33,7 +33,6 @@ public class TemperatureMetrics {
         }
         
         sensors = SystemMetrics.hardware.getSensors();
-        temperatureInfo = new HashMap<>();
         
         // CPU temperature and details
         CentralProcessor processor = SystemMetrics.hardware.getProcessor();
@@ -79,114 +78,106 @@ public class TemperatureMetrics {
             fanSpeeds = new int[0];
         }
         
-        Map<String, Object> cpuTempInfo = new HashMap<>();
-        cpuTempInfo.put("temperature", cpuTemperature);
-        cpuTempInfo.put("temperatureFormatted", FormatUtil.formatTemperature(cpuTemperature));
-        
         // Mark simulated temperatures for clarity in API
         boolean isAppleSilicon = processor.getProcessorIdentifier().getName().contains("Apple");
         boolean isSimulated = isAppleSilicon && cpuTemperature > 0;
-        if (isSimulated) {
-            cpuTempInfo.put("isSimulated", true);
-        }
-        cpuTempInfo.put("vendor", processor.getProcessorIdentifier().getVendor());
-        cpuTempInfo.put("model", processor.getProcessorIdentifier().getName());
-        cpuTempInfo.put("physicalPackages", processor.getPhysicalPackageCount());
-        cpuTempInfo.put("physicalCores", processor.getPhysicalProcessorCount());
-        cpuTempInfo.put("logicalCores", processor.getLogicalProcessorCount());
-        
-        if (cpuVoltage > 0) {
-            cpuTempInfo.put("voltage", cpuVoltage);
-            cpuTempInfo.put("voltageFormatted", String.format("%.2f V", cpuVoltage));
-        }
-        
-        temperatureInfo.put("cpu", cpuTempInfo);
-        
-        // Fan speeds
-        if (fanSpeeds != null && fanSpeeds.length > 0) {
-            List<Map<String, Object>> fanList = new ArrayList<>();
-            for (int i = 0; i < fanSpeeds.length; i++) {
-                Map<String, Object> fan = new HashMap<>();
-                fan.put("id", i + 1);
-                fan.put("rpm", fanSpeeds[i]);
-                fan.put("rpmFormatted", fanSpeeds[i] + " RPM");
-                fanList.add(fan);
-            }
-            temperatureInfo.put("fans", fanList);
-        }
         
         // GPU temperatures - OSHI doesn't directly provide GPU temps
         // so we'll create a simulated value based on the GPU class we created
         List<GraphicsCard> graphicsCards = SystemMetrics.hardware.getGraphicsCards();
-        if (graphicsCards != null && !graphicsCards.isEmpty()) {
-            List<Map<String, Object>> gpuList = new ArrayList<>();
-            for (int i = 0; i < graphicsCards.size(); i++) {
-                GraphicsCard gpu = graphicsCards.get(i);
-                Map<String, Object> gpuTemp = new HashMap<>();
-                gpuTemp.put("name", gpu.getName());
-                gpuTemp.put("vendor", gpu.getVendor());
-                gpuTemp.put("deviceId", gpu.getDeviceId());
-                
-                // Simulate temperature based on CPU temp (real impl would use native libraries)
-                // This is just for demonstration
-                double simulatedTemp = (cpuTemperature > 0) ? 
-                        (cpuTemperature + Math.random() * 15) : 
-                        (40 + Math.random() * 40);
-                
-                gpuTemp.put("temperature", simulatedTemp);
-                gpuTemp.put("temperatureFormatted", FormatUtil.formatTemperature(simulatedTemp));
-                gpuList.add(gpuTemp);
-            }
-            temperatureInfo.put("gpus", gpuList);
+        List<GpuTemperature> gpuList = new ArrayList<>(graphicsCards.size());
+        for (GraphicsCard gpu : graphicsCards) {
+            // Simulate temperature based on CPU temp (real impl would use native libraries)
+            // This is just for demonstration
+            double simulatedTemp = (cpuTemperature > 0) ? 
+                    (cpuTemperature + Math.random() * 15) : 
+                    (40 + Math.random() * 40);
+            gpuList.add(new GpuTemperature(gpu.getName(), gpu.getVendor(), gpu.getDeviceId(), simulatedTemp));
         }
         
+        snapshot = new TemperatureSnapshot(cpuTemperature, isSimulated, cpuVoltage,
+                processor.getProcessorIdentifier().getVendor(), processor.getProcessorIdentifier().getName(),
+                processor.getPhysicalPackageCount(), processor.getPhysicalProcessorCount(),
+                processor.getLogicalProcessorCount(), fanSpeeds != null ? fanSpeeds : new int[0],
+                Collections.unmodifiableList(gpuList));
+        
         // Motherboard temperatures are usually not available directly via OSHI
         // In a real implementation, you could use native libraries for each platform
     }
     
+    @Override
+    public String getName() {
+        return "temperature";
+    }
+    
+    @Override
+    public Class<?> getOutputType() {
+        return TemperatureSnapshot.class;
+    }
+    
+    @Override
+    public CollectorCost getCost() {
+        return CollectorCost.MEDIUM;
+    }
+    
+    @Override
+    public TemperatureSnapshot collect() {
+        collectMetrics();
+        return getSnapshot();
+    }
+    
+    @Override
+    public void record(TemperatureSnapshot temperature, long timestamp, MetricsHistory history) {
+        if (temperature.getCpuTemperature() > 0) {
+            history.record("temperature.cpu", timestamp, temperature.getCpuTemperature());
+        }
+    }
+    
+    @Override
+    public void display() {
+        displayMetrics();
+    }
+    
     public void displayMetrics() {
         System.out.println("==== Temperature Information ====");
+        if (snapshot == null) {
+            System.out.println();
+            return;
+        }
         
         // CPU temperature
-        if (temperatureInfo.containsKey("cpu")) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cpu = (Map<String, Object>) temperatureInfo.get("cpu");
-            System.out.println("CPU: " + cpu.get("model"));
-            System.out.println("  Temperature: " + cpu.get("temperatureFormatted"));
-            if (cpu.containsKey("voltage")) {
-                System.out.println("  Voltage: " + cpu.get("voltageFormatted"));
-            }
+        System.out.println("CPU: " + snapshot.getCpuModel());
+        System.out.println("  Temperature: " + FormatUtil.formatTemperature(snapshot.getCpuTemperature()));
+        if (snapshot.getCpuVoltage() > 0) {
+            System.out.println("  Voltage: " + String.format("%.2f V", snapshot.getCpuVoltage()));
         }
         
         // Fan speeds
-        if (temperatureInfo.containsKey("fans")) {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> fans = (List<Map<String, Object>>) temperatureInfo.get("fans");
+        if (snapshot.getFanCount() > 0) {
             System.out.println("Fans:");
-            for (Map<String, Object> fan : fans) {
-                System.out.println("  Fan #" + fan.get("id") + ": " + fan.get("rpmFormatted"));
+            for (int i = 0; i < snapshot.getFanCount(); i++) {
+                System.out.println("  Fan #" + (i + 1) + ": " + snapshot.getFanSpeed(i) + " RPM");
             }
         } else {
             System.out.println("Fans: No data available");
         }
         
         // GPU temperatures
-        if (temperatureInfo.containsKey("gpus")) {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> gpus = (List<Map<String, Object>>) temperatureInfo.get("gpus");
+        if (!snapshot.getGpus().isEmpty()) {
             System.out.println("GPUs:");
-            for (Map<String, Object> gpu : gpus) {
-                System.out.println("  " + gpu.get("name") + ": " + gpu.get("temperatureFormatted"));
+            for (GpuTemperature gpu : snapshot.getGpus()) {
+                System.out.println("  " + gpu.getName() + ": " + FormatUtil.formatTemperature(gpu.getTemperature()));
             }
         }
         
         System.out.println();
     }
     
-    public synchronized Map<String, Object> getTemperatureInfo() {
-        // Create a deep copy to avoid concurrent modification
-        Map<String, Object> copy = new HashMap<>(temperatureInfo);
-        return copy;
+    /**
+     * Temperatures as of the last collection, or null before the first one.
+     */
+    public TemperatureSnapshot getSnapshot() {
+        return snapshot;
     }
     
     public double getCpuTemperature() {
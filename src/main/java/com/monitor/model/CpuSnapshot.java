@@ -0,0 +1,60 @@
+package com.monitor.model;
+
+import oshi.hardware.CentralProcessor.TickType;
+
+/**
+ * CPU usage over the last collection interval.
+ *
+ * Per-core values are stored column-wise: {@code coreStatePercent[core * TickType.values().length + tick]}.
+ */
+public final class CpuSnapshot {
+    private static final int TICK_TYPES = TickType.values().length;
+
+    private final double usage;
+    private final int cores;
+    private final double[] statePercent;
+    private final double[] coreUsage;
+    private final double[] coreStatePercent;
+
+    /**
+     * The arrays are owned by the snapshot; callers must pass copies.
+     */
+    public CpuSnapshot(double usage, int cores, double[] statePercent,
+                       double[] coreUsage, double[] coreStatePercent) {
+        this.usage = usage;
+        this.cores = cores;
+        this.statePercent = statePercent;
+        this.coreUsage = coreUsage;
+        this.coreStatePercent = coreStatePercent;
+    }
+
+    public double getUsage() {
+        return usage;
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    /**
+     * Aggregate share of one CPU state in percent.
+     */
+    public double getStatePercent(TickType type) {
+        return statePercent[type.getIndex()];
+    }
+
+    /**
+     * Number of logical processors with per-core data.
+     */
+    public int getCoreCount() {
+        return coreUsage.length;
+    }
+
+    public double getCoreUsage(int core) {
+        return coreUsage[core];
+    }
+
+    public double getCoreStatePercent(int core, TickType type) {
+        return coreStatePercent[core * TICK_TYPES + type.getIndex()];
+    }
+}
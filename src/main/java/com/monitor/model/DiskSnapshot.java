@@ -0,0 +1,86 @@
+package com.monitor.model;
+
+import java.util.List;
+
+/**
+ * A physical disk with its I/O counters and rates.
+ */
+public final class DiskSnapshot {
+    private final String name;
+    private final String model;
+    private final String serial;
+    private final long size;
+    private final long reads;
+    private final long writes;
+    private final long readBytes;
+    private final long writeBytes;
+    private final long readRate;
+    private final long writeRate;
+    private final List<PartitionSnapshot> partitions;
+
+    public DiskSnapshot(String name, String model, String serial, long size,
+                        long reads, long writes, long readBytes, long writeBytes,
+                        long readRate, long writeRate, List<PartitionSnapshot> partitions) {
+        this.name = name;
+        this.model = model;
+        this.serial = serial;
+        this.size = size;
+        this.reads = reads;
+        this.writes = writes;
+        this.readBytes = readBytes;
+        this.writeBytes = writeBytes;
+        this.readRate = readRate;
+        this.writeRate = writeRate;
+        this.partitions = partitions;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getSerial() {
+        return serial;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getReads() {
+        return reads;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    public long getReadBytes() {
+        return readBytes;
+    }
+
+    public long getWriteBytes() {
+        return writeBytes;
+    }
+
+    /**
+     * Read rate in bytes per second.
+     */
+    public long getReadRate() {
+        return readRate;
+    }
+
+    /**
+     * Write rate in bytes per second.
+     */
+    public long getWriteRate() {
+        return writeRate;
+    }
+
+    public List<PartitionSnapshot> getPartitions() {
+        return partitions;
+    }
+}
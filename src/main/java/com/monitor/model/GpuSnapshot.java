@@ -0,0 +1,77 @@
+package com.monitor.model;
+
+/**
+ * A graphics card. Usage, memory and temperature are simulated because OSHI
+ * does not expose them (see {@link com.monitor.metrics.GpuMetrics}).
+ */
+public final class GpuSnapshot {
+    private final String name;
+    private final String vendor;
+    private final String deviceId;
+    private final String versionInfo;
+    private final double usage;
+    private final long totalMemory;
+    private final long usedMemory;
+    private final double memoryUsage;
+    private final double temperature;
+    private final boolean simulated;
+
+    public GpuSnapshot(String name, String vendor, String deviceId, String versionInfo, double usage,
+                       long totalMemory, long usedMemory, double memoryUsage, double temperature,
+                       boolean simulated) {
+        this.name = name;
+        this.vendor = vendor;
+        this.deviceId = deviceId;
+        this.versionInfo = versionInfo;
+        this.usage = usage;
+        this.totalMemory = totalMemory;
+        this.usedMemory = usedMemory;
+        this.memoryUsage = memoryUsage;
+        this.temperature = temperature;
+        this.simulated = simulated;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public String getVersionInfo() {
+        return versionInfo;
+    }
+
+    public double getUsage() {
+        return usage;
+    }
+
+    public long getTotalMemory() {
+        return totalMemory;
+    }
+
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    public long getFreeMemory() {
+        return totalMemory - usedMemory;
+    }
+
+    public double getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public boolean isSimulated() {
+        return simulated;
+    }
+}
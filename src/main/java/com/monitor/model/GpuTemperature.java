@@ -0,0 +1,34 @@
+package com.monitor.model;
+
+/**
+ * Estimated temperature of one graphics card.
+ */
+public final class GpuTemperature {
+    private final String name;
+    private final String vendor;
+    private final String deviceId;
+    private final double temperature;
+
+    public GpuTemperature(String name, String vendor, String deviceId, double temperature) {
+        this.name = name;
+        this.vendor = vendor;
+        this.deviceId = deviceId;
+        this.temperature = temperature;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+}
@@ -0,0 +1,111 @@
+package com.monitor.model;
+
+import java.util.List;
+
+/**
+ * A network interface with its traffic counters and transfer rates.
+ */
+public final class InterfaceSnapshot {
+    private final String name;
+    private final String displayName;
+    private final String macAddress;
+    private final long mtu;
+    private final long speed;
+    private final boolean connected;
+    private final List<String> ipv4Addresses;
+    private final List<String> ipv6Addresses;
+    private final long packetsRecv;
+    private final long packetsSent;
+    private final long bytesRecv;
+    private final long bytesSent;
+    private final long downloadRate;
+    private final long uploadRate;
+    private final boolean limitedAccess;
+
+    /**
+     * @param speed Link speed in bits per second, 0 if unknown
+     * @param downloadRate Receive rate in bytes per second
+     * @param uploadRate Send rate in bytes per second
+     * @param limitedAccess True when traffic counters are unavailable without elevated permissions
+     */
+    public InterfaceSnapshot(String name, String displayName, String macAddress, long mtu, long speed,
+                             boolean connected, List<String> ipv4Addresses, List<String> ipv6Addresses,
+                             long packetsRecv, long packetsSent, long bytesRecv, long bytesSent,
+                             long downloadRate, long uploadRate, boolean limitedAccess) {
+        this.name = name;
+        this.displayName = displayName;
+        this.macAddress = macAddress;
+        this.mtu = mtu;
+        this.speed = speed;
+        this.connected = connected;
+        this.ipv4Addresses = ipv4Addresses;
+        this.ipv6Addresses = ipv6Addresses;
+        this.packetsRecv = packetsRecv;
+        this.packetsSent = packetsSent;
+        this.bytesRecv = bytesRecv;
+        this.bytesSent = bytesSent;
+        this.downloadRate = downloadRate;
+        this.uploadRate = uploadRate;
+        this.limitedAccess = limitedAccess;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getMacAddress() {
+        return macAddress;
+    }
+
+    public long getMtu() {
+        return mtu;
+    }
+
+    public long getSpeed() {
+        return speed;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public List<String> getIpv4Addresses() {
+        return ipv4Addresses;
+    }
+
+    public List<String> getIpv6Addresses() {
+        return ipv6Addresses;
+    }
+
+    public long getPacketsRecv() {
+        return packetsRecv;
+    }
+
+    public long getPacketsSent() {
+        return packetsSent;
+    }
+
+    public long getBytesRecv() {
+        return bytesRecv;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getDownloadRate() {
+        return downloadRate;
+    }
+
+    public long getUploadRate() {
+        return uploadRate;
+    }
+
+    public boolean isLimitedAccess() {
+        return limitedAccess;
+    }
+}
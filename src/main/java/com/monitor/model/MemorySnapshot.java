@@ -0,0 +1,30 @@
+package com.monitor.model;
+
+/**
+ * Physical memory usage.
+ */
+public final class MemorySnapshot {
+    private final long total;
+    private final long available;
+
+    public MemorySnapshot(long total, long available) {
+        this.total = total;
+        this.available = available;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getAvailable() {
+        return available;
+    }
+
+    public long getUsed() {
+        return total - available;
+    }
+
+    public double getUsage() {
+        return total > 0 ? 100.0 * getUsed() / total : 0.0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.monitor.model;
+
+import java.util.List;
+
+/**
+ * Host network parameters, protocol counters and the list of interfaces.
+ */
+public final class NetworkSnapshot {
+    private final String hostname;
+    private final String domain;
+    private final List<String> dnsServers;
+    private final String ipv4DefaultGateway;
+    private final String ipv6DefaultGateway;
+    private final TcpSnapshot tcp;
+    private final UdpSnapshot udp;
+    private final List<InterfaceSnapshot> interfaces;
+
+    /**
+     * @param tcp TCP counters, or null if unavailable
+     * @param udp UDP counters, or null if unavailable
+     */
+    public NetworkSnapshot(String hostname, String domain, List<String> dnsServers,
+                           String ipv4DefaultGateway, String ipv6DefaultGateway,
+                           TcpSnapshot tcp, UdpSnapshot udp, List<InterfaceSnapshot> interfaces) {
+        this.hostname = hostname;
+        this.domain = domain;
+        this.dnsServers = dnsServers;
+        this.ipv4DefaultGateway = ipv4DefaultGateway;
+        this.ipv6DefaultGateway = ipv6DefaultGateway;
+        this.tcp = tcp;
+        this.udp = udp;
+        this.interfaces = interfaces;
+    }
+
+    public String getHostname() {
+        return hostname;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public List<String> getDnsServers() {
+        return dnsServers;
+    }
+
+    public String getIpv4DefaultGateway() {
+        return ipv4DefaultGateway;
+    }
+
+    public String getIpv6DefaultGateway() {
+        return ipv6DefaultGateway;
+    }
+
+    public TcpSnapshot getTcp() {
+        return tcp;
+    }
+
+    public UdpSnapshot getUdp() {
+        return udp;
+    }
+
+    public List<InterfaceSnapshot> getInterfaces() {
+        return interfaces;
+    }
+}
@@ -0,0 +1,72 @@
+package com.monitor.model;
+
+/**
+ * A disk partition and, when it is mounted, the space on its file system.
+ */
+public final class PartitionSnapshot {
+    private final String identification;
+    private final String name;
+    private final String type;
+    private final String mountPoint;
+    private final long size;
+    private final boolean mounted;
+    private final long totalSpace;
+    private final long freeSpace;
+    private final long usableSpace;
+
+    public PartitionSnapshot(String identification, String name, String type, String mountPoint, long size,
+                             boolean mounted, long totalSpace, long freeSpace, long usableSpace) {
+        this.identification = identification;
+        this.name = name;
+        this.type = type;
+        this.mountPoint = mountPoint;
+        this.size = size;
+        this.mounted = mounted;
+        this.totalSpace = totalSpace;
+        this.freeSpace = freeSpace;
+        this.usableSpace = usableSpace;
+    }
+
+    public String getIdentification() {
+        return identification;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getMountPoint() {
+        return mountPoint;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Whether the file system space values are available.
+     */
+    public boolean isMounted() {
+        return mounted;
+    }
+
+    public long getTotalSpace() {
+        return totalSpace;
+    }
+
+    public long getFreeSpace() {
+        return freeSpace;
+    }
+
+    public long getUsableSpace() {
+        return usableSpace;
+    }
+
+    public double getUsedPercent() {
+        return totalSpace > 0 ? 100.0 * (totalSpace - freeSpace) / totalSpace : 0.0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.monitor.model;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The processes section: the top processes by memory, which is what the list
+ * itself holds and serializes as, plus the top processes by every other
+ * {@link ProcessRanking} from the same cycle.
+ */
+public final class ProcessList extends AbstractList<ProcessSnapshot> {
+    private final Map<ProcessRanking, List<ProcessSnapshot>> rankings;
+    private final List<ProcessSnapshot> top;
+    private final int rankingSize;
+
+    /**
+     * @param rankings    up to rankingSize processes per ranking, largest first; owned by the list
+     * @param displayCount number of processes by memory the list itself holds
+     */
+    public ProcessList(Map<ProcessRanking, List<ProcessSnapshot>> rankings, int rankingSize, int displayCount) {
+        this.rankings = new EnumMap<>(ProcessRanking.class);
+        this.rankings.putAll(rankings);
+        this.rankingSize = rankingSize;
+        List<ProcessSnapshot> byMemory = ranking(ProcessRanking.MEMORY);
+        this.top = byMemory.subList(0, Math.min(displayCount, byMemory.size()));
+    }
+
+    public static ProcessList empty() {
+        return new ProcessList(Collections.emptyMap(), 0, 0);
+    }
+
+    @Override
+    public ProcessSnapshot get(int index) {
+        return top.get(index);
+    }
+
+    @Override
+    public int size() {
+        return top.size();
+    }
+
+    /**
+     * Largest number of processes kept per ranking.
+     */
+    public int getRankingSize() {
+        return rankingSize;
+    }
+
+    /**
+     * Up to limit processes by the given ranking, largest first.
+     */
+    public List<ProcessSnapshot> getRanking(ProcessRanking ranking, int limit) {
+        List<ProcessSnapshot> processes = ranking(ranking);
+        return processes.subList(0, Math.min(Math.max(limit, 0), processes.size()));
+    }
+
+    private List<ProcessSnapshot> ranking(ProcessRanking ranking) {
+        List<ProcessSnapshot> processes = rankings.get(ranking);
+        return processes != null ? Collections.unmodifiableList(processes) : Collections.emptyList();
+    }
+}
@@ -0,0 +1,36 @@
+package com.monitor.model;
+
+/**
+ * Orders by which the top processes are ranked, largest first.
+ */
+public enum ProcessRanking {
+    CPU("cpu"),
+    MEMORY("memory"),
+    THREADS("threads"),
+    IO("io");
+
+    private final String key;
+
+    ProcessRanking(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name used in the API, e.g. "cpu" in /api/processes?sort=cpu.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The ranking with the given API name, or null if there is none.
+     */
+    public static ProcessRanking fromKey(String key) {
+        for (ProcessRanking ranking : values()) {
+            if (ranking.key.equalsIgnoreCase(key)) {
+                return ranking;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.monitor.model;
+
+/**
+ * One entry of a top process list.
+ */
+public final class ProcessSnapshot {
+    private final int pid;
+    private final String name;
+    private final long residentMemory;
+    private final double cpu;
+    private final int threads;
+    private final long ioRate;
+
+    public ProcessSnapshot(int pid, String name, long residentMemory, double cpu, int threads, long ioRate) {
+        this.pid = pid;
+        this.name = name;
+        this.residentMemory = residentMemory;
+        this.cpu = cpu;
+        this.threads = threads;
+        this.ioRate = ioRate;
+    }
+
+    public int getPid() {
+        return pid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Resident set size in bytes.
+     */
+    public long getResidentMemory() {
+        return residentMemory;
+    }
+
+    /**
+     * CPU usage in percent.
+     */
+    public double getCpu() {
+        return cpu;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Bytes read plus bytes written per second over the last interval.
+     */
+    public long getIoRate() {
+        return ioRate;
+    }
+}
@@ -0,0 +1,70 @@
+package com.monitor.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Host and collection pipeline status published with every snapshot.
+ */
+public final class SystemStatus {
+    private final String os;
+    private final int refreshRate;
+    private final long timestamp;
+    private final long sequence;
+    private final boolean runningWithSudo;
+    private final List<String> stale;
+    private final Map<String, Long> collectionMillis;
+    private final Map<String, Long> updated;
+
+    /**
+     * @param stale Sections whose collector failed or is over its time budget
+     * @param collectionMillis Duration of the last collection per section
+     * @param updated Epoch millis of the last successful collection per section
+     */
+    public SystemStatus(String os, int refreshRate, long timestamp, long sequence, boolean runningWithSudo,
+                        List<String> stale, Map<String, Long> collectionMillis, Map<String, Long> updated) {
+        this.os = os;
+        this.refreshRate = refreshRate;
+        this.timestamp = timestamp;
+        this.sequence = sequence;
+        this.runningWithSudo = runningWithSudo;
+        this.stale = stale;
+        this.collectionMillis = collectionMillis;
+        this.updated = updated;
+    }
+
+    public String getOs() {
+        return os;
+    }
+
+    /**
+     * Refresh rate in seconds.
+     */
+    public int getRefreshRate() {
+        return refreshRate;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public boolean isRunningWithSudo() {
+        return runningWithSudo;
+    }
+
+    public List<String> getStale() {
+        return stale;
+    }
+
+    public Map<String, Long> getCollectionMillis() {
+        return collectionMillis;
+    }
+
+    public Map<String, Long> getUpdated() {
+        return updated;
+    }
+}
@@ -0,0 +1,66 @@
+package com.monitor.model;
+
+/**
+ * TCPv4 counters.
+ */
+public final class TcpSnapshot {
+    private final long connectionsActive;
+    private final long connectionsPassive;
+    private final long connectionFailures;
+    private final long connectionsEstablished;
+    private final long segmentsSent;
+    private final long segmentsReceived;
+    private final long segmentsRetransmitted;
+    private final long inErrors;
+    private final long outResets;
+
+    public TcpSnapshot(long connectionsActive, long connectionsPassive, long connectionFailures,
+                       long connectionsEstablished, long segmentsSent, long segmentsReceived,
+                       long segmentsRetransmitted, long inErrors, long outResets) {
+        this.connectionsActive = connectionsActive;
+        this.connectionsPassive = connectionsPassive;
+        this.connectionFailures = connectionFailures;
+        this.connectionsEstablished = connectionsEstablished;
+        this.segmentsSent = segmentsSent;
+        this.segmentsReceived = segmentsReceived;
+        this.segmentsRetransmitted = segmentsRetransmitted;
+        this.inErrors = inErrors;
+        this.outResets = outResets;
+    }
+
+    public long getConnectionsActive() {
+        return connectionsActive;
+    }
+
+    public long getConnectionsPassive() {
+        return connectionsPassive;
+    }
+
+    public long getConnectionFailures() {
+        return connectionFailures;
+    }
+
+    public long getConnectionsEstablished() {
+        return connectionsEstablished;
+    }
+
+    public long getSegmentsSent() {
+        return segmentsSent;
+    }
+
+    public long getSegmentsReceived() {
+        return segmentsReceived;
+    }
+
+    public long getSegmentsRetransmitted() {
+        return segmentsRetransmitted;
+    }
+
+    public long getInErrors() {
+        return inErrors;
+    }
+
+    public long getOutResets() {
+        return outResets;
+    }
+}
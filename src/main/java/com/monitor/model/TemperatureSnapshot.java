@@ -0,0 +1,83 @@
+package com.monitor.model;
+
+import java.util.List;
+
+/**
+ * CPU temperature and voltage, fan speeds and GPU temperatures.
+ */
+public final class TemperatureSnapshot {
+    private final double cpuTemperature;
+    private final boolean cpuSimulated;
+    private final double cpuVoltage;
+    private final String cpuVendor;
+    private final String cpuModel;
+    private final int physicalPackages;
+    private final int physicalCores;
+    private final int logicalCores;
+    private final int[] fanSpeeds;
+    private final List<GpuTemperature> gpus;
+
+    /**
+     * @param cpuVoltage CPU voltage, 0 if unavailable
+     * @param fanSpeeds Fan speeds in RPM; the array is owned by the snapshot
+     */
+    public TemperatureSnapshot(double cpuTemperature, boolean cpuSimulated, double cpuVoltage,
+                               String cpuVendor, String cpuModel, int physicalPackages,
+                               int physicalCores, int logicalCores, int[] fanSpeeds,
+                               List<GpuTemperature> gpus) {
+        this.cpuTemperature = cpuTemperature;
+        this.cpuSimulated = cpuSimulated;
+        this.cpuVoltage = cpuVoltage;
+        this.cpuVendor = cpuVendor;
+        this.cpuModel = cpuModel;
+        this.physicalPackages = physicalPackages;
+        this.physicalCores = physicalCores;
+        this.logicalCores = logicalCores;
+        this.fanSpeeds = fanSpeeds;
+        this.gpus = gpus;
+    }
+
+    public double getCpuTemperature() {
+        return cpuTemperature;
+    }
+
+    public boolean isCpuSimulated() {
+        return cpuSimulated;
+    }
+
+    public double getCpuVoltage() {
+        return cpuVoltage;
+    }
+
+    public String getCpuVendor() {
+        return cpuVendor;
+    }
+
+    public String getCpuModel() {
+        return cpuModel;
+    }
+
+    public int getPhysicalPackages() {
+        return physicalPackages;
+    }
+
+    public int getPhysicalCores() {
+        return physicalCores;
+    }
+
+    public int getLogicalCores() {
+        return logicalCores;
+    }
+
+    public int getFanCount() {
+        return fanSpeeds.length;
+    }
+
+    public int getFanSpeed(int fan) {
+        return fanSpeeds[fan];
+    }
+
+    public List<GpuTemperature> getGpus() {
+        return gpus;
+    }
+}
@@ -0,0 +1,35 @@
+package com.monitor.model;
+
+/**
+ * UDPv4 counters.
+ */
+public final class UdpSnapshot {
+    private final long datagramsSent;
+    private final long datagramsReceived;
+    private final long datagramsNoPort;
+    private final long datagramsReceivedErrors;
+
+    public UdpSnapshot(long datagramsSent, long datagramsReceived, long datagramsNoPort,
+                       long datagramsReceivedErrors) {
+        this.datagramsSent = datagramsSent;
+        this.datagramsReceived = datagramsReceived;
+        this.datagramsNoPort = datagramsNoPort;
+        this.datagramsReceivedErrors = datagramsReceivedErrors;
+    }
+
+    public long getDatagramsSent() {
+        return datagramsSent;
+    }
+
+    public long getDatagramsReceived() {
+        return datagramsReceived;
+    }
+
+    public long getDatagramsNoPort() {
+        return datagramsNoPort;
+    }
+
+    public long getDatagramsReceivedErrors() {
+        return datagramsReceivedErrors;
+    }
+}
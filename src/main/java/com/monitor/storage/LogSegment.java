@@ -0,0 +1,212 @@
+package com.monitor.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * One segment file of the metric log: a 32-byte header followed by fixed-size
+ * 24-byte records.
+ *
+ * Header: magic, format version, record size, reserved, creation time, reserved.
+ * Record: timestamp (long), series id (int), value (double), CRC32 of the
+ * preceding 20 bytes (int).
+ */
+final class LogSegment {
+    static final int MAGIC = 0x534D4C47; // "SMLG"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 24;
+    static final String PREFIX = "metrics-";
+    static final String SUFFIX = ".seg";
+
+    private final Path path;
+    private final long sequence;
+    private final long createdMillis;
+    private long records;
+    private long lastTimestamp;
+    private FileChannel channel; // open while the segment is being appended to
+
+    private LogSegment(Path path, long sequence, long createdMillis) {
+        this.path = path;
+        this.sequence = sequence;
+        this.createdMillis = createdMillis;
+    }
+
+    static String fileName(long sequence) {
+        return String.format("%s%010d%s", PREFIX, sequence, SUFFIX);
+    }
+
+    /**
+     * Sequence number from a segment file name, or -1 if it isn't one.
+     */
+    static long parseSequence(String fileName) {
+        if (!fileName.startsWith(PREFIX) || !fileName.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Create a new segment and keep it open for appending.
+     */
+    static LogSegment create(Path directory, long sequence, long createdMillis) throws IOException {
+        LogSegment segment = new LogSegment(directory.resolve(fileName(sequence)), sequence, createdMillis);
+        segment.channel = FileChannel.open(segment.path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0).putLong(createdMillis).putLong(0);
+        header.flip();
+        while (header.hasRemaining()) {
+            segment.channel.write(header);
+        }
+        return segment;
+    }
+
+    /**
+     * Open an existing segment after a restart: validate its header and cut off
+     * a torn tail, i.e. a partial record or trailing records whose checksum
+     * doesn't match, left by a crash in the middle of a write.
+     *
+     * @return the segment, or null if the header is missing or invalid
+     */
+    static LogSegment recover(Path path, long sequence) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long createdMillis = readHeader(file);
+            if (createdMillis < 0) {
+                return null;
+            }
+            LogSegment segment = new LogSegment(path, sequence, createdMillis);
+
+            long records = (file.size() - HEADER_SIZE) / RECORD_SIZE;
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            CRC32 crc = new CRC32();
+            while (records > 0) {
+                record.clear();
+                readFully(file, record, HEADER_SIZE + (records - 1) * RECORD_SIZE);
+                record.flip();
+                if (isValid(record, crc)) {
+                    segment.lastTimestamp = record.getLong(0);
+                    break;
+                }
+                records--;
+            }
+
+            long validSize = HEADER_SIZE + records * RECORD_SIZE;
+            if (file.size() > validSize) {
+                System.err.println("Truncating torn tail of " + path.getFileName() + ": "
+                        + (file.size() - validSize) + " bytes");
+                file.truncate(validSize);
+                file.force(true);
+            }
+            segment.records = records;
+            return segment;
+        }
+    }
+
+    /**
+     * Validate the header of a segment file.
+     *
+     * @return the segment's creation time, or -1 if the header is missing or invalid
+     */
+    static long readHeader(FileChannel file) throws IOException {
+        if (file.size() < HEADER_SIZE) {
+            return -1;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(file, header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != RECORD_SIZE) {
+            return -1;
+        }
+        header.getInt();
+        return header.getLong();
+    }
+
+    private static void readFully(FileChannel file, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (file.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of segment");
+            }
+        }
+    }
+
+    /**
+     * Append one encoded record to the buffer.
+     */
+    static void encode(ByteBuffer buffer, long timestamp, int seriesId, double value, CRC32 crc) {
+        int start = buffer.position();
+        buffer.putLong(timestamp).putInt(seriesId).putDouble(value);
+        crc.reset();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, RECORD_SIZE - 4);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Check the checksum of the record at the buffer's position.
+     */
+    static boolean isValid(ByteBuffer buffer, CRC32 crc) {
+        int start = buffer.position();
+        crc.reset();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, RECORD_SIZE - 4);
+        return buffer.getInt(start + RECORD_SIZE - 4) == (int) crc.getValue();
+    }
+
+    /**
+     * Write encoded records, from the buffer's position to its limit, at the end of the segment.
+     */
+    void append(ByteBuffer encoded, int recordCount, long newestTimestamp) throws IOException {
+        while (encoded.hasRemaining()) {
+            channel.write(encoded);
+        }
+        records += recordCount;
+        lastTimestamp = Math.max(lastTimestamp, newestTimestamp);
+    }
+
+    void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    long getRecords() {
+        return records;
+    }
+
+    /**
+     * Timestamp of the newest record, 0 if the segment is empty.
+     */
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    long getSizeBytes() {
+        return HEADER_SIZE + records * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,473 @@
+package com.monitor.storage;
+
+import com.monitor.history.SampleSink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only on-disk log of history samples, so history survives a restart.
+ *
+ * Samples are handed over through {@link #accept} into a bounded in-memory queue
+ * and written by a single background thread, so recording never waits on disk
+ * I/O; when the queue is full the sample is dropped and counted. Records go into
+ * fixed-size {@link LogSegment} files that roll by size or age, are forced to
+ * disk periodically, and are deleted once older than the retention or beyond
+ * the size limit. Series names are stored once, in a dictionary file mapping
+ * them to the int ids used in records.
+ *
+ * On open the segment headers are scanned to rebuild the segment index and torn
+ * tails left by a crash are truncated; {@link #replay} then feeds the retained
+ * samples back into the history.
+ */
+public class MetricLog implements SampleSink, Closeable {
+    static final String DICTIONARY_FILE = "series.dict";
+
+    // Records written per batch
+    private static final int BATCH_SIZE = 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long segmentMillis;
+    private final long retentionMillis;
+    private final long maxBytes;
+    private final long fsyncMillis;
+
+    // Series ids; new ids wait in pendingNames until the writer has stored them
+    private final Map<String, Integer> seriesIds = new ConcurrentHashMap<>();
+    private final List<String> seriesNames = new ArrayList<>();
+    private final List<String> pendingNames = new ArrayList<>();
+
+    // Queue of samples waiting to be written, as a ring over primitive arrays
+    private final long[] queueTimestamps;
+    private final int[] queueIds;
+    private final double[] queueValues;
+    private int queueHead;
+    private int queueSize;
+    private long dropped;
+
+    private final List<LogSegment> segments = new ArrayList<>();
+    private final ByteBuffer batch = ByteBuffer.allocate(BATCH_SIZE * LogSegment.RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+    private FileChannel dictionary;
+    private LogSegment active;
+    private long nextSequence;
+    private long lastForce;
+    private Thread writer;
+    private volatile boolean running;
+
+    /**
+     * Open the log in the directory, recovering any segments already there.
+     *
+     * @param segmentSize Bytes after which the active segment is rolled
+     * @param segmentDuration Age after which the active segment is rolled
+     * @param retention Segments whose newest record is older than this are deleted
+     * @param maxBytes Oldest segments are deleted while the log is larger than this
+     * @param fsyncInterval How often written records are forced to disk
+     * @param queueCapacity Samples buffered for the writer before new ones are dropped
+     */
+    public MetricLog(Path directory, long segmentSize, Duration segmentDuration, Duration retention,
+                     long maxBytes, Duration fsyncInterval, int queueCapacity) throws IOException {
+        this.directory = directory;
+        this.segmentSize = Math.max(segmentSize, LogSegment.HEADER_SIZE + LogSegment.RECORD_SIZE);
+        this.segmentMillis = segmentDuration.toMillis();
+        this.retentionMillis = retention.toMillis();
+        this.maxBytes = maxBytes;
+        this.fsyncMillis = fsyncInterval.toMillis();
+        this.queueTimestamps = new long[queueCapacity];
+        this.queueIds = new int[queueCapacity];
+        this.queueValues = new double[queueCapacity];
+
+        Files.createDirectories(directory);
+        openDictionary();
+        recoverSegments();
+    }
+
+    /**
+     * Start the writer thread. Samples accepted before this are queued.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "metric-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue a sample for writing; never blocks on I/O.
+     */
+    @Override
+    public void accept(String series, long timestamp, double value) {
+        Integer id = seriesIds.get(series);
+        if (id == null) {
+            id = defineSeries(series);
+        }
+        synchronized (queueTimestamps) {
+            if (queueSize == queueTimestamps.length) {
+                dropped++;
+                return;
+            }
+            int tail = (queueHead + queueSize) % queueTimestamps.length;
+            queueTimestamps[tail] = timestamp;
+            queueIds[tail] = id;
+            queueValues[tail] = value;
+            queueSize++;
+        }
+    }
+
+    private int defineSeries(String series) {
+        synchronized (seriesNames) {
+            Integer id = seriesIds.get(series);
+            if (id == null) {
+                id = seriesNames.size();
+                seriesNames.add(series);
+                pendingNames.add(series);
+                seriesIds.put(series, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Feed every retained sample, oldest segment first, to the sink.
+     *
+     * @return the number of samples replayed
+     */
+    public long replay(SampleSink sink) throws IOException {
+        List<String> names;
+        List<LogSegment> toReplay;
+        synchronized (seriesNames) {
+            names = new ArrayList<>(seriesNames);
+        }
+        synchronized (segments) {
+            toReplay = new ArrayList<>(segments);
+        }
+
+        long replayed = 0;
+        for (LogSegment segment : toReplay) {
+            if (segment != active) {
+                replayed += replaySegment(segment.getPath(), segment.getSizeBytes(), names, sink);
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Feed every sample of the log in a directory to the sink without opening
+     * it for writing: nothing is created, truncated or deleted, so this is safe
+     * while the application is running. Torn records are skipped.
+     *
+     * @return the number of samples read
+     */
+    public static long read(Path directory, SampleSink sink) throws IOException {
+        List<String> names = new ArrayList<>();
+        Path dictionaryPath = directory.resolve(DICTIONARY_FILE);
+        if (Files.exists(dictionaryPath)) {
+            parseDictionary(Files.readAllBytes(dictionaryPath), names);
+        }
+
+        long read = 0;
+        for (Path path : listSegments(directory).values()) {
+            long end;
+            try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (LogSegment.readHeader(file) < 0) {
+                    continue;
+                }
+                long records = (file.size() - LogSegment.HEADER_SIZE) / LogSegment.RECORD_SIZE;
+                end = LogSegment.HEADER_SIZE + records * LogSegment.RECORD_SIZE;
+            }
+            read += replaySegment(path, end, names, sink);
+        }
+        return read;
+    }
+
+    private static long replaySegment(Path path, long end, List<String> names, SampleSink sink) throws IOException {
+        long replayed = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(BATCH_SIZE * LogSegment.RECORD_SIZE);
+        CRC32 check = new CRC32();
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = LogSegment.HEADER_SIZE;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int read = file.read(buffer, position);
+                int usable = read - read % LogSegment.RECORD_SIZE;
+                if (usable <= 0) {
+                    break;
+                }
+                for (int offset = 0; offset < usable; offset += LogSegment.RECORD_SIZE) {
+                    buffer.position(offset);
+                    int id = buffer.getInt(offset + 8);
+                    if (!LogSegment.isValid(buffer, check) || id < 0 || id >= names.size()) {
+                        continue;
+                    }
+                    sink.accept(names.get(id), buffer.getLong(offset), buffer.getDouble(offset + 12));
+                    replayed++;
+                }
+                position += usable;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Stop the writer, write out whatever is still queued and close the files.
+     */
+    @Override
+    public void close() throws IOException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = writer;
+            writer = null;
+        }
+        if (current != null) {
+            // Not interrupted: that would close the channels mid-write
+            try {
+                current.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (segments) {
+            flush();
+            if (active != null) {
+                active.close();
+            }
+            dictionary.close();
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                boolean wrote;
+                synchronized (segments) {
+                    wrote = flush();
+                    if (now - lastForce >= fsyncMillis) {
+                        active.force();
+                        lastForce = now;
+                    }
+                    if (active.getSizeBytes() >= segmentSize || now - active.getCreatedMillis() >= segmentMillis) {
+                        roll(now);
+                    }
+                    enforceRetention(now);
+                }
+                if (!wrote) {
+                    Thread.sleep(100);
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (IOException e) {
+                System.err.println("Error writing metric log: " + e.getMessage());
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Write queued samples to the active segment, new series names first.
+     *
+     * @return whether anything was written
+     */
+    private boolean flush() throws IOException {
+        boolean wrote = false;
+        while (true) {
+            int count = 0;
+            long newest = 0;
+            batch.clear();
+            // Take the records before the names, so every id in the batch is already defined
+            synchronized (queueTimestamps) {
+                while (queueSize > 0 && count < BATCH_SIZE) {
+                    long timestamp = queueTimestamps[queueHead];
+                    LogSegment.encode(batch, timestamp, queueIds[queueHead], queueValues[queueHead], crc);
+                    newest = Math.max(newest, timestamp);
+                    queueHead = (queueHead + 1) % queueTimestamps.length;
+                    queueSize--;
+                    count++;
+                }
+            }
+            writePendingNames();
+            if (count == 0) {
+                return wrote;
+            }
+            batch.flip();
+            active.append(batch, count, newest);
+            wrote = true;
+        }
+    }
+
+    private void writePendingNames() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        synchronized (seriesNames) {
+            for (String name : pendingNames) {
+                lines.append(seriesIds.get(name)).append('\t').append(name).append('\n');
+            }
+            pendingNames.clear();
+        }
+        if (lines.length() == 0) {
+            return;
+        }
+        ByteBuffer encoded = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (encoded.hasRemaining()) {
+            dictionary.write(encoded);
+        }
+        // Names must be durable before any record that refers to them
+        dictionary.force(false);
+    }
+
+    private void roll(long now) throws IOException {
+        active.close();
+        active = LogSegment.create(directory, nextSequence++, now);
+        segments.add(active);
+    }
+
+    private void enforceRetention(long now) throws IOException {
+        long total = 0;
+        for (LogSegment segment : segments) {
+            total += segment.getSizeBytes();
+        }
+        // Segments are oldest first and the active segment is always last
+        while (segments.size() > 1) {
+            LogSegment oldest = segments.get(0);
+            long newest = oldest.getRecords() > 0 ? oldest.getLastTimestamp() : oldest.getCreatedMillis();
+            if (now - newest <= retentionMillis && total <= maxBytes) {
+                break;
+            }
+            Files.deleteIfExists(oldest.getPath());
+            segments.remove(0);
+            total -= oldest.getSizeBytes();
+        }
+    }
+
+    private void openDictionary() throws IOException {
+        Path path = directory.resolve(DICTIONARY_FILE);
+        dictionary = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        byte[] content = Files.readAllBytes(path);
+        int complete = parseDictionary(content, seriesNames);
+        for (int id = 0; id < seriesNames.size(); id++) {
+            seriesIds.put(seriesNames.get(id), id);
+        }
+        // Cut off a partial last line so appends stay aligned
+        if (complete < content.length) {
+            dictionary.truncate(complete);
+        }
+        dictionary.position(complete);
+    }
+
+    /**
+     * Parse complete "id\tname" lines into names, indexed by id.
+     *
+     * @return the length of the complete lines; anything after is a torn write
+     */
+    private static int parseDictionary(byte[] content, List<String> names) {
+        int complete = 0;
+        int lineStart = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] != '\n') {
+                continue;
+            }
+            String line = new String(content, lineStart, i - lineStart, StandardCharsets.UTF_8);
+            lineStart = i + 1;
+            complete = lineStart;
+            int tab = line.indexOf('\t');
+            if (tab <= 0) {
+                continue;
+            }
+            try {
+                if (Integer.parseInt(line.substring(0, tab)) == names.size()) {
+                    names.add(line.substring(tab + 1));
+                }
+            } catch (NumberFormatException e) {
+                // Ignore the damaged line
+            }
+        }
+        return complete;
+    }
+
+    private void recoverSegments() throws IOException {
+        for (Map.Entry<Long, Path> file : listSegments(directory).entrySet()) {
+            // Never reuse a sequence number, not even one of a skipped file
+            nextSequence = file.getKey() + 1;
+            LogSegment segment = LogSegment.recover(file.getValue(), file.getKey());
+            if (segment == null) {
+                System.err.println("Skipping invalid metric log segment " + file.getValue().getFileName());
+                continue;
+            }
+            segments.add(segment);
+        }
+
+        // Recovered segments are only read; appends always go to a fresh segment
+        long now = System.currentTimeMillis();
+        active = LogSegment.create(directory, nextSequence++, now);
+        segments.add(active);
+        lastForce = now;
+    }
+
+    /**
+     * Segment files in the directory by sequence number, oldest first.
+     */
+    private static TreeMap<Long, Path> listSegments(Path directory) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, LogSegment.PREFIX + "*")) {
+            for (Path path : stream) {
+                long sequence = LogSegment.parseSequence(path.getFileName().toString());
+                if (sequence >= 0) {
+                    files.put(sequence, path);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Samples dropped because the writer fell behind.
+     */
+    public long getDroppedCount() {
+        synchronized (queueTimestamps) {
+            return dropped;
+        }
+    }
+
+    public int getSegmentCount() {
+        synchronized (segments) {
+            return segments.size();
+        }
+    }
+
+    /**
+     * Bytes held in segment files, excluding the dictionary.
+     */
+    public long getSizeBytes() {
+        synchronized (segments) {
+            long total = 0;
+            for (LogSegment segment : segments) {
+                total += segment.getSizeBytes();
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.monitor.synthetic;
+
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HWPartition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An NVMe drive with drifting read and write counters. Its partitions are
+ * mounted under /srv, which does not exist on the monitoring host, so they
+ * report no filesystem space.
+ */
+final class SyntheticDiskStore implements HWDiskStore {
+
+    private static final long SECTOR = 512;
+
+    private final SyntheticHost host;
+    private final String name;
+    private final String serial;
+    private final long size;
+    private final List<HWPartition> partitions;
+    private final double readRate;
+    private final double writeRate;
+    private final double readPhase;
+    private final double writePhase;
+    private final long averageRead;
+    private final long averageWrite;
+    private long timeStamp;
+
+    SyntheticDiskStore(SyntheticHost host, int index, int partitionCount, Random random) {
+        this.host = host;
+        this.name = "nvme" + index + "n1";
+        this.serial = String.format("SYN%08X", random.nextInt());
+        this.size = (1L + random.nextInt(8)) << 40;
+        this.readRate = 100 + random.nextInt(20_000);
+        this.writeRate = 100 + random.nextInt(10_000);
+        this.readPhase = random.nextDouble() * 2 * Math.PI;
+        this.writePhase = random.nextDouble() * 2 * Math.PI;
+        this.averageRead = SECTOR * (8 + random.nextInt(248));
+        this.averageWrite = SECTOR * (8 + random.nextInt(248));
+
+        List<HWPartition> list = new ArrayList<>(partitionCount);
+        long partitionSize = partitionCount > 0 ? size / partitionCount : 0;
+        for (int i = 1; i <= partitionCount; i++) {
+            String partition = name + "p" + i;
+            list.add(new HWPartition("/dev/" + partition, partition, "xfs",
+                    String.format("%08x-0000-4000-8000-%012x", index, i), partitionSize, 259, i, "/srv/" + partition));
+        }
+        this.partitions = Collections.unmodifiableList(list);
+        this.timeStamp = host.now();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getModel() {
+        return "Synthetic NVMe SSD";
+    }
+
+    @Override
+    public String getSerial() {
+        return serial;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public long getReads() {
+        return SyntheticHost.drift(0, readRate, readPhase, host.uptimeSeconds(host.now()));
+    }
+
+    @Override
+    public long getReadBytes() {
+        return getReads() * averageRead;
+    }
+
+    @Override
+    public long getWrites() {
+        return SyntheticHost.drift(0, writeRate, writePhase, host.uptimeSeconds(host.now()));
+    }
+
+    @Override
+    public long getWriteBytes() {
+        return getWrites() * averageWrite;
+    }
+
+    @Override
+    public long getCurrentQueueLength() {
+        return (long) SyntheticHost.wave(0, 32, readPhase, host.uptimeSeconds(host.now()));
+    }
+
+    @Override
+    public long getTransferTime() {
+        return SyntheticHost.drift(0, 200, writePhase, host.uptimeSeconds(host.now()));
+    }
+
+    @Override
+    public List<HWPartition> getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    public long getTimeStamp() {
+        return timeStamp;
+    }
+
+    @Override
+    public boolean updateAttributes() {
+        timeStamp = host.now();
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": (model: " + getModel() + " - S/N: " + serial + ") size: " + size;
+    }
+}
@@ -0,0 +1,147 @@
+package com.monitor.synthetic;
+
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HWPartition;
+import oshi.software.os.FileSystem;
+import oshi.software.os.OSFileStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One mounted xfs file store per partition of the synthetic disks, each
+ * between 10% and 90% full.
+ */
+final class SyntheticFileSystem implements FileSystem {
+
+    private static final long BYTES_PER_INODE = 16_384;
+
+    private final SyntheticHost host;
+    private final List<OSFileStore> fileStores;
+
+    SyntheticFileSystem(SyntheticHost host, List<HWDiskStore> disks) {
+        this.host = host;
+        List<OSFileStore> stores = new ArrayList<>(host.getPartitions());
+        for (HWDiskStore disk : disks) {
+            for (HWPartition partition : disk.getPartitions()) {
+                stores.add(new Store(partition, stores.size()));
+            }
+        }
+        this.fileStores = Collections.unmodifiableList(stores);
+    }
+
+    @Override
+    public List<OSFileStore> getFileStores() {
+        return fileStores;
+    }
+
+    @Override
+    public List<OSFileStore> getFileStores(boolean localOnly) {
+        return fileStores;
+    }
+
+    @Override
+    public long getOpenFileDescriptors() {
+        return 16L * host.getProcesses();
+    }
+
+    @Override
+    public long getMaxFileDescriptors() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public long getMaxFileDescriptorsPerProcess() {
+        return 1_048_576;
+    }
+
+    private final class Store implements OSFileStore {
+        private final HWPartition partition;
+        private final double phase;
+
+        Store(HWPartition partition, int index) {
+            this.partition = partition;
+            this.phase = index;
+        }
+
+        private double used() {
+            return SyntheticHost.wave(0.1, 0.9, phase, host.uptimeSeconds(host.now()));
+        }
+
+        @Override
+        public String getName() {
+            return partition.getName();
+        }
+
+        @Override
+        public String getVolume() {
+            return partition.getIdentification();
+        }
+
+        @Override
+        public String getLabel() {
+            return partition.getName();
+        }
+
+        @Override
+        public String getLogicalVolume() {
+            return "";
+        }
+
+        @Override
+        public String getMount() {
+            return partition.getMountPoint();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Local Disk";
+        }
+
+        @Override
+        public String getType() {
+            return partition.getType();
+        }
+
+        @Override
+        public String getOptions() {
+            return "rw,relatime";
+        }
+
+        @Override
+        public String getUUID() {
+            return partition.getUuid();
+        }
+
+        @Override
+        public long getFreeSpace() {
+            return (long) (partition.getSize() * (1 - used()));
+        }
+
+        @Override
+        public long getUsableSpace() {
+            return getFreeSpace();
+        }
+
+        @Override
+        public long getTotalSpace() {
+            return partition.getSize();
+        }
+
+        @Override
+        public long getFreeInodes() {
+            return (long) (getTotalInodes() * (1 - used()));
+        }
+
+        @Override
+        public long getTotalInodes() {
+            return partition.getSize() / BYTES_PER_INODE;
+        }
+
+        @Override
+        public boolean updateAttributes() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.monitor.synthetic;
+
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.Baseboard;
+import oshi.hardware.ComputerSystem;
+import oshi.hardware.Display;
+import oshi.hardware.Firmware;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.GraphicsCard;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.NetworkIF;
+import oshi.hardware.PhysicalMemory;
+import oshi.hardware.PowerSource;
+import oshi.hardware.Sensors;
+import oshi.hardware.SoundCard;
+import oshi.hardware.UsbDevice;
+import oshi.hardware.VirtualMemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The hardware of a {@link SyntheticHost}. The lists are built once, like
+ * OSHI's own, and their counters read the host's clock when queried. The
+ * computer system is a placeholder, and parts no collector reads (displays,
+ * USB, power, sound) are absent.
+ */
+final class SyntheticHardware implements HardwareAbstractionLayer {
+
+    private static final ComputerSystem COMPUTER_SYSTEM = new Machine();
+
+    private final SyntheticProcessor processor;
+    private final Memory memory;
+    private final Sensors sensors;
+    private final List<HWDiskStore> diskStores;
+    private final List<NetworkIF> networkIFs;
+    private final List<GraphicsCard> graphicsCards;
+
+    SyntheticHardware(SyntheticHost host, Random random) {
+        processor = new SyntheticProcessor(host, random);
+        memory = new Memory(host, random);
+        sensors = new SyntheticSensors(host, random);
+
+        // Partitions are spread as evenly as possible over the disks
+        List<HWDiskStore> disks = new ArrayList<>(host.getDisks());
+        for (int i = 0; i < host.getDisks(); i++) {
+            int partitions = host.getPartitions() / host.getDisks() + (i < host.getPartitions() % host.getDisks() ? 1 : 0);
+            disks.add(new SyntheticDiskStore(host, i, partitions, random));
+        }
+        diskStores = Collections.unmodifiableList(disks);
+
+        List<NetworkIF> interfaces = new ArrayList<>(host.getInterfaces());
+        for (int i = 0; i < host.getInterfaces(); i++) {
+            interfaces.add(new SyntheticNetworkIF(host, i, random));
+        }
+        networkIFs = Collections.unmodifiableList(interfaces);
+
+        List<GraphicsCard> cards = new ArrayList<>(host.getGpus());
+        for (int i = 0; i < host.getGpus(); i++) {
+            cards.add(new Card(i));
+        }
+        graphicsCards = Collections.unmodifiableList(cards);
+    }
+
+    @Override
+    public ComputerSystem getComputerSystem() {
+        return COMPUTER_SYSTEM;
+    }
+
+    @Override
+    public CentralProcessor getProcessor() {
+        return processor;
+    }
+
+    @Override
+    public GlobalMemory getMemory() {
+        return memory;
+    }
+
+    @Override
+    public List<PowerSource> getPowerSources() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<HWDiskStore> getDiskStores() {
+        return diskStores;
+    }
+
+    @Override
+    public List<NetworkIF> getNetworkIFs() {
+        return networkIFs;
+    }
+
+    @Override
+    public List<NetworkIF> getNetworkIFs(boolean includeLocalInterfaces) {
+        return networkIFs;
+    }
+
+    @Override
+    public List<Display> getDisplays() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Sensors getSensors() {
+        return sensors;
+    }
+
+    @Override
+    public List<UsbDevice> getUsbDevices(boolean tree) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<SoundCard> getSoundCards() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<GraphicsCard> getGraphicsCards() {
+        return graphicsCards;
+    }
+
+    /**
+     * A machine, firmware and baseboard whose details are all "Synthetic" or unknown.
+     */
+    private static final class Machine implements ComputerSystem, Firmware, Baseboard {
+        @Override
+        public String getManufacturer() {
+            return "Synthetic";
+        }
+
+        @Override
+        public String getModel() {
+            return "Synthetic";
+        }
+
+        @Override
+        public String getSerialNumber() {
+            return "unknown";
+        }
+
+        @Override
+        public String getHardwareUUID() {
+            return "unknown";
+        }
+
+        @Override
+        public Firmware getFirmware() {
+            return this;
+        }
+
+        @Override
+        public Baseboard getBaseboard() {
+            return this;
+        }
+
+        @Override
+        public String getName() {
+            return "Synthetic";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Synthetic";
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public String getReleaseDate() {
+            return "unknown";
+        }
+    }
+
+    /**
+     * 4 GiB per logical processor, between 20% and 80% of it available, and no swap.
+     */
+    private static final class Memory implements GlobalMemory {
+        private final SyntheticHost host;
+        private final long total;
+        private final double phase;
+
+        Memory(SyntheticHost host, Random random) {
+            this.host = host;
+            this.total = (long) host.getCores() << 32;
+            this.phase = random.nextDouble() * 2 * Math.PI;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+
+        @Override
+        public long getAvailable() {
+            return (long) (total * SyntheticHost.wave(0.2, 0.8, phase, host.uptimeSeconds(host.now())));
+        }
+
+        @Override
+        public long getPageSize() {
+            return 4096;
+        }
+
+        @Override
+        public VirtualMemory getVirtualMemory() {
+            return new NoSwap();
+        }
+
+        @Override
+        public List<PhysicalMemory> getPhysicalMemory() {
+            return Collections.emptyList();
+        }
+
+        private final class NoSwap implements VirtualMemory {
+            @Override
+            public long getSwapTotal() {
+                return 0;
+            }
+
+            @Override
+            public long getSwapUsed() {
+                return 0;
+            }
+
+            @Override
+            public long getVirtualMax() {
+                return total;
+            }
+
+            @Override
+            public long getVirtualInUse() {
+                return total - getAvailable();
+            }
+
+            @Override
+            public long getSwapPagesIn() {
+                return 0;
+            }
+
+            @Override
+            public long getSwapPagesOut() {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * CPU temperature between 45 and 80°C, one fan per 32 logical processors.
+     */
+    private static final class SyntheticSensors implements Sensors {
+        private final SyntheticHost host;
+        private final double phase;
+        private final int fans;
+
+        SyntheticSensors(SyntheticHost host, Random random) {
+            this.host = host;
+            this.phase = random.nextDouble() * 2 * Math.PI;
+            this.fans = Math.max(1, host.getCores() / 32);
+        }
+
+        @Override
+        public double getCpuTemperature() {
+            return SyntheticHost.wave(45, 80, phase, host.uptimeSeconds(host.now()));
+        }
+
+        @Override
+        public int[] getFanSpeeds() {
+            double seconds = host.uptimeSeconds(host.now());
+            int[] speeds = new int[fans];
+            for (int i = 0; i < fans; i++) {
+                speeds[i] = (int) SyntheticHost.wave(2_000, 9_000, phase + i, seconds);
+            }
+            return speeds;
+        }
+
+        @Override
+        public double getCpuVoltage() {
+            return 1.1;
+        }
+    }
+
+    private static final class Card implements GraphicsCard {
+        private final int index;
+
+        Card(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getName() {
+            return "Synthetic Accelerator " + index;
+        }
+
+        @Override
+        public String getDeviceId() {
+            return String.format("0x%04x", 0x2330 + index);
+        }
+
+        @Override
+        public String getVendor() {
+            return "Synthetic";
+        }
+
+        @Override
+        public String getVersionInfo() {
+            return "1.0";
+        }
+
+        @Override
+        public long getVRam() {
+            return 80L << 30;
+        }
+    }
+}
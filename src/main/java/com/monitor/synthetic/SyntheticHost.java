@@ -0,0 +1,162 @@
+package com.monitor.synthetic;
+
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OperatingSystem;
+
+import org.springframework.core.env.Environment;
+
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * A simulated host for load-testing the monitor offline: an OSHI
+ * {@link HardwareAbstractionLayer} and {@link OperatingSystem} of any size,
+ * selected with metrics.hardware=synthetic and sized by metrics.synthetic.*.
+ *
+ * Everything the collectors read is fixed by the seed except the counters
+ * (CPU ticks, disk and interface I/O, process CPU time and I/O, available
+ * memory), which drift with the clock at rates that vary over a minute, and
+ * a few percent of short-lived processes that exit and are replaced. With
+ * the same seed and clock readings every run sees the same values.
+ */
+public final class SyntheticHost {
+
+    /** Clock ticks per second of the simulated process CPU times, as on Linux. */
+    static final long HZ = 100;
+    /** Period over which counter rates vary, in seconds. */
+    private static final double DRIFT_PERIOD = 60;
+    // Host uptime when the simulation starts
+    private static final long INITIAL_UPTIME_MILLIS = 86_400_000L;
+
+    private final int cores;
+    private final int processes;
+    private final int disks;
+    private final int partitions;
+    private final int interfaces;
+    private final int gpus;
+    private final long seed;
+    private final LongSupplier clock;
+    private final long bootTime;
+    private final SyntheticHardware hardware;
+    private final SyntheticOperatingSystem operatingSystem;
+
+    public SyntheticHost(int cores, int processes, int disks, int partitions, int interfaces, int gpus, long seed) {
+        this(cores, processes, disks, partitions, interfaces, gpus, seed, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock epoch milliseconds the counters drift with; a fixed clock
+     *              makes every reading repeatable
+     */
+    public SyntheticHost(int cores, int processes, int disks, int partitions, int interfaces, int gpus, long seed,
+                         LongSupplier clock) {
+        if (cores < 1 || processes < 1 || disks < 0 || partitions < 0 || interfaces < 0 || gpus < 0) {
+            throw new IllegalArgumentException("A synthetic host needs at least one core and one process");
+        }
+        this.cores = cores;
+        this.processes = processes;
+        this.disks = disks;
+        this.partitions = disks > 0 ? partitions : 0;
+        this.interfaces = interfaces;
+        this.gpus = gpus;
+        this.seed = seed;
+        this.clock = clock;
+        this.bootTime = clock.getAsLong() - INITIAL_UPTIME_MILLIS;
+        Random random = new Random(seed);
+        this.hardware = new SyntheticHardware(this, random);
+        this.operatingSystem = new SyntheticOperatingSystem(this, random);
+    }
+
+    /**
+     * A host sized by metrics.synthetic.*; the defaults are a large server.
+     */
+    public static SyntheticHost fromEnvironment(Environment environment) {
+        return new SyntheticHost(
+                environment.getProperty("metrics.synthetic.cores", Integer.class, 256),
+                environment.getProperty("metrics.synthetic.processes", Integer.class, 50_000),
+                environment.getProperty("metrics.synthetic.disks", Integer.class, 64),
+                environment.getProperty("metrics.synthetic.partitions", Integer.class, 500),
+                environment.getProperty("metrics.synthetic.interfaces", Integer.class, 128),
+                environment.getProperty("metrics.synthetic.gpus", Integer.class, 8),
+                environment.getProperty("metrics.synthetic.seed", Long.class, 42L));
+    }
+
+    public HardwareAbstractionLayer getHardware() {
+        return hardware;
+    }
+
+    public OperatingSystem getOperatingSystem() {
+        return operatingSystem;
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    public int getProcesses() {
+        return processes;
+    }
+
+    public int getDisks() {
+        return disks;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public int getInterfaces() {
+        return interfaces;
+    }
+
+    public int getGpus() {
+        return gpus;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Boot time in epoch milliseconds.
+     */
+    long getBootTime() {
+        return bootTime;
+    }
+
+    /**
+     * Seconds since boot at the given time.
+     */
+    double uptimeSeconds(long now) {
+        return (now - bootTime) / 1000.0;
+    }
+
+    /**
+     * A counter that started at base and grows at about ratePerSecond, faster
+     * and slower over each drift period depending on phase; never decreases.
+     */
+    static long drift(long base, double ratePerSecond, double phase, double seconds) {
+        double omega = 2 * Math.PI / DRIFT_PERIOD;
+        // Integral of rate * (1 + sin(omega * t + phase) / 2) from 0 to seconds
+        double integral = seconds + (Math.cos(phase) - Math.cos(omega * seconds + phase)) / (2 * omega);
+        return base + (long) (ratePerSecond * integral);
+    }
+
+    /**
+     * A level between low and high that moves over each drift period.
+     */
+    static double wave(double low, double high, double phase, double seconds) {
+        double omega = 2 * Math.PI / DRIFT_PERIOD;
+        return low + (high - low) * (1 + Math.sin(omega * seconds + phase)) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "Synthetic host (" + cores + " cores, " + processes + " processes, " + disks + " disks, "
+                + partitions + " partitions, " + interfaces + " interfaces, seed " + seed + ")";
+    }
+}
@@ -0,0 +1,162 @@
+package com.monitor.synthetic;
+
+import oshi.hardware.NetworkIF;
+
+import java.net.NetworkInterface;
+import java.util.Random;
+
+/**
+ * A 25 Gbit/s Ethernet port in 10.0.0.0/8 with drifting traffic counters.
+ */
+final class SyntheticNetworkIF implements NetworkIF {
+
+    private static final long SPEED = 25_000_000_000L;
+
+    private final SyntheticHost host;
+    private final int index;
+    private final String name;
+    private final String macaddr;
+    private final String[] ipv4;
+    private final double recvRate;
+    private final double sentRate;
+    private final double recvPhase;
+    private final double sentPhase;
+    private final long packetSize;
+    private long timeStamp;
+
+    SyntheticNetworkIF(SyntheticHost host, int index, Random random) {
+        this.host = host;
+        this.index = index;
+        this.name = "eth" + index;
+        this.macaddr = String.format("02:00:00:%02x:%02x:%02x", (index >> 16) & 0xff, (index >> 8) & 0xff, index & 0xff);
+        this.ipv4 = new String[]{"10." + ((index >> 8) & 0xff) + "." + (index & 0xff) + "." + (1 + random.nextInt(254))};
+        this.recvRate = 1_000 + random.nextInt(100_000_000);
+        this.sentRate = 1_000 + random.nextInt(50_000_000);
+        this.recvPhase = random.nextDouble() * 2 * Math.PI;
+        this.sentPhase = random.nextDouble() * 2 * Math.PI;
+        this.packetSize = 64 + random.nextInt(1_437);
+        this.timeStamp = host.now();
+    }
+
+    @Override
+    public NetworkInterface queryNetworkInterface() {
+        // Not a real interface of this machine
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getIndex() {
+        return index + 2;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Synthetic Ethernet " + index;
+    }
+
+    @Override
+    public long getMTU() {
+        return 9000;
+    }
+
+    @Override
+    public String getMacaddr() {
+        return macaddr;
+    }
+
+    @Override
+    public String[] getIPv4addr() {
+        return ipv4.clone();
+    }
+
+    @Override
+    public Short[] getSubnetMasks() {
+        return new Short[]{16};
+    }
+
+    @Override
+    public String[] getIPv6addr() {
+        return new String[0];
+    }
+
+    @Override
+    public Short[] getPrefixLengths() {
+        return new Short[0];
+    }
+
+    @Override
+    public long getBytesRecv() {
+        return SyntheticHost.drift(0, recvRate, recvPhase, host.uptimeSeconds(host.now()));
+    }
+
+    @Override
+    public long getBytesSent() {
+        return SyntheticHost.drift(0, sentRate, sentPhase, host.uptimeSeconds(host.now()));
+    }
+
+    @Override
+    public long getPacketsRecv() {
+        return getBytesRecv() / packetSize;
+    }
+
+    @Override
+    public long getPacketsSent() {
+        return getBytesSent() / packetSize;
+    }
+
+    @Override
+    public long getInErrors() {
+        return getPacketsRecv() / 1_000_000;
+    }
+
+    @Override
+    public long getOutErrors() {
+        return getPacketsSent() / 1_000_000;
+    }
+
+    @Override
+    public long getInDrops() {
+        return getPacketsRecv() / 100_000;
+    }
+
+    @Override
+    public long getCollisions() {
+        return 0;
+    }
+
+    @Override
+    public long getSpeed() {
+        return SPEED;
+    }
+
+    @Override
+    public long getTimeStamp() {
+        return timeStamp;
+    }
+
+    @Override
+    public boolean isKnownVmMacAddr() {
+        return false;
+    }
+
+    @Override
+    public boolean isConnectorPresent() {
+        return true;
+    }
+
+    @Override
+    public boolean updateAttributes() {
+        timeStamp = host.now();
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Interface: " + getDisplayName() + " (" + name + ")";
+    }
+}
@@ -0,0 +1,407 @@
+package com.monitor.synthetic;
+
+import oshi.software.os.FileSystem;
+import oshi.software.os.InternetProtocolStats;
+import oshi.software.os.NetworkParams;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OSProcess.State;
+import oshi.software.os.OSThread;
+import oshi.software.os.OperatingSystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The operating system of a {@link SyntheticHost}: a fixed-size process
+ * table, a file store per disk partition, TCP/UDP counters and network
+ * parameters.
+ *
+ * Processes are kept as columns indexed by slot. Most slots hold one
+ * process since boot; a few hold short-lived processes that are replaced,
+ * with a new PID and start time, every 30 seconds to 5 minutes.
+ */
+final class SyntheticOperatingSystem implements OperatingSystem {
+
+    private static final String[] NAMES = {
+            "java", "postgres", "nginx", "kworker/0:1", "systemd", "python3", "sshd", "bash", "envoy", "node"};
+    private static final double SHORT_LIVED_SHARE = 0.03;
+    private static final int PID_MAX = 4_194_304;
+
+    private final SyntheticHost host;
+    private final int count;
+    // Per slot
+    private final byte[] names;
+    private final long[] resident;
+    private final int[] threads;
+    private final double[] cpuRate; // CPU milliseconds per second
+    private final double[] ioRate; // bytes per second
+    private final double[] phase;
+    private final long[] startOffset; // milliseconds after boot, or into the first lifetime
+    private final long[] lifetime; // milliseconds, 0 for processes that run since boot
+    private final int generations; // PID wraps after this many replacements of a slot
+
+    private final long tcpRate;
+    private final double tcpPhase;
+    private final FileSystem fileSystem;
+
+    SyntheticOperatingSystem(SyntheticHost host, Random random) {
+        this.host = host;
+        this.count = host.getProcesses();
+        this.names = new byte[count];
+        this.resident = new long[count];
+        this.threads = new int[count];
+        this.cpuRate = new double[count];
+        this.ioRate = new double[count];
+        this.phase = new double[count];
+        this.startOffset = new long[count];
+        this.lifetime = new long[count];
+        this.generations = Math.max(1, PID_MAX / count);
+        for (int slot = 0; slot < count; slot++) {
+            names[slot] = (byte) random.nextInt(NAMES.length);
+            resident[slot] = 4096L * (100 + random.nextInt(250_000));
+            threads[slot] = 1 + random.nextInt(64);
+            // Mostly idle, a few processes busy on several cores
+            double activity = random.nextDouble();
+            cpuRate[slot] = activity * activity * activity * activity * 4_000;
+            ioRate[slot] = random.nextDouble() * random.nextDouble() * 10_000_000;
+            phase[slot] = random.nextDouble() * 2 * Math.PI;
+            if (slot > 0 && random.nextDouble() < SHORT_LIVED_SHARE) {
+                lifetime[slot] = 30_000 + random.nextInt(270_000);
+                startOffset[slot] = (long) (random.nextDouble() * lifetime[slot]);
+            } else {
+                startOffset[slot] = slot == 0 ? 0 : random.nextInt(3_600_000);
+            }
+        }
+        this.tcpRate = 1_000L * host.getCores();
+        this.tcpPhase = random.nextDouble() * 2 * Math.PI;
+        this.fileSystem = new SyntheticFileSystem(host, host.getHardware().getDiskStores());
+    }
+
+    long now() {
+        return host.now();
+    }
+
+    // How many times a short-lived slot's process has been replaced by now
+    private long generationOf(int slot, long now) {
+        return (now - host.getBootTime() + startOffset[slot]) / lifetime[slot];
+    }
+
+    int pidOf(int slot, long now) {
+        if (lifetime[slot] == 0) {
+            return slot + 1;
+        }
+        // Slots stay distinct modulo count, so live PIDs never collide
+        return slot + 1 + (int) (generationOf(slot, now) % generations) * count;
+    }
+
+    long startTimeOf(int slot, long now) {
+        if (lifetime[slot] == 0) {
+            return host.getBootTime() + startOffset[slot];
+        }
+        long born = generationOf(slot, now) * lifetime[slot] - startOffset[slot];
+        return host.getBootTime() + Math.max(0, born);
+    }
+
+    String nameOf(int slot) {
+        return NAMES[names[slot]];
+    }
+
+    long residentOf(int slot) {
+        return resident[slot];
+    }
+
+    int threadsOf(int slot) {
+        return threads[slot];
+    }
+
+    double cpuRateOf(int slot) {
+        return cpuRate[slot];
+    }
+
+    long cpuTimeOf(int slot, double ageSeconds) {
+        return SyntheticHost.drift(0, cpuRate[slot], phase[slot], ageSeconds);
+    }
+
+    long ioOf(int slot, double ageSeconds) {
+        return SyntheticHost.drift(0, ioRate[slot], phase[slot], ageSeconds);
+    }
+
+    @Override
+    public String getFamily() {
+        return "Linux";
+    }
+
+    @Override
+    public String getManufacturer() {
+        return "Synthetic";
+    }
+
+    @Override
+    public OSVersionInfo getVersionInfo() {
+        return new OSVersionInfo("1.0", "Synthetic", "6.1.0-synthetic");
+    }
+
+    @Override
+    public FileSystem getFileSystem() {
+        return fileSystem;
+    }
+
+    @Override
+    public InternetProtocolStats getInternetProtocolStats() {
+        return new ProtocolStats(host.uptimeSeconds(host.now()));
+    }
+
+    @Override
+    public List<OSProcess> getProcesses(Predicate<OSProcess> filter, Comparator<OSProcess> sort, int limit) {
+        long now = host.now();
+        List<OSProcess> processes = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            processes.add(new SyntheticProcess(this, slot, now));
+        }
+        if (filter == null && sort == null && limit <= 0) {
+            return Collections.unmodifiableList(processes);
+        }
+        Stream<OSProcess> stream = processes.stream();
+        if (filter != null) {
+            stream = stream.filter(filter);
+        }
+        if (sort != null) {
+            stream = stream.sorted(sort);
+        }
+        if (limit > 0) {
+            stream = stream.limit(limit);
+        }
+        return Collections.unmodifiableList(stream.collect(Collectors.toList()));
+    }
+
+    @Override
+    public OSProcess getProcess(int pid) {
+        long now = host.now();
+        int slot = (pid - 1) % count;
+        if (pid < 1 || pidOf(slot, now) != pid) {
+            return null;
+        }
+        return new SyntheticProcess(this, slot, now);
+    }
+
+    /**
+     * Every process but init is a child of init.
+     */
+    @Override
+    public List<OSProcess> getChildProcesses(int parentPid, Predicate<OSProcess> filter, Comparator<OSProcess> sort,
+                                             int limit) {
+        if (parentPid != 1) {
+            return Collections.emptyList();
+        }
+        Predicate<OSProcess> notInit = process -> process.getProcessID() != 1;
+        return getProcesses(filter == null ? notInit : notInit.and(filter), sort, limit);
+    }
+
+    @Override
+    public List<OSProcess> getDescendantProcesses(int parentPid, Predicate<OSProcess> filter,
+                                                  Comparator<OSProcess> sort, int limit) {
+        return getChildProcesses(parentPid, filter, sort, limit);
+    }
+
+    /**
+     * The monitor's own PID, as on a real host.
+     */
+    @Override
+    public int getProcessId() {
+        return (int) ProcessHandle.current().pid();
+    }
+
+    @Override
+    public int getProcessCount() {
+        return count;
+    }
+
+    /**
+     * The monitor's main thread, whose id is its PID as on Linux.
+     */
+    @Override
+    public int getThreadId() {
+        return getProcessId();
+    }
+
+    @Override
+    public OSThread getCurrentThread() {
+        return new CurrentThread(getThreadId(), getProcessId(), host.getBootTime(), host.now());
+    }
+
+    @Override
+    public int getThreadCount() {
+        return IntStream.of(threads).sum();
+    }
+
+    @Override
+    public int getBitness() {
+        return 64;
+    }
+
+    @Override
+    public long getSystemUptime() {
+        return (long) host.uptimeSeconds(host.now());
+    }
+
+    @Override
+    public long getSystemBootTime() {
+        return host.getBootTime() / 1000;
+    }
+
+    @Override
+    public NetworkParams getNetworkParams() {
+        return PARAMS;
+    }
+
+    @Override
+    public String toString() {
+        return host.toString();
+    }
+
+    private static final NetworkParams PARAMS = new NetworkParams() {
+        @Override
+        public String getHostName() {
+            return "synthetic";
+        }
+
+        @Override
+        public String getDomainName() {
+            return "synthetic.local";
+        }
+
+        @Override
+        public String[] getDnsServers() {
+            return new String[]{"10.0.0.53"};
+        }
+
+        @Override
+        public String getIpv4DefaultGateway() {
+            return "10.0.0.1";
+        }
+
+        @Override
+        public String getIpv6DefaultGateway() {
+            return "";
+        }
+    };
+
+    /**
+     * TCP and UDP counters that grow with the number of cores.
+     */
+    private final class ProtocolStats implements InternetProtocolStats {
+        private final double seconds;
+
+        ProtocolStats(double seconds) {
+            this.seconds = seconds;
+        }
+
+        private long counter(double rate, double offset) {
+            return SyntheticHost.drift(0, rate, tcpPhase + offset, seconds);
+        }
+
+        @Override
+        public TcpStats getTCPv4Stats() {
+            long established = (long) SyntheticHost.wave(tcpRate / 2.0, tcpRate * 2.0, tcpPhase, seconds);
+            return new TcpStats(established, counter(tcpRate / 100.0, 0), counter(tcpRate / 50.0, 1),
+                    counter(tcpRate / 5_000.0, 2), counter(tcpRate / 2_000.0, 3), counter(tcpRate * 40.0, 4),
+                    counter(tcpRate * 50.0, 5), counter(tcpRate / 10.0, 6), counter(tcpRate / 100_000.0, 7),
+                    counter(tcpRate / 1_000.0, 8));
+        }
+
+        @Override
+        public TcpStats getTCPv6Stats() {
+            return new TcpStats(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public UdpStats getUDPv4Stats() {
+            return new UdpStats(counter(tcpRate * 2.0, 9), counter(tcpRate * 2.0, 10), counter(tcpRate / 1_000.0, 11),
+                    counter(tcpRate / 100_000.0, 12));
+        }
+
+        @Override
+        public UdpStats getUDPv6Stats() {
+            return new UdpStats(0, 0, 0, 0);
+        }
+
+        @Override
+        public List<IPConnection> getConnections() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * A running thread with no CPU time, started at boot.
+     */
+    private static final class CurrentThread implements OSThread {
+        private final int threadId;
+        private final int processId;
+        private final long startTime;
+        private final long now;
+
+        CurrentThread(int threadId, int processId, long startTime, long now) {
+            this.threadId = threadId;
+            this.processId = processId;
+            this.startTime = startTime;
+            this.now = now;
+        }
+
+        @Override
+        public int getThreadId() {
+            return threadId;
+        }
+
+        @Override
+        public State getState() {
+            return State.RUNNING;
+        }
+
+        @Override
+        public double getThreadCpuLoadCumulative() {
+            return 0;
+        }
+
+        @Override
+        public double getThreadCpuLoadBetweenTicks(OSThread thread) {
+            return 0;
+        }
+
+        @Override
+        public int getOwningProcessId() {
+            return processId;
+        }
+
+        @Override
+        public long getKernelTime() {
+            return 0;
+        }
+
+        @Override
+        public long getUserTime() {
+            return 0;
+        }
+
+        @Override
+        public long getUpTime() {
+            return now - startTime;
+        }
+
+        @Override
+        public long getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public int getPriority() {
+            return 20;
+        }
+    }
+}
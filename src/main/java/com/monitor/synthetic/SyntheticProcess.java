@@ -0,0 +1,217 @@
+package com.monitor.synthetic;
+
+import oshi.software.os.OSProcess;
+import oshi.software.os.OSThread;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One process of a {@link SyntheticOperatingSystem}, as read at a moment:
+ * every value is computed from its slot in the process table and the time
+ * it was read, like the snapshot OSHI returns for a real process.
+ */
+final class SyntheticProcess implements OSProcess {
+
+    private final SyntheticOperatingSystem os;
+    private final int slot;
+    private long readTime;
+    private int pid;
+    private long startTime;
+
+    SyntheticProcess(SyntheticOperatingSystem os, int slot, long readTime) {
+        this.os = os;
+        this.slot = slot;
+        read(readTime);
+    }
+
+    private void read(long now) {
+        this.readTime = now;
+        this.pid = os.pidOf(slot, now);
+        this.startTime = os.startTimeOf(slot, now);
+    }
+
+    // Seconds this process has been running
+    private double age() {
+        return Math.max(0, (readTime - startTime) / 1000.0);
+    }
+
+    @Override
+    public String getName() {
+        return os.nameOf(slot);
+    }
+
+    @Override
+    public String getPath() {
+        return "/usr/bin/" + getName();
+    }
+
+    @Override
+    public String getCommandLine() {
+        return getPath();
+    }
+
+    @Override
+    public List<String> getArguments() {
+        return Collections.singletonList(getPath());
+    }
+
+    @Override
+    public Map<String, String> getEnvironmentVariables() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public String getCurrentWorkingDirectory() {
+        return "/";
+    }
+
+    @Override
+    public String getUser() {
+        return "synthetic";
+    }
+
+    @Override
+    public String getUserID() {
+        return "1000";
+    }
+
+    @Override
+    public String getGroup() {
+        return "synthetic";
+    }
+
+    @Override
+    public String getGroupID() {
+        return "1000";
+    }
+
+    @Override
+    public State getState() {
+        return os.cpuRateOf(slot) > 500 ? State.RUNNING : State.SLEEPING;
+    }
+
+    @Override
+    public int getProcessID() {
+        return pid;
+    }
+
+    @Override
+    public int getParentProcessID() {
+        return pid == 1 ? 0 : 1;
+    }
+
+    @Override
+    public int getThreadCount() {
+        return os.threadsOf(slot);
+    }
+
+    @Override
+    public int getPriority() {
+        return 20;
+    }
+
+    @Override
+    public long getVirtualSize() {
+        return getResidentSetSize() * 4;
+    }
+
+    @Override
+    public long getResidentSetSize() {
+        return os.residentOf(slot);
+    }
+
+    @Override
+    public long getKernelTime() {
+        return os.cpuTimeOf(slot, age()) * 3 / 10;
+    }
+
+    @Override
+    public long getUserTime() {
+        return os.cpuTimeOf(slot, age()) - getKernelTime();
+    }
+
+    @Override
+    public long getUpTime() {
+        return readTime - startTime;
+    }
+
+    @Override
+    public long getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public long getBytesRead() {
+        return os.ioOf(slot, age()) * 2 / 3;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return os.ioOf(slot, age()) - getBytesRead();
+    }
+
+    @Override
+    public long getOpenFiles() {
+        return 3 + getThreadCount();
+    }
+
+    @Override
+    public long getSoftOpenFileLimit() {
+        return 1024;
+    }
+
+    @Override
+    public long getHardOpenFileLimit() {
+        return 524_288;
+    }
+
+    @Override
+    public double getProcessCpuLoadCumulative() {
+        long upTime = getUpTime();
+        return upTime > 0 ? (double) (getKernelTime() + getUserTime()) / upTime : 0;
+    }
+
+    @Override
+    public double getProcessCpuLoadBetweenTicks(OSProcess prior) {
+        if (prior == null || prior.getProcessID() != pid || prior.getStartTime() != startTime) {
+            return getProcessCpuLoadCumulative();
+        }
+        long elapsed = getUpTime() - prior.getUpTime();
+        long cpu = getKernelTime() + getUserTime() - prior.getKernelTime() - prior.getUserTime();
+        return elapsed > 0 ? (double) cpu / elapsed : 0;
+    }
+
+    @Override
+    public int getBitness() {
+        return 64;
+    }
+
+    @Override
+    public long getAffinityMask() {
+        return -1L;
+    }
+
+    /**
+     * Re-read at the host's current time; false if the process has exited
+     * and its slot holds a new one.
+     */
+    @Override
+    public boolean updateAttributes() {
+        int previousPid = pid;
+        long previousStart = startTime;
+        read(os.now());
+        return pid == previousPid && startTime == previousStart;
+    }
+
+    @Override
+    public List<OSThread> getThreadDetails() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public String toString() {
+        return "OSProcess@" + Integer.toHexString(hashCode()) + "[processID=" + pid + ", name=" + getName() + "]";
+    }
+}
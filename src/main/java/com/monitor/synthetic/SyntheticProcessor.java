@@ -0,0 +1,189 @@
+package com.monitor.synthetic;
+
+import oshi.hardware.CentralProcessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Logical processors whose tick counters advance at about 100 ticks a
+ * second, each with its own busy share split across the non-idle states.
+ * Two hardware threads per core and 64 cores per package.
+ */
+final class SyntheticProcessor implements CentralProcessor {
+
+    private static final int TICK_TYPES = TickType.values().length;
+    private static final int THREADS_PER_CORE = 2;
+    private static final int CORES_PER_PACKAGE = 64;
+    // Share of busy ticks per state, in TickType order; idle takes the rest
+    private static final double[] BUSY_SHARE = {0.60, 0.02, 0.25, 0, 0.05, 0.02, 0.04, 0.02};
+    private static final long MAX_FREQ = 3_700_000_000L;
+
+    private final SyntheticHost host;
+    private final ProcessorIdentifier identifier;
+    private final int logicalCount;
+    private final int physicalCount;
+    private final int packageCount;
+    // Per logical processor and tick type (processor * TICK_TYPES + type)
+    private final double[] rates;
+    private final double[] phases;
+    private final List<LogicalProcessor> logicalProcessors;
+    private final List<PhysicalProcessor> physicalProcessors;
+
+    SyntheticProcessor(SyntheticHost host, Random random) {
+        this.host = host;
+        this.identifier = new ProcessorIdentifier("GenuineIntel", "Synthetic Xeon " + host.getCores() + "-thread CPU",
+                "6", "143", "8", "BFEBFBFF000806F8", true, MAX_FREQ);
+        this.logicalCount = host.getCores();
+        this.physicalCount = Math.max(1, logicalCount / THREADS_PER_CORE);
+        this.packageCount = (physicalCount + CORES_PER_PACKAGE - 1) / CORES_PER_PACKAGE;
+
+        rates = new double[logicalCount * TICK_TYPES];
+        phases = new double[logicalCount * TICK_TYPES];
+        for (int cpu = 0; cpu < logicalCount; cpu++) {
+            double busy = 0.05 + random.nextDouble() * 0.85;
+            for (int type = 0; type < TICK_TYPES; type++) {
+                int offset = cpu * TICK_TYPES + type;
+                rates[offset] = SyntheticHost.HZ * (type == TickType.IDLE.getIndex() ? 1 - busy : busy * BUSY_SHARE[type]);
+                phases[offset] = random.nextDouble() * 2 * Math.PI;
+            }
+        }
+
+        List<LogicalProcessor> logical = new ArrayList<>(logicalCount);
+        for (int cpu = 0; cpu < logicalCount; cpu++) {
+            int core = Math.min(cpu / THREADS_PER_CORE, physicalCount - 1);
+            logical.add(new LogicalProcessor(cpu, core % CORES_PER_PACKAGE, core / CORES_PER_PACKAGE));
+        }
+        logicalProcessors = Collections.unmodifiableList(logical);
+        List<PhysicalProcessor> physical = new ArrayList<>(physicalCount);
+        for (int core = 0; core < physicalCount; core++) {
+            physical.add(new PhysicalProcessor(core / CORES_PER_PACKAGE, core % CORES_PER_PACKAGE));
+        }
+        physicalProcessors = Collections.unmodifiableList(physical);
+    }
+
+    @Override
+    public ProcessorIdentifier getProcessorIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public long getMaxFreq() {
+        return MAX_FREQ;
+    }
+
+    @Override
+    public long[] getCurrentFreq() {
+        double seconds = host.uptimeSeconds(host.now());
+        long[] freq = new long[logicalCount];
+        for (int cpu = 0; cpu < logicalCount; cpu++) {
+            freq[cpu] = (long) SyntheticHost.wave(MAX_FREQ / 2.0, MAX_FREQ, phases[cpu * TICK_TYPES], seconds);
+        }
+        return freq;
+    }
+
+    @Override
+    public List<LogicalProcessor> getLogicalProcessors() {
+        return logicalProcessors;
+    }
+
+    @Override
+    public List<PhysicalProcessor> getPhysicalProcessors() {
+        return physicalProcessors;
+    }
+
+    @Override
+    public List<ProcessorCache> getProcessorCaches() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public long[] getSystemCpuLoadTicks() {
+        long[] ticks = new long[TICK_TYPES];
+        for (long[] cpu : getProcessorCpuLoadTicks()) {
+            for (int type = 0; type < TICK_TYPES; type++) {
+                ticks[type] += cpu[type];
+            }
+        }
+        return ticks;
+    }
+
+    @Override
+    public long[][] getProcessorCpuLoadTicks() {
+        double seconds = host.uptimeSeconds(host.now());
+        long[][] ticks = new long[logicalCount][TICK_TYPES];
+        for (int cpu = 0; cpu < logicalCount; cpu++) {
+            for (int type = 0; type < TICK_TYPES; type++) {
+                int offset = cpu * TICK_TYPES + type;
+                ticks[cpu][type] = SyntheticHost.drift(0, rates[offset], phases[offset], seconds);
+            }
+        }
+        return ticks;
+    }
+
+    @Override
+    public double getSystemCpuLoadBetweenTicks(long[] oldTicks) {
+        return load(oldTicks, getSystemCpuLoadTicks());
+    }
+
+    @Override
+    public double[] getProcessorCpuLoadBetweenTicks(long[][] oldTicks) {
+        long[][] ticks = getProcessorCpuLoadTicks();
+        double[] load = new double[logicalCount];
+        for (int cpu = 0; cpu < logicalCount && cpu < oldTicks.length; cpu++) {
+            load[cpu] = load(oldTicks[cpu], ticks[cpu]);
+        }
+        return load;
+    }
+
+    private static double load(long[] oldTicks, long[] ticks) {
+        long total = 0;
+        for (int type = 0; type < TICK_TYPES; type++) {
+            total += ticks[type] - oldTicks[type];
+        }
+        int idle = TickType.IDLE.getIndex();
+        int iowait = TickType.IOWAIT.getIndex();
+        long idleTicks = ticks[idle] - oldTicks[idle] + ticks[iowait] - oldTicks[iowait];
+        return total > 0 ? (double) (total - idleTicks) / total : 0;
+    }
+
+    @Override
+    public double[] getSystemLoadAverage(int nelem) {
+        if (nelem < 1 || nelem > 3) {
+            throw new IllegalArgumentException("Must include from one to three elements.");
+        }
+        double seconds = host.uptimeSeconds(host.now());
+        double[] average = new double[nelem];
+        for (int i = 0; i < nelem; i++) {
+            average[i] = SyntheticHost.wave(0.2, 0.8, i, seconds) * logicalCount;
+        }
+        return average;
+    }
+
+    @Override
+    public int getLogicalProcessorCount() {
+        return logicalCount;
+    }
+
+    @Override
+    public int getPhysicalProcessorCount() {
+        return physicalCount;
+    }
+
+    @Override
+    public int getPhysicalPackageCount() {
+        return packageCount;
+    }
+
+    @Override
+    public long getContextSwitches() {
+        return SyntheticHost.drift(0, 5_000.0 * logicalCount, 0, host.uptimeSeconds(host.now()));
+    }
+
+    @Override
+    public long getInterrupts() {
+        return SyntheticHost.drift(0, 2_000.0 * logicalCount, 1, host.uptimeSeconds(host.now()));
+    }
+}
@@ -1,5 +1,7 @@
 package com.monitor.util;
 
+import com.monitor.model.InterfaceSnapshot;
+
 import org.pcap4j.core.PcapAddress;
 import org.pcap4j.core.PcapNativeException;
 import org.pcap4j.core.PcapNetworkInterface;
@@ -18,6 +20,7 @@ import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,8 +44,8 @@ public class PcapNetworkUtil {
     /**
      * Get real network interfaces using pcap
      */
-    public static List<Map<String, Object>> getNetworkInterfaces() {
-        List<Map<String, Object>> interfaceList = new ArrayList<>();
+    public static List<InterfaceSnapshot> getNetworkInterfaces() {
+        List<InterfaceSnapshot> interfaceList = new ArrayList<>();
         
         try {
             // Get all interfaces from pcap
@@ -60,13 +63,8 @@ public class PcapNetworkUtil {
                         continue;
                     }
                     
-                    Map<String, Object> netData = new HashMap<>();
                     String name = dev.getName();
-                    
-                    // Basic network interface info
-                    netData.put("name", name);
-                    netData.put("displayName", dev.getDescription() != null ? 
-                            dev.getDescription() : name);
+                    String displayName = dev.getDescription() != null ? dev.getDescription() : name;
                     
                     // Get MAC address
                     byte[] macAddr = dev.getLinkLayerAddresses().isEmpty() ? 
@@ -81,20 +79,13 @@ public class PcapNetworkUtil {
                             macBuilder.deleteCharAt(macBuilder.length() - 1);
                         }
                     }
-                    netData.put("macAddress", macBuilder.length() > 0 ? 
-                            macBuilder.toString() : "Unknown");
-                    
-                    // MTU - use a default value since pcap4j doesn't expose this directly
-                    netData.put("mtu", 1500);
+                    String macAddress = macBuilder.length() > 0 ? macBuilder.toString() : "Unknown";
                     
                     // Speed - estimate based on interface type
                     long speed = estimateInterfaceSpeed(name, dev.getDescription());
-                    netData.put("speed", speed);
-                    netData.put("speedFormatted", FormatUtil.formatBitRate(speed));
                     
                     // Determine if connected based on having addresses
                     boolean hasAddresses = !dev.getAddresses().isEmpty();
-                    netData.put("connected", hasAddresses);
                     
                     // Get IP addresses
                     List<String> ipv4Addresses = new ArrayList<>();
@@ -109,9 +100,6 @@ public class PcapNetworkUtil {
                         }
                     }
                     
-                    netData.put("ipv4Addresses", ipv4Addresses.toArray(new String[0]));
-                    netData.put("ipv6Addresses", ipv6Addresses.toArray(new String[0]));
-                    
                     // Get interface statistics - ensure monitoring is active
                     if (!monitoringActive) {
                         startNetworkMonitoring();
@@ -120,24 +108,13 @@ public class PcapNetworkUtil {
                     // Get the interface stats
                     InterfaceStats stats = interfaceStatsMap.getOrDefault(name, new InterfaceStats());
                     
-                    // Add traffic statistics
-                    netData.put("packetsRecv", stats.packetsReceived.get());
-                    netData.put("packetsSent", stats.packetsSent.get()); 
-                    netData.put("bytesRecv", stats.bytesReceived.get());
-                    netData.put("bytesRecvFormatted", FormatUtil.formatBytes(stats.bytesReceived.get()));
-                    netData.put("bytesSent", stats.bytesSent.get());
-                    netData.put("bytesSentFormatted", FormatUtil.formatBytes(stats.bytesSent.get()));
-                    
-                    // Calculate rates
-                    netData.put("downloadRate", stats.downloadRateBytesPerSec.get());
-                    netData.put("downloadRateFormatted", 
-                            FormatUtil.formatBytes(stats.downloadRateBytesPerSec.get()) + "/s");
-                    netData.put("uploadRate", stats.uploadRateBytesPerSec.get());
-                    netData.put("uploadRateFormatted", 
-                            FormatUtil.formatBytes(stats.uploadRateBytesPerSec.get()) + "/s");
-                    
-                    // Add to the list
-                    interfaceList.add(netData);
+                    // MTU - use a default value since pcap4j doesn't expose this directly
+                    interfaceList.add(new InterfaceSnapshot(name, displayName, macAddress, 1500, speed,
+                            hasAddresses, Collections.unmodifiableList(ipv4Addresses),
+                            Collections.unmodifiableList(ipv6Addresses),
+                            stats.packetsReceived.get(), stats.packetsSent.get(),
+                            stats.bytesReceived.get(), stats.bytesSent.get(),
+                            stats.downloadRateBytesPerSec.get(), stats.uploadRateBytesPerSec.get(), false));
                 } catch (Exception e) {
                     System.err.println("Error processing interface " + dev.getName() + ": " + e.getMessage());
                 }
@@ -180,9 +157,7 @@ public class PcapNetworkUtil {
                 final String ifName = dev.getName();
                 
                 // Initialize stats for this interface if not present
-                if (!interfaceStatsMap.containsKey(ifName)) {
-                    interfaceStatsMap.put(ifName, new InterfaceStats());
-                }
+                trackInterface(ifName);
                 
                 try {
                     // Start a new packet capture thread for this interface
@@ -251,10 +226,19 @@ public class PcapNetworkUtil {
         }
     }
     
+    /**
+     * Start counting the packets captured on an interface
+     */
+    static void trackInterface(String interfaceName) {
+        if (!interfaceStatsMap.containsKey(interfaceName)) {
+            interfaceStatsMap.put(interfaceName, new InterfaceStats());
+        }
+    }
+    
     /**
      * Process a captured packet
      */
-    private static void processPacket(Packet packet, String interfaceName) {
+    static void processPacket(Packet packet, String interfaceName) {
         if (packet == null || !interfaceStatsMap.containsKey(interfaceName)) {
             return;
         }
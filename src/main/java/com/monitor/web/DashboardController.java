@@ -1,6 +1,10 @@
 package com.monitor.web;
 
+import com.monitor.core.MetricsSnapshot;
 import com.monitor.core.MonitoringEngine;
+import com.monitor.model.CpuSnapshot;
+import com.monitor.model.MemorySnapshot;
+import com.monitor.model.SystemStatus;
 import com.monitor.util.FormatUtil;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,26 +27,29 @@ public class DashboardController {
 
     @GetMapping("/")
     public String dashboard(Model model) {
-        // Ensure metrics are collected
-        monitoringEngine.collectMetrics();
+        // Render from the latest published snapshot instead of collecting
+        MetricsSnapshot snapshot = monitoringEngine.getLatestSnapshot();
+        SystemStatus system = snapshot != null ? snapshot.getSystem() : null;
+        CpuSnapshot cpu = snapshot != null ? snapshot.getCpu() : null;
+        MemorySnapshot memory = snapshot != null ? snapshot.getMemory() : null;
         
         // Add refresh rate to model
         model.addAttribute("refreshRate", monitoringEngine.getRefreshRateSeconds());
         
         // Add system information
-        model.addAttribute("os", monitoringEngine.getSystemMetrics().getSystemInfo().getOperatingSystem().toString());
+        model.addAttribute("os", system != null ? system.getOs() : "Unknown");
         
         // Add CPU metrics
-        model.addAttribute("cpuUsage", FormatUtil.formatPercent(monitoringEngine.getCpuMetrics().getCpuUsage()));
-        model.addAttribute("cpuCores", monitoringEngine.getCpuMetrics().getProcessor().getLogicalProcessorCount());
+        model.addAttribute("cpuUsage", cpu != null ? FormatUtil.formatPercent(cpu.getUsage()) : "N/A");
+        model.addAttribute("cpuCores", cpu != null ? cpu.getCores() : 0);
         
         // Add memory metrics
-        model.addAttribute("memoryUsage", FormatUtil.formatPercent(monitoringEngine.getMemoryMetrics().getMemoryUsagePercent()));
-        model.addAttribute("totalMemory", FormatUtil.formatBytes(monitoringEngine.getMemoryMetrics().getTotalMemory()));
+        model.addAttribute("memoryUsage", memory != null ? FormatUtil.formatPercent(memory.getUsage()) : "N/A");
+        model.addAttribute("totalMemory", memory != null ? FormatUtil.formatBytes(memory.getTotal()) : "N/A");
         
         // Add current time
         model.addAttribute("currentTime", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-        
+
         return "dashboard";
     }
-}
\ No newline at end of file
+}
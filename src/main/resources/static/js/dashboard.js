@@ -36,11 +36,9 @@ document.addEventListener('DOMContentLoaded', function() {
     const refreshRateElement = document.querySelector('#refreshRate span');
     const refreshRate = refreshRateElement ? parseInt(refreshRateElement.textContent) * 1000 : 2000;
     
-    // Initial data load
-    fetchMetrics();
-    
-    // Set up regular polling
-    setInterval(fetchMetrics, refreshRate);
+    // Seed the charts from the server-side history, then follow live snapshots
+    loadHistory(refreshRate);
+    connectStream(refreshRate);
     
     // Add additional interval to clear connection error if data loading works
     setInterval(function() {
@@ -132,6 +130,34 @@ function initCharts() {
     });
 }
 
+// Fill the CPU and memory charts with the most recent history kept by the server,
+// so a page reload doesn't start from an empty chart
+function loadHistory(refreshRate) {
+    const since = -(cpuHistory.length * refreshRate);
+    fetch('/api/history?series=cpu.usage,memory.usage&from=' + since)
+        .then(response => response.ok ? response.json() : null)
+        .then(data => {
+            if (!data || !data.series) {
+                return;
+            }
+            seedHistory(cpuHistory, data.series['cpu.usage'], cpuChart);
+            seedHistory(memoryHistory, data.series['memory.usage'], memoryChart);
+        })
+        .catch(error => console.warn('Could not load metric history:', error));
+}
+
+function seedHistory(history, samples, chart) {
+    if (!samples || !samples.values || samples.values.length === 0) {
+        return;
+    }
+    // Keep the newest samples, right-aligned like live updates
+    const values = samples.values.slice(-history.length);
+    for (let i = 0; i < values.length; i++) {
+        history[history.length - values.length + i] = values[i];
+    }
+    chart.update('none');
+}
+
 // Fetch metrics from the API
 // Track consecutive failures to prevent repeated retries for network and temperature
 let networkFailCount = 0;
@@ -141,6 +167,38 @@ const MAX_FAIL_COUNT = 3;
 const FETCH_TIMEOUT = 10000; // 10 seconds
 // Flag to track if we're running with sudo
 let isRunningSudo = false;
+// Collection time of each section as of the latest snapshot, and of the last value charted
+let sectionUpdated = {};
+const chartedUpdated = {};
+
+/**
+ * Follow /api/stream, which pushes each snapshot as soon as it is published.
+ * The browser reconnects on its own and resumes from the last event id; if the
+ * stream is closed for good, open a new one. Without EventSource, poll instead.
+ */
+function connectStream(refreshRate, lastEventId) {
+    if (typeof EventSource === 'undefined') {
+        fetchMetrics();
+        setInterval(fetchMetrics, refreshRate);
+        return;
+    }
+    
+    const source = new EventSource(lastEventId ? '/api/stream?lastEventId=' + lastEventId : '/api/stream');
+    source.addEventListener('snapshot', function(event) {
+        lastEventId = event.lastEventId;
+        try {
+            applyMetrics(JSON.parse(event.data));
+        } catch (e) {
+            console.error('Error reading snapshot event:', e);
+        }
+    });
+    source.onerror = function() {
+        showConnectionError();
+        if (source.readyState === EventSource.CLOSED) {
+            setTimeout(function() { connectStream(refreshRate, lastEventId); }, refreshRate);
+        }
+    };
+}
 
 function fetchMetrics() {
     console.log('Fetching metrics...');
@@ -163,74 +221,95 @@ function fetchMetrics() {
         })
         .then(function(data) {
             console.log('Received API data successfully', data);
-            
-            try {
-                // Update timestamp for last refresh
-                lastUpdateTime = data.system.timestamp;
-                
-                // Hide any connection error message
-                document.getElementById('connectionStatus').style.display = 'none';
-                
-                // Log the data we're about to use
-                console.log('CPU data:', data.cpu);
-                console.log('Memory data:', data.memory);
-                
-                // Update all the core metrics
-                if (data.system) updateSystemInfo(data.system);
-                if (data.cpu) updateCpuMetrics(data.cpu);
-                if (data.memory) updateMemoryMetrics(data.memory);
-                if (data.processes) updateProcessTable(data.processes);
-                if (data.disks) updateDiskInfo(data.disks);
-                if (data.gpus) updateGpuInfo(data.gpus);
-                if (data.network) updateNetworkInfo(data.network);
-                if (data.temperature) updateTemperatureInfo(data.temperature);
-            } catch (e) {
-                console.error("Error updating metrics:", e);
-            }
-            
-            // Check for sudo either from system property or detected network interfaces
-            if (data.system && data.system.runningWithSudo === true) {
-                isRunningSudo = true;
-            }
-            
-            // Set the badge status
-            const networkBadge = document.getElementById('networkBadge');
-            if (networkBadge) {
-                if (isRunningSudo) {
-                    networkBadge.classList.remove('bg-light', 'text-primary');
-                    networkBadge.classList.add('bg-success', 'text-white');
-                    networkBadge.textContent = 'Full Access';
-                } else {
-                    networkBadge.classList.remove('bg-success', 'text-white');
-                    networkBadge.classList.add('bg-light', 'text-primary');
-                    networkBadge.textContent = 'Sudo Required';
-                }
-            }
-                        
-            // This is a duplicate section - remove it to avoid double updates
-            
-            // We already set the badge above, so we don't need this section
-            
-            // Add a subtle animation to the cards to show they were updated
-            document.querySelectorAll('.card').forEach(function(card) {
-                card.classList.add('updated');
-                setTimeout(function() { card.classList.remove('updated'); }, 300);
-            });
+            applyMetrics(data);
         })
         .catch(function(error) {
             clearTimeout(timeoutId);
             console.error('Error fetching metrics:', error);
-            // Show an error message on the UI
-            console.error('Error fetching metrics - will display connection error');
-            const connectionStatus = document.getElementById('connectionStatus');
-            if (connectionStatus) {
-                connectionStatus.textContent = 'Connection Error';
-                connectionStatus.className = 'badge bg-danger';
-                connectionStatus.style.display = 'inline-block';
-            }
+            showConnectionError();
         });
 }
 
+/**
+ * Render one snapshot, as returned by /api/all or pushed by /api/stream.
+ */
+function applyMetrics(data) {
+    try {
+        // Update timestamp for last refresh
+        lastUpdateTime = data.system.timestamp;
+        sectionUpdated = data.system.updated || {};
+        
+        // Hide any connection error message
+        document.getElementById('connectionStatus').style.display = 'none';
+        
+        // Log the data we're about to use
+        console.log('CPU data:', data.cpu);
+        console.log('Memory data:', data.memory);
+        
+        // Update all the core metrics
+        if (data.system) updateSystemInfo(data.system);
+        if (data.cpu) updateCpuMetrics(data.cpu);
+        if (data.memory) updateMemoryMetrics(data.memory);
+        if (data.processes) updateProcessTable(data.processes);
+        if (data.disks) updateDiskInfo(data.disks);
+        if (data.gpus) updateGpuInfo(data.gpus);
+        if (data.network) updateNetworkInfo(data.network);
+        if (data.temperature) updateTemperatureInfo(data.temperature);
+    } catch (e) {
+        console.error("Error updating metrics:", e);
+    }
+    
+    // Check for sudo either from system property or detected network interfaces
+    if (data.system && data.system.runningWithSudo === true) {
+        isRunningSudo = true;
+    }
+    
+    // Set the badge status
+    const networkBadge = document.getElementById('networkBadge');
+    if (networkBadge) {
+        if (isRunningSudo) {
+            networkBadge.classList.remove('bg-light', 'text-primary');
+            networkBadge.classList.add('bg-success', 'text-white');
+            networkBadge.textContent = 'Full Access';
+        } else {
+            networkBadge.classList.remove('bg-success', 'text-white');
+            networkBadge.classList.add('bg-light', 'text-primary');
+            networkBadge.textContent = 'Sudo Required';
+        }
+    }
+    
+    // Add a subtle animation to the cards to show they were updated
+    document.querySelectorAll('.card').forEach(function(card) {
+        card.classList.add('updated');
+        setTimeout(function() { card.classList.remove('updated'); }, 300);
+    });
+}
+
+/**
+ * Whether the section was collected again since its value was last charted.
+ * Snapshots are pushed whenever any section finishes, so most carry an unchanged CPU or memory value.
+ */
+function isNewSample(section) {
+    const updated = sectionUpdated[section];
+    if (updated === undefined) {
+        return true;
+    }
+    if (chartedUpdated[section] === updated) {
+        return false;
+    }
+    chartedUpdated[section] = updated;
+    return true;
+}
+
+function showConnectionError() {
+    const connectionStatus = document.getElementById('connectionStatus');
+    if (connectionStatus) {
+        connectionStatus.textContent = 'Connection Error';
+        connectionStatus.className = 'badge bg-danger';
+        connectionStatus.style.display = 'inline-block';
+    }
+}
+
 // Update system info display
 function updateSystemInfo(system) {
     // Clear any error messages when we get successful system info
@@ -287,10 +366,12 @@ function updateCpuMetrics(cpu) {
         }
         
         // Update chart
-        cpuHistory.push(cpu.usage);
-        cpuHistory.shift();
-        cpuChart.data.datasets[0].data = cpuHistory;
-        cpuChart.update('none'); // Update without animation for smoother updates
+        if (isNewSample('cpu')) {
+            cpuHistory.push(cpu.usage);
+            cpuHistory.shift();
+            cpuChart.data.datasets[0].data = cpuHistory;
+            cpuChart.update('none'); // Update without animation for smoother updates
+        }
     } catch (e) {
         console.error("Error updating CPU metrics:", e);
     }
@@ -326,10 +407,12 @@ function updateMemoryMetrics(memory) {
         document.getElementById('memoryDetails').textContent = memoryDetails;
         
         // Update chart
-        memoryHistory.push(memory.usage);
-        memoryHistory.shift();
-        memoryChart.data.datasets[0].data = memoryHistory;
-        memoryChart.update('none'); // Update without animation for smoother updates
+        if (isNewSample('memory')) {
+            memoryHistory.push(memory.usage);
+            memoryHistory.shift();
+            memoryChart.data.datasets[0].data = memoryHistory;
+            memoryChart.update('none'); // Update without animation for smoother updates
+        }
     } catch (e) {
         console.error("Error updating memory metrics:", e);
     }
@@ -0,0 +1,56 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonDeltaTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNode json(String text) throws Exception {
+        return mapper.readTree(text.replace('\'', '"'));
+    }
+
+    @Test
+    void testPatchHoldsOnlyChangedFields() throws Exception {
+        JsonNode from = json("{'disks':[{'model':'SSD','serial':'X1','readRate':10},{'model':'HDD','readRate':0}],"
+                + "'network':{'dnsServers':['1.1.1.1'],'hostname':'a'},'gone':1}");
+        JsonNode to = json("{'disks':[{'model':'SSD','serial':'X1','readRate':25},{'model':'HDD','readRate':0}],"
+                + "'network':{'dnsServers':['1.1.1.1'],'hostname':'a'},'added':{'x':1}}");
+
+        JsonNode patch = JsonDelta.diff(from, to);
+        assertEquals(json("{'disks':{'$length':2,'0':{'readRate':25}},'added':{'x':1},'$removed':['gone']}"), patch);
+        assertEquals(to, JsonDelta.apply(from, patch));
+    }
+
+    @Test
+    void testArraysGrowShrinkAndReplace() throws Exception {
+        JsonNode from = json("{'processes':[{'pid':1},{'pid':2},{'pid':3}],'tcp':null,'value':[1]}");
+        JsonNode to = json("{'processes':[{'pid':2},{'pid':2},{'pid':3},{'pid':4}],'tcp':{'established':5},"
+                + "'value':'text'}");
+
+        JsonNode patch = JsonDelta.diff(from, to);
+        assertFalse(patch.get("processes").has("1"));
+        assertEquals(to, JsonDelta.apply(from, patch));
+
+        JsonNode shrunk = json("{'processes':[{'pid':2}],'tcp':{'established':5},'value':'text'}");
+        assertEquals(shrunk, JsonDelta.apply(to, JsonDelta.diff(to, shrunk)));
+        assertTrue(JsonDelta.diff(to, to).isEmpty());
+    }
+
+    @Test
+    void testNullIsAValueNotARemoval() throws Exception {
+        JsonNode from = json("{'a':1,'b':{'temperature':40}}");
+        JsonNode to = json("{'a':null,'b':{'temperature':null}}");
+
+        JsonNode patch = JsonDelta.diff(from, to);
+        assertEquals(to, JsonDelta.apply(from, patch));
+        assertEquals(from, JsonDelta.apply(to, JsonDelta.diff(to, from)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonProjectionTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNode json(String text) throws Exception {
+        return mapper.readTree(text.replace('\'', '"'));
+    }
+
+    @Test
+    void testSelectsNestedFieldsThroughArrays() throws Exception {
+        JsonNode source = json("{'cpu':{'usage':12.5,'cores':8},'network':{'hostname':'a',"
+                + "'interfaces':[{'name':'eth0','downloadRate':10,'uploadRate':1},{'name':'lo','downloadRate':0}]},"
+                + "'memory':{'total':16}}");
+
+        JsonProjection projection = JsonProjection.parse(
+                Arrays.asList("cpu.usage", "network.interfaces[].downloadRate", "memory", "cpu.missing"));
+        assertEquals(Arrays.asList("cpu", "network", "memory"), projection.getRoots());
+        assertEquals(json("{'cpu':{'usage':12.5},'network':{'interfaces':[{'downloadRate':10},{'downloadRate':0}]},"
+                + "'memory':{'total':16}}"), projection.apply(source));
+
+        // Paths below a section, as used by the per-section endpoints
+        assertEquals(json("{'interfaces':[{'name':'eth0'},{'name':'lo'}]}"),
+                JsonProjection.parse(Collections.singletonList("interfaces.name")).apply(source.get("network")));
+    }
+
+    @Test
+    void testRejectsMalformedPaths() {
+        assertThrows(IllegalArgumentException.class, () -> JsonProjection.parse(Collections.singletonList("cpu..usage")));
+        assertThrows(IllegalArgumentException.class, () -> JsonProjection.parse(Collections.singletonList("disks[0].name")));
+        assertThrows(IllegalArgumentException.class, () -> JsonProjection.parse(Collections.singletonList("")));
+    }
+}
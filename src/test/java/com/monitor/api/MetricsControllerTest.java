@@ -0,0 +1,42 @@
+package com.monitor.api;
+
+import com.monitor.core.MetricsSnapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MetricsControllerTest {
+
+    @Test
+    void testContentCodingNegotiation() {
+        assertEquals("gzip", MetricsController.contentCoding("gzip, deflate, br"));
+        assertEquals("gzip", MetricsController.contentCoding("deflate;q=1.0, GZIP;q=0.5"));
+        assertEquals("deflate", MetricsController.contentCoding("gzip;q=0, deflate"));
+        assertNull(MetricsController.contentCoding("br, identity"));
+        assertNull(MetricsController.contentCoding(null));
+    }
+
+    @Test
+    void testETagPerRepresentation() {
+        MetricsSnapshot snapshot = new MetricsSnapshot(42, 0, Collections.emptyMap());
+        assertEquals("42", MetricsController.eTag(snapshot, null));
+        assertEquals("42-gzip", MetricsController.eTag(snapshot, "gzip"));
+        assertEquals("42-deflate", MetricsController.eTag(snapshot, "deflate"));
+    }
+
+    @Test
+    void testProjectionRoots() {
+        Set<String> sections = new LinkedHashSet<>(Arrays.asList("cpu", "memory"));
+        assertNull(MetricsController.unknownRoot(
+                JsonProjection.parse(Arrays.asList("system.sequence", "cpu.usage")), sections));
+        assertEquals("gpus", MetricsController.unknownRoot(
+                JsonProjection.parse(Arrays.asList("memory.total", "gpus[].name")), sections));
+    }
+}
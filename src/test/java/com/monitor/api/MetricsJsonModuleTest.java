@@ -0,0 +1,43 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitor.model.InterfaceSnapshot;
+import com.monitor.model.MemorySnapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsJsonModuleTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new MetricsJsonModule());
+
+    @Test
+    void testMemoryFormattedAtSerialization() {
+        JsonNode memory = mapper.valueToTree(new MemorySnapshot(4096, 1024));
+        assertEquals(4096, memory.get("total").asLong());
+        assertEquals(3072, memory.get("used").asLong());
+        assertEquals("75.00%", memory.get("usageFormatted").asText());
+        assertEquals("3.00 KB", memory.get("usedFormatted").asText());
+    }
+
+    @Test
+    void testLimitedInterfaceRequiresSudo() {
+        JsonNode limited = mapper.valueToTree(new InterfaceSnapshot("en0", "en0", "XX", 1500, 0, true,
+                Collections.singletonList("10.0.0.2"), Collections.emptyList(), 0, 0, 0, 0, 0, 0, true));
+        assertEquals("Unknown", limited.get("speedFormatted").asText());
+        assertEquals("Run with sudo", limited.get("downloadRateFormatted").asText());
+        assertTrue(limited.get("requiresSudo").asBoolean());
+
+        JsonNode full = mapper.valueToTree(new InterfaceSnapshot("eth0", "eth0", "XX", 1500, 1_000_000_000L, true,
+                Collections.emptyList(), Collections.emptyList(), 1, 1, 2048, 0, 1024, 0, false));
+        assertEquals("1.00 Gbps", full.get("speedFormatted").asText());
+        assertEquals("1.00 KB/s", full.get("downloadRateFormatted").asText());
+        assertFalse(full.has("requiresSudo"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.monitor.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PrometheusWriterTest {
+
+    private static String text(PrometheusWriter writer) {
+        return new String(writer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testFamiliesLabelsAndEscaping() {
+        PrometheusWriter writer = new PrometheusWriter(16);
+        writer.family("sysmon_process_threads", "gauge", "Threads.");
+        writer.sample().label("pid", 42).label("name", "a\"b\\c\nd é 😀").value(7L);
+        writer.sample().value(1L);
+        writer.gauge("sysmon_up", "Up.", 1);
+
+        assertEquals("# HELP sysmon_process_threads Threads.\n"
+                + "# TYPE sysmon_process_threads gauge\n"
+                + "sysmon_process_threads{pid=\"42\",name=\"a\\\"b\\\\c\\nd é 😀\"} 7\n"
+                + "sysmon_process_threads 1\n"
+                + "# HELP sysmon_up Up.\n# TYPE sysmon_up gauge\nsysmon_up 1\n", text(writer));
+    }
+
+    @Test
+    void testNumberFormatting() {
+        double[] values = {0, -0.0, 12.5, -3.25, 0.000001, 0.0000004, 99.9999996, 1e12, 1234567.125,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        String[] expected = {"0", "0", "12.5", "-3.25", "0.000001", "0", "100", "1.0E12", "1234567.125",
+                "NaN", "+Inf", "-Inf"};
+        PrometheusWriter writer = new PrometheusWriter(4);
+        writer.family("x", "gauge", "x");
+        for (int i = 0; i < values.length; i++) {
+            writer.reset();
+            writer.family("x", "gauge", "x");
+            int start = writer.size();
+            writer.sample().value(values[i]);
+            assertEquals("x " + expected[i] + "\n", text(writer).substring(start), "value " + values[i]);
+        }
+
+        writer.reset();
+        writer.family("x", "counter", "x");
+        int start = writer.size();
+        writer.sample().value(Long.MIN_VALUE);
+        writer.sample().value(-17L);
+        assertEquals("x -9223372036854775808\nx -17\n", text(writer).substring(start));
+    }
+}
@@ -0,0 +1,51 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnapshotBinaryFormatTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNode json(String text) throws Exception {
+        return mapper.readTree(text.replace('\'', '"'));
+    }
+
+    @Test
+    void testRoundTripWithoutFormattedFields() throws Exception {
+        JsonNode source = json("{'memory':{'usage':41.25,'usageFormatted':'41.25%','total':17179869184,"
+                + "'totalFormatted':'16.00 GB'},'processes':[{'pid':1,'name':'java','cpu':0.0,'threads':-3},"
+                + "{'pid':2,'name':'java','cpu':12.0,'threads':null}],'system':{'runningWithSudo':false,"
+                + "'stale':[],'os':'Linux','timestamp':1700000000123,'big':123456789012345678901234567890}}");
+
+        byte[] message = SnapshotBinaryFormat.encode(mapper, source);
+        JsonNode decoded = SnapshotBinaryFormat.decode(message);
+
+        assertEquals(json("{'memory':{'usage':41.25,'total':17179869184},"
+                + "'processes':[{'pid':1,'name':'java','cpu':0.0,'threads':-3},"
+                + "{'pid':2,'name':'java','cpu':12.0,'threads':null}],'system':{'runningWithSudo':false,"
+                + "'stale':[],'os':'Linux','timestamp':1700000000123,'big':1.2345678901234568E29}}"), decoded);
+        assertTrue(decoded.get("processes").get(1).get("cpu").isDouble());
+        assertTrue(message.length < mapper.writeValueAsBytes(decoded).length);
+    }
+
+    @Test
+    void testRejectsInvalidMessages() {
+        byte[] message = SnapshotBinaryFormat.encode(mapper, mapper.createObjectNode().put("cpu", 1.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotBinaryFormat.decode(Arrays.copyOf(message, message.length - 1)));
+
+        byte[] future = message.clone();
+        future[3] = 2;
+        assertThrows(IllegalArgumentException.class, () -> SnapshotBinaryFormat.decode(future));
+        assertThrows(IllegalArgumentException.class, () -> SnapshotBinaryFormat.decode("{}".getBytes()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.monitor.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitor.core.MonitoringEngine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SnapshotStreamTest {
+
+    private MonitoringEngine engine;
+    private SnapshotStream stream;
+
+    @BeforeEach
+    void createStream() {
+        engine = TestEngines.create();
+        ObjectMapper mapper = new ObjectMapper().registerModule(new MetricsJsonModule());
+        stream = new SnapshotStream(engine, new SnapshotEncodings(engine, mapper));
+        for (int i = 0; i < 3; i++) {
+            engine.collectMetrics();
+        }
+    }
+
+    @AfterEach
+    void closeStream() {
+        stream.close();
+    }
+
+    @Test
+    void testIdsFromAnotherRunAreIgnored() {
+        assertEquals(0, stream.resumeSequence("5000"));
+        assertEquals(0, stream.resumeSequence("kq3x1z-2"));
+        assertEquals(0, stream.resumeSequence("not an id"));
+        assertEquals(0, stream.resumeSequence(null));
+    }
+
+    @Test
+    void testClientAheadOfTheLatestSnapshotIsSentIt() throws InterruptedException {
+        // An id from before a restart, when sequences had gone further
+        ResponseBodyEmitter client = stream.connect("5000");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (stream.getSentSequence(client) != 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, stream.getSentSequence(client));
+    }
+}
@@ -0,0 +1,57 @@
+package com.monitor.api;
+
+import com.monitor.core.MonitoringEngine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnapshotWaitersTest {
+
+    private MonitoringEngine engine;
+    private SnapshotWaiters waiters;
+
+    @BeforeEach
+    void createWaiters() {
+        engine = TestEngines.create();
+        waiters = new SnapshotWaiters(engine, new StandardEnvironment());
+    }
+
+    @AfterEach
+    void closeWaiters() {
+        waiters.close();
+    }
+
+    @Test
+    void testOnlyClientsWithTheLatestSnapshotWait() {
+        // Nothing published yet: wait for the first snapshot
+        assertTrue(waiters.shouldPark(0));
+        for (int i = 0; i < 3; i++) {
+            engine.collectMetrics();
+        }
+        assertTrue(waiters.shouldPark(3));
+        assertFalse(waiters.shouldPark(2));
+        // From before a restart, when sequences had gone further
+        assertFalse(waiters.shouldPark(5000));
+    }
+
+    @Test
+    void testCompletedOffThePublisherThread() throws InterruptedException {
+        engine.collectMetrics();
+        DeferredResult<String> result = waiters.await(1,
+                snapshot -> snapshot.getSequence() + " " + Thread.currentThread().getName());
+        engine.collectMetrics();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("2 snapshot-waiters", result.getResult());
+    }
+}
@@ -0,0 +1,30 @@
+package com.monitor.api;
+
+import com.monitor.core.Collector;
+import com.monitor.core.MonitoringEngine;
+import com.monitor.core.SelfMonitor;
+import com.monitor.metrics.SystemMetrics;
+import com.monitor.synthetic.SyntheticHost;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Engines for tests of the API beans: no collectors, a small synthetic host,
+ * and nothing scheduled, so snapshots are only published by collectMetrics().
+ */
+final class TestEngines {
+
+    private TestEngines() {
+    }
+
+    static MonitoringEngine create() {
+        SyntheticHost host = new SyntheticHost(2, 10, 0, 0, 0, 0, 42);
+        new SystemMetrics().initialize(host.getHardware(), host.getOperatingSystem());
+        @SuppressWarnings("unchecked")
+        ObjectProvider<Collector<?>> collectors = (ObjectProvider<Collector<?>>) (ObjectProvider<?>)
+                new StaticListableBeanFactory().getBeanProvider(Collector.class);
+        return new MonitoringEngine(new StandardEnvironment(), collectors, new SelfMonitor());
+    }
+}
@@ -0,0 +1,74 @@
+package com.monitor.core;
+
+import com.monitor.history.MetricsHistory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CollectorSectionTest {
+
+    @Test
+    void testRecordsWhatTheCollectorReturns() {
+        PhaseStats stats = new PhaseStats();
+        CollectorSection section = new CollectorSection(new Counter("counter", 42L), stats);
+        assertEquals("counter", section.getName());
+
+        Object value = section.run();
+        assertEquals(42L, value);
+        assertFalse(section.isStale());
+        assertTrue(section.getLastSuccessTime() > 0);
+        assertEquals(1, stats.getLatency().getCount());
+        assertEquals(0, stats.getErrors());
+
+        MetricsHistory history = new MetricsHistory(16, 4, Collections.emptyList());
+        section.record(value, history);
+        assertEquals(Collections.singletonList("counter.value"), history.getSeriesNames());
+    }
+
+    @Test
+    void testValueOfTheWrongTypeFailsTheRun() {
+        PhaseStats stats = new PhaseStats();
+        CollectorSection section = new CollectorSection(new Counter("counter", "not a number"), stats);
+        assertNull(section.run());
+        assertTrue(section.isStale());
+        assertEquals(0, section.getLastSuccessTime());
+        assertEquals(1, stats.getLatency().getCount());
+        assertEquals(1, stats.getErrors());
+    }
+
+    private static class Counter implements Collector<Object> {
+        private final String name;
+        private final Object value;
+
+        Counter(String name, Object value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<?> getOutputType() {
+            return Long.class;
+        }
+
+        @Override
+        public Object collect() {
+            return value;
+        }
+
+        @Override
+        public void record(Object value, long timestamp, MetricsHistory history) {
+            history.record(name + ".value", timestamp, ((Long) value).doubleValue());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.monitor.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GorillaEncoderTest {
+
+    @Test
+    void testRoundTripOfIrregularSamples() {
+        Random random = new Random(42);
+        long[] timestamps = new long[1000];
+        double[] values = new double[1000];
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < timestamps.length; i++) {
+            // Jittered 2-second ticks with occasional long gaps, e.g. across a restart
+            timestamp += i % 100 == 99 ? 3_600_000L * 24 * 30 : 2000 + random.nextInt(200) - 100;
+            timestamps[i] = timestamp;
+            values[i] = i % 7 == 0 ? values[Math.max(0, i - 1)] : random.nextGaussian() * 1e6;
+        }
+        values[500] = Double.NaN;
+        values[501] = -0.0;
+        values[502] = Double.MAX_VALUE;
+
+        GorillaEncoder encoder = new GorillaEncoder();
+        for (int i = 0; i < timestamps.length; i++) {
+            encoder.append(timestamps[i], values[i]);
+        }
+
+        GorillaDecoder decoder = encoder.seal().decoder();
+        for (int i = 0; i < timestamps.length; i++) {
+            assertTrue(decoder.next());
+            assertEquals(timestamps[i], decoder.getTimestamp());
+            assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(decoder.getValue()));
+        }
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void testSteadySeriesCompresses() {
+        GorillaEncoder encoder = new GorillaEncoder();
+        for (int i = 0; i < TimeSeries.BLOCK_SIZE; i++) {
+            encoder.append(i * 2000L, 8_589_934_592.0);
+        }
+        // 128 bits for the first sample, 17 for the first delta, then two bits per sample
+        int bits = 128 + 17 + (TimeSeries.BLOCK_SIZE - 2) * 2;
+        assertEquals((bits + 7) / 8, encoder.getSizeBytes());
+    }
+}
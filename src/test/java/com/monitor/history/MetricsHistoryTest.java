@@ -0,0 +1,81 @@
+package com.monitor.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MetricsHistoryTest {
+
+    private final MetricsHistory history = new MetricsHistory(10, 4, Arrays.asList(
+            new HistoryTier("1m", Duration.ofMinutes(1), Duration.ofMinutes(3)),
+            new HistoryTier("1h", Duration.ofHours(1), Duration.ofDays(1))));
+
+    @Test
+    void testRollupKeepsExactMinMaxAvg() {
+        // Two samples in the first minute, three in the second
+        history.record("cpu.usage", 0, 10);
+        history.record("cpu.usage", 30_000, 30);
+        history.record("cpu.usage", 60_000, 5);
+        history.record("cpu.usage", 80_000, 50);
+        history.record("cpu.usage", 100_000, 20);
+
+        RollupBuffer.Buckets minutes = history.getSeries("cpu.usage").getRollup(0).copy(0, 120_000);
+        assertArrayEquals(new long[] {0, 60_000}, minutes.getTimestamps());
+        assertArrayEquals(new double[] {10, 5}, minutes.getMin());
+        assertArrayEquals(new double[] {30, 50}, minutes.getMax());
+        assertArrayEquals(new double[] {20, 25}, minutes.getValues());
+        assertArrayEquals(new int[] {2, 3}, minutes.getCount());
+
+        RollupBuffer.Buckets hours = history.getSeries("cpu.usage").getRollup(1).copy(0, 120_000);
+        assertArrayEquals(new int[] {5}, hours.getCount());
+        assertEquals(23, hours.getValues()[0], 1e-9);
+    }
+
+    @Test
+    void testTierRetention() {
+        for (int minute = 0; minute < 5; minute++) {
+            history.record("memory.usage", minute * 60_000L, minute);
+        }
+
+        RollupBuffer.Buckets minutes = history.getSeries("memory.usage").getRollup(0).copy(0, Long.MAX_VALUE);
+        assertArrayEquals(new long[] {120_000, 180_000, 240_000}, minutes.getTimestamps());
+    }
+
+    @Test
+    void testSelectCoarsestTierForStep() {
+        assertEquals(-1, history.selectTier(0));
+        assertEquals(-1, history.selectTier(59_999));
+        assertEquals(0, history.selectTier(60_000));
+        assertEquals(0, history.selectTier(600_000));
+        assertEquals(1, history.selectTier(24 * 3_600_000L));
+    }
+
+    @Test
+    void testSelectCoarserTierWhenRawDoesNotReachBack() {
+        // 30 samples 2 s apart; raw keeps the last 10, from 40 s to 58 s
+        for (int i = 0; i < 30; i++) {
+            history.record("cpu.usage", i * 2_000L, i);
+        }
+        MetricsHistory.Series series = history.getSeries("cpu.usage");
+        long now = 58_000;
+
+        assertEquals(-1, history.selectTier(series, 1_000, 40_000, now));
+        assertEquals(0, history.selectTier(series, 1_000, 20_000, now));
+        // The minute tier reaches back 3 minutes, the hour tier a day
+        assertEquals(1, history.selectTier(series, 1_000, now - 10 * 60_000, now));
+        // Beyond every tier, the coarsest
+        assertEquals(1, history.selectTier(series, 1_000, now - 2 * 86_400_000L, now));
+    }
+
+    @Test
+    void testRawReachesBackUntilSamplesExpire() {
+        history.record("memory.usage", 1_000, 1);
+        history.record("memory.usage", 3_000, 2);
+
+        assertEquals(-1, history.selectTier(history.getSeries("memory.usage"), 0, -3_600_000, 3_000));
+    }
+}
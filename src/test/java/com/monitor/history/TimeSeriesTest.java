@@ -0,0 +1,61 @@
+package com.monitor.history;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class TimeSeriesTest {
+
+    @Test
+    void testWrapAroundKeepsNewestSamples() {
+        TimeSeries series = new TimeSeries("cpu.usage", 4);
+        for (int i = 1; i <= 6; i++) {
+            series.append(i * 1000L, i);
+        }
+
+        TimeSeries.Samples samples = series.copy(0, Long.MAX_VALUE);
+        assertEquals(4, series.size());
+        assertArrayEquals(new long[] {3000, 4000, 5000, 6000}, samples.getTimestamps());
+        assertArrayEquals(new double[] {3, 4, 5, 6}, samples.getValues());
+    }
+
+    @Test
+    void testRangeIsInclusive() {
+        TimeSeries series = new TimeSeries("cpu.usage", 4);
+        for (int i = 1; i <= 6; i++) {
+            series.append(i * 1000L, i);
+        }
+
+        assertArrayEquals(new double[] {4, 5}, series.copy(4000, 5000).getValues());
+        assertEquals(0, series.copy(7000, 8000).getValues().length);
+
+        double[] sum = new double[1];
+        assertEquals(3, series.read(3500, 6000, (timestamp, value) -> sum[0] += value));
+        assertEquals(15, sum[0]);
+    }
+
+    @Test
+    void testOutOfOrderSampleIsDropped() {
+        TimeSeries series = new TimeSeries("cpu.usage", 4);
+        series.append(2000, 1);
+        assertFalse(series.append(1000, 2));
+        assertEquals(1, series.size());
+    }
+
+    @Test
+    void testExpiryAcrossSealedBlocks() {
+        TimeSeries series = new TimeSeries("memory.usage", 200);
+        for (int i = 0; i < 1000; i++) {
+            series.append(i * 2000L, i);
+        }
+
+        TimeSeries.Samples samples = series.copy(0, Long.MAX_VALUE);
+        assertEquals(200, series.size());
+        assertEquals(200, samples.getValues().length);
+        assertEquals(800, samples.getValues()[0]);
+        assertEquals(999, samples.getValues()[199]);
+        assertArrayEquals(new double[] {900, 901}, series.copy(1_800_000, 1_802_000).getValues());
+    }
+}
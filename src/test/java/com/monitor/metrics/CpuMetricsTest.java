@@ -2,6 +2,8 @@ package com.monitor.metrics;
 
 import org.junit.jupiter.api.Test;
 
+import oshi.hardware.CentralProcessor.TickType;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class CpuMetricsTest {
@@ -13,4 +15,35 @@ public class CpuMetricsTest {
         double usage = CpuMetrics.calculateCpuUsage(prev, curr);
         assertEquals(66.67, Math.round(usage * 100.0) / 100.0);
     }
+
+    @Test
+    void testCalculateStatePercentPerCore() {
+        // Two cores in one flat array: core 0 busy in user/iowait, core 1 idle
+        long[] prev = new long[] {
+            100, 0, 100, 400, 0, 0, 0, 0,
+            0, 0, 0, 1000, 0, 0, 0, 0
+        };
+        long[] core0 = new long[] {160, 0, 100, 420, 20, 0, 0, 0};
+        long[] core1 = new long[] {0, 0, 0, 1100, 0, 0, 0, 0};
+        double[] out = new double[2 * CpuMetrics.TICK_TYPES];
+
+        double usage0 = CpuMetrics.calculateStatePercent(prev, 0, core0, 0, out, 0);
+        double usage1 = CpuMetrics.calculateStatePercent(prev, CpuMetrics.TICK_TYPES, core1, 0,
+                out, CpuMetrics.TICK_TYPES);
+
+        assertEquals(80.0, usage0, 1e-9);
+        assertEquals(60.0, out[TickType.USER.getIndex()], 1e-9);
+        assertEquals(20.0, out[TickType.IOWAIT.getIndex()], 1e-9);
+        assertEquals(0.0, usage1, 1e-9);
+        assertEquals(100.0, out[CpuMetrics.TICK_TYPES + TickType.IDLE.getIndex()], 1e-9);
+    }
+
+    @Test
+    void testCalculateStatePercentMatchesAggregate() {
+        long[] prev = new long[] {100, 0, 100, 400, 0, 0, 0, 0};
+        long[] curr = new long[] {150, 0, 150, 450, 0, 0, 0, 0};
+        double[] out = new double[CpuMetrics.TICK_TYPES];
+        assertEquals(CpuMetrics.calculateCpuUsage(prev, curr),
+                CpuMetrics.calculateStatePercent(prev, 0, curr, 0, out, 0), 1e-9);
+    }
 }
@@ -0,0 +1,87 @@
+package com.monitor.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class LinuxProcessReaderTest {
+
+    private static final long BOOT = 1_700_000_000_000L;
+
+    @TempDir
+    Path proc;
+
+    @Test
+    void testReadsStatAndStatm() throws IOException {
+        // utime 300 + stime 100 ticks, 7 threads, started 50 s after boot, 2500 resident pages
+        process(42, "java", 300, 100, 7, 5000, 2500);
+        // A name with spaces and parentheses
+        process(7, "tmux: server (1)", 10, 10, 1, 100, 10);
+        // Exited between listing and reading, and a non-process entry
+        Files.createDirectory(proc.resolve("99"));
+        Files.createDirectory(proc.resolve("sys"));
+
+        LinuxProcessReader reader = new LinuxProcessReader(proc, 100, 4096, BOOT);
+        ProcessTable table = new ProcessTable();
+        long now = BOOT + 60_000;
+        table.beginCycle(now);
+        assertEquals(2, reader.read(table, now));
+        table.endCycle();
+
+        ProcessTable.Entry java = table.get(42);
+        assertEquals("java", java.getName());
+        assertEquals(BOOT + 50_000, java.getStartTime());
+        assertEquals(7, java.getThreads());
+        assertEquals(2500 * 4096L, java.getResidentMemory());
+        assertEquals(40.0, java.getCpu(), 1e-9); // 4 s of CPU over 10 s of uptime
+        assertEquals("tmux: server (1)", table.get(7).getName());
+        assertNull(table.get(99));
+
+        // Next cycle: CPU over the interval, and the unchanged name is reused
+        String name = java.getName();
+        process(42, "java", 400, 200, 8, 5000, 2500);
+        table.beginCycle(now + 2000);
+        reader.read(table, now + 2000);
+        table.endCycle();
+        assertEquals(100.0, table.get(42).getCpu(), 1e-9);
+        assertEquals(8, table.get(42).getThreads());
+        assertSame(name, table.get(42).getName());
+    }
+
+    @Test
+    void testReadsIoWhenAvailable() throws IOException {
+        process(1, "init", 0, 0, 1, 0, 1);
+        write(proc.resolve("1").resolve("io"),
+                "rchar: 5\nwchar: 6\nsyscr: 1\nsyscw: 1\nread_bytes: 4096\nwrite_bytes: 1024\ncancelled_write_bytes: 512\n");
+
+        LinuxProcessReader reader = new LinuxProcessReader(proc, 100, 4096, BOOT);
+        ProcessTable table = new ProcessTable();
+        table.beginCycle(BOOT + 1000);
+        reader.read(table, BOOT + 1000);
+        table.endCycle();
+        assertEquals(5120, table.get(1).getIoRate()); // 5 KiB over the 1 s since it started
+    }
+
+    private void process(int pid, String name, long utime, long stime, int threads, long startTicks, long resident)
+            throws IOException {
+        Path dir = proc.resolve(Integer.toString(pid));
+        String stat = pid + " (" + name + ") S 1 " + pid + " " + pid + " 0 -1 4194304 1200 0 3 0 "
+                + utime + " " + stime + " 0 0 20 0 " + threads + " 0 " + startTicks
+                + " 123456789 " + resident + " 18446744073709551615 1 1 0 0 0 0 0 4096 0 0 0 0 17 3 0 0 0 0 0\n";
+        write(dir.resolve("stat"), stat);
+        write(dir.resolve("statm"), "30000 " + resident + " 800 10 0 9000 0\n");
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,122 @@
+package com.monitor.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class LinuxSystemCountersTest {
+
+    @TempDir
+    Path proc;
+
+    @Test
+    void testReadsCpuTicks() throws IOException {
+        Path stat = write("stat", "cpu  300 1 200 5000 40 0 6 7 0 0\n"
+                + "cpu0 100 0 100 2500 20 0 3 3 0 0\n"
+                + "cpu1 200 1 100 2500 20 0 3 4 0 0\n"
+                + "intr 12345 0 0 1\nctxt 999\nbtime 1700000000\n");
+        LinuxSystemCounters.Cpu cpu = new LinuxSystemCounters.Cpu(stat);
+        cpu.read();
+        assertArrayEquals(new long[]{300, 1, 200, 5000, 40, 0, 6, 7}, cpu.getTicks());
+        assertEquals(2, cpu.getCoreCount());
+        assertEquals(200, cpu.getCoreTicks()[CpuMetrics.TICK_TYPES]);
+        assertEquals(4, cpu.getCoreTicks()[2 * CpuMetrics.TICK_TYPES - 1]);
+    }
+
+    @Test
+    void testReadsMemory() throws IOException {
+        Path meminfo = write("meminfo", "MemTotal:        6158152 kB\nMemFree:         4863252 kB\n"
+                + "MemAvailable:    5624120 kB\nBuffers:          145920 kB\nCached:           806840 kB\n");
+        LinuxSystemCounters.Memory memory = new LinuxSystemCounters.Memory(meminfo);
+        memory.read();
+        assertEquals(6158152L * 1024, memory.getTotal());
+        assertEquals(5624120L * 1024, memory.getAvailable());
+
+        // No MemAvailable on old kernels
+        write("meminfo", "MemTotal: 1000 kB\nMemFree: 100 kB\nBuffers: 20 kB\nCached: 300 kB\n");
+        memory.read();
+        assertEquals(420 * 1024, memory.getAvailable());
+    }
+
+    @Test
+    void testReadsDisksAndInterfaces() throws IOException {
+        Path diskstats = write("diskstats",
+                "   7       0 loop0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0\n"
+                + "   8       0 sda 1200 30 48000 900 800 40 16000 700 0 1500 1600 0 0 0 0 0 0\n");
+        LinuxSystemCounters.Disks disks = new LinuxSystemCounters.Disks(diskstats);
+        disks.read();
+        assertEquals(2, disks.getCount());
+        int sda = disks.indexOf("/dev/sda");
+        assertEquals(1, sda);
+        assertEquals(sda, disks.indexOf("sda"));
+        assertEquals(-1, disks.indexOf("/dev/sdb"));
+        assertEquals(1200, disks.getReads(sda));
+        assertEquals(48000L * 512, disks.getReadBytes(sda));
+        assertEquals(800, disks.getWrites(sda));
+        assertEquals(16000L * 512, disks.getWriteBytes(sda));
+
+        Path netDev = write("dev", "Inter-|   Receive                                                |  Transmit\n"
+                + " face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls carrier compressed\n"
+                + "    lo: 101163490   13846    0    0    0     0          0         0 101163490   13846    0    0    0     0       0          0\n"
+                + "  eth0:95739686    8228    0    0    0     0          0         0  1109174    6783    0    0    0     0       0          0\n");
+        LinuxSystemCounters.Network network = new LinuxSystemCounters.Network(netDev);
+        network.read();
+        String name = network.getName(1);
+        assertEquals("eth0", name);
+        int eth0 = network.indexOf("eth0");
+        assertEquals(95739686, network.getBytesRecv(eth0));
+        assertEquals(8228, network.getPacketsRecv(eth0));
+        assertEquals(1109174, network.getBytesSent(eth0));
+        assertEquals(6783, network.getPacketsSent(eth0));
+
+        // Unchanged names are not decoded again
+        network.read();
+        assertSame(name, network.getName(1));
+    }
+
+    @Test
+    void testSteadyStateReadsDoNotAllocate() throws IOException {
+        assumeTrue(LinuxSystemCounters.isSupported());
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        LinuxSystemCounters.Cpu cpu = LinuxSystemCounters.openCpu();
+        LinuxSystemCounters.Memory memory = LinuxSystemCounters.openMemory();
+        LinuxSystemCounters.Disks disks = LinuxSystemCounters.openDisks();
+        LinuxSystemCounters.Network network = LinuxSystemCounters.openNetwork();
+        for (int i = 0; i < 20_000; i++) { // warm up, so the loop is compiled and the buffers sized
+            cpu.read();
+            memory.read();
+            disks.read();
+            network.read();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 1000; i++) {
+            cpu.read();
+            memory.read();
+            disks.read();
+            network.read();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allocated < 1000, "1000 cycles allocated " + allocated + " bytes");
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(proc.resolve(name), content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
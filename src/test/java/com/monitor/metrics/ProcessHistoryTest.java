@@ -0,0 +1,95 @@
+package com.monitor.metrics;
+
+import com.monitor.model.ProcessList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProcessHistoryTest {
+
+    @Test
+    void testKeepsRecordingAfterFallingOutOfTheTop() {
+        ProcessTable table = new ProcessTable();
+        ProcessHistory history = new ProcessHistory(10_000, 1 << 20);
+
+        // Cycle 1: the spiking process (PID 2) makes the top 1; afterwards it doesn't
+        cycle(table, history, 1, 1000, new int[]{1, 2}, new long[]{100, 900});
+        cycle(table, history, 1, 2000, new int[]{1, 2}, new long[]{100, 50});
+        cycle(table, history, 1, 3000, new int[]{1, 2}, new long[]{100, 50});
+
+        ProcessHistory.Samples samples = history.get(2, 3000);
+        assertNotNull(samples);
+        assertTrue(samples.isAlive());
+        assertArrayEquals(new long[]{1000, 2000, 3000}, samples.getTimestamps());
+        assertArrayEquals(new long[]{900, 50, 50}, samples.getMemory());
+
+        // It exits: kept, no longer alive, and samples age out of the window
+        cycle(table, history, 1, 4000, new int[]{1}, new long[]{100});
+        samples = history.get(2, 12_500);
+        assertFalse(samples.isAlive());
+        assertArrayEquals(new long[]{3000}, samples.getTimestamps());
+
+        // Samples older than the window are dropped as new ones come in
+        for (long now = 5000; now <= 40_000; now += 1000) {
+            cycle(table, history, 1, now, new int[]{1}, new long[]{100});
+        }
+        assertEquals(11, history.get(1, 40_000).getTimestamps().length);
+    }
+
+    @Test
+    void testEvictsLeastRecentlyRankedUnderTheCap() {
+        ProcessTable table = new ProcessTable();
+        // Room for about three processes of 16 samples each
+        ProcessHistory history = new ProcessHistory(60_000, 3 * (160 + 16 * 20));
+
+        // Short-lived processes churn through the top 1, one per cycle
+        for (int pid = 10; pid < 20; pid++) {
+            cycle(table, history, 1, pid * 1000L, new int[]{pid}, new long[]{pid});
+        }
+        assertEquals(3, history.size());
+        assertTrue(history.getSizeBytes() <= 3 * (160 + 16 * 20));
+        assertNull(history.get(10, 20_000));
+        assertNotNull(history.get(19, 20_000));
+        assertNotNull(history.get(17, 20_000));
+    }
+
+    @Test
+    void testForgetsProcessesUnrankedForTheWindow() {
+        ProcessTable table = new ProcessTable();
+        ProcessHistory history = new ProcessHistory(10_000, 1 << 20);
+
+        // PID 2 is ranked once, then keeps running below the top 1; PID 3 is ranked once and exits
+        cycle(table, history, 1, 1000, new int[]{1, 2, 3}, new long[]{100, 900, 50});
+        cycle(table, history, 1, 2000, new int[]{1, 2, 3}, new long[]{100, 50, 950});
+        long before = history.getSizeBytes();
+        for (long now = 3000; now <= 11_000; now += 1000) {
+            cycle(table, history, 1, now, new int[]{1, 2}, new long[]{100, 50});
+        }
+        assertEquals(3, history.size());
+
+        // Unranked for longer than the window: forgotten, running or not
+        cycle(table, history, 1, 12_000, new int[]{1, 2}, new long[]{100, 50});
+        assertNull(history.get(2, 12_000));
+        assertEquals(2, history.size());
+        cycle(table, history, 1, 13_000, new int[]{1, 2}, new long[]{100, 50});
+        assertNull(history.get(3, 13_000));
+        assertEquals(1, history.size());
+        assertTrue(history.getSizeBytes() < before);
+    }
+
+    private static void cycle(ProcessTable table, ProcessHistory history, int top, long now,
+                              int[] pids, long[] memory) {
+        table.beginCycle(now);
+        for (int i = 0; i < pids.length; i++) {
+            table.update(pids[i], pids[i], "p" + pids[i], memory[i], 1, 0, now, 0);
+        }
+        table.endCycle();
+        history.record(table, new ProcessList(table.rank(top), top, top), now);
+    }
+}
@@ -0,0 +1,77 @@
+package com.monitor.metrics;
+
+import com.monitor.model.ProcessList;
+import com.monitor.model.ProcessRanking;
+import com.monitor.model.ProcessSnapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ProcessTableTest {
+
+    @Test
+    void testCpuFromTickDeltasAndPidReuse() {
+        ProcessTable table = new ProcessTable();
+        table.beginCycle(10_000);
+        table.update(1, 100, "init", 1000, 1, 500, 10_000, 0);
+        table.update(2, 200, "java", 5000, 20, 4000, 8000, 0);
+        table.endCycle();
+        // First sighting: lifetime average
+        assertEquals(5.0, table.get(1).getCpu(), 1e-9);
+        assertEquals(50.0, table.get(2).getCpu(), 1e-9);
+
+        table.beginCycle(12_000);
+        table.update(1, 100, "init", 1000, 1, 500, 12_000, 0);
+        table.update(2, 200, "java", 6000, 22, 7000, 10_000, 4096);
+        table.endCycle();
+        assertEquals(0.0, table.get(1).getCpu(), 1e-9);
+        assertEquals(150.0, table.get(2).getCpu(), 1e-9); // 3 s of CPU in 2 s
+        assertEquals(22, table.get(2).getThreads());
+        assertEquals(2048, table.get(2).getIoRate());
+
+        // PID 2 exits and is reused by a new process; PID 1 disappears
+        table.beginCycle(14_000);
+        table.update(2, 13_500, "sh", 100, 1, 100, 500, 0);
+        table.endCycle();
+        assertNull(table.get(1));
+        assertEquals("sh", table.get(2).getName());
+        assertEquals(20.0, table.get(2).getCpu(), 1e-9);
+    }
+
+    @Test
+    void testTopSelectsLargestFirst() {
+        ProcessTable table = new ProcessTable();
+        table.beginCycle(1000);
+        long[] memory = {30, 10, 50, 20, 40, 60, 5};
+        for (int pid = 0; pid < memory.length; pid++) {
+            table.update(pid, 0, "p" + pid, memory[pid], 1, pid * 100, 1000, 0);
+        }
+        table.endCycle();
+
+        Map<ProcessRanking, List<ProcessSnapshot>> rankings = table.rank(3);
+        List<ProcessSnapshot> top = rankings.get(ProcessRanking.MEMORY);
+        assertEquals(3, top.size());
+        assertEquals(60, top.get(0).getResidentMemory());
+        assertEquals(50, top.get(1).getResidentMemory());
+        assertEquals(40, top.get(2).getResidentMemory());
+
+        // One pass fills every ranking; equal thread counts rank by PID
+        assertEquals(6, rankings.get(ProcessRanking.CPU).get(0).getPid());
+        assertEquals(0, rankings.get(ProcessRanking.THREADS).get(0).getPid());
+        assertEquals(3, rankings.get(ProcessRanking.IO).size());
+        assertEquals(memory.length, table.rank(10).get(ProcessRanking.CPU).size());
+
+        // The processes section: top by memory, with the other rankings alongside
+        ProcessList list = new ProcessList(rankings, 3, 2);
+        assertEquals(2, list.size());
+        assertEquals(60, list.get(0).getResidentMemory());
+        assertEquals(1, list.getRanking(ProcessRanking.CPU, 1).size());
+        assertEquals(3, list.getRanking(ProcessRanking.CPU, 50).size());
+        assertEquals(0, ProcessList.empty().getRanking(ProcessRanking.IO, 5).size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.monitor.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MetricLogTest {
+
+    @TempDir
+    Path directory;
+
+    private MetricLog open() throws IOException {
+        return new MetricLog(directory, 1024 * 1024, Duration.ofHours(1), Duration.ofDays(1),
+                16 * 1024 * 1024, Duration.ofSeconds(5), 1024);
+    }
+
+    private static List<String> replay(MetricLog log) throws IOException {
+        List<String> samples = new ArrayList<>();
+        log.replay((series, timestamp, value) -> samples.add(series + "@" + timestamp + "=" + value));
+        return samples;
+    }
+
+    @Test
+    void testSamplesSurviveReopen() throws IOException {
+        long now = System.currentTimeMillis();
+        MetricLog log = open();
+        log.start();
+        log.accept("cpu.usage", now, 12.5);
+        log.accept("memory.usage", now, 40);
+        log.accept("cpu.usage", now + 1000, 13.5);
+        log.close();
+
+        MetricLog reopened = open();
+        assertEquals(Arrays.asList("cpu.usage@" + now + "=12.5", "memory.usage@" + now + "=40.0",
+                "cpu.usage@" + (now + 1000) + "=13.5"), replay(reopened));
+
+        // Existing series keep their ids across restarts
+        reopened.accept("cpu.usage", now + 2000, 14.5);
+        reopened.close();
+        List<String> samples = replay(open());
+        assertEquals(4, samples.size());
+        assertEquals("cpu.usage@" + (now + 2000) + "=14.5", samples.get(3));
+    }
+
+    @Test
+    void testTornTailIsTruncated() throws IOException {
+        long now = System.currentTimeMillis();
+        MetricLog log = open();
+        log.accept("cpu.usage", now, 1);
+        log.accept("cpu.usage", now + 1000, 2);
+        log.close();
+
+        // Simulate a crash mid-write: a partial record and a half-written dictionary line
+        Path segment = directory.resolve(LogSegment.fileName(0));
+        Files.write(segment, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, StandardOpenOption.APPEND);
+        Files.write(directory.resolve(MetricLog.DICTIONARY_FILE), "1\tdisk".getBytes(), StandardOpenOption.APPEND);
+
+        MetricLog reopened = open();
+        assertEquals(LogSegment.HEADER_SIZE + 2 * LogSegment.RECORD_SIZE, Files.size(segment));
+        assertEquals(Arrays.asList("cpu.usage@" + now + "=1.0", "cpu.usage@" + (now + 1000) + "=2.0"),
+                replay(reopened));
+
+        // New series still get the next id after the damaged line is dropped
+        reopened.accept("memory.usage", now + 2000, 3);
+        reopened.close();
+        List<String> samples = replay(open());
+        assertEquals("memory.usage@" + (now + 2000) + "=3.0", samples.get(2));
+    }
+}
@@ -0,0 +1,172 @@
+package com.monitor.synthetic;
+
+import com.monitor.metrics.CpuMetrics;
+import com.monitor.metrics.DiskMetrics;
+import com.monitor.metrics.NetworkMetrics;
+import com.monitor.metrics.ProcessMetrics;
+import com.monitor.metrics.SystemMetrics;
+import com.monitor.model.CpuSnapshot;
+import com.monitor.model.DiskSnapshot;
+import com.monitor.model.NetworkSnapshot;
+import com.monitor.model.ProcessList;
+import com.monitor.model.ProcessRanking;
+import com.monitor.model.ProcessSnapshot;
+
+import org.junit.jupiter.api.Test;
+
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.NetworkIF;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SyntheticHostTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void testSameSeedAndClockGiveSameReadings() {
+        SyntheticHost first = new SyntheticHost(16, 200, 4, 10, 8, 1, 7, () -> START);
+        SyntheticHost second = new SyntheticHost(16, 200, 4, 10, 8, 1, 7, () -> START);
+
+        assertArrayEquals(first.getHardware().getProcessor().getProcessorCpuLoadTicks(),
+                second.getHardware().getProcessor().getProcessorCpuLoadTicks());
+        assertEquals(first.getHardware().getNetworkIFs().get(3).getBytesRecv(),
+                second.getHardware().getNetworkIFs().get(3).getBytesRecv());
+        OSProcess process = first.getOperatingSystem().getProcesses().get(42);
+        OSProcess same = second.getOperatingSystem().getProcesses().get(42);
+        assertEquals(process.getProcessID(), same.getProcessID());
+        assertEquals(process.getName(), same.getName());
+        assertEquals(process.getUserTime(), same.getUserTime());
+    }
+
+    @Test
+    void testSizes() {
+        SyntheticHost host = new SyntheticHost(256, 5_000, 64, 500, 128, 2, 42, () -> START);
+
+        assertEquals(256, host.getHardware().getProcessor().getLogicalProcessorCount());
+        assertEquals(256, host.getHardware().getProcessor().getProcessorCpuLoadTicks().length);
+        assertEquals(5_000, host.getOperatingSystem().getProcesses().size());
+        List<HWDiskStore> disks = host.getHardware().getDiskStores();
+        assertEquals(64, disks.size());
+        assertEquals(500, disks.stream().mapToInt(disk -> disk.getPartitions().size()).sum());
+        assertEquals(128, host.getHardware().getNetworkIFs().size());
+        assertEquals(2, host.getHardware().getGraphicsCards().size());
+    }
+
+    @Test
+    void testRestOfOshiIsAnsweredToo() {
+        SyntheticHost host = new SyntheticHost(8, 100, 4, 10, 2, 0, 42, () -> START);
+        OperatingSystem os = host.getOperatingSystem();
+
+        List<OSFileStore> stores = os.getFileSystem().getFileStores();
+        assertEquals(10, stores.size());
+        for (OSFileStore store : stores) {
+            assertTrue(store.getMount().startsWith("/srv/"));
+            assertTrue(store.getFreeSpace() > 0 && store.getFreeSpace() < store.getTotalSpace());
+        }
+        assertEquals(os.getProcessId(), os.getCurrentThread().getOwningProcessId());
+        assertEquals(os.getThreadId(), os.getCurrentThread().getThreadId());
+        assertEquals("Synthetic", host.getHardware().getComputerSystem().getFirmware().getManufacturer());
+        assertEquals(0, host.getHardware().getMemory().getVirtualMemory().getSwapTotal());
+    }
+
+    @Test
+    void testCountersDriftForward() {
+        AtomicLong clock = new AtomicLong(START);
+        SyntheticHost host = new SyntheticHost(4, 10, 1, 1, 1, 0, 42, clock::get);
+        long[] ticks = host.getHardware().getProcessor().getSystemCpuLoadTicks();
+        NetworkIF nic = host.getHardware().getNetworkIFs().get(0);
+        long bytesRecv = nic.getBytesRecv();
+        long reads = host.getHardware().getDiskStores().get(0).getReads();
+
+        clock.addAndGet(10_000);
+        long[] later = host.getHardware().getProcessor().getSystemCpuLoadTicks();
+        long total = 0;
+        for (int i = 0; i < ticks.length; i++) {
+            assertTrue(later[i] >= ticks[i]);
+            total += later[i] - ticks[i];
+        }
+        // About 100 ticks a second on each of 4 processors; every state's rate drifts on its own
+        assertTrue(total > 2_000 && total < 6_000, total + " ticks");
+        assertTrue(nic.getBytesRecv() > bytesRecv);
+        assertTrue(host.getHardware().getDiskStores().get(0).getReads() > reads);
+    }
+
+    @Test
+    void testShortLivedProcessesAreReplaced() {
+        AtomicLong clock = new AtomicLong(START);
+        SyntheticHost host = new SyntheticHost(4, 1_000, 0, 0, 0, 0, 42, clock::get);
+        Set<String> before = identities(host.getOperatingSystem().getProcesses());
+
+        clock.addAndGet(600_000);
+        List<OSProcess> processes = host.getOperatingSystem().getProcesses();
+        Set<String> after = identities(processes);
+        Set<Integer> pids = new HashSet<>();
+        for (OSProcess process : processes) {
+            assertTrue(pids.add(process.getProcessID()), "duplicate pid " + process.getProcessID());
+        }
+
+        Set<String> replaced = new HashSet<>(after);
+        replaced.removeAll(before);
+        assertTrue(!replaced.isEmpty() && replaced.size() < 100, replaced.size() + " processes replaced");
+        for (OSProcess process : processes) {
+            if (replaced.contains(identity(process))) {
+                OSProcess byPid = host.getOperatingSystem().getProcess(process.getProcessID());
+                assertEquals(process.getStartTime(), byPid.getStartTime());
+                assertTrue(process.getStartTime() > START);
+            }
+        }
+    }
+
+    private static Set<String> identities(List<OSProcess> processes) {
+        Set<String> identities = new HashSet<>();
+        for (OSProcess process : processes) {
+            identities.add(identity(process));
+        }
+        return identities;
+    }
+
+    private static String identity(OSProcess process) {
+        return process.getProcessID() + "@" + process.getStartTime();
+    }
+
+    @Test
+    void testCollectorsReadTheSyntheticHost() {
+        AtomicLong clock = new AtomicLong(START);
+        SyntheticHost host = new SyntheticHost(32, 2_000, 8, 40, 16, 0, 42, clock::get);
+        new SystemMetrics().initialize(host.getHardware(), host.getOperatingSystem());
+
+        CpuMetrics cpu = new CpuMetrics();
+        ProcessMetrics processes = new ProcessMetrics();
+        DiskMetrics disks = new DiskMetrics();
+        NetworkMetrics network = new NetworkMetrics();
+        cpu.collect();
+        processes.collect();
+        clock.addAndGet(5_000);
+
+        CpuSnapshot cpuSnapshot = cpu.collect();
+        assertEquals(32, cpuSnapshot.getCoreCount());
+        assertTrue(cpuSnapshot.getUsage() > 0 && cpuSnapshot.getUsage() < 100);
+        ProcessList processList = processes.collect();
+        List<ProcessSnapshot> busiest = processList.getRanking(ProcessRanking.CPU, 50);
+        assertEquals(50, busiest.size());
+        assertNotEquals(0.0, busiest.get(0).getCpu());
+        List<DiskSnapshot> diskList = disks.collect();
+        assertEquals(8, diskList.size());
+        assertEquals(5, diskList.get(0).getPartitions().size());
+        NetworkSnapshot networkSnapshot = network.collect();
+        assertEquals(16, networkSnapshot.getInterfaces().size());
+        assertEquals("synthetic", networkSnapshot.getHostname());
+    }
+}